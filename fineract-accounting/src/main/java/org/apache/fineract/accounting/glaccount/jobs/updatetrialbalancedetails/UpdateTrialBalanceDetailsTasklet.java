@@ -20,13 +20,23 @@ package org.apache.fineract.accounting.glaccount.jobs.updatetrialbalancedetails;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.accounting.glaccount.domain.TrialBalance;
 import org.apache.fineract.accounting.glaccount.domain.TrialBalanceRepositoryWrapper;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.core.service.database.RoutingDataSourceServiceFactory;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
@@ -39,12 +49,124 @@ import org.springframework.util.CollectionUtils;
 @RequiredArgsConstructor
 public class UpdateTrialBalanceDetailsTasklet implements Tasklet {
 
+    private static final String TRIAL_BALANCE_AMOUNTS_SQL = "Select je.office_id, je.account_id, "
+            + "SUM(CASE WHEN je.type_enum=1 THEN (-1) * je.amount ELSE je.amount END) as amount, Date(je.entry_date) as entry_date, "
+            + "je.transaction_date as created_date from acc_gl_journal_entry je WHERE je.transaction_date > ? and je.transaction_date < ? "
+            + "group by je.account_id, je.office_id, je.transaction_date, Date(je.entry_date)";
+    // latest closing balance of every office and account
+    private static final String LAST_CLOSING_BALANCES_SQL = "select l.office_id, l.account_id, l.closing_balance from (select "
+            + "t.office_id, t.account_id, t.closing_balance, ROW_NUMBER() OVER (PARTITION BY t.office_id, t.account_id "
+            + "ORDER BY t.created_date DESC, t.entry_date DESC) as rn from m_trial_balance t where t.closing_balance is not null) l "
+            + "where l.rn = 1";
+
     private final RoutingDataSourceServiceFactory dataSourceServiceFactory;
     private final TrialBalanceRepositoryWrapper trialBalanceRepositoryWrapper;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final FineractProperties fineractProperties;
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
         final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSourceServiceFactory.determineDataSourceService().retrieveDataSource());
+        final FineractProperties.FineractTrialBalanceProperties properties = fineractProperties.getJob().getTrialBalance();
+        if (properties == null || !properties.isSetBasedEnabled()) {
+            updateTrialBalanceDetailsPerAccount(jdbcTemplate);
+            return RepeatStatus.FINISHED;
+        }
+
+        final long start = System.currentTimeMillis();
+        final LocalDate lastCreatedDate = jdbcTemplate
+                .queryForObject("select coalesce(MAX(created_date),'2010-01-01') from m_trial_balance", LocalDate.class);
+        // only days before the business date are complete
+        final LocalDate tillDate = DateUtils.getBusinessLocalDate();
+        final long rows = sqlGenerator.supportsWindowFunctions()
+                ? insertTrialBalancesWithClosingBalance(jdbcTemplate, lastCreatedDate, tillDate)
+                : insertTrialBalancesByOffice(jdbcTemplate, lastCreatedDate, tillDate, Math.max(1, properties.getPartitions()));
+
+        contribution.incrementWriteCount(rows);
+        final long millis = Math.max(1L, System.currentTimeMillis() - start);
+        log.info("{}: Trial balance details updated for {} rows within {} milliseconds ({} rows/s)",
+                ThreadLocalContextUtil.getTenant().getName(), rows, millis, String.format("%.1f", rows * 1000.0 / millis));
+        return RepeatStatus.FINISHED;
+    }
+
+    /**
+     * Inserts the trial balance rows of all transaction dates in {@code (fromDate, tillDate)} with a single statement; the
+     * closing balances are the latest closing balance of the office and account plus the running sum of the new amounts.
+     */
+    private int insertTrialBalancesWithClosingBalance(final JdbcTemplate jdbcTemplate, final LocalDate fromDate, final LocalDate tillDate) {
+        final String runningSum = sqlGenerator.runningSum("tb.amount", "tb.office_id, tb.account_id", "tb.created_date, tb.entry_date");
+        final String sql = "Insert Into m_trial_balance(office_id, account_id, amount, entry_date, created_date, closing_balance) "
+                + "select tb.office_id, tb.account_id, tb.amount, tb.entry_date, tb.created_date, coalesce(prev.closing_balance, 0) + "
+                + runningSum + " from (" + TRIAL_BALANCE_AMOUNTS_SQL + ") tb left join (" + LAST_CLOSING_BALANCES_SQL + ") prev "
+                + "on prev.office_id = tb.office_id and prev.account_id = tb.account_id";
+        final int result = jdbcTemplate.update(sql, fromDate, tillDate);
+        log.debug("{}: Records affected by updateTrialBalanceDetails: {}", ThreadLocalContextUtil.getTenant().getName(), result);
+        return result;
+    }
+
+    /**
+     * Same as {@link #insertTrialBalancesWithClosingBalance} for databases without window functions: the running sums are
+     * calculated here, one office per partition, and every office is written with a batch insert.
+     */
+    private long insertTrialBalancesByOffice(final JdbcTemplate jdbcTemplate, final LocalDate fromDate, final LocalDate tillDate,
+            final int partitions) {
+        final List<Long> officeIds = jdbcTemplate.queryForList(
+                "select distinct(je.office_id) from acc_gl_journal_entry je where je.transaction_date > ? and je.transaction_date < ?",
+                Long.class, fromDate, tillDate);
+        if (officeIds.isEmpty()) {
+            return 0;
+        }
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(partitions, officeIds.size()));
+        try {
+            final List<Future<Integer>> responses = new ArrayList<>(officeIds.size());
+            for (Long officeId : officeIds) {
+                responses.add(executor.submit(() -> {
+                    ThreadLocalContextUtil.init(context);
+                    try {
+                        return insertTrialBalances(jdbcTemplate, officeId, fromDate, tillDate);
+                    } finally {
+                        ThreadLocalContextUtil.reset();
+                    }
+                }));
+            }
+            long rows = 0;
+            for (Future<Integer> response : responses) {
+                rows += response.get();
+            }
+            return rows;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while updating trial balance details", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to update trial balance details", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int insertTrialBalances(final JdbcTemplate jdbcTemplate, final Long officeId, final LocalDate fromDate,
+            final LocalDate tillDate) {
+        final Map<Long, BigDecimal> closingBalances = new HashMap<>();
+        jdbcTemplate.query("select account_id, closing_balance from m_trial_balance where office_id=? "
+                + "order by account_id, created_date desc, entry_date desc", rs -> {
+                    closingBalances.putIfAbsent(rs.getLong("account_id"), rs.getBigDecimal("closing_balance"));
+                }, officeId);
+
+        final List<Object[]> params = new ArrayList<>();
+        jdbcTemplate.query("select tb.office_id, tb.account_id, tb.amount, tb.entry_date, tb.created_date from ("
+                + TRIAL_BALANCE_AMOUNTS_SQL + ") tb where tb.office_id=? order by tb.account_id, tb.created_date, tb.entry_date", rs -> {
+                    final BigDecimal amount = rs.getBigDecimal("amount");
+                    final BigDecimal closingBalance = closingBalances.merge(rs.getLong("account_id"), amount, BigDecimal::add);
+                    params.add(new Object[] { officeId, rs.getLong("account_id"), amount, rs.getDate("entry_date"),
+                            rs.getDate("created_date"), closingBalance });
+                }, fromDate, tillDate, officeId);
+        jdbcTemplate.batchUpdate("Insert Into m_trial_balance(office_id, account_id, amount, entry_date, created_date, closing_balance) "
+                + "values (?, ?, ?, ?, ?, ?)", params);
+        return params.size();
+    }
+
+    private void updateTrialBalanceDetailsPerAccount(final JdbcTemplate jdbcTemplate) {
         final StringBuilder tbGapSqlBuilder = new StringBuilder(500);
         tbGapSqlBuilder.append("select distinct(je.transaction_date) ").append("from acc_gl_journal_entry je ")
                 .append("where je.transaction_date > (select coalesce(MAX(created_date),'2010-01-01') from m_trial_balance)");
@@ -94,6 +216,5 @@ public class UpdateTrialBalanceDetailsTasklet implements Tasklet {
                 trialBalanceRepositoryWrapper.save(tbRows);
             }
         }
-        return RepeatStatus.FINISHED;
     }
 }
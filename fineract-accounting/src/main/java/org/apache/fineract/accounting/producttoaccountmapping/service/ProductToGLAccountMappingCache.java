@@ -0,0 +1,176 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.producttoaccountmapping.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.TransactionBoundSynchronization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per tenant snapshot of the product to GL account and the financial activity to GL account mappings used while posting
+ * journal entries.
+ *
+ * The snapshot is immutable and is loaded with two queries on first use. Any write to the mappings {@link #invalidate()}s
+ * the snapshot of the tenant, and the next lookup loads a new one, so readers always see either the old or the new set of
+ * mappings as a whole.
+ *
+ * The snapshot is kept whatever cache type is configured, so the invalidation is broadcast through the cache invalidation
+ * log in every cache mode and the other nodes drop the snapshot of the tenant as well.
+ */
+@Slf4j
+@Component
+public class ProductToGLAccountMappingCache {
+
+    private static final String METRIC_NAME_PREFIX = "fineract.accounting.gl-account-mapping.cache";
+    private static final String CACHE_NAME = "productToGLAccountMappings";
+
+    private static final String PRODUCT_MAPPING_SQL = "SELECT product_type, product_id, financial_account_type, payment_type, charge_id, "
+            + "gl_account_id FROM acc_product_mapping WHERE gl_account_id IS NOT NULL AND charge_off_reason_id IS NULL "
+            + "AND write_off_reason_id IS NULL AND capitalized_income_classification_id IS NULL "
+            + "AND buydown_fee_classification_id IS NULL";
+    private static final String FINANCIAL_ACTIVITY_SQL = "SELECT financial_activity_type, gl_account_id "
+            + "FROM acc_gl_financial_activity_account";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RuntimeDelegatingCacheManager cacheManager;
+    private final ConcurrentMap<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public ProductToGLAccountMappingCache(final JdbcTemplate jdbcTemplate, final RuntimeDelegatingCacheManager cacheManager,
+            final Optional<MeterRegistry> meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+        final MeterRegistry registry = meterRegistry.orElseGet(SimpleMeterRegistry::new);
+        this.hits = Counter.builder(METRIC_NAME_PREFIX + ".hits").description("GL account mapping lookups served from the snapshot") //
+                .register(registry);
+        this.misses = Counter.builder(METRIC_NAME_PREFIX + ".misses").description("GL account mapping lookups that loaded a snapshot") //
+                .register(registry);
+        cacheManager.registerNodeLocalCache(CACHE_NAME, this::applyInvalidation);
+    }
+
+    /**
+     * @return the GL account id of the mapping without payment type and charge, or <code>null</code> if there is none
+     */
+    public Long findCoreMapping(final int productType, final Long productId, final int financialAccountType) {
+        return snapshot().coreMappings.get(new MappingKey(productType, productId, financialAccountType, null, null));
+    }
+
+    /**
+     * @return the GL account id of the mapping of the payment type, or <code>null</code> if there is none
+     */
+    public Long findPaymentTypeMapping(final int productType, final Long productId, final int financialAccountType,
+            final Long paymentTypeId) {
+        if (paymentTypeId == null) {
+            return null;
+        }
+        return snapshot().specificMappings.get(new MappingKey(productType, productId, financialAccountType, paymentTypeId, null));
+    }
+
+    /**
+     * @return the GL account id of the mapping of the charge, or <code>null</code> if there is none
+     */
+    public Long findChargeMapping(final int productType, final Long productId, final int financialAccountType, final Long chargeId) {
+        if (chargeId == null) {
+            return null;
+        }
+        return snapshot().specificMappings.get(new MappingKey(productType, productId, financialAccountType, null, chargeId));
+    }
+
+    /**
+     * @return the GL account id of the financial activity, or <code>null</code> if there is none
+     */
+    public Long findFinancialActivityMapping(final int financialActivityType) {
+        return snapshot().financialActivityMappings.get(financialActivityType);
+    }
+
+    /**
+     * Drops the snapshot of the current tenant, on this node and on the other ones. Within a transaction it is dropped once
+     * more after commit, so a snapshot loaded concurrently from the not yet committed state does not survive.
+     */
+    public void invalidate() {
+        final String tenantIdentifier = tenantIdentifier();
+        snapshots.remove(tenantIdentifier);
+        if (TransactionBoundSynchronization.isTransactionActive()) {
+            TransactionBoundSynchronization.afterCommit(this, () -> snapshots.remove(tenantIdentifier));
+        }
+        cacheManager.broadcastInvalidation(CACHE_NAME, tenantIdentifier);
+    }
+
+    private void applyInvalidation(final String tenantIdentifier) {
+        if (tenantIdentifier == null) {
+            snapshots.clear();
+        } else {
+            snapshots.remove(tenantIdentifier);
+        }
+    }
+
+    private Snapshot snapshot() {
+        final String tenantIdentifier = tenantIdentifier();
+        final Snapshot snapshot = snapshots.get(tenantIdentifier);
+        if (snapshot != null) {
+            hits.increment();
+            return snapshot;
+        }
+        misses.increment();
+        return snapshots.computeIfAbsent(tenantIdentifier, key -> load());
+    }
+
+    private Snapshot load() {
+        final Map<MappingKey, Long> coreMappings = new HashMap<>();
+        final Map<MappingKey, Long> specificMappings = new HashMap<>();
+        jdbcTemplate.query(PRODUCT_MAPPING_SQL, rs -> {
+            final Long paymentTypeId = rs.getObject("payment_type", Long.class);
+            final Long chargeId = rs.getObject("charge_id", Long.class);
+            final MappingKey key = new MappingKey(rs.getInt("product_type"), rs.getLong("product_id"), rs.getInt("financial_account_type"),
+                    paymentTypeId, chargeId);
+            final Map<MappingKey, Long> mappings = paymentTypeId == null && chargeId == null ? coreMappings : specificMappings;
+            mappings.putIfAbsent(key, rs.getLong("gl_account_id"));
+        });
+        final Map<Integer, Long> financialActivityMappings = new HashMap<>();
+        jdbcTemplate.query(FINANCIAL_ACTIVITY_SQL, rs -> {
+            financialActivityMappings.put(rs.getInt("financial_activity_type"), rs.getLong("gl_account_id"));
+        });
+        log.debug("Loaded {} product and {} financial activity GL account mappings", coreMappings.size() + specificMappings.size(),
+                financialActivityMappings.size());
+        return new Snapshot(Map.copyOf(coreMappings), Map.copyOf(specificMappings), Map.copyOf(financialActivityMappings));
+    }
+
+    private static String tenantIdentifier() {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+    }
+
+    private record MappingKey(int productType, Long productId, int financialAccountType, Long paymentTypeId, Long chargeId) {
+    }
+
+    private record Snapshot(Map<MappingKey, Long> coreMappings, Map<MappingKey, Long> specificMappings,
+            Map<Integer, Long> financialActivityMappings) {
+    }
+}
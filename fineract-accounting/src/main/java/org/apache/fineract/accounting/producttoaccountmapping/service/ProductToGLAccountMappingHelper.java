@@ -68,9 +68,11 @@ public class ProductToGLAccountMappingHelper {
     protected final GLAccountRepositoryWrapper accountRepositoryWrapper;
     private final PaymentTypeRepositoryWrapper paymentTypeRepositoryWrapper;
     private final CodeValueRepository codeValueRepository;
+    private final ProductToGLAccountMappingCache accountMappingCache;
 
     public void saveProductToAccountMapping(final JsonElement element, final String paramName, final Long productId,
             final int placeHolderTypeId, final GLAccountType expectedAccountType, final PortfolioProductType portfolioProductType) {
+        this.accountMappingCache.invalidate();
         final Long accountId = this.fromApiJsonHelper.extractLongNamed(paramName, element);
         if (accountId != null) { // optional entries may be null
             final GLAccount glAccount = getAccountByIdAndType(paramName, expectedAccountType, accountId);
@@ -84,6 +86,7 @@ public class ProductToGLAccountMappingHelper {
     public void mergeProductToAccountMappingChanges(final JsonElement element, final String paramName, final Long productId,
             final int accountTypeId, final String accountTypeName, final Map<String, Object> changes,
             final GLAccountType expectedAccountType, final PortfolioProductType portfolioProductType) {
+        this.accountMappingCache.invalidate();
         final Long accountId = this.fromApiJsonHelper.extractLongNamed(paramName, element);
 
         // get the existing product
@@ -126,6 +129,7 @@ public class ProductToGLAccountMappingHelper {
     public void createOrmergeProductToAccountMappingChanges(final JsonElement element, final String paramName, final Long productId,
             final int accountTypeId, final Map<String, Object> changes, final GLAccountType expectedAccountType,
             final PortfolioProductType portfolioProductType) {
+        this.accountMappingCache.invalidate();
         final Long accountId = this.fromApiJsonHelper.extractLongNamed(paramName, element);
 
         // get the existing product
@@ -158,6 +162,7 @@ public class ProductToGLAccountMappingHelper {
      */
     public void savePaymentChannelToFundSourceMappings(final JsonCommand command, final JsonElement element, final Long productId,
             final Map<String, Object> changes, final PortfolioProductType portfolioProductType) {
+        this.accountMappingCache.invalidate();
         final JsonArray paymentChannelMappingArray = this.fromApiJsonHelper
                 .extractJsonArrayNamed(LoanProductAccountingParams.PAYMENT_CHANNEL_FUND_SOURCE_MAPPING.getValue(), element);
         if (paymentChannelMappingArray != null) {
@@ -185,6 +190,7 @@ public class ProductToGLAccountMappingHelper {
      */
     public void saveChargesToGLAccountMappings(final JsonCommand command, final JsonElement element, final Long productId,
             final Map<String, Object> changes, final PortfolioProductType portfolioProductType, final boolean isPenalty) {
+        this.accountMappingCache.invalidate();
         String arrayName;
         if (isPenalty) {
             arrayName = LoanProductAccountingParams.PENALTY_INCOME_ACCOUNT_MAPPING.getValue();
@@ -211,6 +217,7 @@ public class ProductToGLAccountMappingHelper {
             final Map<String, Object> changes, final PortfolioProductType portfolioProductType,
             final LoanProductAccountingParams arrayNameParam, final LoanProductAccountingParams reasonCodeValueIdParam,
             final CashAccountsForLoan cashAccountsForLoan) {
+        this.accountMappingCache.invalidate();
 
         final String arrayName = arrayNameParam.getValue();
         final JsonArray reasonToExpenseAccountMappingArray = this.fromApiJsonHelper.extractJsonArrayNamed(arrayName, element);
@@ -233,6 +240,7 @@ public class ProductToGLAccountMappingHelper {
     public void saveClassificationToGLAccountMappings(final JsonCommand command, final JsonElement element, final Long productId,
             final Map<String, Object> changes, final PortfolioProductType portfolioProductType,
             final LoanProductAccountingParams classificationParameter) {
+        this.accountMappingCache.invalidate();
 
         final String arrayName = classificationParameter.getValue();
         final JsonArray classificationToIncomeAccountMappingArray = this.fromApiJsonHelper.extractJsonArrayNamed(arrayName, element);
@@ -262,6 +270,7 @@ public class ProductToGLAccountMappingHelper {
      */
     public void updateChargeToIncomeAccountMappings(final JsonCommand command, final JsonElement element, final Long productId,
             final Map<String, Object> changes, final PortfolioProductType portfolioProductType, final boolean isPenalty) {
+        this.accountMappingCache.invalidate();
         // find all existing payment Channel to Fund source Mappings
         List<ProductToGLAccountMapping> existingChargeToIncomeAccountMappings;
         String arrayFragmentName;
@@ -351,6 +360,7 @@ public class ProductToGLAccountMappingHelper {
      */
     public void updatePaymentChannelToFundSourceMappings(final JsonCommand command, final JsonElement element, final Long productId,
             final Map<String, Object> changes, final PortfolioProductType portfolioProductType) {
+        this.accountMappingCache.invalidate();
         // find all existing payment Channel to Fund source Mappings
         final List<ProductToGLAccountMapping> existingPaymentChannelToFundSourceMappings = this.accountMappingRepository
                 .findAllPaymentTypeToFundSourceMappings(productId, portfolioProductType.getValue());
@@ -434,6 +444,7 @@ public class ProductToGLAccountMappingHelper {
             final List<ProductToGLAccountMapping> existingReasonToGLAccountMappings,
             final LoanProductAccountingParams reasonToExpenseAccountMappingsParam, final LoanProductAccountingParams reasonCodeValueIdParam,
             final CashAccountsForLoan cashAccountsForLoan) {
+        this.accountMappingCache.invalidate();
 
         final JsonArray reasonToGLAccountMappingArray = this.fromApiJsonHelper
                 .extractJsonArrayNamed(reasonToExpenseAccountMappingsParam.getValue(), element);
@@ -492,6 +503,7 @@ public class ProductToGLAccountMappingHelper {
     public void updateClassificationToGLAccountMappings(final JsonCommand command, final JsonElement element, final Long productId,
             final Map<String, Object> changes, final PortfolioProductType portfolioProductType,
             final LoanProductAccountingParams classificationParameter) {
+        this.accountMappingCache.invalidate();
 
         final List<ProductToGLAccountMapping> existingClassificationToGLAccountMappings = classificationParameter
                 .equals(LoanProductAccountingParams.CAPITALIZED_INCOME_CLASSIFICATION_TO_INCOME_ACCOUNT_MAPPINGS)
@@ -721,6 +733,7 @@ public class ProductToGLAccountMappingHelper {
 
     public void deleteProductToGLAccountMapping(final Long loanProductId, final PortfolioProductType portfolioProductType,
             final int accountTypeId) {
+        this.accountMappingCache.invalidate();
         final ProductToGLAccountMapping accountMapping = this.accountMappingRepository.findCoreProductToFinAccountMapping(loanProductId,
                 portfolioProductType.getValue(), accountTypeId);
         if (accountMapping != null && accountMapping.getGlAccount() != null) {
@@ -729,6 +742,7 @@ public class ProductToGLAccountMappingHelper {
     }
 
     public void deleteProductToGLAccountMapping(final Long loanProductId, final PortfolioProductType portfolioProductType) {
+        this.accountMappingCache.invalidate();
         final List<ProductToGLAccountMapping> productToGLAccountMappings = this.accountMappingRepository
                 .findByProductIdAndProductType(loanProductId, portfolioProductType.getValue());
         if (productToGLAccountMappings != null && !productToGLAccountMappings.isEmpty()) {
@@ -34,25 +34,18 @@ import org.apache.fineract.cob.exceptions.BusinessStepNotBelongsToJobException;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
-import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
-public class ConfigJobParameterServiceImpl implements ConfigJobParameterService, InitializingBean {
+public class ConfigJobParameterServiceImpl implements ConfigJobParameterService {
 
     private final BatchBusinessStepRepository batchBusinessStepRepository;
     private final BusinessStepConfigDataParser dataParser;
     private final BusinessStepCategoryService businessStepCategoryService;
     private final ApplicationContext applicationContext;
     private final BusinessStepMapper mapper;
-    private JobBusinessStepDetail availableBusinessStepsForLoan;
-
-    @Override
-    public void afterPropertiesSet() throws Exception {
-        availableBusinessStepsForLoan = getAvailableBusinessStepsByJobName(BusinessStepCategory.LOAN.name());
-    }
 
     @Override
     public JobBusinessStepConfigData getBusinessStepConfigByJobName(String jobName) {
@@ -70,7 +63,11 @@ public class ConfigJobParameterServiceImpl implements ConfigJobParameterService,
         if (businessSteps.isEmpty()) {
             throw new BusinessStepException("A job needs to have 1 business step at least.");
         }
-        List<String> availableBusinessStepNames = availableBusinessStepsForLoan.getAvailableBusinessSteps().stream()
+        JobBusinessStepDetail availableBusinessStepsForJob = getAvailableBusinessStepsByJobName(jobName);
+        if (availableBusinessStepsForJob == null) {
+            throw new BusinessStepException("Business steps are not configurable for job " + jobName + ".");
+        }
+        List<String> availableBusinessStepNames = availableBusinessStepsForJob.getAvailableBusinessSteps().stream()
                 .map(BusinessStepDetail::getStepName).toList();
         List<String> notValidBusinessStepNames = businessSteps.stream().map(BusinessStep::getStepName)
                 .filter(businessStepName -> !availableBusinessStepNames.contains(businessStepName)).toList();
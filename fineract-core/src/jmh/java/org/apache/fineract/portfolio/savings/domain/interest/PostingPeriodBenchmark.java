@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain.interest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.apache.fineract.infrastructure.core.domain.LocalDateInterval;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the time it takes to build and calculate all posting periods of one savings account against the length of its
+ * transaction history, once by handing every period the whole history (the previous behaviour) and once through
+ * {@link PostingPeriodTransactionCursor}.
+ */
+@BenchmarkMode(Mode.AverageTime) // Measures time per account
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostingPeriodBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    private int historyLength;
+
+    private List<SavingsAccountTransactionDetailsForPostingPeriod> history;
+    private List<LocalDateInterval> postingPeriods;
+    private LocalDate upToInterestCalculationDate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PostingPeriodFixtures.initializeTenant(PostingPeriodFixtures.HISTORY_START.plusDays(historyLength));
+        this.history = PostingPeriodFixtures.buildHistory(historyLength);
+        this.upToInterestCalculationDate = this.history.get(this.history.size() - 1).getEndOfBalanceDate();
+        this.postingPeriods = PostingPeriodFixtures.monthlyPostingPeriods(PostingPeriodFixtures.HISTORY_START,
+                this.upToInterestCalculationDate);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Benchmark
+    public BigDecimal fullHistoryPerPeriod() {
+        return calculateInterest(this.postingPeriods, periodInterval -> this.history, this.upToInterestCalculationDate);
+    }
+
+    @Benchmark
+    public BigDecimal cursorSlicePerPeriod() {
+        final PostingPeriodTransactionCursor transactionCursor = new PostingPeriodTransactionCursor(this.history);
+        return calculateInterest(this.postingPeriods, transactionCursor::sliceFor, this.upToInterestCalculationDate);
+    }
+
+    private static BigDecimal calculateInterest(final List<LocalDateInterval> periodIntervals,
+            final Function<LocalDateInterval, List<SavingsAccountTransactionDetailsForPostingPeriod>> transactionsForPeriod,
+            final LocalDate upToInterestCalculationDate) {
+        final CompoundInterestValues compoundInterestValues = new CompoundInterestValues(BigDecimal.ZERO, BigDecimal.ZERO);
+        BigDecimal interestEarned = BigDecimal.ZERO;
+        for (final PostingPeriod postingPeriod : PostingPeriodFixtures.buildPostingPeriods(periodIntervals, transactionsForPeriod,
+                upToInterestCalculationDate)) {
+            interestEarned = interestEarned.add(postingPeriod.calculateInterest(compoundInterestValues));
+        }
+        return interestEarned;
+    }
+}
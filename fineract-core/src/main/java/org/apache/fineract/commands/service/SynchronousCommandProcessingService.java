@@ -58,6 +58,7 @@ import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.hooks.event.HookEvent;
 import org.apache.fineract.infrastructure.hooks.event.HookEventSource;
+import org.apache.fineract.infrastructure.hooks.service.HookSubscriptionIndex;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.context.ApplicationContext;
@@ -81,6 +82,7 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     private final IdempotencyKeyResolver idempotencyKeyResolver;
     private final CommandSourceService commandSourceService;
     private final RetryConfigurationAssembler retryConfigurationAssembler;
+    private final HookSubscriptionIndex hookSubscriptionIndex;
 
     private final FineractRequestContextHolder fineractRequestContextHolder;
     private final Gson gson = GoogleGsonSerializerHelper.createSimpleGson();
@@ -144,7 +146,14 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
 
         final CommandProcessingResult result;
         try {
-            result = commandSourceService.processCommand(findCommandHandler(wrapper), command, commandSource, user, isApprovedByChecker);
+            final NewCommandSourceHandler handler = findCommandHandler(wrapper);
+            result = commandSourceService.processCommand(jsonCommand -> {
+                final CommandProcessingResult handlerResult = handler.processCommand(jsonCommand);
+                // the hook event is published in the transaction of the command, the hooks are only called once it
+                // commits, so a rolled back command calls no hook and a failing hook does not roll back the command
+                publishHookEvent(wrapper.entityName(), wrapper.actionName(), jsonCommand, handlerResult);
+                return handlerResult;
+            }, command, commandSource, user, isApprovedByChecker);
         } catch (Throwable t) { // NOSONAR
             RuntimeException mappable = ErrorHandler.getMappable(t);
             ErrorInfo errorInfo = commandSourceService.generateErrorInfo(mappable);
@@ -197,8 +206,6 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         }
 
         result.setRollbackTransaction(null);
-        publishHookEvent(wrapper.entityName(), wrapper.actionName(), command, result); // TODO must be performed in a
-        // new transaction
         return result;
     }
 
@@ -326,71 +333,84 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         return isMakerChecker && !user.isCheckerSuperUser();
     }
 
+    /**
+     * Publishes the hook event of the command. A payload which can not be built is only logged.
+     */
     protected void publishHookEvent(final String entityName, final String actionName, JsonCommand command, final Object result) {
+        final HookEvent applicationEvent;
         try {
-            final AppUser appUser = context.authenticatedUser(CommandWrapper.wrap(actionName, entityName, null, null));
-
-            final HookEventSource hookEventSource = new HookEventSource(entityName, actionName);
+            applicationEvent = createHookEvent(entityName, actionName, command, result);
+        } catch (Exception e) {
+            log.error("Failed to publish hook event for entity: {}, action: {}", entityName, actionName, e);
+            return;
+        }
+        if (applicationEvent != null) {
+            applicationContext.publishEvent(applicationEvent);
+        }
+    }
 
-            // TODO: Add support for publishing array events
-            if (command.json() != null) {
-                Type type = new TypeToken<Map<String, Object>>() {
+    private HookEvent createHookEvent(final String entityName, final String actionName, JsonCommand command, final Object result) {
+        if (!hookSubscriptionIndex.hasSubscribers(entityName, actionName)) {
+            // no active hook listens to this event, so there is no payload to build
+            return null;
+        }
+        final AppUser appUser = context.authenticatedUser(CommandWrapper.wrap(actionName, entityName, null, null));
 
-                }.getType();
+        final HookEventSource hookEventSource = new HookEventSource(entityName, actionName);
 
-                Map<String, Object> myMap;
+        // TODO: Add support for publishing array events
+        if (command.json() == null) {
+            return null;
+        }
+        Type type = new TypeToken<Map<String, Object>>() {
 
-                try {
-                    myMap = gson.fromJson(command.json(), type);
-                } catch (Exception e) {
-                    throw new PlatformApiDataValidationException("error.msg.invalid.json", "The provided JSON is invalid.",
-                            new ArrayList<>(), e);
-                }
+        }.getType();
 
-                Map<String, Object> reqmap = new HashMap<>();
-                reqmap.put("entityName", entityName);
-                reqmap.put("actionName", actionName);
-                reqmap.put("createdBy", context.authenticatedUser().getId());
-                reqmap.put("createdByName", context.authenticatedUser().getUsername());
-                reqmap.put("createdByFullName", context.authenticatedUser().getDisplayName());
-
-                reqmap.put("request", myMap);
-                if (result instanceof CommandProcessingResult) {
-                    CommandProcessingResult resultCopy = CommandProcessingResult
-                            .fromCommandProcessingResult((CommandProcessingResult) result);
-
-                    reqmap.put("officeId", resultCopy.getOfficeId());
-                    reqmap.put("clientId", resultCopy.getClientId());
-                    resultCopy.setOfficeId(null);
-                    reqmap.put("response", resultCopy);
-                } else if (result instanceof ErrorInfo ex) {
-                    reqmap.put("status", "Exception");
-
-                    Map<String, Object> errorMap = new HashMap<>();
-
-                    try {
-                        errorMap = gson.fromJson(ex.getMessage(), type);
-                    } catch (Exception e) {
-                        errorMap.put("errorMessage", ex.getMessage());
-                    }
-
-                    errorMap.put("errorCode", ex.getErrorCode());
-                    errorMap.put("statusCode", ex.getStatusCode());
-
-                    reqmap.put("response", errorMap);
-                }
+        Map<String, Object> myMap;
 
-                reqmap.put("timestamp", Instant.now().toString());
+        try {
+            myMap = gson.fromJson(command.json(), type);
+        } catch (Exception e) {
+            throw new PlatformApiDataValidationException("error.msg.invalid.json", "The provided JSON is invalid.", new ArrayList<>(), e);
+        }
 
-                final String serializedResult = toApiJsonSerializer.serialize(reqmap);
+        Map<String, Object> reqmap = new HashMap<>();
+        reqmap.put("entityName", entityName);
+        reqmap.put("actionName", actionName);
+        reqmap.put("createdBy", context.authenticatedUser().getId());
+        reqmap.put("createdByName", context.authenticatedUser().getUsername());
+        reqmap.put("createdByFullName", context.authenticatedUser().getDisplayName());
+
+        reqmap.put("request", myMap);
+        if (result instanceof CommandProcessingResult) {
+            CommandProcessingResult resultCopy = CommandProcessingResult.fromCommandProcessingResult((CommandProcessingResult) result);
+
+            reqmap.put("officeId", resultCopy.getOfficeId());
+            reqmap.put("clientId", resultCopy.getClientId());
+            resultCopy.setOfficeId(null);
+            resultCopy.setRollbackTransaction(null);
+            reqmap.put("response", resultCopy);
+        } else if (result instanceof ErrorInfo ex) {
+            reqmap.put("status", "Exception");
+
+            Map<String, Object> errorMap = new HashMap<>();
+
+            try {
+                errorMap = gson.fromJson(ex.getMessage(), type);
+            } catch (Exception e) {
+                errorMap.put("errorMessage", ex.getMessage());
+            }
 
-                final HookEvent applicationEvent = new HookEvent(hookEventSource, serializedResult, appUser,
-                        ThreadLocalContextUtil.getContext());
+            errorMap.put("errorCode", ex.getErrorCode());
+            errorMap.put("statusCode", ex.getStatusCode());
 
-                applicationContext.publishEvent(applicationEvent);
-            }
-        } catch (Exception e) {
-            log.error("Failed to publish hook event for entity: {}, action: {}", entityName, actionName, e);
+            reqmap.put("response", errorMap);
         }
+
+        reqmap.put("timestamp", Instant.now().toString());
+
+        final String serializedResult = toApiJsonSerializer.serialize(reqmap);
+
+        return new HookEvent(hookEventSource, serializedResult, appUser, ThreadLocalContextUtil.getContext());
     }
 }
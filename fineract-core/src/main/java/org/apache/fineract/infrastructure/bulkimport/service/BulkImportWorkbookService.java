@@ -33,6 +33,8 @@ public interface BulkImportWorkbookService {
 
     Collection<ImportData> getImports(GlobalEntityType type);
 
+    ImportData getImport(Long importDocumentId);
+
     DocumentData getOutputTemplateLocation(String importDocumentId);
 
     Response getOutputTemplate(String importDocumentId);
@@ -34,6 +34,7 @@ import lombok.RequiredArgsConstructor;
 import org.apache.fineract.command.core.CommandPipeline;
 import org.apache.fineract.infrastructure.cache.command.CacheSwitchCommand;
 import org.apache.fineract.infrastructure.cache.data.CacheData;
+import org.apache.fineract.infrastructure.cache.data.CacheStatisticsData;
 import org.apache.fineract.infrastructure.cache.data.CacheSwitchRequest;
 import org.apache.fineract.infrastructure.cache.data.CacheSwitchResponse;
 import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
@@ -51,6 +52,9 @@ import org.springframework.stereotype.Component;
         No Caching: caching turned off
 
         Single node: caching on for single instance deployments of platorm (works for multiple tenants but only one tomcat).
+
+        Multi node: caching on for deployments with several instances of the platform. Every instance keeps a local cache
+        and tells the other instances to evict the entries it evicts.
         By default caching is set to No Caching. Switching between caches results in the cache been clear e.g. from single
         node to no cache and back again would clear down the single node cache.
         """)
@@ -73,6 +77,19 @@ public class CacheApiResource {
         return cacheService.retrieveAll();
     }
 
+    @GET
+    @Path("statistics")
+    @Operation(summary = "Retrieve Cache Statistics", description = """
+            Returns the hits, misses and hit ratio of every cache this node has used in multi node mode.
+
+            Example Requests:
+
+            caches/statistics
+            """)
+    public Collection<CacheStatisticsData> retrieveStatistics() {
+        return cacheService.retrieveStatistics();
+    }
+
     @PUT
     @Operation(summary = "Switch Cache", description = "Switches the cache to chosen one.")
     public CacheSwitchResponse switchCache(@Valid CacheSwitchRequest request) {
@@ -16,27 +16,25 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-package org.apache.fineract.infrastructure.campaigns.email.data;
+package org.apache.fineract.infrastructure.cache.data;
 
-import java.io.File;
-import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import lombok.experimental.Accessors;
 
+@Builder
 @Data
 @NoArgsConstructor
-@Accessors(chain = true)
-public final class EmailMessageWithAttachmentData {
-
-    private String to;
-    private String text;
-    private String subject;
-    private List<File> attachments;
-
-    public static EmailMessageWithAttachmentData createNew(final String to, final String text, final String subject,
-            final List<File> attachments) {
-        return new EmailMessageWithAttachmentData().setTo(to).setText(text).setSubject(subject).setAttachments(attachments);
-    }
+@AllArgsConstructor
+public final class CacheStatisticsData {
 
+    @SuppressWarnings("unused")
+    private String cacheName;
+    @SuppressWarnings("unused")
+    private long hits;
+    @SuppressWarnings("unused")
+    private long misses;
+    @SuppressWarnings("unused")
+    private double hitRatio;
 }
@@ -0,0 +1,157 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.cache.data.CacheInvalidation;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractCacheMultiNodeProperties;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the cache invalidations the other nodes wrote into the <code>c_cache_invalidation</code> log. The log is polled in
+ * every cache mode, since the node local caches registered with
+ * {@link MultiNodeCacheManager#registerNodeLocalCache(String, java.util.function.Consumer)} are kept in every mode. Entries
+ * older than the retention period are removed from the log on the way.
+ *
+ * The log is read by id, but ids are not committed in order: an insert can become visible after a higher id was already
+ * read. Ids skipped over are therefore read again until they show up or the reorder window has passed. Applying an
+ * invalidation twice only evicts an entry once more, so the poller rather reads too much than too little.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "fineract.cache.multi-node.jms.enabled", havingValue = "false", matchIfMissing = true)
+public class CacheInvalidationLogPoller implements InitializingBean, DisposableBean {
+
+    private static final String SELECT_SQL = "SELECT id, cache_name, cache_key, origin_node FROM c_cache_invalidation WHERE id > ? "
+            + "ORDER BY id";
+    private static final String SELECT_MISSING_SQL = "SELECT id, cache_name, cache_key, origin_node FROM c_cache_invalidation "
+            + "WHERE id IN (%s)";
+    private static final String SELECT_START_ID_SQL = "SELECT COALESCE(MAX(id), 0) FROM c_cache_invalidation WHERE created_on_utc < ?";
+    private static final String DELETE_SQL = "DELETE FROM c_cache_invalidation WHERE created_on_utc < ?";
+    private static final int MAX_MISSING_IDS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MultiNodeCacheManager multiNodeCacheManager;
+    private final FineractCacheMultiNodeProperties properties;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "cacheInvalidationPoller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Long lastSeenId;
+    // ids skipped over while reading, with the time they were first missed
+    private final NavigableMap<Long, LocalDateTime> missingIds = new TreeMap<>();
+    private LocalDateTime nextPurge = LocalDateTime.MIN;
+
+    public CacheInvalidationLogPoller(@Qualifier("hikariTenantDataSource") final DataSource dataSource,
+            final MultiNodeCacheManager multiNodeCacheManager, final FineractProperties fineractProperties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setMaxRows(fineractProperties.getCache().getMultiNode().getPollBatchSize());
+        this.multiNodeCacheManager = multiNodeCacheManager;
+        this.properties = fineractProperties.getCache().getMultiNode();
+    }
+
+    @Override
+    @SuppressWarnings({ "FutureReturnValueIgnored" })
+    public void afterPropertiesSet() {
+        final long interval = properties.getPollInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::pollSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            log.warn("Polling the cache invalidation log failed", e);
+        }
+    }
+
+    void poll() {
+        final LocalDateTime now = DateUtils.getAuditLocalDateTime();
+        if (lastSeenId == null) {
+            // nothing is cached before the first poll interval, the reorder window also covers clocks of other nodes
+            lastSeenId = jdbcTemplate.queryForObject(SELECT_START_ID_SQL, Long.class,
+                    now.minus(properties.getPollInterval()).minus(properties.getReorderWindow()));
+        }
+        pollMissing();
+        jdbcTemplate.query(SELECT_SQL, (RowCallbackHandler) rs -> {
+            final long id = rs.getLong("id");
+            for (long missingId = Math.max(lastSeenId + 1, id - MAX_MISSING_IDS); missingId < id; missingId++) {
+                missingIds.put(missingId, now);
+            }
+            apply(rs.getString("cache_name"), rs.getString("cache_key"), rs.getString("origin_node"));
+            lastSeenId = id;
+        }, lastSeenId);
+        final LocalDateTime missingSince = now.minus(properties.getReorderWindow());
+        missingIds.values().removeIf(missedAt -> missedAt.isBefore(missingSince));
+        while (missingIds.size() > MAX_MISSING_IDS) {
+            missingIds.pollFirstEntry();
+        }
+        purge();
+    }
+
+    private void pollMissing() {
+        if (missingIds.isEmpty()) {
+            return;
+        }
+        final String sql = String.format(SELECT_MISSING_SQL, String.join(", ", Collections.nCopies(missingIds.size(), "?")));
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            missingIds.remove(rs.getLong("id"));
+            apply(rs.getString("cache_name"), rs.getString("cache_key"), rs.getString("origin_node"));
+        }, missingIds.keySet().toArray());
+    }
+
+    private void apply(final String cacheName, final String cacheKey, final String originNode) {
+        multiNodeCacheManager.applyInvalidation(new CacheInvalidation(cacheName, cacheKey, originNode));
+    }
+
+    private void purge() {
+        final LocalDateTime now = DateUtils.getAuditLocalDateTime();
+        if (now.isBefore(nextPurge)) {
+            return;
+        }
+        final Duration retention = properties.getRetention();
+        final int deleted = jdbcTemplate.update(DELETE_SQL, now.minus(retention));
+        log.debug("Removed {} entries older than {} from the cache invalidation log", deleted, retention);
+        nextPurge = now.plus(properties.getPollInterval().multipliedBy(60));
+    }
+}
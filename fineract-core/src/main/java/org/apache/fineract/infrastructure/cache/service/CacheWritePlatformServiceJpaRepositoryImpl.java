@@ -43,9 +43,16 @@ public class CacheWritePlatformServiceJpaRepositoryImpl implements CacheWritePla
     @Override
     public Map<String, Object> switchToCache(final CacheType toCacheType) {
 
-        final boolean ehCacheEnabled = this.configurationDomainService.isEhcacheEnabled();
+        final CacheType currentCacheType;
+        if (this.configurationDomainService.isDistributedCacheEnabled()) {
+            currentCacheType = CacheType.MULTI_NODE;
+        } else if (this.configurationDomainService.isEhcacheEnabled()) {
+            currentCacheType = CacheType.SINGLE_NODE;
+        } else {
+            currentCacheType = CacheType.NO_CACHE;
+        }
 
-        final Map<String, Object> changes = this.cacheService.switchToCache(ehCacheEnabled, toCacheType);
+        final Map<String, Object> changes = this.cacheService.switchToCache(currentCacheType, toCacheType);
 
         if (!changes.isEmpty()) {
             this.configurationDomainService.updateCache(toCacheType);
@@ -0,0 +1,55 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.cache.data.CacheInvalidation;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the cache invalidations into the <code>c_cache_invalidation</code> log of the tenant store, which every node polls
+ * with {@link CacheInvalidationLogPoller}.
+ */
+@Component
+@ConditionalOnProperty(value = "fineract.cache.multi-node.jms.enabled", havingValue = "false", matchIfMissing = true)
+public class DatabaseCacheInvalidationPublisher implements CacheInvalidationPublisher {
+
+    private static final String INSERT_SQL = "INSERT INTO c_cache_invalidation (cache_name, cache_key, origin_node, created_on_utc) "
+            + "VALUES (?, ?, ?, ?)";
+    private static final int MAX_KEY_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatabaseCacheInvalidationPublisher(@Qualifier("hikariTenantDataSource") final DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void publish(final CacheInvalidation invalidation) {
+        // keys which do not fit the log clear the whole cache on the other nodes
+        final String cacheKey = invalidation.cacheKey() != null && invalidation.cacheKey().length() <= MAX_KEY_LENGTH
+                ? invalidation.cacheKey()
+                : null;
+        jdbcTemplate.update(INSERT_SQL, invalidation.cacheName(), cacheKey, invalidation.originNode(), DateUtils.getAuditLocalDateTime());
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.fineract.infrastructure.cache.data.CacheInvalidation;
+import org.apache.fineract.infrastructure.core.service.TransactionBoundSynchronization;
+import org.springframework.cache.Cache;
+
+/**
+ * Local cache of one node in {@link org.apache.fineract.infrastructure.cache.domain.CacheType#MULTI_NODE} mode.
+ *
+ * Reads are served from the bounded local cache and counted as hits and misses. Evictions are applied locally and broadcast
+ * to the other nodes; within a transaction this happens once more after commit, so neither this node nor the others keep a
+ * value loaded from the state before the commit. Keys other than strings cannot be sent to other nodes, so those nodes clear
+ * the whole cache instead.
+ */
+public class MultiNodeCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheInvalidationPublisher publisher;
+    private final String nodeId;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public MultiNodeCache(final Cache delegate, final CacheInvalidationPublisher publisher, final String nodeId) {
+        this.delegate = delegate;
+        this.publisher = publisher;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(final Object key) {
+        return count(delegate.get(key));
+    }
+
+    @Override
+    public <T> T get(final Object key, final Class<T> type) {
+        final ValueWrapper value = count(delegate.get(key));
+        return value == null ? null : type.cast(value.get());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        final ValueWrapper value = count(delegate.get(key));
+        return value == null ? delegate.get(key, valueLoader) : (T) value.get();
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(final Object key) {
+        delegate.evict(key);
+        broadcast(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(final Object key) {
+        final boolean evicted = delegate.evictIfPresent(key);
+        broadcast(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        broadcast(null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        final boolean invalidated = delegate.invalidate();
+        broadcast(null);
+        return invalidated;
+    }
+
+    /**
+     * Applies an invalidation received from another node, without broadcasting it again.
+     */
+    void applyInvalidation(final String cacheKey) {
+        if (cacheKey == null) {
+            delegate.clear();
+        } else {
+            delegate.evict(cacheKey);
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private ValueWrapper count(final ValueWrapper value) {
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    private void broadcast(final Object key) {
+        final CacheInvalidation invalidation = new CacheInvalidation(getName(), key instanceof String stringKey ? stringKey : null,
+                nodeId);
+        if (!TransactionBoundSynchronization.isTransactionActive()) {
+            publisher.publish(invalidation);
+            return;
+        }
+        TransactionBoundSynchronization.afterCommit(Arrays.asList(this, key), () -> {
+            if (key == null) {
+                delegate.clear();
+            } else {
+                delegate.evict(key);
+            }
+            publisher.publish(invalidation);
+        });
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import lombok.Getter;
+import org.apache.fineract.infrastructure.cache.data.CacheInvalidation;
+import org.apache.fineract.infrastructure.cache.data.CacheStatisticsData;
+import org.apache.fineract.infrastructure.core.service.TransactionBoundSynchronization;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * {@link CacheManager} of the {@link org.apache.fineract.infrastructure.cache.domain.CacheType#MULTI_NODE} mode.
+ *
+ * Every node keeps its own bounded local caches (sized and expired per cache like the single node caches) and wraps them in
+ * {@link MultiNodeCache}s, which broadcast evictions through the {@link CacheInvalidationPublisher}. Invalidations of the
+ * other nodes come back through {@link #applyInvalidation(CacheInvalidation)}.
+ *
+ * Components which keep their own in-memory caches outside of the {@link CacheManager} take part by registering them with
+ * {@link #registerNodeLocalCache(String, Consumer)} and broadcasting their invalidations with
+ * {@link #broadcastInvalidation(String, String)}.
+ */
+public class MultiNodeCacheManager implements CacheManager {
+
+    private final CacheManager localCacheManager;
+    private final CacheInvalidationPublisher publisher;
+    private final ConcurrentMap<String, MultiNodeCache> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Consumer<String>> nodeLocalCaches = new ConcurrentHashMap<>();
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public MultiNodeCacheManager(final CacheManager localCacheManager, final CacheInvalidationPublisher publisher) {
+        this.localCacheManager = localCacheManager;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public Cache getCache(final String name) {
+        final MultiNodeCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        final Cache localCache = localCacheManager.getCache(name);
+        if (localCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> new MultiNodeCache(localCache, publisher, nodeId));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return localCacheManager.getCacheNames();
+    }
+
+    /**
+     * Registers a cache kept outside of this manager, which gets the invalidations of the other nodes for
+     * <code>cacheName</code>: the key passed is the one broadcast, or <code>null</code> to drop everything.
+     */
+    public void registerNodeLocalCache(final String cacheName, final Consumer<String> invalidator) {
+        nodeLocalCaches.put(cacheName, invalidator);
+    }
+
+    /**
+     * Sends the invalidation of a node local cache to the other nodes; within a transaction only after it committed.
+     */
+    public void broadcastInvalidation(final String cacheName, final String cacheKey) {
+        final CacheInvalidation invalidation = new CacheInvalidation(cacheName, cacheKey, nodeId);
+        TransactionBoundSynchronization.afterCommit(Arrays.asList(this, cacheName, cacheKey), () -> publisher.publish(invalidation));
+    }
+
+    public void applyInvalidation(final CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.originNode())) {
+            return;
+        }
+        final Consumer<String> nodeLocalCache = nodeLocalCaches.get(invalidation.cacheName());
+        if (nodeLocalCache != null) {
+            nodeLocalCache.accept(invalidation.cacheKey());
+            return;
+        }
+        final Cache cache = getCache(invalidation.cacheName());
+        if (cache instanceof MultiNodeCache multiNodeCache) {
+            multiNodeCache.applyInvalidation(invalidation.cacheKey());
+        }
+    }
+
+    public List<CacheStatisticsData> retrieveStatistics() {
+        return caches.values().stream().map(cache -> {
+            final long hits = cache.getHits();
+            final long misses = cache.getMisses();
+            final long requests = hits + misses;
+            return CacheStatisticsData.builder().cacheName(cache.getName()).hits(hits).misses(misses)
+                    .hitRatio(requests == 0 ? 0 : (double) hits / requests).build();
+        }).sorted(Comparator.comparing(CacheStatisticsData::getCacheName)).toList();
+    }
+}
@@ -24,11 +24,13 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.cache.CacheApiConstants;
 import org.apache.fineract.infrastructure.cache.CacheEnumerations;
 import org.apache.fineract.infrastructure.cache.data.CacheData;
+import org.apache.fineract.infrastructure.cache.data.CacheStatisticsData;
 import org.apache.fineract.infrastructure.cache.domain.CacheType;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.springframework.beans.factory.InitializingBean;
@@ -42,7 +44,8 @@ import org.springframework.stereotype.Component;
  * At present this implementation of {@link CacheManager} just delegates to the real {@link CacheManager} to use.
  *
  * By default it is {@link NoOpCacheManager} but we can change that by checking some persisted configuration in the
- * database on startup and allow user to switch implementation through UI/API
+ * database on startup and allow user to switch implementation through UI/API. The multi node cache is a local cache on every
+ * node which broadcasts its evictions to the other nodes, see {@link MultiNodeCacheManager}.
  */
 @Component(value = "runtimeDelegatingCacheManager")
 @RequiredArgsConstructor
@@ -53,6 +56,8 @@ public class RuntimeDelegatingCacheManager implements CacheManager, Initializing
     private final CacheManager ehCacheManager;
     @Qualifier("defaultCacheManager")
     private final CacheManager defaultCacheManager;
+    @Qualifier("multiNodeCacheManager")
+    private final MultiNodeCacheManager multiNodeCacheManager;
     private CacheManager currentCacheManager;
 
     @Override
@@ -74,21 +79,49 @@ public class RuntimeDelegatingCacheManager implements CacheManager, Initializing
 
         final boolean noCacheEnabled = currentCacheManager == defaultCacheManager;
         final boolean ehCacheEnabled = currentCacheManager == ehCacheManager;
+        final boolean multiNodeCacheEnabled = isMultiNodeCacheEnabled();
 
         final EnumOptionData noCacheType = CacheEnumerations.cacheType(CacheType.NO_CACHE);
         final EnumOptionData singleNodeCacheType = CacheEnumerations.cacheType(CacheType.SINGLE_NODE);
+        final EnumOptionData multiNodeCacheType = CacheEnumerations.cacheType(CacheType.MULTI_NODE);
 
         final CacheData noCache = CacheData.builder().cacheType(noCacheType).enabled(noCacheEnabled).build();
         final CacheData singleNodeCache = CacheData.builder().cacheType(singleNodeCacheType).enabled(ehCacheEnabled).build();
+        final CacheData multiNodeCache = CacheData.builder().cacheType(multiNodeCacheType).enabled(multiNodeCacheEnabled).build();
 
-        return Arrays.asList(noCache, singleNodeCache);
+        return Arrays.asList(noCache, singleNodeCache, multiNodeCache);
     }
 
-    public Map<String, Object> switchToCache(final boolean ehcacheEnabled, final CacheType toCacheType) {
+    public Collection<CacheStatisticsData> retrieveStatistics() {
+        return multiNodeCacheManager.retrieveStatistics();
+    }
+
+    public boolean isMultiNodeCacheEnabled() {
+        return currentCacheManager == multiNodeCacheManager;
+    }
+
+    /**
+     * @see MultiNodeCacheManager#registerNodeLocalCache(String, Consumer)
+     */
+    public void registerNodeLocalCache(final String cacheName, final Consumer<String> invalidator) {
+        multiNodeCacheManager.registerNodeLocalCache(cacheName, invalidator);
+    }
+
+    /**
+     * Broadcasts the invalidation of a node local cache to the other nodes. Node local caches are kept whatever cache type
+     * is configured, so their invalidations are broadcast in every mode, not only in multi node mode.
+     */
+    public void broadcastInvalidation(final String cacheName, final String cacheKey) {
+        multiNodeCacheManager.broadcastInvalidation(cacheName, cacheKey);
+    }
+
+    public Map<String, Object> switchToCache(final CacheType currentCacheType, final CacheType toCacheType) {
 
         final Map<String, Object> changes = new HashMap<>();
 
-        final boolean noCacheEnabled = !ehcacheEnabled;
+        final boolean noCacheEnabled = currentCacheType.isNoCache();
+        final boolean ehcacheEnabled = currentCacheType.isEhcache();
+        final boolean multiNodeCacheEnabled = currentCacheType.isDistributedCache();
 
         switch (toCacheType) {
             case INVALID -> {
@@ -111,7 +144,17 @@ public class RuntimeDelegatingCacheManager implements CacheManager, Initializing
                     log.error("No caches configured for activated CacheManager {}", currentCacheManager);
                 }
             }
-            case MULTI_NODE -> throw new UnsupportedOperationException("Multi node cache is not supported");
+            case MULTI_NODE -> {
+                if (!multiNodeCacheEnabled) {
+                    changes.put(CacheApiConstants.CACHE_TYPE_PARAMETER, toCacheType.getValue());
+                    clearEhCache();
+                }
+                currentCacheManager = multiNodeCacheManager;
+
+                if (currentCacheManager.getCacheNames().isEmpty()) {
+                    log.error("No caches configured for activated CacheManager {}", currentCacheManager);
+                }
+            }
         }
 
         return changes;
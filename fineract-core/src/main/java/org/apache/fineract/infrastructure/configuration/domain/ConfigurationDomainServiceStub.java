@@ -62,6 +62,9 @@ public class ConfigurationDomainServiceStub implements ConfigurationDomainServic
     @Override
     public boolean isEhcacheEnabled() { return false; }
 
+    @Override
+    public boolean isDistributedCacheEnabled() { return false; }
+
     @Override
     public void updateCache(CacheType cacheType) {}
 
@@ -67,6 +67,8 @@ public class FineractProperties {
 
     private FineractReportProperties report;
 
+    private FineractBulkImportProperties bulkImport;
+
     private FineractJobProperties job;
 
     private FineractTemplateProperties template;
@@ -79,6 +81,12 @@ public class FineractProperties {
 
     private FineractNotificationProperties notification;
 
+    private FineractHooksProperties hooks;
+
+    private FineractMailProperties mail;
+
+    private FineractSmsGatewayProperties smsGateway;
+
     private FineractLoanProperties loan;
 
     private FineractSamplingProperties sampling;
@@ -241,6 +249,15 @@ public class FineractProperties {
         private int partitions;
     }
 
+    @Getter
+    @Setter
+    public static class KafkaPipelinedBatchingProperties {
+
+        private boolean enabled;
+        private int maxChunkSizeInBytes;
+        private int maxChunksInFlight;
+    }
+
     @Getter
     @Setter
     public static class KafkaConsumerProperties extends KafkaProperties {
@@ -302,6 +319,10 @@ public class FineractProperties {
         private int tenantUpgradeTaskExecutorCorePoolSize;
         private int tenantUpgradeTaskExecutorMaxPoolSize;
         private int tenantUpgradeTaskExecutorQueueCapacity;
+        private int hookDeliveryTaskExecutorCorePoolSize;
+        private int hookDeliveryTaskExecutorMaxPoolSize;
+        private int hookDeliveryTaskExecutorQueueCapacity;
+        private int hookDeliveryTaskSchedulerPoolSize;
     }
 
     @Getter
@@ -314,6 +335,16 @@ public class FineractProperties {
         private int threadPoolCorePoolSize;
         private int threadPoolMaxPoolSize;
         private int threadPoolQueueCapacity;
+        private FineractExternalEventsRelayProperties relay;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractExternalEventsRelayProperties {
+
+        private boolean enabled;
+        private Duration pollInterval;
+        private Duration leaseDuration;
     }
 
     @Getter
@@ -354,6 +385,7 @@ public class FineractProperties {
         private KafkaProperties producer;
         private KafkaProperties admin;
         private int timeoutInSeconds;
+        private KafkaPipelinedBatchingProperties pipelinedBatching;
     }
 
     @Getter
@@ -394,6 +426,28 @@ public class FineractProperties {
     public static class FineractReportProperties {
 
         private FineractExportProperties export;
+        private FineractReportStreamingProperties streaming;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractReportStreamingProperties {
+
+        private boolean enabled;
+        private int fetchSize;
+        private int maxRows;
+        private Duration maxDuration;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractBulkImportProperties {
+
+        private boolean streamingEnabled;
+        private int workerThreads;
+        private int maxConcurrentImports;
+        private int queueCapacity;
+        private int chunkSize;
     }
 
     @Getter
@@ -417,7 +471,11 @@ public class FineractProperties {
 
         private int stuckRetryThreshold;
         private boolean loanCobEnabled;
+        private boolean savingsCobEnabled;
         private FineractJournalEntryAggregationProperties journalEntryAggregation;
+        private FineractSavingsInterestPostingProperties savingsInterestPosting;
+        private FineractRunningBalanceUpdateProperties runningBalanceUpdate;
+        private FineractTrialBalanceProperties trialBalance;
     }
 
     @Getter
@@ -429,6 +487,30 @@ public class FineractProperties {
         private Integer chunkSize;
     }
 
+    @Getter
+    @Setter
+    public static class FineractSavingsInterestPostingProperties {
+
+        private boolean incrementalEnabled;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractRunningBalanceUpdateProperties {
+
+        private int partitions;
+        private int batchSize;
+        private int fetchSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractTrialBalanceProperties {
+
+        private boolean setBasedEnabled;
+        private int partitions;
+    }
+
     @Getter
     @Setter
     public static class FineractTemplateProperties {
@@ -486,6 +568,65 @@ public class FineractProperties {
         private boolean enabled;
     }
 
+    @Getter
+    @Setter
+    public static class FineractHooksProperties {
+
+        private FineractHookHttpClientProperties httpClient;
+        private FineractWebHookDeliveryProperties webDelivery;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractHookHttpClientProperties {
+
+        private int maxIdleConnections;
+        private Duration keepAlive;
+        private int maxRequests;
+        private int maxRequestsPerHost;
+        private int maxCachedServices;
+        private Duration connectTimeout;
+        private Duration readTimeout;
+        private Duration writeTimeout;
+        private Duration callTimeout;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractWebHookDeliveryProperties {
+
+        private boolean enabled;
+        private Duration pollInterval;
+        private int batchSize;
+        private int maxAttempts;
+        private Duration initialBackoff;
+        private Duration maxBackoff;
+        private int maxConcurrentDeliveriesPerHook;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractMailProperties {
+
+        private int maxConnectionsPerServer;
+        private int maxMessagesPerConnection;
+        private Duration minSendInterval;
+        private Duration idleTimeout;
+        private int senderThreads;
+        private int senderQueueCapacity;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSmsGatewayProperties {
+
+        private boolean highThroughputEnabled;
+        private int pageSize;
+        private int maxPagesInFlight;
+        private Duration connectTimeout;
+        private Duration readTimeout;
+    }
+
     @Getter
     @Setter
     public static class FineractLoanProperties {
@@ -559,6 +700,16 @@ public class FineractProperties {
         public static class FineractSecurityBasicAuth {
 
             private boolean enabled;
+            private FineractSecurityBasicAuthCredentialCache credentialCache;
+        }
+
+        @Getter
+        @Setter
+        public static class FineractSecurityBasicAuthCredentialCache {
+
+            private boolean enabled;
+            private Duration timeToLive;
+            private int maximumSize;
         }
 
         @Getter
@@ -653,6 +804,33 @@ public class FineractProperties {
 
         private FineractCacheDetails defaultTemplate;
         private Map<String, FineractCacheDetails> customTemplates = new HashMap<>();
+        private FineractCacheMultiNodeProperties multiNode;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractCacheMultiNodeProperties {
+
+        private Duration pollInterval;
+        private Integer pollBatchSize;
+        private Duration retention;
+        private Duration reorderWindow;
+        private FineractCacheMultiNodeJmsProperties jms;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractCacheMultiNodeJmsProperties {
+
+        private boolean enabled;
+        private String brokerUrl;
+        private String brokerUsername;
+        private String brokerPassword;
+        private String topicName;
+
+        public boolean isBrokerPasswordProtected() {
+            return StringUtils.isNotBlank(brokerUsername) || StringUtils.isNotBlank(brokerPassword);
+        }
     }
 
     @Getter
@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.util.List;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+
+/**
+ * How the total number of filtered records of a {@link Page} is determined.
+ */
+public enum PageCountMode {
+
+    /**
+     * Counts the matching rows, which reads every one of them.
+     */
+    EXACT,
+    /**
+     * Uses the row estimate of the query planner, which is cheap but can be off, especially with selective filters.
+     */
+    APPROXIMATE,
+    /**
+     * Leaves the total out of the page.
+     */
+    NONE;
+
+    /**
+     * @return the mode named by the value (case-insensitively), or <code>null</code> if the value is blank
+     */
+    public static PageCountMode fromString(final String value) {
+        if (StringUtils.isBlank(value)) {
+            return null;
+        }
+        for (final PageCountMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        final ApiParameterError error = ApiParameterError.parameterError("validation.msg.pagination.count.not.supported",
+                "The count value '" + value + "' is not supported.", "count", value);
+        throw new PlatformApiDataValidationException(List.of(error));
+    }
+}
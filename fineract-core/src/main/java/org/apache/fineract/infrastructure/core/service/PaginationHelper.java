@@ -18,8 +18,19 @@
  */
 package org.apache.fineract.infrastructure.core.service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +41,10 @@ import org.springframework.stereotype.Component;
 @Component
 public class PaginationHelper {
 
+    private static final Pattern TRAILING_LIMIT = Pattern
+            .compile("\\s+LIMIT\\s+\\d+(\\s*,\\s*\\d+)?(\\s+OFFSET\\s+\\d+)?\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
     private final DatabaseSpecificSQLGenerator sqlGenerator;
     private final DatabaseTypeResolver databaseTypeResolver;
 
@@ -55,6 +70,59 @@ public class PaginationHelper {
         return new Page<>(items, totalFilteredRecords);
     }
 
+    /**
+     * Fetches an offset page like {@link #fetchPage(JdbcTemplate, String, Object[], RowMapper)}. Unless the count is exact,
+     * the found rows hint is dropped from the query so MySQL can stop reading at the limit.
+     */
+    public <E> Page<E> fetchPage(final JdbcTemplate jt, final String sqlFetchRows, final Object[] args, final RowMapper<E> rowMapper,
+            final PageCountMode countMode) {
+        if (countMode == PageCountMode.EXACT) {
+            return fetchPage(jt, sqlFetchRows, args, rowMapper);
+        }
+        final String sql = withoutCalcFoundRows(sqlFetchRows);
+        final List<E> items = jt.query(sql, rowMapper, args); // NOSONAR
+        final Integer totalFilteredRecords = countMode == PageCountMode.APPROXIMATE
+                ? estimateRowCount(jt, TRAILING_LIMIT.matcher(sql).replaceFirst(""), args)
+                : null;
+        return new Page<>(items, totalFilteredRecords);
+    }
+
+    /**
+     * Fetches a keyset page of the rows selected by <code>sqlFilterRows</code>, which has to end with its where clause. The rows
+     * are ordered by <code>keyColumn</code> and the page starts right after the key encoded in the cursor, so a deep page costs
+     * as much as the first one. A blank cursor requests the first page.
+     *
+     * @return the page, with the cursor of the next page unless it is the last one
+     */
+    public <E> Page<E> fetchKeysetPage(final JdbcTemplate jt, final String sqlFilterRows, final Object[] args, final RowMapper<E> rowMapper,
+            final String keyColumn, final Function<E, Long> keyExtractor, final String cursor, final int limit,
+            final PageCountMode countMode) {
+        final String sqlFilter = withoutCalcFoundRows(sqlFilterRows);
+        final Long afterKey = decodeCursor(cursor);
+        final StringBuilder sqlBuilder = new StringBuilder(sqlFilter);
+        final List<Object> params = new ArrayList<>(Arrays.asList(args));
+        if (afterKey != null) {
+            sqlBuilder.append(" and ").append(keyColumn).append(" > ?");
+            params.add(afterKey);
+        }
+        // one row more than requested tells whether there is a next page
+        sqlBuilder.append(" order by ").append(keyColumn).append(' ').append(sqlGenerator.limit(limit + 1));
+
+        List<E> items = jt.query(sqlBuilder.toString(), rowMapper, params.toArray()); // NOSONAR
+        String nextCursor = null;
+        if (items.size() > limit) {
+            items = new ArrayList<>(items.subList(0, limit));
+            nextCursor = encodeCursor(keyExtractor.apply(items.get(limit - 1)));
+        }
+
+        final Integer totalFilteredRecords = switch (countMode) {
+            case EXACT -> jt.queryForObject(sqlGenerator.countQueryResult(sqlFilter), Integer.class, args); // NOSONAR
+            case APPROXIMATE -> estimateRowCount(jt, sqlFilter, args);
+            case NONE -> null;
+        };
+        return new Page<>(items, totalFilteredRecords, nextCursor);
+    }
+
     public <E> Page<Long> fetchPage(JdbcTemplate jdbcTemplate, String sql, Class<Long> type) {
         final List<Long> items = jdbcTemplate.queryForList(sql, type);
 
@@ -64,4 +132,45 @@ public class PaginationHelper {
 
         return new Page<>(items, ObjectUtils.defaultIfNull(totalFilteredRecords, 0));
     }
+
+    private String withoutCalcFoundRows(final String sql) {
+        final String calcFoundRows = sqlGenerator.calcFoundRows();
+        return calcFoundRows.isEmpty() ? sql : sql.replace(calcFoundRows, "");
+    }
+
+    private Integer estimateRowCount(final JdbcTemplate jt, final String sql, final Object[] args) {
+        final String explainSql = "EXPLAIN " + sql;
+        if (databaseTypeResolver.isMySQL()) {
+            // the rows of the outer query block multiply, each reduced by the estimated share its conditions filter
+            double estimate = 1;
+            for (final Map<String, Object> step : jt.queryForList(explainSql, args)) { // NOSONAR
+                final Object selectType = step.get("select_type");
+                if (step.get("rows") instanceof Number rows && ("SIMPLE".equals(selectType) || "PRIMARY".equals(selectType))) {
+                    final double filtered = step.get("filtered") instanceof Number percentage ? percentage.doubleValue() / 100 : 1;
+                    estimate *= rows.doubleValue() * filtered;
+                }
+            }
+            return (int) Math.min(Math.round(estimate), Integer.MAX_VALUE);
+        }
+        final List<String> plan = jt.queryForList(explainSql, String.class, args); // NOSONAR
+        final Matcher matcher = PLAN_ROWS.matcher(plan.isEmpty() ? "" : plan.get(0));
+        return matcher.find() ? (int) Math.min(Long.parseLong(matcher.group(1)), Integer.MAX_VALUE) : null;
+    }
+
+    private static String encodeCursor(final Long key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(final String cursor) {
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            final ApiParameterError error = ApiParameterError.parameterError("validation.msg.pagination.cursor.invalid",
+                    "The cursor '" + cursor + "' is not valid.", "cursor", cursor);
+            throw new PlatformApiDataValidationException(List.of(error), e);
+        }
+    }
 }
@@ -57,6 +57,9 @@ public class SearchParameters {
     @Getter(AccessLevel.NONE)
     private Boolean isSelfUser;
     private Integer legalForm;
+    private String cursor;
+    @Getter(AccessLevel.NONE)
+    private PageCountMode countMode;
 
     public Integer getLimit() {
         if (limit == null) {
@@ -70,6 +73,31 @@ public class SearchParameters {
         return null; // unlimited (0 or less)
     }
 
+    /**
+     * @return the size of a keyset page, which unlike an offset page is never unlimited
+     */
+    public int getPageSize() {
+        final Integer pageSize = getLimit();
+        return pageSize == null ? DEFAULT_MAX_LIMIT : pageSize;
+    }
+
+    /**
+     * @return the requested count mode, by default exact for offset pages and none for keyset pages
+     */
+    public PageCountMode getCountMode() {
+        if (countMode != null) {
+            return countMode;
+        }
+        return isKeysetPaged() ? PageCountMode.NONE : PageCountMode.EXACT;
+    }
+
+    /**
+     * @return whether the page is requested by cursor, an empty cursor requesting the first page
+     */
+    public boolean isKeysetPaged() {
+        return this.cursor != null;
+    }
+
     public Boolean getOrphansOnly() {
         return Boolean.TRUE.equals(orphansOnly);
     }
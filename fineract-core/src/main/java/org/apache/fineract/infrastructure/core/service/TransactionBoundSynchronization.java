@@ -0,0 +1,165 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Base class of the synchronizations which collect work within one transaction.
+ *
+ * An instance is bound to the current transaction as a resource under the key of its owner, so that every call of the owner
+ * within the same transaction finds and extends the same instance. It is unbound while the transaction is suspended and once
+ * the transaction completes. Subclasses override the callbacks they need; {@link #suspend()}, {@link #resume()} and
+ * {@link #afterCompletion(int)} keep the binding and must not be overridden without calling them.
+ *
+ * Only an actual transaction is used: with synchronization active but no transaction running (e.g. within
+ * <code>PROPAGATION_SUPPORTS</code>) nothing would ever commit, so callers have to do their work right away.
+ */
+public abstract class TransactionBoundSynchronization implements TransactionSynchronization {
+
+    private final Object key;
+
+    protected TransactionBoundSynchronization(final Object key) {
+        this.key = key;
+    }
+
+    /**
+     * @return whether there is an actual transaction to bind work to
+     */
+    public static boolean isTransactionActive() {
+        return TransactionSynchronizationManager.isActualTransactionActive() && TransactionSynchronizationManager.isSynchronizationActive();
+    }
+
+    /**
+     * @return the synchronization bound under the key, created and registered with the current transaction if there is none
+     *         yet, or <code>null</code> without an active transaction
+     */
+    @SuppressWarnings("unchecked")
+    public static <S extends TransactionBoundSynchronization> S bind(final Object key, final Supplier<S> factory) {
+        if (!isTransactionActive()) {
+            return null;
+        }
+        S synchronization = (S) TransactionSynchronizationManager.getResource(key);
+        if (synchronization == null) {
+            synchronization = factory.get();
+            TransactionSynchronizationManager.bindResource(key, synchronization);
+            TransactionSynchronizationManager.registerSynchronization(synchronization);
+        }
+        return synchronization;
+    }
+
+    /**
+     * @return the synchronization bound under the key, or <code>null</code> if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public static <S extends TransactionBoundSynchronization> S current(final Object key) {
+        return isTransactionActive() ? (S) TransactionSynchronizationManager.getResource(key) : null;
+    }
+
+    /**
+     * Runs the action once the current transaction commits, or right away without one. Within one transaction only the first
+     * action of a key is kept.
+     */
+    public static void afterCommit(final Object key, final Runnable action) {
+        final CompletionActions actions = completionActions();
+        if (actions == null) {
+            action.run();
+        } else {
+            actions.onCommit.putIfAbsent(key, action);
+        }
+    }
+
+    /**
+     * Runs the action once the current transaction completes, whether it commits or rolls back, or right away without one.
+     * Within one transaction only the first action of a key is kept.
+     */
+    public static void afterCompletion(final Object key, final Runnable action) {
+        final CompletionActions actions = completionActions();
+        if (actions == null) {
+            action.run();
+        } else {
+            actions.onCompletion.putIfAbsent(key, action);
+        }
+    }
+
+    private static CompletionActions completionActions() {
+        if (!isTransactionActive()) {
+            return null;
+        }
+        // the synchronizations of a suspended transaction are not listed, so no resource binding is needed here
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof CompletionActions actions) {
+                return actions;
+            }
+        }
+        final CompletionActions actions = new CompletionActions();
+        TransactionSynchronizationManager.registerSynchronization(actions);
+        return actions;
+    }
+
+    @Override
+    public void suspend() {
+        TransactionSynchronizationManager.unbindResource(key);
+    }
+
+    @Override
+    public void resume() {
+        TransactionSynchronizationManager.bindResource(key, this);
+    }
+
+    @Override
+    public void afterCompletion(final int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(key);
+    }
+
+    /**
+     * A failing action is only logged: the transaction has already completed, and the other actions still have to run.
+     */
+    @Slf4j
+    private static final class CompletionActions implements TransactionSynchronization {
+
+        private final Map<Object, Runnable> onCommit = new LinkedHashMap<>();
+        private final Map<Object, Runnable> onCompletion = new LinkedHashMap<>();
+
+        @Override
+        public void afterCommit() {
+            runAll(onCommit);
+        }
+
+        @Override
+        public void afterCompletion(final int status) {
+            runAll(onCompletion);
+        }
+
+        private static void runAll(final Map<Object, Runnable> actions) {
+            for (Map.Entry<Object, Runnable> action : actions.entrySet()) {
+                try {
+                    action.getValue().run();
+                } catch (RuntimeException e) {
+                    log.warn("Running the completion action of {} failed", action.getKey(), e);
+                }
+            }
+        }
+    }
+}
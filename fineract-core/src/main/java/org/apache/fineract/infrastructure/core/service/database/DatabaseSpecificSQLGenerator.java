@@ -21,6 +21,7 @@ package org.apache.fineract.infrastructure.core.service.database;
 import static java.lang.String.format;
 
 import java.math.BigInteger;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Collection;
 import java.util.Collections;
@@ -201,6 +202,51 @@ public class DatabaseSpecificSQLGenerator {
         }
     }
 
+    /**
+     * Builds a running total of {@code expression} over the rows of each partition, in the given order.
+     * <p>
+     * Requires window functions, see {@link #supportsWindowFunctions()}.
+     */
+    public String runningSum(@NonNull String expression, @NonNull String partitionBy, @NonNull String orderBy) {
+        return format("SUM(%s) OVER (PARTITION BY %s ORDER BY %s ROWS BETWEEN UNBOUNDED PRECEDING AND CURRENT ROW)", expression,
+                partitionBy, orderBy);
+    }
+
+    /**
+     * Tells whether the database of the current tenant supports window functions. PostgreSQL always does, MySQL only from 8.0
+     * and MariaDB from 10.2 on.
+     */
+    public boolean supportsWindowFunctions() {
+        return switch (getDialect()) {
+            case POSTGRESQL -> true;
+            case MYSQL -> {
+                final String version = databaseProductVersion();
+                yield version.contains("MariaDB") ? isVersionAtLeast(version, 10, 2) : isVersionAtLeast(version, 8, 0);
+            }
+        };
+    }
+
+    private String databaseProductVersion() {
+        final Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            return connection.getMetaData().getDatabaseProductVersion();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static boolean isVersionAtLeast(String version, int major, int minor) {
+        // older MariaDB servers report themselves as 5.5.5-10.x.y-MariaDB for the sake of MySQL clients
+        final String[] parts = version.replaceFirst("^5\\.5\\.5-", "").split("[^0-9]+");
+        if (parts.length < 2 || parts[0].isEmpty()) {
+            return false;
+        }
+        final int actualMajor = Integer.parseInt(parts[0]);
+        return actualMajor > major || (actualMajor == major && Integer.parseInt(parts[1]) >= minor);
+    }
+
     public String alias(@NonNull String field, String alias) {
         return Strings.isEmpty(alias) ? field : (alias + '.') + field;
     }
@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.business.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.fineract.infrastructure.event.business.BusinessEventListener;
+
+/**
+ * The business event listeners subscribed to an event type or one of its super types, resolved once per concrete event
+ * class.
+ *
+ * The resolved listeners are kept in a table which is replaced by an empty one on every subscription, so a lookup of an
+ * already resolved event class is a single map read without any allocation.
+ */
+@SuppressWarnings({ "rawtypes" })
+final class BusinessEventListenerDispatchTable {
+
+    private static final BusinessEventListener[] NO_LISTENERS = new BusinessEventListener[0];
+
+    // guarded by this
+    private final Map<Class, List<BusinessEventListener>> subscriptions = new LinkedHashMap<>();
+    private volatile ConcurrentMap<Class<?>, BusinessEventListener[]> dispatchTable = new ConcurrentHashMap<>();
+
+    synchronized void subscribe(final Class eventType, final BusinessEventListener listener) {
+        subscriptions.computeIfAbsent(eventType, key -> new ArrayList<>()).add(listener);
+        dispatchTable = new ConcurrentHashMap<>();
+    }
+
+    BusinessEventListener[] listenersFor(final Class<?> eventClass) {
+        // a table replaced in the meantime only loses this entry
+        final ConcurrentMap<Class<?>, BusinessEventListener[]> table = dispatchTable;
+        BusinessEventListener[] listeners = table.get(eventClass);
+        if (listeners == null) {
+            listeners = resolve(eventClass);
+            table.put(eventClass, listeners);
+        }
+        return listeners;
+    }
+
+    private synchronized BusinessEventListener[] resolve(final Class<?> eventClass) {
+        final List<BusinessEventListener> result = new ArrayList<>();
+        for (Map.Entry<Class, List<BusinessEventListener>> entry : subscriptions.entrySet()) {
+            if (entry.getKey().isAssignableFrom(eventClass)) {
+                result.addAll(entry.getValue());
+            }
+        }
+        return result.isEmpty() ? NO_LISTENERS : result.toArray(NO_LISTENERS);
+    }
+}
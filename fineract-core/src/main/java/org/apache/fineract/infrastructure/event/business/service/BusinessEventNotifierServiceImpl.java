@@ -19,9 +19,7 @@
 package org.apache.fineract.infrastructure.event.business.service;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Stack;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -49,8 +47,8 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierService, InitializingBean, TransactionExecutionListener {
 
-    private final Map<Class, List<BusinessEventListener>> preListeners = new HashMap<>();
-    private final Map<Class, List<BusinessEventListener>> postListeners = new HashMap<>();
+    private final BusinessEventListenerDispatchTable preListeners = new BusinessEventListenerDispatchTable();
+    private final BusinessEventListenerDispatchTable postListeners = new BusinessEventListenerDispatchTable();
 
     private final ThreadLocal<Boolean> eventRecordingEnabled = ThreadLocal.withInitial(() -> false);
     private final ThreadLocal<List<BusinessEvent<?>>> recordedEvents = ThreadLocal.withInitial(ArrayList::new);
@@ -73,20 +71,14 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
     @Override
     public void notifyPreBusinessEvent(BusinessEvent<?> businessEvent) {
         throwExceptionIfBulkEvent(businessEvent);
-        List<BusinessEventListener> businessEventListeners = findSuitableListeners(preListeners, businessEvent.getClass());
-        for (BusinessEventListener eventListener : businessEventListeners) {
+        for (BusinessEventListener eventListener : preListeners.listenersFor(businessEvent.getClass())) {
             eventListener.onBusinessEvent(businessEvent);
         }
     }
 
     @Override
     public <T extends BusinessEvent<?>> void addPreBusinessEventListener(Class<T> eventType, BusinessEventListener<T> listener) {
-        List<BusinessEventListener> businessEventListeners = preListeners.get(eventType);
-        if (businessEventListeners == null) {
-            businessEventListeners = new ArrayList<>();
-            preListeners.put(eventType, businessEventListeners);
-        }
-        businessEventListeners.add(listener);
+        preListeners.subscribe(eventType, listener);
     }
 
     @Override
@@ -94,8 +86,7 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
     public void notifyPostBusinessEvent(BusinessEvent<?> businessEvent) {
         throwExceptionIfBulkEvent(businessEvent);
         boolean isExternalEvent = !(businessEvent instanceof NoExternalEvent);
-        List<BusinessEventListener> businessEventListeners = findSuitableListeners(postListeners, businessEvent.getClass());
-        for (BusinessEventListener eventListener : businessEventListeners) {
+        for (BusinessEventListener eventListener : postListeners.listenersFor(businessEvent.getClass())) {
             eventListener.onBusinessEvent(businessEvent);
         }
         if (isExternalEvent && isExternalEventPostingEnabled()) {
@@ -114,25 +105,9 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
         }
     }
 
-    private List<BusinessEventListener> findSuitableListeners(Map<Class, List<BusinessEventListener>> listeners, Class<?> eventClazz) {
-        List<BusinessEventListener> result = new ArrayList<>();
-        for (Map.Entry<Class, List<BusinessEventListener>> entry : listeners.entrySet()) {
-            Class<?> registeredClazz = entry.getKey();
-            if (registeredClazz.isAssignableFrom(eventClazz)) {
-                result.addAll(entry.getValue());
-            }
-        }
-        return result;
-    }
-
     @Override
     public <T extends BusinessEvent<?>> void addPostBusinessEventListener(Class<T> eventType, BusinessEventListener<T> listener) {
-        List<BusinessEventListener> businessEventListeners = postListeners.get(eventType);
-        if (businessEventListeners == null) {
-            businessEventListeners = new ArrayList<>();
-            postListeners.put(eventType, businessEventListeners);
-        }
-        businessEventListeners.add(listener);
+        postListeners.subscribe(eventType, listener);
     }
 
     private boolean isExternalEventRecordingEnabled() {
@@ -222,6 +197,8 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
                 }
             }
         });
+        // the transaction synchronizations already ran their before commit hooks at this point
+        externalEventService.flushStoredEvents();
     }
 
     @Override
@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
@@ -41,6 +42,7 @@ import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.event.external.config.TaskExecutorConstant;
 import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
+import org.apache.fineract.infrastructure.event.external.relay.ExternalEventRelay;
 import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
@@ -87,6 +89,10 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
     }
 
     protected boolean isDownstreamChannelEnabled() {
+        if (ExternalEventRelay.isEnabled(fineractProperties)) {
+            // the always-on relay publishes the events instead of this job
+            return false;
+        }
         return fineractProperties.getEvents().getExternal().getProducer().getJms().isEnabled()
                 || fineractProperties.getEvents().getExternal().getProducer().getKafka().isEnabled();
     }
@@ -100,13 +106,34 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
 
     private void sendEvents(List<ExternalEventView> queuedEvents) {
         Map<Long, List<byte[]>> partitions = generatePartitions(queuedEvents);
-        List<Long> eventIds = queuedEvents.stream().map(ExternalEventView::getId).toList();
-        sendEventsToProducer(partitions);
-        markEventsAsSent(eventIds);
+        Map<Long, Integer> acknowledged = sendEventsToProducer(partitions);
+        List<Long> eventIds = getAcknowledgedEventIds(queuedEvents, acknowledged);
+        if (eventIds.size() < queuedEvents.size()) {
+            log.warn("{} of {} events were not acknowledged, they will be sent again", queuedEvents.size() - eventIds.size(),
+                    queuedEvents.size());
+        }
+        if (!eventIds.isEmpty()) {
+            markEventsAsSent(eventIds);
+        }
     }
 
-    private void sendEventsToProducer(Map<Long, List<byte[]>> partitions) {
-        eventProducer.sendEvents(partitions);
+    private Map<Long, Integer> sendEventsToProducer(Map<Long, List<byte[]>> partitions) {
+        return eventProducer.sendEventsWithAcknowledgements(partitions);
+    }
+
+    private List<Long> getAcknowledgedEventIds(List<ExternalEventView> queuedEvents, Map<Long, Integer> acknowledged) {
+        // the partitions keep the order of the queued events, so the leading events of every partition were acknowledged
+        Map<Long, Integer> remaining = new HashMap<>(acknowledged);
+        List<Long> eventIds = new ArrayList<>(queuedEvents.size());
+        for (ExternalEventView event : queuedEvents) {
+            Long aggregateRootId = getPartitionKey(event);
+            int remainingInPartition = remaining.getOrDefault(aggregateRootId, 0);
+            if (remainingInPartition > 0) {
+                eventIds.add(event.getId());
+                remaining.put(aggregateRootId, remainingInPartition - 1);
+            }
+        }
+        return eventIds;
     }
 
     private void markEventsAsSent(final List<Long> eventIds) {
@@ -146,13 +173,8 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
     }
 
     private Map<Long, List<byte[]>> generatePartitions(List<ExternalEventView> queuedEvents) {
-        Map<Long, List<ExternalEventView>> initialPartitions = queuedEvents.stream().collect(groupingBy(externalEvent -> {
-            Long aggregateRootId = externalEvent.getAggregateRootId();
-            if (aggregateRootId == null) {
-                aggregateRootId = -1L;
-            }
-            return aggregateRootId;
-        }));
+        Map<Long, List<ExternalEventView>> initialPartitions = queuedEvents.stream()
+                .collect(groupingBy(SendAsynchronousEventsTasklet::getPartitionKey));
         Map<Long, List<byte[]>> partitions = measure(
                 () -> initialPartitions.entrySet().stream().collect(toMap(Map.Entry::getKey, e -> createMessages(e.getValue()))),
                 timeTaken -> {
@@ -161,6 +183,14 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
         return partitions;
     }
 
+    private static Long getPartitionKey(ExternalEventView externalEvent) {
+        Long aggregateRootId = externalEvent.getAggregateRootId();
+        if (aggregateRootId == null) {
+            aggregateRootId = -1L;
+        }
+        return aggregateRootId;
+    }
+
     private List<byte[]> createMessages(List<ExternalEventView> events) {
         try {
             List<byte[]> messages = new ArrayList<>();
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.infrastructure.event.external.producer;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.fineract.infrastructure.event.external.exception.AcknowledgementTimeoutException;
@@ -33,4 +34,24 @@ public interface ExternalEventProducer {
      * @throws AcknowledgementTimeoutException
      */
     void sendEvents(Map<Long, List<byte[]>> partitions) throws AcknowledgementTimeoutException;
+
+    /**
+     * Sends the created ExternalEvents and reports which of them were acknowledged
+     *
+     * Inside a partition only the leading events up to the first one which was not acknowledged count as sent, so the
+     * events of an aggregated root are never marked as sent out of order. By default all partitions are sent with
+     * {@link #sendEvents(Map)}, so either every event is acknowledged or the exception is thrown.
+     *
+     * @param partitions
+     *            is a Map<Long, List<byte[]>> partitions, the key here the id of the aggregated root. The value is list
+     *            of external events belong to the same key, serialized into byte array
+     * @return the number of leading events of every partition which were acknowledged
+     * @throws AcknowledgementTimeoutException
+     */
+    default Map<Long, Integer> sendEventsWithAcknowledgements(Map<Long, List<byte[]>> partitions) throws AcknowledgementTimeoutException {
+        sendEvents(partitions);
+        Map<Long, Integer> acknowledged = new LinkedHashMap<>();
+        partitions.forEach((key, messages) -> acknowledged.put(key, messages.size()));
+        return acknowledged;
+    }
 }
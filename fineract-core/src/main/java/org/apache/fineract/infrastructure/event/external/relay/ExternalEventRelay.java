@@ -0,0 +1,210 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.relay;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractExternalEventsRelayProperties;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.TransactionBoundSynchronization;
+import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Always-on alternative to the send asynchronous events job.
+ *
+ * Every tenant gets a background loop which publishes the queued external events as soon as the transaction storing them
+ * commits, and polls at the configured interval for the events stored by the other nodes. A loop only publishes while its
+ * node holds the {@link ExternalEventRelayLease} of the tenant, so the events are relayed by one node at a time. The lease
+ * is renewed every third of its duration while a batch is being published, so a slow batch does not lose it.
+ */
+@Slf4j
+@Component
+public class ExternalEventRelay implements ApplicationListener<ContextRefreshedEvent>, DisposableBean {
+
+    private final FineractExternalEventsRelayProperties properties;
+    private final TenantDetailsService tenantDetailsService;
+    private final ExternalEventRelayLease lease;
+    private final ExternalEventRelayPublisher publisher;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TenantRelay> relays = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService leaseRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "externalEventRelayLease");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean running;
+
+    public ExternalEventRelay(final FineractProperties fineractProperties, final TenantDetailsService tenantDetailsService,
+            final ExternalEventRelayLease lease, final ExternalEventRelayPublisher publisher) {
+        this.properties = fineractProperties.getEvents().getExternal().getRelay();
+        this.tenantDetailsService = tenantDetailsService;
+        this.lease = lease;
+        this.publisher = publisher;
+    }
+
+    public static boolean isEnabled(final FineractProperties fineractProperties) {
+        final FineractExternalEventsRelayProperties relay = fineractProperties.getEvents().getExternal().getRelay();
+        return relay != null && relay.isEnabled();
+    }
+
+    @Override
+    public void onApplicationEvent(final ContextRefreshedEvent event) {
+        if (properties == null || !properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        tenantDetailsService.findAllTenants().forEach(this::relayOf);
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        relays.values().forEach(TenantRelay::stop);
+        leaseRenewer.shutdownNow();
+    }
+
+    /**
+     * Wakes the relay of the current tenant once the current transaction commits, or right away outside of a transaction.
+     */
+    public void wakeUpAfterCommit() {
+        if (!running) {
+            return;
+        }
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        TransactionBoundSynchronization.afterCommit(this, () -> relayOf(tenant).wakeUp());
+    }
+
+    private TenantRelay relayOf(final FineractPlatformTenant tenant) {
+        return relays.computeIfAbsent(tenant.getTenantIdentifier(), tenantIdentifier -> {
+            final TenantRelay relay = new TenantRelay(tenant);
+            relay.start();
+            return relay;
+        });
+    }
+
+    private final class TenantRelay implements Runnable {
+
+        private final FineractPlatformTenant tenant;
+        private final Semaphore signal = new Semaphore(0);
+        private final Thread thread;
+
+        private TenantRelay(final FineractPlatformTenant tenant) {
+            this.tenant = tenant;
+            this.thread = new Thread(this, "externalEventRelay-" + tenant.getTenantIdentifier());
+            this.thread.setDaemon(true);
+        }
+
+        private void start() {
+            thread.start();
+        }
+
+        private void stop() {
+            thread.interrupt();
+        }
+
+        private void wakeUp() {
+            signal.release();
+        }
+
+        @Override
+        public void run() {
+            final Duration pollInterval = properties.getPollInterval();
+            try {
+                while (running) {
+                    if (!relayNextBatch()) {
+                        signal.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                        signal.drainPermits();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                releaseLease();
+            }
+        }
+
+        private boolean relayNextBatch() {
+            final Duration leaseDuration = properties.getLeaseDuration();
+            try {
+                initContext();
+                if (!lease.acquire(nodeId, leaseDuration)) {
+                    return false;
+                }
+                final long renewalInterval = Math.max(1L, leaseDuration.toMillis() / 3);
+                final ScheduledFuture<?> renewal = leaseRenewer.scheduleAtFixedRate(this::renewLease, renewalInterval, renewalInterval,
+                        TimeUnit.MILLISECONDS);
+                try {
+                    return publisher.publishNextBatch(nodeId, leaseDuration);
+                } finally {
+                    renewal.cancel(false);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Relaying the external events of tenant {} failed", tenant.getTenantIdentifier(), e);
+                return false;
+            } finally {
+                ThreadLocalContextUtil.reset();
+            }
+        }
+
+        private void renewLease() {
+            try {
+                initContext();
+                if (!lease.renew(nodeId, properties.getLeaseDuration())) {
+                    log.warn("The external event relay lease of tenant {} was taken over while publishing", tenant.getTenantIdentifier());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Renewing the external event relay lease of tenant {} failed", tenant.getTenantIdentifier(), e);
+            } finally {
+                ThreadLocalContextUtil.reset();
+            }
+        }
+
+        private void releaseLease() {
+            try {
+                initContext();
+                lease.release(nodeId);
+            } catch (RuntimeException e) {
+                log.debug("Releasing the external event relay lease of tenant {} failed", tenant.getTenantIdentifier(), e);
+            } finally {
+                ThreadLocalContextUtil.reset();
+            }
+        }
+
+        private void initContext() {
+            ThreadLocalContextUtil.setTenant(tenant);
+            ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        }
+    }
+}
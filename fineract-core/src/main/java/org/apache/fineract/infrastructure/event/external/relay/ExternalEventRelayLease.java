@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.relay;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exclusive, time limited lease on relaying the external events of the current tenant, kept in the single row of
+ * <code>m_external_event_relay_lease</code>. Only the node holding the lease publishes, which keeps the events of an
+ * aggregate root in order when several nodes run the relay.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExternalEventRelayLease {
+
+    private static final String ACQUIRE_SQL = "UPDATE m_external_event_relay_lease SET owner_node = ?, lease_until = ? WHERE id = 1 "
+            + "AND (owner_node IS NULL OR owner_node = ? OR lease_until IS NULL OR lease_until < ?)";
+    private static final String RENEW_SQL = "UPDATE m_external_event_relay_lease SET lease_until = ? WHERE id = 1 AND owner_node = ?";
+    private static final String RELEASE_SQL = "UPDATE m_external_event_relay_lease SET owner_node = NULL, lease_until = NULL "
+            + "WHERE id = 1 AND owner_node = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Takes the lease if it is free or expired, or extends it if the node already holds it.
+     *
+     * @return <code>true</code> if the node holds the lease for the given duration from now on
+     */
+    public boolean acquire(final String nodeId, final Duration leaseDuration) {
+        final LocalDateTime now = DateUtils.getAuditLocalDateTime();
+        return jdbcTemplate.update(ACQUIRE_SQL, nodeId, now.plus(leaseDuration), nodeId, now) == 1;
+    }
+
+    /**
+     * Extends the lease if the node still holds it. Inside a transaction the lease row stays locked until the transaction
+     * completes, so no other node can take the lease over in the meantime.
+     *
+     * @return <code>true</code> if the node holds the lease for the given duration from now on
+     */
+    public boolean renew(final String nodeId, final Duration leaseDuration) {
+        return jdbcTemplate.update(RENEW_SQL, DateUtils.getAuditLocalDateTime().plus(leaseDuration), nodeId) == 1;
+    }
+
+    public void release(final String nodeId) {
+        jdbcTemplate.update(RELEASE_SQL, nodeId);
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.relay;
+
+import static org.apache.fineract.infrastructure.core.diagnostics.performance.MeasuringUtil.measure;
+
+import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.avro.MessageV1;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
+import org.apache.fineract.infrastructure.event.external.service.message.MessageFactory;
+import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Publishes the queued external events of the current tenant for the {@link ExternalEventRelay}.
+ *
+ * A batch is read in the same order as the send asynchronous events job reads it and is grouped by aggregate root with
+ * the order kept inside every group. The whole batch is handed to the producer at once, so the producer can pipeline the
+ * sends and waits for the acknowledgements only once per batch. Only the acknowledged events are marked as sent, and only
+ * if the node still holds the {@link ExternalEventRelayLease}: the lease is renewed in the same transaction, so a node
+ * which lost the lease during a slow batch leaves the events to the node which took it over.
+ */
+@Slf4j
+@Component
+public class ExternalEventRelayPublisher {
+
+    private static final String METRIC_NAME_PREFIX = "fineract.events.external.relay";
+
+    private final FineractProperties fineractProperties;
+    private final ExternalEventRepository repository;
+    private final ExternalEventProducer eventProducer;
+    private final MessageFactory messageFactory;
+    private final ByteBufferConverter byteBufferConverter;
+    private final ConfigurationDomainService configurationDomainService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExternalEventRelayLease lease;
+    private final MeterRegistry registry;
+    private final Timer commitToPublish;
+    private final ConcurrentMap<String, AtomicLong> backlogs = new ConcurrentHashMap<>();
+
+    public ExternalEventRelayPublisher(final FineractProperties fineractProperties, final ExternalEventRepository repository,
+            final ExternalEventProducer eventProducer, final MessageFactory messageFactory, final ByteBufferConverter byteBufferConverter,
+            final ConfigurationDomainService configurationDomainService, final TransactionTemplate transactionTemplate,
+            final ExternalEventRelayLease lease, final Optional<MeterRegistry> meterRegistry) {
+        this.fineractProperties = fineractProperties;
+        this.repository = repository;
+        this.eventProducer = eventProducer;
+        this.messageFactory = messageFactory;
+        this.byteBufferConverter = byteBufferConverter;
+        this.configurationDomainService = configurationDomainService;
+        this.transactionTemplate = transactionTemplate;
+        this.lease = lease;
+        this.registry = meterRegistry.orElseGet(SimpleMeterRegistry::new);
+        this.commitToPublish = Timer.builder(METRIC_NAME_PREFIX + ".commit-to-publish")
+                .description("Time between storing an external event and publishing it") //
+                .publishPercentiles(0.5, 0.95, 0.99) //
+                .register(registry);
+    }
+
+    /**
+     * Publishes the oldest batch of queued events of the current tenant and marks them as sent, provided the node still
+     * holds the lease.
+     *
+     * @return <code>true</code> if the batch was full, so further events are probably waiting
+     */
+    public boolean publishNextBatch(final String nodeId, final Duration leaseDuration) {
+        final int batchSize = configurationDomainService.retrieveExternalEventBatchSize().intValue();
+        final List<ExternalEventView> events = measure(
+                () -> repository.findByStatusOrderByBusinessDateAscIdAsc(ExternalEventStatus.TO_BE_SENT, PageRequest.ofSize(batchSize)),
+                (result, timeTaken) -> log.debug("Loaded {} events in {}ms", result.size(), timeTaken.toMillis()));
+        if (!events.isEmpty()) {
+            final List<ExternalEventView> sentEvents = getAcknowledgedEvents(events,
+                    eventProducer.sendEventsWithAcknowledgements(createPartitions(events)));
+            if (sentEvents.size() < events.size()) {
+                log.warn("{} of {} events were not acknowledged, they will be relayed again", events.size() - sentEvents.size(),
+                        events.size());
+            }
+            if (!sentEvents.isEmpty()) {
+                if (!markEventsAsSent(sentEvents.stream().map(ExternalEventView::getId).toList(), nodeId, leaseDuration)) {
+                    log.warn("The external event relay lease was lost while publishing, {} events will be relayed again by its new holder",
+                            sentEvents.size());
+                    return false;
+                }
+                recordCommitToPublish(sentEvents);
+            }
+        }
+        final boolean batchFull = events.size() >= batchSize;
+        backlog().set(batchFull ? repository.countByStatus(ExternalEventStatus.TO_BE_SENT) : 0L);
+        return batchFull;
+    }
+
+    private Map<Long, List<byte[]>> createPartitions(final List<ExternalEventView> events) {
+        final Map<Long, List<byte[]>> partitions = new LinkedHashMap<>();
+        try {
+            for (ExternalEventView event : events) {
+                final Long aggregateRootId = getPartitionKey(event);
+                final MessageV1 message = messageFactory.createMessage(event);
+                partitions.computeIfAbsent(aggregateRootId, key -> new ArrayList<>())
+                        .add(byteBufferConverter.convert(message.toByteBuffer()));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while serializing the message", e);
+        }
+        return partitions;
+    }
+
+    private List<ExternalEventView> getAcknowledgedEvents(final List<ExternalEventView> events, final Map<Long, Integer> acknowledged) {
+        final Map<Long, Integer> remaining = new HashMap<>(acknowledged);
+        final List<ExternalEventView> acknowledgedEvents = new ArrayList<>(events.size());
+        for (ExternalEventView event : events) {
+            final Long aggregateRootId = getPartitionKey(event);
+            final int remainingInPartition = remaining.getOrDefault(aggregateRootId, 0);
+            if (remainingInPartition > 0) {
+                acknowledgedEvents.add(event);
+                remaining.put(aggregateRootId, remainingInPartition - 1);
+            }
+        }
+        return acknowledgedEvents;
+    }
+
+    private static Long getPartitionKey(final ExternalEventView event) {
+        return event.getAggregateRootId() == null ? -1L : event.getAggregateRootId();
+    }
+
+    private boolean markEventsAsSent(final List<Long> eventIds, final String nodeId, final Duration leaseDuration) {
+        final OffsetDateTime sentAt = DateUtils.getAuditOffsetDateTime();
+        // Partitioning dataset to avoid exception: PreparedStatement can have at most 65,535 parameters
+        final int partitionSize = fineractProperties.getEvents().getExternal().getPartitionSize();
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (!lease.renew(nodeId, leaseDuration)) {
+                return false;
+            }
+            Lists.partition(eventIds, partitionSize).forEach(partitionedEventIds -> repository.markEventsSent(partitionedEventIds, sentAt));
+            return true;
+        }));
+    }
+
+    private void recordCommitToPublish(final List<ExternalEventView> events) {
+        final OffsetDateTime now = DateUtils.getAuditOffsetDateTime();
+        for (ExternalEventView event : events) {
+            if (event.getCreatedAt() != null) {
+                commitToPublish.record(Duration.between(event.getCreatedAt(), now));
+            }
+        }
+    }
+
+    private AtomicLong backlog() {
+        return backlogs.computeIfAbsent(ThreadLocalContextUtil.getTenant().getTenantIdentifier(), tenantIdentifier -> {
+            final AtomicLong backlog = new AtomicLong();
+            Gauge.builder(METRIC_NAME_PREFIX + ".backlog", backlog, AtomicLong::get)
+                    .description("External events waiting to be relayed after the last full batch") //
+                    .tag("tenant", tenantIdentifier) //
+                    .register(registry);
+            return backlog;
+        });
+    }
+}
@@ -32,7 +32,7 @@ import org.apache.fineract.avro.generator.ByteBufferSerializable;
 import org.apache.fineract.infrastructure.core.service.DataEnricherProcessor;
 import org.apache.fineract.infrastructure.event.business.domain.BulkBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
-import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
+import org.apache.fineract.infrastructure.event.external.relay.ExternalEventRelay;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
 import org.apache.fineract.infrastructure.event.external.service.idempotency.ExternalEventIdempotencyKeyGenerator;
 import org.apache.fineract.infrastructure.event.external.service.message.BulkMessageItemFactory;
@@ -48,12 +48,13 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class ExternalEventService {
 
-    private final ExternalEventRepository repository;
     private final ExternalEventIdempotencyKeyGenerator idempotencyKeyGenerator;
     private final BusinessEventSerializerFactory serializerFactory;
     private final ByteBufferConverter byteBufferConverter;
     private final BulkMessageItemFactory bulkMessageItemFactory;
     private final DataEnricherProcessor dataEnricherProcessor;
+    private final ExternalEventRelay externalEventRelay;
+    private final TransactionalExternalEventBuffer externalEventBuffer;
 
     private EntityManager entityManager;
 
@@ -70,8 +71,9 @@ public class ExternalEventService {
             } else {
                 externalEvent = handleRegularBusinessEvent(event);
             }
-            repository.save(externalEvent);
-            log.debug("Saved message with idempotency key: [{}] of type [{}] and category [{}]", externalEvent.getIdempotencyKey(),
+            externalEventBuffer.add(externalEvent);
+            externalEventRelay.wakeUpAfterCommit();
+            log.debug("Stored message with idempotency key: [{}] of type [{}] and category [{}]", externalEvent.getIdempotencyKey(),
                     externalEvent.getType(), externalEvent.getCategory());
         } catch (IOException e) {
             throw new RuntimeException("Error while serializing event " + event.getClass().getSimpleName(), e);
@@ -79,6 +81,14 @@ public class ExternalEventService {
 
     }
 
+    /**
+     * Writes the events stored so far in the current transaction, which is needed for events stored while the transaction
+     * is already committing.
+     */
+    public void flushStoredEvents() {
+        externalEventBuffer.flush();
+    }
+
     @PersistenceContext
     public void setEntityManager(EntityManager entityManager) {
         this.entityManager = entityManager;
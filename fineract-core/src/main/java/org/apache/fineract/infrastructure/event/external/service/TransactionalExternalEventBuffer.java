@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.service.TransactionBoundSynchronization;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects the external events stored within a transaction and writes them with one JDBC batch right before the transaction
+ * commits, in the order they were stored, instead of inserting every single event on its own.
+ *
+ * Events stored while the transaction is already committing, e.g. by the before commit hook of the business event notifier,
+ * are written by an explicit {@link #flush()}. Without an active transaction the events are saved right away.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionalExternalEventBuffer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExternalEventRepository repository;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+
+    public void add(final ExternalEvent externalEvent) {
+        final PendingExternalEvents pending = TransactionBoundSynchronization.bind(this, PendingExternalEvents::new);
+        if (pending == null) {
+            repository.save(externalEvent);
+            return;
+        }
+        pending.events.add(externalEvent);
+    }
+
+    /**
+     * Writes the external events collected so far in the current transaction.
+     */
+    public void flush() {
+        final PendingExternalEvents pending = TransactionBoundSynchronization.current(this);
+        if (pending != null) {
+            write(pending.events);
+            pending.events.clear();
+        }
+    }
+
+    private void write(final List<ExternalEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        // the column named schema is a reserved word on MySQL
+        final String insertSql = "INSERT INTO m_external_event (type, category, " + sqlGenerator.escape("schema")
+                + ", data, created_at, status, sent_at, idempotency_key, business_date, aggregate_root_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        jdbcTemplate.batchUpdate(insertSql, new BatchPreparedStatementSetter() {
+
+            @Override
+            public void setValues(final PreparedStatement ps, final int i) throws SQLException {
+                final ExternalEvent event = events.get(i);
+                ps.setString(1, event.getType());
+                ps.setString(2, event.getCategory());
+                ps.setString(3, event.getSchema());
+                ps.setBytes(4, event.getData());
+                ps.setObject(5, event.getCreatedAt());
+                ps.setString(6, event.getStatus().name());
+                ps.setObject(7, event.getSentAt());
+                ps.setString(8, event.getIdempotencyKey());
+                ps.setObject(9, event.getBusinessDate());
+                ps.setObject(10, event.getAggregateRootId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return events.size();
+            }
+        });
+        log.debug("Wrote {} external events in one batch", events.size());
+    }
+
+    /**
+     * The external events of one transaction.
+     */
+    private final class PendingExternalEvents extends TransactionBoundSynchronization {
+
+        private final List<ExternalEvent> events = new ArrayList<>();
+
+        private PendingExternalEvents() {
+            super(TransactionalExternalEventBuffer.this);
+        }
+
+        @Override
+        public void beforeCommit(final boolean readOnly) {
+            write(events);
+            events.clear();
+        }
+    }
+}
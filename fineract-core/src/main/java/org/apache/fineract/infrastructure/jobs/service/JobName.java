@@ -60,6 +60,8 @@ public enum JobName {
     ACCRUAL_ACTIVITY_POSTING("Accrual Activity Posting"), //
     ADD_PERIODIC_ACCRUAL_ENTRIES_FOR_SAVINGS_WITH_INCOME_POSTED_AS_TRANSACTIONS("Add Accrual Transactions For Savings"), //
     JOURNAL_ENTRY_AGGREGATION("Journal Entry Aggregation"), //
+    SAVINGS_COB("Savings COB"), //
+    REBUILD_CLIENT_SEARCH_INDEX("Rebuild Client Search Index"), //
     ; //
 
     private final String name;
@@ -20,6 +20,7 @@ package org.apache.fineract.portfolio.client.domain;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -30,8 +31,10 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.codes.domain.CodeValue;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.domain.AbstractAuditableWithUTCDateTimeCustom;
+import org.apache.fineract.portfolio.client.domain.search.ClientSearchIndexListener;
 
 @Entity
+@EntityListeners(ClientSearchIndexListener.class)
 @Table(name = "m_client_identifier", uniqueConstraints = {
         @UniqueConstraint(columnNames = { "document_type_id", "document_key" }, name = "unique_identifier_key"),
         @UniqueConstraint(columnNames = { "client_id", "document_key", "active" }, name = "unique_active_client_identifier") })
@@ -120,6 +123,10 @@ public class ClientIdentifier extends AbstractAuditableWithUTCDateTimeCustom<Lon
         return actualChanges;
     }
 
+    public Long clientId() {
+        return this.client.getId();
+    }
+
     public String documentKey() {
         return this.documentKey;
     }
@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.client.domain.search;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.apache.fineract.portfolio.client.domain.Client;
+import org.apache.fineract.portfolio.client.domain.ClientIdentifier;
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener of {@link Client} and {@link ClientIdentifier} that schedules the affected client for re-indexing by
+ * the {@link ClientSearchIndexer}, whichever service changed it.
+ *
+ * The persistence provider creates its own listener instances, so the indexer is looked up through the application context
+ * captured by the Spring managed instance.
+ */
+@Component
+public class ClientSearchIndexListener implements ApplicationContextAware {
+
+    private static ApplicationContext applicationContext;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void clientChanged(final Object entity) {
+        if (applicationContext == null) {
+            return;
+        }
+        final Long clientId;
+        if (entity instanceof Client client) {
+            clientId = client.getId();
+        } else if (entity instanceof ClientIdentifier identifier) {
+            clientId = identifier.clientId();
+        } else {
+            return;
+        }
+        applicationContext.getBean(ClientSearchIndexer.class).markForReindex(clientId);
+    }
+
+    @SuppressFBWarnings("ST_WRITE_TO_STATIC_FROM_INSTANCE_METHOD")
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        ClientSearchIndexListener.applicationContext = applicationContext;
+    }
+}
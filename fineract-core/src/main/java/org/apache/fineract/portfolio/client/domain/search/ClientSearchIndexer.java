@@ -0,0 +1,193 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.client.domain.search;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.service.TransactionBoundSynchronization;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the trigram tokens of <code>m_client_search_token</code> used by the client text search.
+ *
+ * Clients changed within a transaction are collected (see {@link ClientSearchIndexListener}) and re-indexed just before
+ * the transaction commits, in the same transaction, so the search never misses a committed client: a failed re-index fails
+ * the transaction. Only the clients changed by the final flush of the commit itself are re-indexed right after it, in a
+ * transaction of their own, and a failure there is logged and repaired by the Rebuild Client Search Index job.
+ */
+@Slf4j
+@Component
+public class ClientSearchIndexer {
+
+    private static final String DELETE_TOKENS_SQL = "DELETE FROM m_client_search_token WHERE client_id IN (:clientIds)";
+    private static final String DELETE_ORPHAN_TOKENS_SQL = "DELETE FROM m_client_search_token WHERE NOT EXISTS "
+            + "(SELECT 1 FROM m_client c WHERE c.id = m_client_search_token.client_id)";
+    private static final String INSERT_TOKEN_SQL = "INSERT INTO m_client_search_token (token, client_id) VALUES (:token, :clientId)";
+    private static final String SELECT_CLIENTS_SQL = "SELECT id, account_no, display_name, external_id, mobile_no FROM m_client "
+            + "WHERE id IN (:clientIds)";
+    private static final String SELECT_IDENTIFIERS_SQL = "SELECT client_id, document_key FROM m_client_identifier "
+            + "WHERE client_id IN (:clientIds)";
+    private static final String SELECT_CLIENT_IDS_SQL = "SELECT id FROM m_client WHERE id > ? ORDER BY id ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final TransactionTemplate requiresNewTransactionTemplate;
+
+    public ClientSearchIndexer(final NamedParameterJdbcTemplate namedParameterJdbcTemplate, final DatabaseSpecificSQLGenerator sqlGenerator,
+            final PlatformTransactionManager transactionManager) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.sqlGenerator = sqlGenerator;
+        this.requiresNewTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Schedules the client for re-indexing when the current transaction commits, or re-indexes it right away without one.
+     */
+    public void markForReindex(final Long clientId) {
+        if (clientId == null) {
+            return;
+        }
+        final PendingClients pending = TransactionBoundSynchronization.bind(this, PendingClients::new);
+        if (pending == null) {
+            reindexInNewTransaction(Set.of(clientId));
+            return;
+        }
+        pending.clientIds.add(clientId);
+    }
+
+    /**
+     * Replaces the tokens of the given clients with the ones of their current data. Clients that no longer exist lose their
+     * tokens.
+     */
+    public void reindex(final Collection<Long> clientIds) {
+        if (clientIds.isEmpty()) {
+            return;
+        }
+        final MapSqlParameterSource idParameters = new MapSqlParameterSource("clientIds", clientIds);
+        final Map<Long, List<String>> valuesByClient = new LinkedHashMap<>();
+        namedParameterJdbcTemplate.query(SELECT_CLIENTS_SQL, idParameters, rs -> {
+            final List<String> values = valuesByClient.computeIfAbsent(rs.getLong("id"), id -> new ArrayList<>());
+            values.add(rs.getString("account_no"));
+            values.add(rs.getString("display_name"));
+            values.add(rs.getString("external_id"));
+            values.add(rs.getString("mobile_no"));
+        });
+        namedParameterJdbcTemplate.query(SELECT_IDENTIFIERS_SQL, idParameters, rs -> {
+            final List<String> values = valuesByClient.get(rs.getLong("client_id"));
+            if (values != null) {
+                values.add(rs.getString("document_key"));
+            }
+        });
+
+        final List<MapSqlParameterSource> rows = new ArrayList<>();
+        valuesByClient.forEach((clientId, values) -> ClientSearchTokenizer.tokenize(values)
+                .forEach(token -> rows.add(new MapSqlParameterSource("token", token).addValue("clientId", clientId))));
+
+        namedParameterJdbcTemplate.update(DELETE_TOKENS_SQL, idParameters);
+        if (!rows.isEmpty()) {
+            namedParameterJdbcTemplate.batchUpdate(INSERT_TOKEN_SQL, rows.toArray(new MapSqlParameterSource[0]));
+        }
+    }
+
+    /**
+     * Re-indexes every client, one transaction per batch, and drops the tokens left behind by deleted clients.
+     *
+     * @return the number of clients indexed
+     */
+    public long rebuild(final int batchSize) {
+        final JdbcTemplate jdbcTemplate = namedParameterJdbcTemplate.getJdbcTemplate();
+        final String selectClientIdsSql = SELECT_CLIENT_IDS_SQL + sqlGenerator.limit(batchSize);
+        long indexed = 0;
+        long lastId = 0;
+        while (true) {
+            final List<Long> clientIds = jdbcTemplate.query(selectClientIdsSql, (rs, rowNum) -> rs.getLong("id"), lastId);
+            if (clientIds.isEmpty()) {
+                break;
+            }
+            requiresNewTransactionTemplate.executeWithoutResult(status -> reindex(clientIds));
+            indexed += clientIds.size();
+            lastId = clientIds.get(clientIds.size() - 1);
+        }
+        requiresNewTransactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(DELETE_ORPHAN_TOKENS_SQL));
+        return indexed;
+    }
+
+    private void reindexInNewTransaction(final Set<Long> clientIds) {
+        try {
+            requiresNewTransactionTemplate.executeWithoutResult(status -> reindex(clientIds));
+        } catch (RuntimeException e) {
+            log.warn("Could not update the search index of clients {}, it is restored by the next index rebuild", clientIds, e);
+        }
+    }
+
+    /**
+     * The clients changed by one transaction.
+     */
+    private final class PendingClients extends TransactionBoundSynchronization {
+
+        private final Set<Long> clientIds = new LinkedHashSet<>();
+
+        private PendingClients() {
+            super(ClientSearchIndexer.this);
+        }
+
+        @Override
+        public void beforeCommit(final boolean readOnly) {
+            if (readOnly) {
+                return;
+            }
+            // the pending entity changes are flushed first, so their listeners mark the clients and the tokens are read
+            // from the data about to be committed
+            if (entityManager.isJoinedToTransaction()) {
+                entityManager.flush();
+            }
+            if (!clientIds.isEmpty()) {
+                final Set<Long> changedClientIds = new LinkedHashSet<>(clientIds);
+                clientIds.clear();
+                reindex(changedClientIds);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            if (!clientIds.isEmpty()) {
+                reindexInNewTransaction(new LinkedHashSet<>(clientIds));
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.client.domain.search;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Splits the searchable client fields into the tokens stored in <code>m_client_search_token</code>: every trigram of the
+ * lower cased value without accents. Search texts too short for a trigram can not use the index.
+ */
+public final class ClientSearchTokenizer {
+
+    public static final int TRIGRAM_LENGTH = 3;
+
+    private ClientSearchTokenizer() {}
+
+    /**
+     * @return the tokens to index for the given field values, <code>null</code> and blank values are skipped
+     */
+    public static Set<String> tokenize(final Collection<String> values) {
+        final Set<String> tokens = new LinkedHashSet<>();
+        for (String value : values) {
+            final String normalized = toTokenText(value);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            addTrigrams(normalized, tokens);
+        }
+        return tokens;
+    }
+
+    /**
+     * @return the tokens a client has to be indexed with to possibly match the search text, every trigram of the text.
+     *         Empty if the text is shorter than a trigram, such a text has to be matched without the index.
+     */
+    public static Set<String> queryTokens(final String searchText) {
+        final Set<String> tokens = new LinkedHashSet<>();
+        addTrigrams(toTokenText(searchText), tokens);
+        return tokens;
+    }
+
+    public static String normalize(final String value) {
+        return StringUtils.trimToEmpty(value).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Accents are stripped as well, case and accent insensitive collations would otherwise consider some distinct tokens of
+     * one client duplicates.
+     */
+    private static String toTokenText(final String value) {
+        return StringUtils.stripAccents(normalize(value));
+    }
+
+    private static void addTrigrams(final String value, final Set<String> tokens) {
+        for (int i = 0; i + TRIGRAM_LENGTH <= value.length(); i++) {
+            tokens.add(value.substring(i, i + TRIGRAM_LENGTH));
+        }
+    }
+}
@@ -23,14 +23,17 @@ import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.core.jpa.CriteriaQueryFactory;
 import org.apache.fineract.organisation.office.domain.Office;
@@ -59,6 +62,7 @@ public class SearchingClientRepositoryImpl implements SearchingClientRepository
          * https://github.com/spring-projects/spring-data-jpa/issues/2499
          */
         String hierarchyLikeValue = officeHierarchy + "%";
+        Set<String> searchTokens = ClientSearchTokenizer.queryTokens(searchText);
 
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<SearchedClient> query = cb.createQuery(SearchedClient.class);
@@ -68,11 +72,22 @@ public class SearchingClientRepositoryImpl implements SearchingClientRepository
 
         Specification<Client> spec = (r, q, builder) -> {
             Path<Office> o = r.get("office");
-            Join<Client, ClientIdentifier> identity = r.join("identifiers", JoinType.LEFT);
 
             List<Predicate> predicates = new ArrayList<>();
             predicates.add(cb.like(o.get("hierarchy"), hierarchyLikeValue));
 
+            if (!searchTokens.isEmpty()) {
+                // the token index narrows the clients down, the LIKEs verify the candidates; a text shorter than a
+                // trigram has no tokens and is matched by the LIKEs alone
+                Subquery<Long> candidates = q.subquery(Long.class);
+                Root<ClientSearchToken> token = candidates.from(ClientSearchToken.class);
+                Path<Long> candidateId = token.get("id").get("clientId");
+                candidates.select(candidateId).where(token.get("id").get("token").in(searchTokens)).groupBy(candidateId)
+                        .having(cb.equal(cb.countDistinct(token.get("id").get("token")), (long) searchTokens.size()));
+                predicates.add(r.get("id").in(candidates));
+            }
+
+            Join<Client, ClientIdentifier> identity = r.join("identifiers", JoinType.LEFT);
             String searchLikeValue = "%" + searchText + "%";
             predicates.add(cb.or(cb.like(r.get("accountNumber"), searchLikeValue), cb.like(r.get("displayName"), searchLikeValue),
                     cb.like(r.get("externalId"), searchLikeValue), cb.like(r.get("mobileNo"), searchLikeValue),
@@ -82,7 +97,13 @@ public class SearchingClientRepositoryImpl implements SearchingClientRepository
         };
         criteriaQueryFactory.applySpecificationToCriteria(root, spec, query);
 
-        List<Order> orders = criteriaQueryFactory.ordersFromPageable(pageable, cb, root, () -> cb.desc(root.get("id")));
+        List<Order> orders = criteriaQueryFactory.ordersFromPageable(pageable, cb, root, () -> null);
+        if (orders.isEmpty()) {
+            if (!ClientSearchTokenizer.normalize(searchText).isEmpty()) {
+                orders.add(cb.asc(matchRank(cb, root, searchText)));
+            }
+            orders.add(cb.desc(root.get("id")));
+        }
         query.orderBy(orders);
 
         query.select(cb.construct(SearchedClient.class, root.get("id"), root.get("displayName"), root.get("externalId"),
@@ -93,4 +114,17 @@ public class SearchingClientRepositoryImpl implements SearchingClientRepository
 
         return criteriaQueryFactory.readPage(queryToExecute, Client.class, pageable, spec);
     }
+
+    /**
+     * Ranks exact matches of the account number, name or mobile number first, then prefix matches, then any other match.
+     */
+    private Expression<Integer> matchRank(CriteriaBuilder cb, Root<Client> root, String searchText) {
+        String normalized = ClientSearchTokenizer.normalize(searchText);
+        List<Expression<String>> fields = List.of(cb.lower(root.<String>get("accountNumber")), cb.lower(root.<String>get("displayName")),
+                cb.lower(root.<String>get("mobileNo")));
+
+        Predicate exact = cb.or(fields.stream().map(field -> cb.equal(field, normalized)).toArray(Predicate[]::new));
+        Predicate prefix = cb.or(fields.stream().map(field -> cb.like(field, normalized + "%")).toArray(Predicate[]::new));
+        return cb.<Integer>selectCase().when(exact, 0).when(prefix, 1).otherwise(2);
+    }
 }
@@ -153,6 +153,10 @@ public final class SavingsAccountData implements Serializable {
     private BigDecimal interestPosting;
     private BigDecimal overdraftPosting;
 
+    // persisted balance checkpoint, only populated when interest is posted incrementally
+    private transient LocalDate interestCheckpointDate;
+    private transient BigDecimal interestCheckpointRunningBalance;
+
     public static SavingsAccountData importInstanceIndividual(Long clientId, Long productId, Long fieldOfficerId, LocalDate submittedOnDate,
             BigDecimal nominalAnnualInterestRate, EnumOptionData interestCompoundingPeriodTypeEnum,
             EnumOptionData interestPostingPeriodTypeEnum, EnumOptionData interestCalculationTypeEnum,
@@ -970,6 +974,10 @@ public final class SavingsAccountData implements Serializable {
         this.lastSavingsAccountTransaction = lastSavingsAccountTransaction;
     }
 
+    public boolean hasInterestCheckpoint() {
+        return this.interestCheckpointDate != null;
+    }
+
     public boolean isIsDormancyTrackingActive() {
         return this.isDormancyTrackingActive;
     }
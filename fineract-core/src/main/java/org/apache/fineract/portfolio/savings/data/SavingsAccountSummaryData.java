@@ -58,6 +58,9 @@ public class SavingsAccountSummaryData implements Serializable {
     private LocalDate interestPostedTillDate;
     private LocalDate prevInterestPostedTillDate;
     private transient BigDecimal runningBalanceOnInterestPostingTillDate = BigDecimal.ZERO;
+    private transient BigDecimal checkpointInterestPosted;
+    private transient BigDecimal checkpointOverdraftInterest;
+    private transient BigDecimal checkpointWithholdTax;
 
     public SavingsAccountSummaryData(final CurrencyData currency, final BigDecimal totalDeposits, final BigDecimal totalWithdrawals,
             final BigDecimal totalWithdrawalFees, final BigDecimal totalAnnualFees, final BigDecimal totalInterestEarned,
@@ -266,6 +269,43 @@ public class SavingsAccountSummaryData implements Serializable {
                 .minus(totalOverdraftInterestDerived).minus(totalWithholdTax).getAmount();
     }
 
+    /**
+     * Captures the interest related totals of the transactions loaded after the interest checkpoint. The persisted totals
+     * already contain these amounts, so {@link #updateSummaryFromCheckpoint} only applies the difference.
+     */
+    public void captureCheckpointTotals(final SavingsAccountTransactionDataSummaryWrapper wrapper,
+            final List<SavingsAccountTransactionData> transactions) {
+        this.checkpointInterestPosted = wrapper.calculateTotalInterestPosted(this.currency, transactions);
+        this.checkpointOverdraftInterest = wrapper.calculateTotalOverdraftInterest(this.currency, transactions);
+        this.checkpointWithholdTax = wrapper.calculateTotalWithholdTaxWithdrawal(this.currency, transactions);
+    }
+
+    /**
+     * Updates the summary of an account whose transactions were only loaded from the interest checkpoint onwards. Interest
+     * posting can only add or reverse interest, overdraft interest and withhold tax transactions, so the other totals are left
+     * untouched and the account balance is moved by the same difference.
+     */
+    public void updateSummaryFromCheckpoint(final SavingsAccountTransactionDataSummaryWrapper wrapper,
+            final List<SavingsAccountTransactionData> transactions) {
+        final Money deltaInterest = Money.of(this.currency, wrapper.calculateTotalInterestPosted(this.currency, transactions))
+                .minus(Money.of(this.currency, this.checkpointInterestPosted));
+        final Money deltaOverdraftInterest = Money.of(this.currency, wrapper.calculateTotalOverdraftInterest(this.currency, transactions))
+                .minus(Money.of(this.currency, this.checkpointOverdraftInterest));
+        final Money deltaWithholdTax = Money.of(this.currency, wrapper.calculateTotalWithholdTaxWithdrawal(this.currency, transactions))
+                .minus(Money.of(this.currency, this.checkpointWithholdTax));
+
+        this.totalInterestPosted = Money.of(this.currency, this.totalInterestPosted).plus(deltaInterest).getAmountDefaultedToNullIfZero();
+        this.totalOverdraftInterestDerived = Money.of(this.currency, this.totalOverdraftInterestDerived).plus(deltaOverdraftInterest)
+                .getAmountDefaultedToNullIfZero();
+        this.totalWithholdTax = Money.of(this.currency, this.totalWithholdTax).plus(deltaWithholdTax).getAmountDefaultedToNullIfZero();
+        this.accountBalance = Money.of(this.currency, this.accountBalance).plus(deltaInterest).minus(deltaOverdraftInterest)
+                .minus(deltaWithholdTax).getAmount();
+
+        // carry the previous totals forward, the next call only has to account for further changes
+        captureCheckpointTotals(wrapper, transactions);
+        updateRunningBalanceAndPivotDate(false, transactions, null, null, null);
+    }
+
     public void setRunningBalanceOnPivotDate(final BigDecimal runningBalanceOnPivotDate) {
         this.runningBalanceOnInterestPostingTillDate = runningBalanceOnPivotDate;
     }
@@ -28,7 +28,9 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.apache.fineract.infrastructure.core.domain.LocalDateInterval;
 import org.apache.fineract.infrastructure.core.jersey.serializer.legacy.JsonLocalDateArrayFormat;
@@ -110,6 +112,10 @@ public class SavingsAccountTransactionData implements Serializable {
     private Long accountCredit;
     private Long accountDebit;
 
+    // derived balance fields as they were read from the database, used to skip unchanged rows on batch update
+    @Getter(AccessLevel.NONE)
+    private transient DerivedBalances persistedDerivedBalances;
+
     protected SavingsAccountTransactionData(final Long id, final SavingsAccountTransactionEnumData transactionType,
             final PaymentDetailData paymentDetailData, final Long savingsId, final String savingsAccountNo, final LocalDate transactionDate,
             final CurrencyData currency, final BigDecimal amount, final BigDecimal outstandingChargeAmount, final BigDecimal runningBalance,
@@ -699,4 +705,58 @@ public class SavingsAccountTransactionData implements Serializable {
     public void setAccountDebit(Long accountDebit) {
         this.accountDebit = accountDebit;
     }
+
+    /**
+     * Remembers the current derived balance fields as the persisted state of this transaction.
+     */
+    public void markDerivedBalancesPersisted() {
+        this.persistedDerivedBalances = new DerivedBalances(this);
+    }
+
+    /**
+     * Returns true when any of the derived balance fields differ from the state captured by
+     * {@link #markDerivedBalancesPersisted()}, or when no persisted state was captured at all.
+     */
+    public boolean isDerivedBalanceChanged() {
+        return this.persistedDerivedBalances == null || !this.persistedDerivedBalances.matches(this);
+    }
+
+    private static final class DerivedBalances {
+
+        private final boolean reversed;
+        private final boolean reversal;
+        private final BigDecimal amount;
+        private final BigDecimal overdraftAmount;
+        private final LocalDate balanceEndDate;
+        private final Integer balanceNumberOfDays;
+        private final BigDecimal runningBalance;
+        private final BigDecimal cumulativeBalance;
+
+        private DerivedBalances(final SavingsAccountTransactionData transaction) {
+            this.reversed = transaction.reversed;
+            this.reversal = transaction.isReversalTransaction();
+            this.amount = transaction.amount;
+            this.overdraftAmount = transaction.overdraftAmount;
+            this.balanceEndDate = transaction.balanceEndDate;
+            this.balanceNumberOfDays = transaction.balanceNumberOfDays;
+            this.runningBalance = transaction.runningBalance;
+            this.cumulativeBalance = transaction.cumulativeBalance;
+        }
+
+        private boolean matches(final SavingsAccountTransactionData transaction) {
+            return this.reversed == transaction.reversed && this.reversal == transaction.isReversalTransaction()
+                    && isSameAmount(this.amount, transaction.amount) && isSameAmount(this.overdraftAmount, transaction.overdraftAmount)
+                    && Objects.equals(this.balanceEndDate, transaction.balanceEndDate)
+                    && Objects.equals(this.balanceNumberOfDays, transaction.balanceNumberOfDays)
+                    && isSameAmount(this.runningBalance, transaction.runningBalance)
+                    && isSameAmount(this.cumulativeBalance, transaction.cumulativeBalance);
+        }
+
+        private static boolean isSameAmount(final BigDecimal first, final BigDecimal second) {
+            if (first == null || second == null) {
+                return first == second;
+            }
+            return first.compareTo(second) == 0;
+        }
+    }
 }
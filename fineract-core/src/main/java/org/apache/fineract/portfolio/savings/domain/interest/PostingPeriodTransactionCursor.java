@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain.interest;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.domain.LocalDateInterval;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+
+/**
+ * Immutable, date ordered view over the non interest posting transactions of a savings account which hands every posting
+ * period only the transactions that can contribute to it.
+ *
+ * Posting periods are expected to be requested in ascending order; the cursor then only moves forward so building all posting
+ * periods of an account is linear in the length of its history rather than periods x transactions.
+ */
+public final class PostingPeriodTransactionCursor {
+
+    private final List<SavingsAccountTransactionDetailsForPostingPeriod> orderedTransactions;
+    private int fromIndex;
+    private LocalDate lastPeriodStartDate;
+
+    public PostingPeriodTransactionCursor(final List<SavingsAccountTransactionDetailsForPostingPeriod> orderedTransactions) {
+        this.orderedTransactions = List.copyOf(orderedTransactions);
+    }
+
+    /**
+     * Returns the slice of transactions {@link PostingPeriod#createFrom} needs for the given period: every transaction whose
+     * balance is still open on or after the period start, up to and including the transactions on the day after the period
+     * end (used to detect interest already posted for the period).
+     */
+    public List<SavingsAccountTransactionDetailsForPostingPeriod> sliceFor(final LocalDateInterval periodInterval) {
+        final LocalDate periodStartDate = periodInterval.startDate();
+        if (this.lastPeriodStartDate != null && DateUtils.isBefore(periodStartDate, this.lastPeriodStartDate)) {
+            this.fromIndex = 0;
+        }
+        this.lastPeriodStartDate = periodStartDate;
+
+        final int size = this.orderedTransactions.size();
+        while (this.fromIndex < size && isClosedBefore(this.orderedTransactions.get(this.fromIndex), periodStartDate)) {
+            this.fromIndex++;
+        }
+
+        final LocalDate lastRelevantDate = periodInterval.endDate().plusDays(1);
+        int toIndex = this.fromIndex;
+        while (toIndex < size && !DateUtils.isAfter(this.orderedTransactions.get(toIndex).getTransactionDate(), lastRelevantDate)) {
+            toIndex++;
+        }
+        return this.orderedTransactions.subList(this.fromIndex, toIndex);
+    }
+
+    private static boolean isClosedBefore(final SavingsAccountTransactionDetailsForPostingPeriod transaction, final LocalDate date) {
+        return transaction.getEndOfBalanceDate() != null && DateUtils.isBefore(transaction.getTransactionDate(), date)
+                && DateUtils.isBefore(transaction.getEndOfBalanceDate(), date);
+    }
+}
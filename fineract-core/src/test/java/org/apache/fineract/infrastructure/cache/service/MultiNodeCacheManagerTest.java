@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.fineract.infrastructure.cache.data.CacheInvalidation;
+import org.apache.fineract.infrastructure.cache.data.CacheStatisticsData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class MultiNodeCacheManagerTest {
+
+    private final CacheInvalidationPublisher publisher = Mockito.mock(CacheInvalidationPublisher.class);
+    private final MultiNodeCacheManager underTest = new MultiNodeCacheManager(new ConcurrentMapCacheManager("codes"), publisher);
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    public void testHitsAndMissesAreCountedPerCache() {
+        // given
+        Cache cache = underTest.getCache("codes");
+        cache.put("default-CD", "value");
+
+        // when
+        cache.get("default-CD");
+        cache.get("default-CD");
+        cache.get("other-CD");
+
+        // then
+        List<CacheStatisticsData> statistics = underTest.retrieveStatistics();
+        assertEquals(1, statistics.size());
+        assertEquals("codes", statistics.get(0).getCacheName());
+        assertEquals(2, statistics.get(0).getHits());
+        assertEquals(1, statistics.get(0).getMisses());
+        assertEquals(2.0 / 3, statistics.get(0).getHitRatio(), 0.0001);
+    }
+
+    @Test
+    public void testEvictionIsBroadcastAfterCommit() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        Cache cache = underTest.getCache("codes");
+        cache.put("default-CD", "value");
+
+        // when
+        cache.evict("default-CD");
+
+        // then
+        verify(publisher, never()).publish(any());
+        assertNull(cache.get("default-CD"));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(publisher).publish(new CacheInvalidation("codes", "default-CD", underTest.getNodeId()));
+    }
+
+    @Test
+    public void testInvalidationOfOtherNodeIsAppliedLocally() {
+        // given
+        Cache cache = underTest.getCache("codes");
+        cache.put("default-CD", "value");
+        cache.put("default-cv", "value");
+
+        // when
+        underTest.applyInvalidation(new CacheInvalidation("codes", "default-CD", "other-node"));
+        underTest.applyInvalidation(new CacheInvalidation("codes", "default-cv", underTest.getNodeId()));
+
+        // then
+        assertNull(cache.get("default-CD"));
+        assertEquals("value", cache.get("default-cv", String.class));
+        verify(publisher, never()).publish(any());
+
+        // when
+        underTest.applyInvalidation(new CacheInvalidation("codes", null, "other-node"));
+
+        // then
+        assertNull(cache.get("default-cv"));
+    }
+
+    @Test
+    public void testNodeLocalCacheGetsInvalidationsOfOtherNodes() {
+        // given
+        List<String> invalidatedKeys = new ArrayList<>();
+        underTest.registerNodeLocalCache("mappings", invalidatedKeys::add);
+
+        // when
+        underTest.applyInvalidation(new CacheInvalidation("mappings", "default", "other-node"));
+        underTest.applyInvalidation(new CacheInvalidation("mappings", "tenant", underTest.getNodeId()));
+        underTest.applyInvalidation(new CacheInvalidation("mappings", null, "other-node"));
+
+        // then
+        assertEquals(Arrays.asList("default", null), invalidatedKeys);
+    }
+
+    @Test
+    public void testNodeLocalInvalidationIsBroadcastAfterCommit() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // when
+        underTest.broadcastInvalidation("mappings", "default");
+
+        // then
+        verify(publisher, never()).publish(any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(publisher).publish(new CacheInvalidation("mappings", "default", underTest.getNodeId()));
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+
+import org.apache.fineract.infrastructure.cache.data.CacheInvalidation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+
+public class RuntimeDelegatingCacheManagerTest {
+
+    private final CacheInvalidationPublisher publisher = Mockito.mock(CacheInvalidationPublisher.class);
+    private final RuntimeDelegatingCacheManager underTest = new RuntimeDelegatingCacheManager(new ConcurrentMapCacheManager(),
+            new NoOpCacheManager(), new MultiNodeCacheManager(new ConcurrentMapCacheManager(), publisher));
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        underTest.afterPropertiesSet();
+    }
+
+    @Test
+    public void testNodeLocalInvalidationIsBroadcastWithoutMultiNodeCache() {
+        // given
+        underTest.registerNodeLocalCache("hookSubscriptions", key -> {});
+
+        // when
+        underTest.broadcastInvalidation("hookSubscriptions", "default");
+
+        // then
+        assertFalse(underTest.isMultiNodeCacheEnabled());
+        verify(publisher).publish(any(CacheInvalidation.class));
+    }
+}
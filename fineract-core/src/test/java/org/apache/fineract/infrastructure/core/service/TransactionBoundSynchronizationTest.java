@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionBoundSynchronizationTest {
+
+    private final Object owner = new Object();
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(owner);
+    }
+
+    @Test
+    public void testNothingIsBoundWithoutActualTransaction() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        List<String> actions = new ArrayList<>();
+
+        // when
+        Pending pending = TransactionBoundSynchronization.bind(owner, () -> new Pending(owner));
+        TransactionBoundSynchronization.afterCommit(owner, () -> actions.add("commit"));
+
+        // then
+        assertNull(pending);
+        assertEquals(List.of("commit"), actions);
+        assertEquals(0, TransactionSynchronizationManager.getSynchronizations().size());
+    }
+
+    @Test
+    public void testSameSynchronizationIsReturnedWithinTransaction() {
+        // given
+        beginTransaction();
+
+        // when
+        Pending first = TransactionBoundSynchronization.bind(owner, () -> new Pending(owner));
+        Pending second = TransactionBoundSynchronization.bind(owner, () -> new Pending(owner));
+
+        // then
+        assertSame(first, second);
+        assertSame(first, TransactionBoundSynchronization.current(owner));
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+        first.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        assertNull(TransactionSynchronizationManager.getResource(owner));
+    }
+
+    @Test
+    public void testSuspendedSynchronizationIsUnbound() {
+        // given
+        beginTransaction();
+        Pending pending = TransactionBoundSynchronization.bind(owner, () -> new Pending(owner));
+
+        // when
+        pending.suspend();
+
+        // then
+        assertNull(TransactionSynchronizationManager.getResource(owner));
+        pending.resume();
+        assertSame(pending, TransactionBoundSynchronization.current(owner));
+    }
+
+    @Test
+    public void testCompletionActionsRunOncePerKey() {
+        // given
+        beginTransaction();
+        List<String> actions = new ArrayList<>();
+
+        // when
+        TransactionBoundSynchronization.afterCommit("a", () -> actions.add("commit a"));
+        TransactionBoundSynchronization.afterCommit("a", () -> actions.add("commit a again"));
+        TransactionBoundSynchronization.afterCommit("b", () -> {
+            throw new IllegalStateException("failed");
+        });
+        TransactionBoundSynchronization.afterCompletion("c", () -> actions.add("completion c"));
+
+        // then
+        assertEquals(List.of(), actions);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+        synchronizations.get(0).afterCommit();
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(List.of("commit a", "completion c"), actions);
+    }
+
+    private static void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    private static final class Pending extends TransactionBoundSynchronization {
+
+        private Pending(final Object key) {
+            super(key);
+        }
+    }
+}
@@ -18,6 +18,9 @@
  */
 package org.apache.fineract.infrastructure.core.service.database;
 
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -63,4 +66,37 @@ public class DatabaseSpecificSQLGeneratorTest {
         String countQuery = databaseSpecificSQLGenerator.countQueryResult(sql);
         Assertions.assertEquals("SELECT COUNT(*) FROM (SELECT 1 FROM test_table WHERE asd=2) AS temp", countQuery);
     }
+
+    @Test
+    public void testRunningSum() {
+        String runningSum = databaseSpecificSQLGenerator.runningSum("t.amount", "t.office_id", "t.entry_date");
+        Assertions.assertEquals(
+                "SUM(t.amount) OVER (PARTITION BY t.office_id ORDER BY t.entry_date ROWS BETWEEN UNBOUNDED PRECEDING AND CURRENT ROW)",
+                runningSum);
+    }
+
+    @Test
+    public void testSupportsWindowFunctionsOnPostgreSQL() {
+        Mockito.when(databaseTypeResolver.databaseType()).thenReturn(DatabaseType.POSTGRESQL);
+        Assertions.assertTrue(databaseSpecificSQLGenerator.supportsWindowFunctions());
+    }
+
+    @Test
+    public void testSupportsWindowFunctionsOnMySQLAndMariaDBVersions() throws SQLException {
+        Mockito.when(databaseTypeResolver.databaseType()).thenReturn(DatabaseType.MYSQL);
+        Assertions.assertTrue(supportsWindowFunctions("8.0.33"));
+        Assertions.assertFalse(supportsWindowFunctions("5.7.44-log"));
+        Assertions.assertTrue(supportsWindowFunctions("10.6.12-MariaDB"));
+        Assertions.assertTrue(supportsWindowFunctions("5.5.5-10.11.2-MariaDB-1:10.11.2+maria~ubu2204"));
+        Assertions.assertFalse(supportsWindowFunctions("10.1.48-MariaDB"));
+    }
+
+    private boolean supportsWindowFunctions(String version) throws SQLException {
+        Connection connection = Mockito.mock(Connection.class);
+        DatabaseMetaData metaData = Mockito.mock(DatabaseMetaData.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+        Mockito.when(connection.getMetaData()).thenReturn(metaData);
+        Mockito.when(metaData.getDatabaseProductVersion()).thenReturn(version);
+        return databaseSpecificSQLGenerator.supportsWindowFunctions();
+    }
 }
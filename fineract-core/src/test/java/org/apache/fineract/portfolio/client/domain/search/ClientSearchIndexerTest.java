@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.client.domain.search;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+public class ClientSearchIndexerTest {
+
+    private static final String DELETE_TOKENS_SQL = "DELETE FROM m_client_search_token";
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private EntityManager entityManager;
+
+    private ClientSearchIndexer underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new ClientSearchIndexer(namedParameterJdbcTemplate, sqlGenerator, transactionManager);
+        ReflectionTestUtils.setField(underTest, "entityManager", entityManager);
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(underTest);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    public void testChangedClientsAreReindexedInTheCommittingTransaction() {
+        // given
+        when(entityManager.isJoinedToTransaction()).thenReturn(true);
+        underTest.markForReindex(1L);
+        underTest.markForReindex(1L);
+        verify(namedParameterJdbcTemplate, never()).update(anyString(), any(SqlParameterSource.class));
+
+        // when
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.beforeCommit(false));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // then
+        InOrder inOrder = inOrder(entityManager, namedParameterJdbcTemplate);
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(namedParameterJdbcTemplate).update(startsWith(DELETE_TOKENS_SQL), any(SqlParameterSource.class));
+        verify(namedParameterJdbcTemplate, times(1)).update(anyString(), any(SqlParameterSource.class));
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    public void testFailedReindexFailsTheCommittingTransaction() {
+        // given
+        when(entityManager.isJoinedToTransaction()).thenReturn(true);
+        doThrow(new DataIntegrityViolationException("token")).when(namedParameterJdbcTemplate).update(startsWith(DELETE_TOKENS_SQL),
+                any(SqlParameterSource.class));
+        underTest.markForReindex(1L);
+
+        // when / then
+        assertThrows(DataIntegrityViolationException.class, () -> TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.beforeCommit(false)));
+    }
+
+    @Test
+    public void testClientsChangedByTheCommitFlushAreReindexedAfterIt() {
+        // given
+        when(entityManager.isJoinedToTransaction()).thenReturn(true);
+        underTest.markForReindex(1L);
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.beforeCommit(false));
+        underTest.markForReindex(2L);
+
+        // when
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // then
+        verify(namedParameterJdbcTemplate, times(2)).update(startsWith(DELETE_TOKENS_SQL), any(SqlParameterSource.class));
+        verify(transactionManager).getTransaction(any());
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.client.domain.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class ClientSearchTokenizerTest {
+
+    @Test
+    public void testTokenizeCreatesTrigrams() {
+        // given
+        List<String> values = Arrays.asList("John Smith", null, " ");
+
+        // when
+        Set<String> tokens = ClientSearchTokenizer.tokenize(values);
+
+        // then
+        assertEquals(Set.of("joh", "ohn", "hn ", "n s", " sm", "smi", "mit", "ith"), tokens);
+    }
+
+    @Test
+    public void testQueryTokensOfSubstringAreIndexed() {
+        // given
+        Set<String> indexed = ClientSearchTokenizer.tokenize(List.of("000000123", "ID-98765"));
+
+        // when
+        Set<String> queryTokens = ClientSearchTokenizer.queryTokens("D-987");
+
+        // then
+        assertEquals(Set.of("d-9", "-98", "987"), queryTokens);
+        assertTrue(indexed.containsAll(queryTokens));
+    }
+
+    @Test
+    public void testShortTextHasNoQueryTokens() {
+        assertTrue(ClientSearchTokenizer.queryTokens(" SM ").isEmpty());
+        assertTrue(ClientSearchTokenizer.queryTokens("").isEmpty());
+        assertTrue(ClientSearchTokenizer.queryTokens(null).isEmpty());
+    }
+
+    @Test
+    public void testTokensIgnoreAccents() {
+        assertEquals(Set.of("jos", "ose"), ClientSearchTokenizer.tokenize(List.of("Jos\u00e9")));
+        assertEquals(ClientSearchTokenizer.queryTokens("jose"), ClientSearchTokenizer.queryTokens("JOS\u00c9"));
+    }
+}
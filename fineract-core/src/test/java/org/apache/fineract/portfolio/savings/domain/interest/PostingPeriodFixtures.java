@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain.interest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.LocalDateInterval;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.savings.SavingsCompoundingInterestPeriodType;
+import org.apache.fineract.portfolio.savings.SavingsInterestCalculationType;
+
+/**
+ * Savings account transaction histories and posting periods shared by the posting period tests and benchmarks.
+ */
+final class PostingPeriodFixtures {
+
+    static final MonetaryCurrency CURRENCY = new MonetaryCurrency("USD", 2, null);
+    static final LocalDate HISTORY_START = LocalDate.of(2015, 1, 1);
+    private static final BigDecimal INTEREST_RATE = new BigDecimal("0.05");
+
+    private PostingPeriodFixtures() {}
+
+    static void initializeTenant(final LocalDate businessDate) {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, businessDate)));
+        MoneyHelper.initializeTenantRoundingMode("default", 6);
+    }
+
+    /**
+     * One transaction per day, alternating deposits and withdrawals, with a second deposit on every seventh day so same day
+     * transactions (which close their balance on the day they happen) are part of the history as well.
+     */
+    static List<SavingsAccountTransactionDetailsForPostingPeriod> buildHistory(final int length) {
+        final List<LocalDate> dates = new ArrayList<>(length);
+        LocalDate date = HISTORY_START;
+        for (int i = 0; i < length; i++) {
+            dates.add(date);
+            if (i % 7 != 5) {
+                date = date.plusDays(1);
+            }
+        }
+
+        final List<SavingsAccountTransactionDetailsForPostingPeriod> transactions = new ArrayList<>(length);
+        BigDecimal runningBalance = BigDecimal.ZERO;
+        for (int i = 0; i < length; i++) {
+            final boolean deposit = i % 2 == 0 || i % 7 == 5;
+            final BigDecimal amount = deposit ? BigDecimal.valueOf(100) : BigDecimal.valueOf(30);
+            runningBalance = deposit ? runningBalance.add(amount) : runningBalance.subtract(amount);
+
+            final LocalDate transactionDate = dates.get(i);
+            final LocalDate nextDate = i + 1 < length ? dates.get(i + 1) : transactionDate.plusDays(30);
+            final LocalDate endOfBalanceDate = nextDate.equals(transactionDate) ? transactionDate : nextDate.minusDays(1);
+            final int balanceNumberOfDays = nextDate.equals(transactionDate) ? 0
+                    : LocalDateInterval.create(transactionDate, endOfBalanceDate).daysInPeriodInclusiveOfEndDate();
+
+            transactions.add(new SavingsAccountTransactionDetailsForPostingPeriod((long) i + 1, transactionDate, endOfBalanceDate,
+                    runningBalance, amount, CURRENCY, balanceNumberOfDays, deposit, !deposit, false, false, false));
+        }
+        return transactions;
+    }
+
+    static List<LocalDateInterval> monthlyPostingPeriods(final LocalDate startDate, final LocalDate endDate) {
+        final List<LocalDateInterval> periods = new ArrayList<>();
+        LocalDate periodStartDate = startDate;
+        while (!periodStartDate.isAfter(endDate)) {
+            final LocalDate monthEnd = periodStartDate.withDayOfMonth(periodStartDate.lengthOfMonth());
+            final LocalDate periodEndDate = monthEnd.isAfter(endDate) ? endDate : monthEnd;
+            periods.add(LocalDateInterval.create(periodStartDate, periodEndDate));
+            periodStartDate = periodEndDate.plusDays(1);
+        }
+        return periods;
+    }
+
+    static List<PostingPeriod> buildPostingPeriods(final List<LocalDateInterval> periodIntervals,
+            final Function<LocalDateInterval, List<SavingsAccountTransactionDetailsForPostingPeriod>> transactionsForPeriod,
+            final LocalDate upToInterestCalculationDate) {
+        final List<PostingPeriod> postingPeriods = new ArrayList<>(periodIntervals.size());
+        Money periodStartingBalance = Money.zero(CURRENCY);
+        for (final LocalDateInterval periodInterval : periodIntervals) {
+            final PostingPeriod postingPeriod = PostingPeriod.createFrom(periodInterval, periodStartingBalance,
+                    transactionsForPeriod.apply(periodInterval), CURRENCY, SavingsCompoundingInterestPeriodType.DAILY,
+                    SavingsInterestCalculationType.DAILY_BALANCE, INTEREST_RATE, 365, upToInterestCalculationDate, Set.of(), false,
+                    Money.zero(CURRENCY), false, false, 1);
+            periodStartingBalance = postingPeriod.closingBalance();
+            postingPeriods.add(postingPeriod);
+        }
+        return postingPeriods;
+    }
+}
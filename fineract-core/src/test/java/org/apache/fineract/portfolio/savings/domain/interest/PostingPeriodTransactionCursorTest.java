@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain.interest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.domain.LocalDateInterval;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PostingPeriodTransactionCursorTest {
+
+    private List<SavingsAccountTransactionDetailsForPostingPeriod> history;
+    private List<LocalDateInterval> postingPeriods;
+    private LocalDate upToInterestCalculationDate;
+
+    @BeforeEach
+    void setUp() {
+        PostingPeriodFixtures.initializeTenant(PostingPeriodFixtures.HISTORY_START.plusYears(2));
+        this.history = PostingPeriodFixtures.buildHistory(400);
+        this.upToInterestCalculationDate = this.history.get(this.history.size() - 1).getEndOfBalanceDate();
+        this.postingPeriods = PostingPeriodFixtures.monthlyPostingPeriods(PostingPeriodFixtures.HISTORY_START,
+                this.upToInterestCalculationDate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    void slicedPostingPeriodsMatchFullHistoryPostingPeriods() {
+        final List<PostingPeriod> expected = PostingPeriodFixtures.buildPostingPeriods(this.postingPeriods,
+                periodInterval -> this.history, this.upToInterestCalculationDate);
+        final PostingPeriodTransactionCursor transactionCursor = new PostingPeriodTransactionCursor(this.history);
+        final List<PostingPeriod> actual = PostingPeriodFixtures.buildPostingPeriods(this.postingPeriods, transactionCursor::sliceFor,
+                this.upToInterestCalculationDate);
+
+        assertEquals(expected.size(), actual.size());
+        final CompoundInterestValues expectedInterestValues = new CompoundInterestValues(BigDecimal.ZERO, BigDecimal.ZERO);
+        final CompoundInterestValues actualInterestValues = new CompoundInterestValues(BigDecimal.ZERO, BigDecimal.ZERO);
+        for (int i = 0; i < expected.size(); i++) {
+            assertTrue(expected.get(i).openingBalance().isEqualTo(actual.get(i).openingBalance()));
+            assertTrue(expected.get(i).closingBalance().isEqualTo(actual.get(i).closingBalance()));
+            assertEquals(0, expected.get(i).calculateInterest(expectedInterestValues)
+                    .compareTo(actual.get(i).calculateInterest(actualInterestValues)));
+        }
+    }
+
+    @Test
+    void sliceOnlyHoldsTransactionsTouchingThePeriod() {
+        final PostingPeriodTransactionCursor transactionCursor = new PostingPeriodTransactionCursor(this.history);
+
+        for (final LocalDateInterval periodInterval : this.postingPeriods) {
+            final List<SavingsAccountTransactionDetailsForPostingPeriod> slice = transactionCursor.sliceFor(periodInterval);
+            for (final SavingsAccountTransactionDetailsForPostingPeriod transaction : slice) {
+                assertTrue(!transaction.getTransactionDate().isAfter(periodInterval.endDate().plusDays(1)));
+            }
+            assertTrue(slice.size() < this.history.size());
+        }
+    }
+
+    @Test
+    void cursorRewindsWhenAnEarlierPeriodIsRequested() {
+        final PostingPeriodTransactionCursor transactionCursor = new PostingPeriodTransactionCursor(this.history);
+        final LocalDateInterval firstPeriod = this.postingPeriods.get(0);
+        final List<SavingsAccountTransactionDetailsForPostingPeriod> firstSlice = List.copyOf(transactionCursor.sliceFor(firstPeriod));
+
+        transactionCursor.sliceFor(this.postingPeriods.get(this.postingPeriods.size() - 1));
+
+        assertEquals(firstSlice, transactionCursor.sliceFor(firstPeriod));
+    }
+}
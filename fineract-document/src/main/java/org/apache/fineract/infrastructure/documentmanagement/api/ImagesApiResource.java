@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.infrastructure.documentmanagement.api;
 
+import com.google.common.hash.Hashing;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -31,13 +32,18 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.UploadRequest;
@@ -45,7 +51,7 @@ import org.apache.fineract.infrastructure.core.domain.Base64EncodedImage;
 import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils;
 import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils.ImageFileExtension;
 import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
-import org.apache.fineract.infrastructure.documentmanagement.data.ImageResizer;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageData;
 import org.apache.fineract.infrastructure.documentmanagement.exception.ContentManagementException;
 import org.apache.fineract.infrastructure.documentmanagement.exception.InvalidEntityTypeForImageManagementException;
 import org.apache.fineract.infrastructure.documentmanagement.service.ImageReadPlatformService;
@@ -56,7 +62,6 @@ import org.glassfish.jersey.media.multipart.FormDataContentDisposition;
 import org.glassfish.jersey.media.multipart.FormDataParam;
 import org.springframework.stereotype.Component;
 
-@Slf4j
 @RequiredArgsConstructor
 @Component
 @Path("/v1/{entity}/{entityId}/images")
@@ -66,7 +71,6 @@ public class ImagesApiResource {
     private final ImageReadPlatformService imageReadPlatformService;
     private final ImageWritePlatformService imageWritePlatformService;
     private final FileUploadValidator fileUploadValidator;
-    private final ImageResizer imageResizer;
 
     /**
      * Upload images through multi-part form upload
@@ -108,7 +112,8 @@ public class ImagesApiResource {
 
     /**
      * Returns a images, either as Base64 encoded text/plain or as inline or attachment with image MIME type as
-     * Content-Type.
+     * Content-Type. Resized images are served from stored renditions, and every response carries an ETag so clients
+     * can revalidate with If-None-Match instead of downloading the image again.
      */
     @GET
     @Consumes(MediaType.APPLICATION_JSON)
@@ -116,7 +121,7 @@ public class ImagesApiResource {
     // octet-stream)
     public Response retrieveImage(@PathParam("entity") final String entityName, @PathParam("entityId") final Long entityId,
             @QueryParam("maxWidth") final Integer maxWidth, @QueryParam("maxHeight") final Integer maxHeight,
-            @QueryParam("output") final String output, @HeaderParam("Accept") String acceptHeader) {
+            @QueryParam("output") final String output, @HeaderParam("Accept") String acceptHeader, @Context final Request request) {
         validateEntityTypeforImage(entityName);
         if (EntityTypeForImages.CLIENTS.toString().equalsIgnoreCase(entityName)) {
             context.authenticatedUser().validateHasReadPermission("CLIENTIMAGE");
@@ -124,39 +129,42 @@ public class ImagesApiResource {
             context.authenticatedUser().validateHasReadPermission("STAFFIMAGE");
         }
 
-        final FileData imageData = imageReadPlatformService.retrieveImage(entityName, entityId);
-        final FileData resizedImage = imageResizer.resize(imageData, maxWidth, maxHeight);
-
         // If client wants (Accept header) octet-stream, or output="octet" or "inline_octet", then send that instead of
         // text
-        if (MediaType.APPLICATION_OCTET_STREAM.equalsIgnoreCase(acceptHeader)
-                || (output != null && (output.equals("octet") || output.equals("inline_octet")))) {
-            return ContentResources.fileDataToResponse(resizedImage, resizedImage.name() + ImageFileExtension.JPEG,
-                    "inline_octet".equals(output) ? "inline" : "attachment");
+        final boolean octet = MediaType.APPLICATION_OCTET_STREAM.equalsIgnoreCase(acceptHeader)
+                || (output != null && (output.equals("octet") || output.equals("inline_octet")));
+
+        final ImageData imageData = imageReadPlatformService.retrieveImageData(entityName, entityId);
+        final EntityTag entityTag = entityTag(imageData, maxWidth, maxHeight, octet ? "octet" : "base64");
+        final ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            return notModified.tag(entityTag).cacheControl(revalidate()).build();
         }
 
-        // Else return response with Base64 encoded
-        // TODO: Need a better way of determining image type
-        String imageDataURISuffix = ContentRepositoryUtils.ImageDataURIsuffix.JPEG.getValue();
-        if (StringUtils.endsWith(imageData.name(), ContentRepositoryUtils.ImageFileExtension.GIF.getValue())) {
-            imageDataURISuffix = ContentRepositoryUtils.ImageDataURIsuffix.GIF.getValue();
-        } else if (StringUtils.endsWith(imageData.name(), ContentRepositoryUtils.ImageFileExtension.PNG.getValue())) {
-            imageDataURISuffix = ContentRepositoryUtils.ImageDataURIsuffix.PNG.getValue();
+        final FileData resizedImage = imageReadPlatformService.retrieveImage(imageData, maxWidth, maxHeight);
+        if (octet) {
+            return Response.fromResponse(ContentResources.fileDataToResponse(resizedImage, resizedImage.name() + ImageFileExtension.JPEG,
+                    "inline_octet".equals(output) ? "inline" : "attachment")).tag(entityTag).cacheControl(revalidate()).build();
         }
 
+        final byte[] resizedImageBytes;
         try {
-            byte[] resizedImageBytes = resizedImage.getByteSource().read();
-            if (resizedImageBytes != null) {
-                final String clientImageAsBase64Text = imageDataURISuffix + Base64.getMimeEncoder().encodeToString(resizedImageBytes);
-                return Response.ok(clientImageAsBase64Text, MediaType.TEXT_PLAIN_TYPE).build();
-            } else {
-                log.error("resizedImageBytes is null for entityName={}, entityId={}, maxWidth={}, maxHeight={}", entityName, entityId,
-                        maxWidth, maxHeight);
-                return Response.serverError().build();
-            }
+            resizedImageBytes = resizedImage.getByteSource().read();
         } catch (IOException e) {
-            throw new ContentManagementException(imageData.name(), e.getMessage(), e);
+            throw new ContentManagementException(resizedImage.name(), e.getMessage(), e);
         }
+
+        // Else return response with Base64 encoded, the name of the image is the display name of its owner so the type
+        // is taken from the location
+        String imageDataURISuffix = ContentRepositoryUtils.ImageDataURIsuffix.JPEG.getValue();
+        if (StringUtils.endsWith(imageData.location(), ContentRepositoryUtils.ImageFileExtension.GIF.getValue())) {
+            imageDataURISuffix = ContentRepositoryUtils.ImageDataURIsuffix.GIF.getValue();
+        } else if (StringUtils.endsWith(imageData.location(), ContentRepositoryUtils.ImageFileExtension.PNG.getValue())) {
+            imageDataURISuffix = ContentRepositoryUtils.ImageDataURIsuffix.PNG.getValue();
+        }
+
+        final String clientImageAsBase64Text = imageDataURISuffix + Base64.getMimeEncoder().encodeToString(resizedImageBytes);
+        return Response.ok(clientImageAsBase64Text, MediaType.TEXT_PLAIN_TYPE).tag(entityTag).cacheControl(revalidate()).build();
     }
 
     /**
@@ -211,6 +219,23 @@ public class ImagesApiResource {
         }
     }
 
+    /**
+     * The tag is derived from what identifies the served image, so it can be checked before the image is read. A replaced
+     * image gets a new id, so its tag changes even if the new image is stored under the same location.
+     */
+    private static EntityTag entityTag(final ImageData imageData, final Integer maxWidth, final Integer maxHeight,
+            final String representation) {
+        final String rendition = imageData.imageId() + ":" + imageData.location() + ":" + maxWidth + "x" + maxHeight;
+        return new EntityTag(Hashing.murmur3_128().hashString(rendition, StandardCharsets.UTF_8) + "-" + representation);
+    }
+
+    private static CacheControl revalidate() {
+        final CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+        return cacheControl;
+    }
+
     private void validateEntityTypeforImage(final String entityName) {
         if (!checkValidEntityType(entityName)) {
             throw new InvalidEntityTypeForImageManagementException(entityName);
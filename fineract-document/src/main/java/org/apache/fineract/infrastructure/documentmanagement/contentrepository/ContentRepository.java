@@ -19,6 +19,7 @@
 package org.apache.fineract.infrastructure.documentmanagement.contentrepository;
 
 import java.io.InputStream;
+import java.util.Optional;
 import org.apache.fineract.infrastructure.core.domain.Base64EncodedImage;
 import org.apache.fineract.infrastructure.documentmanagement.command.DocumentCommand;
 import org.apache.fineract.infrastructure.documentmanagement.data.DocumentData;
@@ -51,6 +52,25 @@ public interface ContentRepository {
 
     FileData fetchImage(ImageData imageData);
 
+    /**
+     * Stores a derived rendition (e.g. a resized copy) of the image at the given location next to the original.
+     *
+     * @return the location of the stored rendition
+     */
+    String saveImageRendition(String imageLocation, String renditionName, byte[] content);
+
+    /**
+     * @return the content of a rendition previously stored with {@link #saveImageRendition(String, String, byte[])}, or
+     *         empty if there is none
+     */
+    Optional<byte[]> fetchImageRendition(String imageLocation, String renditionName);
+
+    /**
+     * Deletes all renditions stored next to the image at the given location; must be called whenever the image is
+     * replaced or deleted.
+     */
+    void deleteImageRenditions(String imageLocation);
+
     StorageType getStorageType();
 
 }
@@ -19,6 +19,7 @@
 package org.apache.fineract.infrastructure.documentmanagement.contentrepository;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.File;
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.List;
@@ -207,4 +208,15 @@ public final class ContentRepositoryUtils {
         }
         return new String(text);
     }
+
+    /**
+     * Folder (or key prefix) holding the renditions derived from the image at the given location.
+     */
+    public static String imageRenditionFolder(final String imageLocation) {
+        return imageLocation + ".renditions";
+    }
+
+    public static String imageRenditionLocation(final String imageLocation, final String renditionName) {
+        return imageRenditionFolder(imageLocation) + File.separator + renditionName;
+    }
 }
@@ -25,6 +25,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Base64;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
@@ -118,6 +119,47 @@ public class FileSystemContentRepository implements ContentRepository {
         return new FileData(Files.asByteSource(file), imageData.getEntityDisplayName(), imageData.contentType().getValue());
     }
 
+    @Override
+    public String saveImageRendition(final String imageLocation, final String renditionName, final byte[] content) {
+        String sanitizedPath = pathSanitizer.sanitize(ContentRepositoryUtils.imageRenditionLocation(imageLocation, renditionName));
+        try {
+            final File file = new File(sanitizedPath);
+            Files.createParentDirs(file);
+            Files.write(content, file);
+            return sanitizedPath;
+        } catch (final IOException ioException) {
+            log.warn("Failed to write image rendition {}!", sanitizedPath, ioException);
+            throw new ContentManagementException(renditionName, ioException.getMessage(), ioException);
+        }
+    }
+
+    @Override
+    public Optional<byte[]> fetchImageRendition(final String imageLocation, final String renditionName) {
+        String sanitizedPath = pathSanitizer.sanitize(ContentRepositoryUtils.imageRenditionLocation(imageLocation, renditionName));
+
+        final File file = new File(sanitizedPath);
+        if (!file.isFile()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Files.toByteArray(file));
+        } catch (final IOException ioException) {
+            // a rendition deleted concurrently is just a cache miss
+            log.warn("Unable to read image rendition {}", sanitizedPath, ioException);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void deleteImageRenditions(final String imageLocation) {
+        String sanitizedPath = pathSanitizer.sanitize(imageLocation);
+
+        final File renditionFolder = new File(ContentRepositoryUtils.imageRenditionFolder(sanitizedPath));
+        if (renditionFolder.exists() && !FileUtils.deleteQuietly(renditionFolder)) {
+            log.warn("Unable to delete image renditions {}", renditionFolder);
+        }
+    }
+
     @Override
     public StorageType getStorageType() {
         return StorageType.FILE_SYSTEM;
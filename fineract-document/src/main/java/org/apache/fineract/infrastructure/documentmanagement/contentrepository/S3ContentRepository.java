@@ -24,6 +24,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Base64;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
@@ -47,6 +48,8 @@ import software.amazon.awssdk.core.sync.ResponseTransformer;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Object;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -125,6 +128,40 @@ public class S3ContentRepository implements ContentRepository {
         }, imageData.getEntityDisplayName(), imageData.contentType().getValue());
     }
 
+    @Override
+    public String saveImageRendition(final String imageLocation, final String renditionName, final byte[] content) {
+        final String renditionLocation = ContentRepositoryUtils.imageRenditionLocation(imageLocation, renditionName);
+        putObject(renditionName, new ByteArrayInputStream(content), renditionLocation);
+        return renditionLocation;
+    }
+
+    @Override
+    public Optional<byte[]> fetchImageRendition(final String imageLocation, final String renditionName) {
+        final String bucketName = fineractProperties.getContent().getS3().getBucketName();
+        final String renditionLocation = ContentRepositoryUtils.imageRenditionLocation(imageLocation, renditionName);
+        try {
+            return Optional.of(this.s3Client
+                    .getObject(builder -> builder.bucket(bucketName).key(renditionLocation), ResponseTransformer.toBytes()).asByteArray());
+        } catch (final NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (final SdkException e) {
+            log.warn("Unable to read image rendition {}", renditionLocation, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void deleteImageRenditions(final String imageLocation) {
+        final String bucketName = fineractProperties.getContent().getS3().getBucketName();
+        final String prefix = ContentRepositoryUtils.imageRenditionFolder(imageLocation) + File.separator;
+        try {
+            this.s3Client.listObjectsV2Paginator(builder -> builder.bucket(bucketName).prefix(prefix)).contents().stream()
+                    .map(S3Object::key).forEach(this::deleteObject);
+        } catch (final SdkException e) {
+            throw new ContentManagementException(prefix, e.getMessage(), e);
+        }
+    }
+
     @Override
     public StorageType getStorageType() {
         return StorageType.S3;
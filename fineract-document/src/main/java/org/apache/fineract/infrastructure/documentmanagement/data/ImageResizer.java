@@ -41,12 +41,20 @@ public class ImageResizer {
     private static final Logger LOG = LoggerFactory.getLogger(ImageResizer.class);
 
     public FileData resize(FileData fileData, Integer maxWidth, Integer maxHeight) {
+        return resize(fileData, ContentRepositoryUtils.imageExtensionFromFileName(fileData.name()), maxWidth, maxHeight);
+    }
+
+    /**
+     * Like {@link #resize(FileData, Integer, Integer)}, but writes the resized image in the given format instead of the
+     * one guessed from the file name.
+     */
+    public FileData resize(FileData fileData, ImageFileExtension format, Integer maxWidth, Integer maxHeight) {
         if (maxWidth == null && maxHeight != null) {
             return fileData;
         }
         try (InputStream is = fileData.getByteSource().openBufferedStream()) {
-            Optional<InputStream> optResizedIS = resizeImage(ContentRepositoryUtils.imageExtensionFromFileName(fileData.name()), is,
-                    maxWidth != null ? maxWidth : Integer.MAX_VALUE, maxHeight != null ? maxHeight : Integer.MAX_VALUE);
+            Optional<InputStream> optResizedIS = resizeImage(format, is, maxWidth != null ? maxWidth : Integer.MAX_VALUE,
+                    maxHeight != null ? maxHeight : Integer.MAX_VALUE);
             if (optResizedIS.isPresent()) {
                 FileData resizedImage = new FileData(new ByteSource() {
 
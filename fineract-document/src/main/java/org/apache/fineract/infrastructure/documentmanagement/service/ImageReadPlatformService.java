@@ -19,9 +19,27 @@
 package org.apache.fineract.infrastructure.documentmanagement.service;
 
 import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageData;
 
 public interface ImageReadPlatformService {
 
     FileData retrieveImage(String entityType, Long entityId);
 
+    /**
+     * Retrieves the image scaled down to fit the given bounds, reusing a previously stored rendition of the same size
+     * when there is one.
+     */
+    FileData retrieveImage(String entityType, Long entityId, Integer maxWidth, Integer maxHeight);
+
+    /**
+     * Looks up where the image of the entity is stored, without reading the image itself.
+     */
+    ImageData retrieveImageData(String entityType, Long entityId);
+
+    /**
+     * Like {@link #retrieveImage(String, Long, Integer, Integer)}, for an image already looked up with
+     * {@link #retrieveImageData(String, Long)}.
+     */
+    FileData retrieveImage(ImageData imageData, Integer maxWidth, Integer maxHeight);
+
 }
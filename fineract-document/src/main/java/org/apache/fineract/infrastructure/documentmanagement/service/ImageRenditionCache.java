@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.service;
+
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepository;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils.ImageFileExtension;
+import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageData;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageResizer;
+import org.apache.fineract.infrastructure.documentmanagement.exception.ContentManagementException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves resized images from renditions stored next to the original in the {@link ContentRepository}, so an image is
+ * only decoded and scaled the first time a given size is requested. Renditions are keyed by image id, bounds and output
+ * format, and are dropped by the write service whenever the image is replaced or deleted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageRenditionCache {
+
+    private final ImageResizer imageResizer;
+
+    public FileData resize(final ContentRepository contentRepository, final ImageData imageData, final FileData original,
+            final Integer maxWidth, final Integer maxHeight) {
+        if (maxWidth == null) {
+            // ImageResizer never scales without a width bound, so there is nothing worth storing
+            return original;
+        }
+        // the name of the original is the display name of its owner, only the location carries the file extension
+        final ImageFileExtension format = ContentRepositoryUtils.imageExtensionFromFileName(imageData.location());
+        final String renditionName = renditionName(imageData, maxWidth, maxHeight, format);
+
+        final Optional<byte[]> stored = fetchRendition(contentRepository, imageData, renditionName);
+        if (stored.isPresent()) {
+            return new FileData(ByteSource.wrap(stored.get()), original.name(), original.contentType());
+        }
+
+        final byte[] content;
+        try {
+            content = imageResizer.resize(original, format, maxWidth, maxHeight).getByteSource().read();
+        } catch (IOException e) {
+            throw new ContentManagementException(original.name(), e.getMessage(), e);
+        }
+        try {
+            contentRepository.saveImageRendition(imageData.location(), renditionName, content);
+        } catch (ContentManagementException e) {
+            log.warn("Unable to store rendition {} of image {}: {}", renditionName, imageData.location(), e.getMessage());
+        }
+        return new FileData(ByteSource.wrap(content), original.name(), original.contentType());
+    }
+
+    static String renditionName(final ImageData imageData, final int maxWidth, final Integer maxHeight, final ImageFileExtension format) {
+        return imageData.imageId() + "_" + maxWidth + "x" + (maxHeight != null ? maxHeight : "") + format.getValue();
+    }
+
+    private Optional<byte[]> fetchRendition(final ContentRepository contentRepository, final ImageData imageData,
+            final String renditionName) {
+        try {
+            return contentRepository.fetchImageRendition(imageData.location(), renditionName);
+        } catch (ContentManagementException e) {
+            log.warn("Unable to read rendition {} of image {}: {}", renditionName, imageData.location(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
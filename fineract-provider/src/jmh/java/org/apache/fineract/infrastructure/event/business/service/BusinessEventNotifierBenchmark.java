@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.business.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.event.business.BusinessEventListener;
+import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.client.ClientActivateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.client.ClientCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.client.ClientRejectBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.deposit.FixedDepositAccountCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.deposit.RecurringDepositAccountCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.group.CentersCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.group.GroupsCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsActivateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsApproveBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsCloseBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsPostInterestBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.savings.transaction.SavingsDepositBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.savings.transaction.SavingsWithdrawalBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.share.ShareAccountApproveBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.share.ShareAccountCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.share.ShareProductDividentsCreateBusinessEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the throughput of post business event notifications with the listener set registered in production (see
+ * NotificationDomainServiceImpl), once through the precomputed dispatch table of {@link BusinessEventNotifierServiceImpl}
+ * and once by scanning every registration for each event (the previous behaviour).
+ *
+ * The notified events are a mix of event types with and without listeners, as most events raised by the platform have no
+ * listener at all.
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class BusinessEventNotifierBenchmark {
+
+    private static final List<Class<? extends BusinessEvent<?>>> PRODUCTION_LISTENER_EVENT_TYPES = List.of(
+            ClientCreateBusinessEvent.class, SavingsApproveBusinessEvent.class, CentersCreateBusinessEvent.class,
+            GroupsCreateBusinessEvent.class, SavingsDepositBusinessEvent.class, ShareProductDividentsCreateBusinessEvent.class,
+            FixedDepositAccountCreateBusinessEvent.class, RecurringDepositAccountCreateBusinessEvent.class,
+            SavingsPostInterestBusinessEvent.class, SavingsCreateBusinessEvent.class, SavingsCloseBusinessEvent.class,
+            ShareAccountCreateBusinessEvent.class, ShareAccountApproveBusinessEvent.class);
+
+    private final Map<Class, List<BusinessEventListener>> registrations = new HashMap<>();
+    private BusinessEventNotifierServiceImpl notifierService;
+    private BusinessEvent<?>[] events;
+    private long notifiedListeners;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        notifierService = new BusinessEventNotifierServiceImpl(null, externalEventsDisabled(), null, null);
+        for (Class eventType : PRODUCTION_LISTENER_EVENT_TYPES) {
+            final BusinessEventListener listener = event -> notifiedListeners++;
+            notifierService.addPostBusinessEventListener(eventType, listener);
+            registrations.computeIfAbsent(eventType, key -> new ArrayList<>()).add(listener);
+        }
+        events = new BusinessEvent<?>[] { new ClientCreateBusinessEvent(null), new ClientActivateBusinessEvent(null),
+                new SavingsDepositBusinessEvent(null), new SavingsWithdrawalBusinessEvent(null), new SavingsCreateBusinessEvent(null),
+                new SavingsActivateBusinessEvent(null), new SavingsPostInterestBusinessEvent(null), new ClientRejectBusinessEvent(null),
+                new ShareAccountCreateBusinessEvent(null), new GroupsCreateBusinessEvent(null) };
+    }
+
+    @Benchmark
+    public long dispatchTable() {
+        for (BusinessEvent<?> event : events) {
+            notifierService.notifyPostBusinessEvent(event);
+        }
+        return notifiedListeners;
+    }
+
+    @Benchmark
+    public long linearScan() {
+        for (BusinessEvent<?> event : events) {
+            for (BusinessEventListener listener : findSuitableListeners(event.getClass())) {
+                listener.onBusinessEvent(event);
+            }
+        }
+        return notifiedListeners;
+    }
+
+    private List<BusinessEventListener> findSuitableListeners(Class<?> eventClazz) {
+        List<BusinessEventListener> result = new ArrayList<>();
+        for (Map.Entry<Class, List<BusinessEventListener>> entry : registrations.entrySet()) {
+            if (entry.getKey().isAssignableFrom(eventClazz)) {
+                result.addAll(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    private static FineractProperties externalEventsDisabled() {
+        FineractProperties.FineractExternalEventsProperties externalProperties = new FineractProperties.FineractExternalEventsProperties();
+        externalProperties.setEnabled(false);
+        FineractProperties.FineractEventsProperties eventsProperties = new FineractProperties.FineractEventsProperties();
+        eventsProperties.setExternal(externalProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setEvents(eventsProperties);
+        return fineractProperties;
+    }
+}
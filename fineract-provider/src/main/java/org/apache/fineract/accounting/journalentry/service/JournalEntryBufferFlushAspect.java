@@ -0,0 +1,56 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the journal entries held back by the {@link TransactionalJournalEntryBuffer} before anything reads journal entries or
+ * running balances, so reads later in the same transaction see the entries created earlier in it. Besides the repository, this
+ * covers the services that query acc_gl_journal_entry with plain SQL: journal entry and GL account reads, the running balance
+ * update, the XBRL report and the trial balance details tasklet.
+ *
+ * The buffer is looked up lazily, it depends on the journal entry repository this aspect advises.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class JournalEntryBufferFlushAspect {
+
+    private final ObjectProvider<TransactionalJournalEntryBuffer> journalEntryBuffer;
+
+    @Before("this(org.apache.fineract.accounting.journalentry.domain.JournalEntryRepository) "
+            + "&& (execution(* find*(..)) || execution(* exists*(..)) || execution(* count*(..)))")
+    public void beforeJournalEntryQuery() {
+        journalEntryBuffer.getObject().flush();
+    }
+
+    @Before("within(org.apache.fineract.accounting.journalentry.service.JournalEntryReadPlatformService+) "
+            + "|| within(org.apache.fineract.accounting.journalentry.service.JournalEntryRunningBalanceUpdateService+) "
+            + "|| within(org.apache.fineract.accounting.glaccount.service.GLAccountReadPlatformService+) "
+            + "|| within(org.apache.fineract.mix.service.XBRLResultService+) "
+            + "|| within(org.apache.fineract.accounting.glaccount.jobs.updatetrialbalancedetails.UpdateTrialBalanceDetailsTasklet)")
+    public void beforeJournalEntryRead() {
+        journalEntryBuffer.getObject().flush();
+    }
+}
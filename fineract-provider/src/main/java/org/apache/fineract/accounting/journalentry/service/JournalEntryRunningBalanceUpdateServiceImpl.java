@@ -19,41 +19,119 @@
 package org.apache.fineract.accounting.journalentry.service;
 
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.fineract.accounting.common.AccountingEnumerations;
 import org.apache.fineract.accounting.glaccount.domain.GLAccountType;
 import org.apache.fineract.accounting.journalentry.api.JournalEntryJsonInputParams;
-import org.apache.fineract.accounting.journalentry.data.JournalEntryData;
 import org.apache.fineract.accounting.journalentry.data.JournalEntryDataValidator;
 import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
-import org.apache.fineract.infrastructure.core.data.EnumOptionData;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.infrastructure.core.exception.PlatformInternalServerException;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
-import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Recalculates the organization and office running balances of the journal entries.
+ *
+ * The work is split by GL account: the running balances of an account only depend on its own entries, so the accounts are
+ * handed out to a number of parallel partitions which stream the entries of one account at a time through a forward-only
+ * cursor, ordered by entry date and id, and keep just the balance of the account and of each of its offices in memory.
+ * Updates are written in batches, each in its own transaction. After an account is done, the balances of its last entry per
+ * office are stored in {@code acc_gl_running_balance_snapshot}, so the next run can start from there instead of searching the
+ * journal entries for the last calculated balances. A snapshot is only used while all of its entries are older than the
+ * earliest entry to recalculate, otherwise the balances are looked up in the journal entries again. The snapshot of an
+ * account is deleted in the transaction of its first batch, so a run which fails after some batches were committed never
+ * leaves a snapshot behind which is older than the entries already marked as calculated.
+ *
+ * Only the job works this way. The update running balance command does all of its work on the calling thread and in the
+ * transaction of the command, reading the entries page by page, so a failing command leaves no balance behind.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntryRunningBalanceUpdateService {
 
+    private static final int DEFAULT_PARTITIONS = 4;
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+
+    private static final String ACCOUNTS_TO_UPDATE_SQL = "select gl.id from acc_gl_account gl where exists (select 1 "
+            + "from acc_gl_journal_entry je where je.account_id = gl.id and je.entry_date >= ?) order by gl.id";
+    private static final String OFFICE_ACCOUNTS_TO_UPDATE_SQL = "select gl.id from acc_gl_account gl where exists (select 1 "
+            + "from acc_gl_journal_entry je where je.account_id = gl.id and je.office_id = ? and je.entry_date >= ?) order by gl.id";
+    private static final String ACCOUNT_TYPE_SQL = "select gl.classification_enum from acc_gl_account gl where gl.id = ?";
+
+    private static final String ORGANIZATION_ENTRIES_SQL = "select je.id as id, je.office_id as officeId, je.entry_date as entryDate, "
+            + "je.type_enum as entryType, je.amount as amount from acc_gl_journal_entry je "
+            + "where je.account_id = ? and je.entry_date >= ? order by je.entry_date, je.id";
+    private static final String OFFICE_ENTRIES_SQL = "select je.id as id, je.office_id as officeId, je.entry_date as entryDate, "
+            + "je.type_enum as entryType, je.amount as amount from acc_gl_journal_entry je "
+            + "where je.account_id = ? and je.office_id = ? and je.entry_date >= ? order by je.entry_date, je.id";
+    // the entries after the last one read, for the command which reads page by page on the connection it also writes with
+    private static final String ORGANIZATION_ENTRIES_PAGE_SQL = "select je.id as id, je.office_id as officeId, "
+            + "je.entry_date as entryDate, je.type_enum as entryType, je.amount as amount from acc_gl_journal_entry je "
+            + "where je.account_id = ? and (je.entry_date > ? or (je.entry_date = ? and je.id > ?)) order by je.entry_date, je.id";
+    private static final String OFFICE_ENTRIES_PAGE_SQL = "select je.id as id, je.office_id as officeId, je.entry_date as entryDate, "
+            + "je.type_enum as entryType, je.amount as amount from acc_gl_journal_entry je where je.account_id = ? "
+            + "and je.office_id = ? and (je.entry_date > ? or (je.entry_date = ? and je.id > ?)) order by je.entry_date, je.id";
+
+    private static final String SNAPSHOT_SQL = "select s.office_id as officeId, s.journal_entry_id as id, s.entry_date as entryDate, "
+            + "s.office_running_balance as officeRunningBalance, s.organization_running_balance as organizationRunningBalance "
+            + "from acc_gl_running_balance_snapshot s where s.account_id = ?";
+    // the last calculated entry per office, used when there is no usable snapshot
+    private static final String LAST_ENTRIES_SQL = "select je.office_id as officeId, je.id as id, je.entry_date as entryDate, "
+            + "je.office_running_balance as officeRunningBalance, je.organization_running_balance as organizationRunningBalance "
+            + "from (select e.id, e.office_id, e.entry_date, e.office_running_balance, e.organization_running_balance, "
+            + "row_number() over (partition by e.office_id order by e.entry_date desc, e.id desc) as rn "
+            + "from acc_gl_journal_entry e where e.account_id = ? and e.entry_date < ?) je where je.rn = 1";
+    private static final String OFFICE_LAST_ENTRY_SQL = "select je.office_id as officeId, je.id as id, je.entry_date as entryDate, "
+            + "je.office_running_balance as officeRunningBalance, je.organization_running_balance as organizationRunningBalance "
+            + "from acc_gl_journal_entry je where je.account_id = ? and je.office_id = ? and je.entry_date < ? "
+            + "order by je.entry_date desc, je.id desc";
+
+    private static final String UPDATE_ORGANIZATION_BALANCE_SQL = "UPDATE acc_gl_journal_entry SET is_running_balance_calculated=?, "
+            + "organization_running_balance=?, office_running_balance=?, last_modified_by=?, last_modified_on_utc=?  WHERE  id=?";
+    private static final String UPDATE_OFFICE_BALANCE_SQL = "UPDATE acc_gl_journal_entry SET office_running_balance=?, "
+            + "last_modified_by=?, last_modified_on_utc=? WHERE id=?";
+    private static final String DELETE_SNAPSHOT_SQL = "DELETE FROM acc_gl_running_balance_snapshot WHERE account_id=?";
+    private static final String INSERT_SNAPSHOT_SQL = "INSERT INTO acc_gl_running_balance_snapshot (office_id, account_id, "
+            + "journal_entry_id, entry_date, office_running_balance, organization_running_balance) VALUES (?, ?, ?, ?, ?, ?)";
+
     private final JdbcTemplate jdbcTemplate;
 
     private final OfficeRepositoryWrapper officeRepositoryWrapper;
@@ -61,19 +139,31 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
     private final JournalEntryDataValidator dataValidator;
 
     private final FromJsonHelper fromApiJsonHelper;
-    private final DatabaseSpecificSQLGenerator sqlGenerator;
-
-    private final GLJournalEntryMapper entryMapper = new GLJournalEntryMapper();
 
     private final PlatformSecurityContext platformSecurityContext;
 
+    private final PlatformTransactionManager transactionManager;
+
+    private final FineractProperties fineractProperties;
+
+    @Qualifier(TaskExecutorConstant.RUNNING_BALANCE_UPDATE_TASK_EXECUTOR_BEAN_NAME)
+    private final ThreadPoolTaskExecutor taskExecutor;
+
+    private final RunningBalanceSnapshotMapper snapshotMapper = new RunningBalanceSnapshotMapper();
+
     @Override
     public void updateRunningBalance() {
+        updateRunningBalance(Mode.JOB);
+    }
+
+    private void updateRunningBalance(final Mode mode) {
         String dateFinder = "select MIN(je.entry_date) as entityDate from acc_gl_journal_entry  je "
                 + "where je.is_running_balance_calculated=false ";
         try {
             LocalDate entityDate = this.jdbcTemplate.queryForObject(dateFinder, LocalDate.class);
-            updateOrganizationRunningBalance(entityDate);
+            if (entityDate != null) {
+                updateOrganizationRunningBalance(entityDate, mode);
+            }
         } catch (EmptyResultDataAccessException e) {
             log.debug("No results found for updation of running balance ");
         }
@@ -87,14 +177,16 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
         CommandProcessingResultBuilder commandProcessingResultBuilder = new CommandProcessingResultBuilder()
                 .withCommandId(command.commandId());
         if (officeId == null) {
-            updateRunningBalance();
+            updateRunningBalance(Mode.COMMAND);
         } else {
             this.officeRepositoryWrapper.findOneWithNotFoundDetection(officeId);
             String dateFinder = "select MIN(je.entry_date) as entityDate " + "from acc_gl_journal_entry  je "
                     + "where je.is_running_balance_calculated=false  and je.office_id=?";
             try {
                 LocalDate entityDate = this.jdbcTemplate.queryForObject(dateFinder, LocalDate.class, officeId);
-                updateRunningBalance(officeId, entityDate);
+                if (entityDate != null) {
+                    updateRunningBalance(officeId, entityDate, Mode.COMMAND);
+                }
             } catch (EmptyResultDataAccessException e) {
                 log.debug("No results found for updation of office running balance with office id: {}", officeId);
             }
@@ -103,127 +195,232 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
         return commandProcessingResultBuilder.build();
     }
 
-    private void updateOrganizationRunningBalance(LocalDate entityDate) {
-        Map<Long, BigDecimal> runningBalanceMap = new HashMap<>(5);
-        Map<Long, Map<Long, BigDecimal>> officesRunningBalance = new HashMap<>();
-
-        final String organizationRunningBalanceQuery = "select je.organization_running_balance as runningBalance,je.account_id as accountId from acc_gl_journal_entry je "
-                + "inner join (select max(id) as id from acc_gl_journal_entry where entry_date < ? group by account_id,entry_date) je2 ON je2.id = je.id "
-                + "inner join (select max(entry_date) as date from acc_gl_journal_entry where entry_date < ? group by account_id) je3 ON je.entry_date = je3.date "
-                + "group by je.id order by je.entry_date DESC " + sqlGenerator.limit(10000, 0);
-
-        List<Map<String, Object>> list = jdbcTemplate.queryForList(organizationRunningBalanceQuery, // NOSONAR
-                entityDate, entityDate);
-
-        for (Map<String, Object> entries : list) {
-            Long accountId = Long.parseLong(entries.get("accountId").toString()); // Drizzle
-                                                                                  // is
-                                                                                  // returning
-                                                                                  // Big
-                                                                                  // Integer
-                                                                                  // where
-                                                                                  // as
-                                                                                  // MySQL
-                                                                                  // returns
-                                                                                  // Long.
-            if (!runningBalanceMap.containsKey(accountId)) {
-                runningBalanceMap.put(accountId, (BigDecimal) entries.get("runningBalance"));
-            }
+    private void updateOrganizationRunningBalance(final LocalDate entityDate, final Mode mode) {
+        final Long userId = platformSecurityContext.authenticatedUser().getId();
+        final List<Long> accountIds = jdbcTemplate.queryForList(ACCOUNTS_TO_UPDATE_SQL, Long.class, entityDate);
+        log.debug("Updating running balances of {} GL accounts from {}", accountIds.size(), entityDate);
+        processAccounts(accountIds, mode, accountId -> updateOrganizationRunningBalance(accountId, entityDate, userId, mode));
+    }
+
+    private void updateRunningBalance(final Long officeId, final LocalDate entityDate, final Mode mode) {
+        final Long userId = platformSecurityContext.authenticatedUser().getId();
+        final List<Long> accountIds = jdbcTemplate.queryForList(OFFICE_ACCOUNTS_TO_UPDATE_SQL, Long.class, officeId, entityDate);
+        log.debug("Updating office {} running balances of {} GL accounts from {}", officeId, accountIds.size(), entityDate);
+        processAccounts(accountIds, mode, accountId -> updateOfficeRunningBalance(accountId, officeId, entityDate, userId, mode));
+    }
+
+    private void updateOrganizationRunningBalance(final Long accountId, final LocalDate entityDate, final Long userId,
+            final Mode mode) {
+        final GLAccountType accountType = retrieveAccountType(accountId);
+        final Map<Long, RunningBalanceSnapshot> officeBalances = retrieveOpeningBalances(accountId, null, entityDate);
+        final RunningBalanceSnapshot organizationBalance = new RunningBalanceSnapshot(null);
+        organizationBalance.organizationRunningBalance = latestOrganizationRunningBalance(officeBalances.values());
+        final BatchWriter writer = new BatchWriter(UPDATE_ORGANIZATION_BALANCE_SQL, getBatchSize(), mode,
+                () -> jdbcTemplate.update(DELETE_SNAPSHOT_SQL, accountId));
+
+        readEntries(mode, ORGANIZATION_ENTRIES_SQL, ORGANIZATION_ENTRIES_PAGE_SQL, rs -> {
+            final Long officeId = rs.getLong("officeId");
+            final BigDecimal amount = signedAmount(accountType, rs);
+            organizationBalance.organizationRunningBalance = organizationBalance.organizationRunningBalance.add(amount);
+            final RunningBalanceSnapshot officeBalance = officeBalances.computeIfAbsent(officeId, RunningBalanceSnapshot::new);
+            officeBalance.officeRunningBalance = officeBalance.officeRunningBalance.add(amount);
+            officeBalance.journalEntryId = rs.getLong("id");
+            officeBalance.entryDate = JdbcSupport.getLocalDate(rs, "entryDate");
+            officeBalance.organizationRunningBalance = organizationBalance.organizationRunningBalance;
+            writer.add(new Object[] { Boolean.TRUE, organizationBalance.organizationRunningBalance, officeBalance.officeRunningBalance,
+                    userId, DateUtils.getAuditOffsetDateTime(), officeBalance.journalEntryId });
+        }, entityDate, accountId);
+
+        if (writer.isEmpty()) {
+            return;
         }
+        final List<Object[]> snapshots = new ArrayList<>(officeBalances.size());
+        for (RunningBalanceSnapshot snapshot : officeBalances.values()) {
+            snapshots.add(new Object[] { snapshot.officeId, accountId, snapshot.journalEntryId, snapshot.entryDate,
+                    snapshot.officeRunningBalance, snapshot.organizationRunningBalance });
+        }
+        // the remaining updates and the snapshot are committed together, so a snapshot never runs ahead of the entries
+        writer.flush(() -> jdbcTemplate.batchUpdate(INSERT_SNAPSHOT_SQL, snapshots));
+    }
 
-        final String offlineRunningBalanceQuery = "select je.office_running_balance as runningBalance,je.account_id as accountId,je.office_id as officeId "
-                + "from acc_gl_journal_entry je "
-                + "inner join (select max(id) as id from acc_gl_journal_entry where entry_date < ? group by office_id,account_id,entry_date) je2 ON je2.id = je.id "
-                + "inner join (select max(entry_date) as date from acc_gl_journal_entry where entry_date < ? group by office_id,account_id) je3 ON je.entry_date = je3.date "
-                + "group by je.id order by je.entry_date DESC " + sqlGenerator.limit(10000, 0);
-
-        List<Map<String, Object>> officesRunningBalanceList = jdbcTemplate.queryForList(offlineRunningBalanceQuery, // NOSONAR
-                entityDate, entityDate);
-        for (Map<String, Object> entries : officesRunningBalanceList) {
-            Long accountId = Long.parseLong(entries.get("accountId").toString());
-            Long officeId = Long.parseLong(entries.get("officeId").toString());
-            Map<Long, BigDecimal> runningBalance;
-            if (officesRunningBalance.containsKey(officeId)) {
-                runningBalance = officesRunningBalance.get(officeId);
-            } else {
-                runningBalance = new HashMap<>();
-                officesRunningBalance.put(officeId, runningBalance);
-            }
-            if (!runningBalance.containsKey(accountId)) {
-                runningBalance.put(accountId, (BigDecimal) entries.get("runningBalance"));
+    private void updateOfficeRunningBalance(final Long accountId, final Long officeId, final LocalDate entityDate, final Long userId,
+            final Mode mode) {
+        final GLAccountType accountType = retrieveAccountType(accountId);
+        final RunningBalanceSnapshot officeBalance = retrieveOpeningBalances(accountId, officeId, entityDate).computeIfAbsent(officeId,
+                RunningBalanceSnapshot::new);
+        final BatchWriter writer = new BatchWriter(UPDATE_OFFICE_BALANCE_SQL, getBatchSize(), mode, null);
+
+        readEntries(mode, OFFICE_ENTRIES_SQL, OFFICE_ENTRIES_PAGE_SQL, rs -> {
+            officeBalance.officeRunningBalance = officeBalance.officeRunningBalance.add(signedAmount(accountType, rs));
+            writer.add(new Object[] { officeBalance.officeRunningBalance, userId, DateUtils.getAuditOffsetDateTime(), rs.getLong("id") });
+        }, entityDate, accountId, officeId);
+        writer.flush(null);
+    }
+
+    /**
+     * Returns the running balances per office right before {@code entityDate}: from the snapshot of the account when all of its
+     * entries are older than that date, otherwise from the last older journal entry of each office.
+     */
+    private Map<Long, RunningBalanceSnapshot> retrieveOpeningBalances(final Long accountId, final Long officeId,
+            final LocalDate entityDate) {
+        final Map<Long, RunningBalanceSnapshot> balances = new HashMap<>();
+        boolean usable = true;
+        for (RunningBalanceSnapshot snapshot : jdbcTemplate.query(SNAPSHOT_SQL, snapshotMapper, accountId)) {
+            if (officeId == null || officeId.equals(snapshot.officeId)) {
+                usable &= snapshot.entryDate.isBefore(entityDate);
+                balances.put(snapshot.officeId, snapshot);
             }
         }
+        if (usable && !balances.isEmpty()) {
+            return balances;
+        }
+        balances.clear();
+        final List<RunningBalanceSnapshot> lastEntries = officeId == null
+                ? jdbcTemplate.query(LAST_ENTRIES_SQL, snapshotMapper, accountId, entityDate)
+                : jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(OFFICE_LAST_ENTRY_SQL);
+                    ps.setMaxRows(1);
+                    new ArgumentPreparedStatementSetter(new Object[] { accountId, officeId, entityDate }).setValues(ps);
+                    return ps;
+                }, snapshotMapper);
+        for (RunningBalanceSnapshot lastEntry : lastEntries) {
+            balances.put(lastEntry.officeId, lastEntry);
+        }
+        return balances;
+    }
 
-        List<JournalEntryData> entryDataList = jdbcTemplate.query(entryMapper.organizationRunningBalanceSchema(), entryMapper, entityDate);
-        if (entryDataList.size() > 0) {
-            // run a batch update of 1000 SQL statements at a time
-            final int batchUpdateSize = 1000;
-            List<Object[]> params = new ArrayList<>();
-            int batchIndex = 0;
-            String sql = "UPDATE acc_gl_journal_entry SET is_running_balance_calculated=?, organization_running_balance=?,"
-                    + "office_running_balance=?, last_modified_by=?, last_modified_on_utc=?  WHERE  id=?";
-            for (int index = 0; index < entryDataList.size(); index++) {
-                JournalEntryData entryData = entryDataList.get(index);
-                Map<Long, BigDecimal> officeRunningBalanceMap;
-                if (officesRunningBalance.containsKey(entryData.getOfficeId())) {
-                    officeRunningBalanceMap = officesRunningBalance.get(entryData.getOfficeId());
-                } else {
-                    officeRunningBalanceMap = new HashMap<>();
-                    officesRunningBalance.put(entryData.getOfficeId(), officeRunningBalanceMap);
-                }
-                BigDecimal officeRunningBalance = calculateRunningBalance(entryData, officeRunningBalanceMap);
-                BigDecimal runningBalance = calculateRunningBalance(entryData, runningBalanceMap);
-
-                params.add(new Object[] { Boolean.TRUE, runningBalance, officeRunningBalance,
-                        platformSecurityContext.authenticatedUser().getId(), DateUtils.getAuditOffsetDateTime(), entryData.getId() });
-                batchIndex++;
-                if (batchIndex == batchUpdateSize || index == entryDataList.size() - 1) {
-                    this.jdbcTemplate.batchUpdate(sql, params);
-                    // reset counter and string array
-                    batchIndex = 0;
-                    params.clear();
-                }
+    /**
+     * The organization balance of an account is the one stored on its latest entry over all offices.
+     */
+    private BigDecimal latestOrganizationRunningBalance(final Collection<RunningBalanceSnapshot> officeBalances) {
+        RunningBalanceSnapshot latest = null;
+        for (RunningBalanceSnapshot balance : officeBalances) {
+            if (latest == null || balance.isAfter(latest)) {
+                latest = balance;
             }
         }
+        return latest == null ? BigDecimal.ZERO : latest.organizationRunningBalance;
+    }
 
+    private GLAccountType retrieveAccountType(final Long accountId) {
+        final Integer classification = jdbcTemplate.queryForObject(ACCOUNT_TYPE_SQL, Integer.class, accountId);
+        return GLAccountType.fromInt(classification);
     }
 
-    private void updateRunningBalance(Long officeId, LocalDate entityDate) {
-        Map<Long, BigDecimal> runningBalanceMap = new HashMap<>(5);
+    private void readEntries(final Mode mode, final String streamSql, final String pageSql, final RowCallbackHandler handler,
+            final LocalDate entityDate, final Object... accountArgs) {
+        if (mode == Mode.JOB) {
+            final Object[] args = Arrays.copyOf(accountArgs, accountArgs.length + 1);
+            args[accountArgs.length] = entityDate;
+            streamEntries(streamSql, handler, args);
+        } else {
+            readEntryPages(pageSql, handler, entityDate, accountArgs);
+        }
+    }
 
-        final String offlineRunningBalanceQuery = "select je.office_running_balance as runningBalance,je.account_id as accountId from acc_gl_journal_entry je "
-                + "inner join (select max(id) as id from acc_gl_journal_entry where office_id=?  and entry_date < ? group by account_id,entry_date) je2 ON je2.id = je.id "
-                + "inner join (select max(entry_date) as date from acc_gl_journal_entry where office_id=? and entry_date < ? group by account_id) je3 ON je.entry_date = je3.date "
-                + "group by je.id order by je.entry_date DESC " + sqlGenerator.limit(10000, 0);
+    /**
+     * Streams the entries of one account through a forward-only cursor. The cursor is opened in a read-only transaction, which
+     * some drivers require to fetch the rows in chunks instead of reading the whole result set up front.
+     */
+    private void streamEntries(final String sql, final RowCallbackHandler handler, final Object... args) {
+        final TransactionTemplate readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        readTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(getFetchSize());
+            new ArgumentPreparedStatementSetter(args).setValues(ps);
+            return ps;
+        }, handler));
+    }
 
-        List<Map<String, Object>> list = jdbcTemplate.queryForList(offlineRunningBalanceQuery, // NOSONAR
-                officeId, entityDate, officeId, entityDate);
-        for (Map<String, Object> entries : list) {
-            Long accountId = (Long) entries.get("accountId");
-            if (!runningBalanceMap.containsKey(accountId)) {
-                runningBalanceMap.put(accountId, (BigDecimal) entries.get("runningBalance"));
+    /**
+     * Reads the entries of one account page by page, each page starting after the last entry of the previous one. Unlike a
+     * streaming cursor this leaves the connection free for the updates between the pages, so all of it runs in the current
+     * transaction.
+     */
+    private void readEntryPages(final String sql, final RowCallbackHandler handler, final LocalDate entityDate,
+            final Object... accountArgs) {
+        final int pageSize = getFetchSize();
+        final EntryCursor cursor = new EntryCursor(entityDate);
+        do {
+            final Object[] args = Arrays.copyOf(accountArgs, accountArgs.length + 3);
+            args[accountArgs.length] = cursor.entryDate;
+            args[accountArgs.length + 1] = cursor.entryDate;
+            args[accountArgs.length + 2] = cursor.journalEntryId;
+            cursor.rows = 0;
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql);
+                ps.setMaxRows(pageSize);
+                new ArgumentPreparedStatementSetter(args).setValues(ps);
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                handler.processRow(rs);
+                cursor.entryDate = JdbcSupport.getLocalDate(rs, "entryDate");
+                cursor.journalEntryId = rs.getLong("id");
+                cursor.rows++;
+            });
+        } while (cursor.rows >= pageSize);
+    }
+
+    private void processAccounts(final List<Long> accountIds, final Mode mode, final Consumer<Long> accountProcessor) {
+        if (mode == Mode.JOB) {
+            processPartitioned(accountIds, accountProcessor);
+        } else {
+            // any failure rolls back the whole command
+            accountIds.forEach(accountProcessor);
+        }
+    }
+
+    private void processPartitioned(final List<Long> accountIds, final Consumer<Long> accountProcessor) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        final int partitions = Math.min(getPartitions(), accountIds.size());
+        final Queue<Long> pendingAccountIds = new ConcurrentLinkedQueue<>(accountIds);
+        final Queue<Long> failedAccountIds = new ConcurrentLinkedQueue<>();
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+
+        final List<Future<?>> responses = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            responses.add(taskExecutor.submit(() -> {
+                ThreadLocalContextUtil.init(context);
+                try {
+                    Long accountId;
+                    while ((accountId = pendingAccountIds.poll()) != null) {
+                        try {
+                            accountProcessor.accept(accountId);
+                        } catch (RuntimeException e) {
+                            // the batches written so far stay, the rest of the account is picked up again by the next run
+                            log.error("Running balance update failed for GL account {}", accountId, e);
+                            failedAccountIds.add(accountId);
+                        }
+                    }
+                } finally {
+                    ThreadLocalContextUtil.reset();
+                }
+            }));
+        }
+        for (Future<?> response : responses) {
+            try {
+                response.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PlatformInternalServerException("error.msg.running.balance.update.interrupted",
+                        "Interrupted while updating running balances", e);
+            } catch (ExecutionException e) {
+                throw new PlatformInternalServerException("error.msg.running.balance.update.failed", "Running balance update failed",
+                        e.getCause());
             }
         }
-        List<JournalEntryData> entryDataList = jdbcTemplate.query(entryMapper.officeRunningBalanceSchema(), entryMapper, officeId,
-                entityDate);
-        List<Object[]> params = new ArrayList<>();
-
-        String sql = "UPDATE acc_gl_journal_entry SET office_running_balance=?, last_modified_by=?, last_modified_on_utc=? WHERE id=?";
-        for (JournalEntryData entryData : entryDataList) {
-            BigDecimal runningBalance = calculateRunningBalance(entryData, runningBalanceMap);
-            params.add(new Object[] { runningBalance, platformSecurityContext.authenticatedUser().getId(),
-                    DateUtils.getAuditOffsetDateTime(), entryData.getId() });
+        if (!failedAccountIds.isEmpty()) {
+            throw new PlatformInternalServerException("error.msg.running.balance.update.failed",
+                    "Running balance update failed for GL accounts " + failedAccountIds, failedAccountIds);
         }
-        this.jdbcTemplate.batchUpdate(sql, params);
     }
 
-    private BigDecimal calculateRunningBalance(JournalEntryData entry, Map<Long, BigDecimal> runningBalanceMap) {
-        BigDecimal runningBalance = BigDecimal.ZERO;
-        if (runningBalanceMap.containsKey(entry.getGlAccountId())) {
-            runningBalance = runningBalanceMap.get(entry.getGlAccountId());
-        }
-        GLAccountType accountType = GLAccountType.fromInt(entry.getGlAccountType().getId().intValue());
-        JournalEntryType entryType = JournalEntryType.fromInt(entry.getEntryType().getId().intValue());
+    private static BigDecimal signedAmount(final GLAccountType accountType, final ResultSet rs) throws SQLException {
+        final JournalEntryType entryType = JournalEntryType.fromInt(JdbcSupport.getInteger(rs, "entryType"));
+        final BigDecimal amount = rs.getBigDecimal("amount");
         boolean isIncrease = false;
         switch (accountType) {
             case ASSET:
@@ -240,46 +437,134 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
                 }
             break;
         }
-        if (isIncrease) {
-            runningBalance = runningBalance.add(entry.getAmount());
-        } else {
-            runningBalance = runningBalance.subtract(entry.getAmount());
-        }
-        runningBalanceMap.put(entry.getGlAccountId(), runningBalance);
-        return runningBalance;
+        return isIncrease ? amount : amount.negate();
     }
 
-    private static final class GLJournalEntryMapper implements RowMapper<JournalEntryData> {
+    private int getPartitions() {
+        final FineractProperties.FineractRunningBalanceUpdateProperties properties = fineractProperties.getJob().getRunningBalanceUpdate();
+        return properties == null ? DEFAULT_PARTITIONS : Math.max(1, properties.getPartitions());
+    }
+
+    private int getBatchSize() {
+        final FineractProperties.FineractRunningBalanceUpdateProperties properties = fineractProperties.getJob().getRunningBalanceUpdate();
+        return properties == null ? DEFAULT_BATCH_SIZE : Math.max(1, properties.getBatchSize());
+    }
 
-        public String officeRunningBalanceSchema() {
-            return "select je.id as id,je.account_id as glAccountId,je.type_enum as entryType,je.amount as amount, "
-                    + "glAccount.classification_enum as classification,je.office_id as officeId "
-                    + "from acc_gl_journal_entry je , acc_gl_account glAccount " + "where je.account_id = glAccount.id "
-                    + "and je.office_id=? and je.entry_date >= ? order by je.entry_date,je.id";
+    private int getFetchSize() {
+        final FineractProperties.FineractRunningBalanceUpdateProperties properties = fineractProperties.getJob().getRunningBalanceUpdate();
+        return properties == null ? DEFAULT_FETCH_SIZE : Math.max(1, properties.getFetchSize());
+    }
+
+    /**
+     * Who runs the update: the job commits batch by batch on parallel partitions, the command works in its own transaction.
+     */
+    private enum Mode {
+        JOB, COMMAND
+    }
+
+    /**
+     * Collects the update parameters of one account and writes them in batches. For the job every batch is committed in a new
+     * transaction, on another connection than the one the entries are streamed from. For the command the batches join the
+     * transaction of the command. The optional first action runs in the transaction of the first batch.
+     */
+    private final class BatchWriter {
+
+        private final String sql;
+        private final int batchSize;
+        private final List<Object[]> params;
+        private final TransactionTemplate writeTransaction;
+        private Runnable firstInTransaction;
+        private boolean written;
+
+        BatchWriter(final String sql, final int batchSize, final Mode mode, final Runnable firstInTransaction) {
+            this.sql = sql;
+            this.batchSize = batchSize;
+            this.firstInTransaction = firstInTransaction;
+            this.params = new ArrayList<>(batchSize);
+            this.writeTransaction = new TransactionTemplate(transactionManager);
+            this.writeTransaction.setPropagationBehavior(
+                    mode == Mode.JOB ? TransactionDefinition.PROPAGATION_REQUIRES_NEW : TransactionDefinition.PROPAGATION_REQUIRED);
         }
 
-        public String organizationRunningBalanceSchema() {
-            return "select je.id as id,je.account_id as glAccountId," + "je.type_enum as entryType,je.amount as amount, "
-                    + "glAccount.classification_enum as classification,je.office_id as officeId  "
-                    + "from acc_gl_journal_entry je , acc_gl_account glAccount " + "where je.account_id = glAccount.id "
-                    + "and je.entry_date >= ? order by je.entry_date,je.id";
+        void add(final Object[] entryParams) {
+            params.add(entryParams);
+            if (params.size() >= batchSize) {
+                flush(null);
+            }
         }
 
-        @Override
-        public JournalEntryData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+        boolean isEmpty() {
+            return !written && params.isEmpty();
+        }
 
-            final Long id = rs.getLong("id");
-            final Long glAccountId = rs.getLong("glAccountId");
-            final Long officeId = rs.getLong("officeId");
-            final int accountTypeId = JdbcSupport.getInteger(rs, "classification");
-            final EnumOptionData accountType = AccountingEnumerations.gLAccountType(accountTypeId);
-            final BigDecimal amount = rs.getBigDecimal("amount");
-            final int entryTypeId = JdbcSupport.getInteger(rs, "entryType");
-            final EnumOptionData entryType = AccountingEnumerations.journalEntryType(entryTypeId);
-
-            return new JournalEntryData(id, officeId, null, null, glAccountId, null, accountType, null, entryType, amount, null, null, null,
-                    null, null, null, null, null, null, null, null, null, null, null, null, null);
+        void flush(final Runnable alsoInTransaction) {
+            if (params.isEmpty() && alsoInTransaction == null) {
+                return;
+            }
+            writeTransaction.executeWithoutResult(status -> {
+                if (firstInTransaction != null) {
+                    firstInTransaction.run();
+                }
+                if (!params.isEmpty()) {
+                    jdbcTemplate.batchUpdate(sql, params);
+                }
+                if (alsoInTransaction != null) {
+                    alsoInTransaction.run();
+                }
+            });
+            written |= !params.isEmpty();
+            firstInTransaction = null;
+            params.clear();
+        }
+    }
+
+    /**
+     * The position after the last entry read by {@link #readEntryPages}.
+     */
+    private static final class EntryCursor {
+
+        private LocalDate entryDate;
+        private long journalEntryId;
+        private int rows;
+
+        EntryCursor(final LocalDate entityDate) {
+            // every entry of the start date has an id above zero
+            this.entryDate = entityDate;
+            this.journalEntryId = 0L;
         }
     }
 
+    /**
+     * The running balances after the last entry of an account in one office.
+     */
+    private static final class RunningBalanceSnapshot {
+
+        private final Long officeId;
+        private Long journalEntryId;
+        private LocalDate entryDate;
+        private BigDecimal officeRunningBalance = BigDecimal.ZERO;
+        private BigDecimal organizationRunningBalance = BigDecimal.ZERO;
+
+        RunningBalanceSnapshot(final Long officeId) {
+            this.officeId = officeId;
+        }
+
+        boolean isAfter(final RunningBalanceSnapshot other) {
+            final int byDate = entryDate.compareTo(other.entryDate);
+            return byDate > 0 || (byDate == 0 && journalEntryId > other.journalEntryId);
+        }
+    }
+
+    private static final class RunningBalanceSnapshotMapper implements RowMapper<RunningBalanceSnapshot> {
+
+        @Override
+        public RunningBalanceSnapshot mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            final RunningBalanceSnapshot snapshot = new RunningBalanceSnapshot(rs.getLong("officeId"));
+            snapshot.journalEntryId = rs.getLong("id");
+            snapshot.entryDate = JdbcSupport.getLocalDate(rs, "entryDate");
+            snapshot.officeRunningBalance = JdbcSupport.getBigDecimalDefaultToZeroIfNull(rs, "officeRunningBalance");
+            snapshot.organizationRunningBalance = JdbcSupport.getBigDecimalDefaultToZeroIfNull(rs, "organizationRunningBalance");
+            return snapshot;
+        }
+    }
 }
@@ -0,0 +1,185 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryRepository;
+import org.apache.fineract.accounting.journalentry.exception.JournalEntryInvalidException;
+import org.apache.fineract.accounting.journalentry.exception.JournalEntryInvalidException.GlJournalEntryInvalidReason;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.TransactionBoundSynchronization;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects the journal entries created within a transaction and writes them with one JDBC batch right before the transaction
+ * commits, instead of flushing every single debit and credit on its own.
+ *
+ * Before writing, the debits and credits of every journal transaction id have to add up. The generated ids are set on the
+ * entries once they are written; callers that need them earlier can {@link #flush()} the buffer. Reads of journal entries and
+ * running balances flush it first, see {@link JournalEntryBufferFlushAspect}. Without an active transaction the entries are
+ * saved right away.
+ *
+ * The buffered entries are invisible to SQL until then: a new JdbcTemplate query on acc_gl_journal_entry that may run in the
+ * transaction that created the entries has to call {@link #flush()} first or be added to the aspect. Readers using their own
+ * connection, like the journal entry aggregation job, only ever see committed entries anyway.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionalJournalEntryBuffer {
+
+    private static final String INSERT_SQL = "INSERT INTO acc_gl_journal_entry (office_id, payment_details_id, account_id, currency_code, "
+            + "reversal_id, transaction_id, loan_transaction_id, savings_transaction_id, client_transaction_id, share_transaction_id, "
+            + "reversed, manual_entry, entry_date, type_enum, amount, description, entity_type_enum, entity_id, ref_num, "
+            + "submitted_on_date, created_by, created_on_utc, last_modified_by, last_modified_on_utc) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JournalEntryRepository journalEntryRepository;
+    private final AuditorAware<Long> auditorAware;
+
+    public void add(final JournalEntry journalEntry) {
+        final PendingJournalEntries pending = TransactionBoundSynchronization.bind(this, PendingJournalEntries::new);
+        if (pending == null) {
+            journalEntryRepository.saveAndFlush(journalEntry);
+            return;
+        }
+        pending.entries.add(journalEntry);
+    }
+
+    /**
+     * Writes the journal entries collected so far in the current transaction.
+     */
+    public void flush() {
+        final PendingJournalEntries pending = TransactionBoundSynchronization.current(this);
+        if (pending != null) {
+            write(pending.entries);
+            pending.entries.clear();
+        }
+    }
+
+    private void write(final List<JournalEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        validateDebitsEqualCredits(entries);
+        // pending entity changes (e.g. the savings transactions referenced by the entries) have to reach the database first
+        journalEntryRepository.flush();
+
+        final Long auditor = auditorAware.getCurrentAuditor().orElse(null);
+        final OffsetDateTime now = DateUtils.getAuditOffsetDateTime();
+        for (JournalEntry entry : entries) {
+            entry.setCreatedBy(auditor);
+            entry.setCreatedDate(now);
+            entry.setLastModifiedBy(auditor);
+            entry.setLastModifiedDate(now);
+        }
+
+        final GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[] { "id" }), new BatchPreparedStatementSetter() {
+
+            @Override
+            public void setValues(final PreparedStatement ps, final int i) throws SQLException {
+                final JournalEntry entry = entries.get(i);
+                ps.setObject(1, entry.getOffice().getId());
+                ps.setObject(2, entry.getPaymentDetail() == null ? null : entry.getPaymentDetail().getId());
+                ps.setObject(3, entry.getGlAccount().getId());
+                ps.setString(4, entry.getCurrencyCode());
+                ps.setObject(5, entry.getReversalJournalEntry() == null ? null : entry.getReversalJournalEntry().getId());
+                ps.setString(6, entry.getTransactionId());
+                ps.setObject(7, entry.getLoanTransactionId());
+                ps.setObject(8, entry.getSavingsTransactionId());
+                ps.setObject(9, entry.getClientTransactionId());
+                ps.setObject(10, entry.getShareTransactionId());
+                ps.setBoolean(11, entry.isReversed());
+                ps.setBoolean(12, entry.isManualEntry());
+                ps.setObject(13, entry.getTransactionDate());
+                ps.setObject(14, entry.getType());
+                ps.setBigDecimal(15, entry.getAmount());
+                ps.setString(16, entry.getDescription());
+                ps.setObject(17, entry.getEntityType());
+                ps.setObject(18, entry.getEntityId());
+                ps.setString(19, entry.getReferenceNumber());
+                ps.setObject(20, entry.getSubmittedOnDate());
+                ps.setObject(21, auditor);
+                ps.setObject(22, now);
+                ps.setObject(23, auditor);
+                ps.setObject(24, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        }, keyHolder);
+
+        // the key column is named differently by every driver, but it is the only one returned
+        final List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size() && i < entries.size(); i++) {
+            entries.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    private void validateDebitsEqualCredits(final List<JournalEntry> entries) {
+        final Map<String, BigDecimal> balances = new LinkedHashMap<>();
+        final Map<String, JournalEntry> firstEntries = new LinkedHashMap<>();
+        for (JournalEntry entry : entries) {
+            final BigDecimal amount = entry.isDebitEntry() ? entry.getAmount() : entry.getAmount().negate();
+            balances.merge(entry.getTransactionId(), amount, BigDecimal::add);
+            firstEntries.putIfAbsent(entry.getTransactionId(), entry);
+        }
+        for (Map.Entry<String, BigDecimal> balance : balances.entrySet()) {
+            if (balance.getValue().compareTo(BigDecimal.ZERO) != 0) {
+                final JournalEntry entry = firstEntries.get(balance.getKey());
+                throw new JournalEntryInvalidException(GlJournalEntryInvalidReason.DEBIT_CREDIT_SUM_MISMATCH, entry.getTransactionDate(),
+                        null, null);
+            }
+        }
+    }
+
+    /**
+     * The journal entries of one transaction.
+     */
+    private final class PendingJournalEntries extends TransactionBoundSynchronization {
+
+        private final List<JournalEntry> entries = new ArrayList<>();
+
+        private PendingJournalEntries() {
+            super(TransactionalJournalEntryBuffer.this);
+        }
+
+        @Override
+        public void beforeCommit(final boolean readOnly) {
+            write(entries);
+            entries.clear();
+        }
+    }
+}
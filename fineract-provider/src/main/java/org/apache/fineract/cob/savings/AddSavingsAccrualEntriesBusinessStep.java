@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.cob.exceptions.BusinessStepException;
+import org.apache.fineract.infrastructure.core.exception.MultiException;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.service.SavingsAccrualWritePlatformService;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class AddSavingsAccrualEntriesBusinessStep implements SavingsCOBBusinessStep {
+
+    private final SavingsAccrualWritePlatformService savingsAccrualWritePlatformService;
+
+    @Override
+    public SavingsAccount execute(SavingsAccount input) {
+        try {
+            savingsAccrualWritePlatformService.addAccrualEntries(input, DateUtils.getBusinessLocalDate());
+        } catch (MultiException e) {
+            throw new BusinessStepException("Failed to add accrual entries for savings account " + input.getId(), e);
+        }
+        return input;
+    }
+
+    @Override
+    public String getEnumStyledName() {
+        return "ADD_SAVINGS_ACCRUAL_ENTRIES";
+    }
+
+    @Override
+    public String getHumanReadableName() {
+        return "Add savings accrual entries";
+    }
+}
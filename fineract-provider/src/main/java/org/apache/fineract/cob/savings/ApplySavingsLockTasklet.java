@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.data.COBParameter;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.domain.SavingsAccountLock;
+import org.apache.fineract.cob.domain.SavingsAccountLockRepository;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Places a {@link LockOwner#SAVINGS_COB_CHUNK_PROCESSING} lock on every account of the partition. A clean lock of an earlier
+ * COB business date, left behind by a run which was interrupted before the account was processed, is taken over for the
+ * current date. Other locks, e.g. because the account failed on an earlier business date, are left alone and the accounts
+ * are skipped by the reader.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ApplySavingsLockTasklet implements Tasklet {
+
+    private final SavingsAccountLockRepository savingsAccountLockRepository;
+    private final RetrieveSavingsIdService retrieveSavingsIdService;
+    private final TransactionTemplate transactionTemplate;
+    private final COBParameter cobParameter;
+    private final boolean isCatchUp;
+
+    @Override
+    public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext) throws Exception {
+        LocalDate cobBusinessDate = ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE);
+        List<Long> savingsIds = retrieveSavingsIdService.retrieveAllActiveSavingsIdsByLastClosedBusinessDateAndMinAndMaxId(cobParameter,
+                cobBusinessDate, isCatchUp);
+        if (savingsIds.isEmpty()) {
+            return RepeatStatus.FINISHED;
+        }
+        List<SavingsAccountLock> existingLocks = savingsAccountLockRepository.findAllBySavingsAccountIdIn(savingsIds);
+        Set<Long> alreadyLockedIds = existingLocks.stream().map(SavingsAccountLock::getSavingsAccountId).collect(Collectors.toSet());
+        List<SavingsAccountLock> staleLocks = existingLocks.stream().filter(lock -> isStale(lock, cobBusinessDate)).toList();
+        staleLocks.forEach(lock -> lock.retake(cobBusinessDate));
+        List<SavingsAccountLock> locks = new ArrayList<>(staleLocks);
+        savingsIds.stream().filter(savingsId -> !alreadyLockedIds.contains(savingsId))
+                .map(savingsId -> new SavingsAccountLock(savingsId, LockOwner.SAVINGS_COB_CHUNK_PROCESSING, cobBusinessDate))
+                .forEach(locks::add);
+        transactionTemplate.executeWithoutResult(status -> savingsAccountLockRepository.saveAll(locks));
+        if (!staleLocks.isEmpty()) {
+            log.warn("Savings COB takes over {} lock(s) of an earlier business date in range [{}, {}]", staleLocks.size(),
+                    cobParameter.getMinAccountId(), cobParameter.getMaxAccountId());
+        }
+        int skipped = alreadyLockedIds.size() - staleLocks.size();
+        if (skipped > 0) {
+            log.warn("Savings COB skips {} already locked account(s) in range [{}, {}]", skipped, cobParameter.getMinAccountId(),
+                    cobParameter.getMaxAccountId());
+        }
+        return RepeatStatus.FINISHED;
+    }
+
+    private static boolean isStale(SavingsAccountLock lock, LocalDate cobBusinessDate) {
+        return LockOwner.SAVINGS_COB_CHUNK_PROCESSING.equals(lock.getLockOwner()) && lock.getError() == null
+                && lock.getLockPlacedOnCobBusinessDate() != null && lock.getLockPlacedOnCobBusinessDate().isBefore(cobBusinessDate);
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.domain.SavingsAccountLockRepository;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.springframework.batch.core.annotation.OnProcessError;
+import org.springframework.batch.core.annotation.OnReadError;
+import org.springframework.batch.core.annotation.OnWriteError;
+import org.springframework.batch.item.Chunk;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Records failures on the account lock, in a separate transaction, so a failed account stays locked and visible until it is
+ * unlocked by a catch-up.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ChunkProcessingSavingsItemListener {
+
+    private final SavingsAccountLockRepository savingsAccountLockRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @OnReadError
+    public void onReadError(Exception e) {
+        log.warn("Error was triggered during reading of savings account", e);
+    }
+
+    @OnProcessError
+    public void onProcessError(@NonNull SavingsAccount item, Exception e) {
+        updateAccountLockWithError(List.of(item.getId()), "Savings account (id: %d) processing is failed", e);
+    }
+
+    @OnWriteError
+    public void onWriteError(Exception e, @NonNull Chunk<? extends SavingsAccount> items) {
+        updateAccountLockWithError(items.getItems().stream().map(AbstractPersistableCustom::getId).toList(),
+                "Savings account (id: %d) writing is failed", e);
+    }
+
+    private void updateAccountLockWithError(List<Long> savingsIds, String message, Throwable e) {
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.executeWithoutResult(status -> savingsIds.forEach(savingsId -> savingsAccountLockRepository
+                .findBySavingsAccountIdAndLockOwner(savingsId, LockOwner.SAVINGS_COB_CHUNK_PROCESSING)
+                .ifPresent(lock -> lock.setError(String.format(message, savingsId), ExceptionUtils.getStackTrace(e)))));
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.cob.common.CustomJobParameterResolver;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.lang.NonNull;
+
+@RequiredArgsConstructor
+public class ResolveSavingsCOBCustomJobParametersTasklet implements Tasklet {
+
+    private final CustomJobParameterResolver customJobParameterResolver;
+
+    @Override
+    public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext) throws Exception {
+        customJobParameterResolver.resolve(contribution, chunkContext, SavingsCOBConstant.BUSINESS_DATE_PARAMETER_NAME,
+                SavingsCOBConstant.BUSINESS_DATE_PARAMETER_NAME);
+        String isCatchUp = customJobParameterResolver
+                .getCustomJobParameterById(contribution.getStepExecution(), SavingsCOBConstant.IS_CATCH_UP_PARAMETER_NAME)
+                .orElse(Boolean.FALSE.toString());
+        contribution.getStepExecution().getExecutionContext().put(SavingsCOBConstant.IS_CATCH_UP_PARAMETER_NAME, isCatchUp);
+        return RepeatStatus.FINISHED;
+    }
+}
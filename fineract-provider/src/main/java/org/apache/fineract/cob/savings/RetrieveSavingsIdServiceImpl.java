@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.cob.data.COBIdAndLastClosedBusinessDate;
+import org.apache.fineract.cob.data.COBParameter;
+import org.apache.fineract.cob.data.COBPartition;
+import org.apache.fineract.portfolio.savings.DepositAccountType;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Selects the savings accounts the Savings COB job has to close for a business date. Only active savings deposit accounts are
+ * picked up; an account qualifies when it was closed on the previous business date, or (outside of catch-up) when it was never
+ * closed at all.
+ */
+@Service
+@RequiredArgsConstructor
+public class RetrieveSavingsIdServiceImpl implements RetrieveSavingsIdService {
+
+    private static final String ELIGIBLE_ACCOUNTS_CONDITION = " sa.status_enum = :status and sa.deposit_type_enum = :depositType ";
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Override
+    public List<COBPartition> retrieveSavingsCOBPartitions(Long numberOfDays, LocalDate businessDate, boolean isCatchUp,
+            int partitionSize) {
+        Map<String, Object> parameters = eligibleAccountParameters(businessDate.minusDays(numberOfDays));
+        parameters.put("pageSize", partitionSize);
+        String sql = "select min(id) as min_id, max(id) as max_id, page, count(id) as number_of_accounts from "
+                + "(select floor((row_number() over (order by id) - 1) / :pageSize) as page, t.id from "
+                + "(select sa.id from m_savings_account sa where" + ELIGIBLE_ACCOUNTS_CONDITION + "and "
+                + lastClosedBusinessDateCondition(isCatchUp) + ") t) t2 group by page order by page";
+        return namedParameterJdbcTemplate.query(sql, parameters, (rs, rowNum) -> new COBPartition(rs.getLong("min_id"),
+                rs.getLong("max_id"), rs.getLong("page"), rs.getLong("number_of_accounts")));
+    }
+
+    @Override
+    public List<Long> retrieveAllActiveSavingsIdsByLastClosedBusinessDateAndMinAndMaxId(COBParameter cobParameter,
+            LocalDate businessDate, boolean isCatchUp) {
+        Map<String, Object> parameters = eligibleAccountParameters(businessDate.minusDays(SavingsCOBConstant.NUMBER_OF_DAYS_BEHIND));
+        parameters.put("minId", cobParameter.getMinAccountId());
+        parameters.put("maxId", cobParameter.getMaxAccountId());
+        String sql = "select sa.id from m_savings_account sa where sa.id between :minId and :maxId and" + ELIGIBLE_ACCOUNTS_CONDITION
+                + "and " + lastClosedBusinessDateCondition(isCatchUp) + " order by sa.id";
+        return namedParameterJdbcTemplate.queryForList(sql, parameters, Long.class);
+    }
+
+    @Override
+    public List<COBIdAndLastClosedBusinessDate> retrieveSavingsIdsOldestCobProcessed(LocalDate cobBusinessDate) {
+        Map<String, Object> parameters = eligibleAccountParameters(cobBusinessDate);
+        String sql = "select sa.id, sa.last_closed_business_date from m_savings_account sa where" + ELIGIBLE_ACCOUNTS_CONDITION
+                + "and sa.last_closed_business_date = (select min(sa.last_closed_business_date) from m_savings_account sa where"
+                + ELIGIBLE_ACCOUNTS_CONDITION + "and sa.last_closed_business_date < :lastClosedBusinessDate) order by sa.id";
+        return namedParameterJdbcTemplate.query(sql, parameters, (rs, rowNum) -> new SavingsIdAndLastClosedBusinessDate(
+                rs.getLong("id"), rs.getObject("last_closed_business_date", LocalDate.class)));
+    }
+
+    private Map<String, Object> eligibleAccountParameters(LocalDate lastClosedBusinessDate) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("status", SavingsAccountStatusType.ACTIVE.getValue());
+        parameters.put("depositType", DepositAccountType.SAVINGS_DEPOSIT.getValue());
+        parameters.put("lastClosedBusinessDate", lastClosedBusinessDate);
+        return parameters;
+    }
+
+    private String lastClosedBusinessDateCondition(boolean isCatchUp) {
+        return isCatchUp ? "sa.last_closed_business_date = :lastClosedBusinessDate"
+                : "(sa.last_closed_business_date = :lastClosedBusinessDate or sa.last_closed_business_date is null)";
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class SavingsIdAndLastClosedBusinessDate implements COBIdAndLastClosedBusinessDate {
+
+        private final Long id;
+        private final LocalDate lastClosedBusinessDate;
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.COBBusinessStepService;
+import org.apache.fineract.cob.data.BusinessStepNameAndOrder;
+import org.apache.fineract.cob.data.COBParameter;
+import org.apache.fineract.cob.data.COBPartition;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.launch.JobExecutionNotRunningException;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.batch.core.launch.NoSuchJobExecutionException;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.lang.NonNull;
+
+/**
+ * Splits the savings accounts due for close of business into id ranges of at most the configured partition size. Every
+ * partition carries the configured business steps, so workers do not have to look them up again.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SavingsCOBPartitioner implements Partitioner {
+
+    private final PropertyService propertyService;
+    private final COBBusinessStepService cobBusinessStepService;
+    private final RetrieveSavingsIdService retrieveSavingsIdService;
+    private final JobOperator jobOperator;
+    private final StepExecution stepExecution;
+    private final Long numberOfDays;
+
+    @NonNull
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Set<BusinessStepNameAndOrder> cobBusinessSteps = cobBusinessStepService.getCOBBusinessSteps(SavingsCOBBusinessStep.class,
+                SavingsCOBConstant.SAVINGS_COB_JOB_NAME);
+        if (cobBusinessSteps.isEmpty()) {
+            stopJobExecution();
+            return Map.of();
+        }
+        return getPartitions(cobBusinessSteps);
+    }
+
+    private Map<String, ExecutionContext> getPartitions(Set<BusinessStepNameAndOrder> cobBusinessSteps) {
+        String businessDateString = (String) stepExecution.getJobExecution().getExecutionContext()
+                .get(SavingsCOBConstant.BUSINESS_DATE_PARAMETER_NAME);
+        LocalDate businessDate = LocalDate.parse(businessDateString, DateTimeFormatter.ISO_DATE);
+        boolean isCatchUp = Boolean.parseBoolean(
+                (String) stepExecution.getJobExecution().getExecutionContext().get(SavingsCOBConstant.IS_CATCH_UP_PARAMETER_NAME));
+        int partitionSize = propertyService.getPartitionSize(SavingsCOBConstant.JOB_NAME);
+
+        List<COBPartition> cobPartitions = new ArrayList<>(
+                retrieveSavingsIdService.retrieveSavingsCOBPartitions(numberOfDays, businessDate, isCatchUp, partitionSize));
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+        if (cobPartitions.isEmpty()) {
+            cobPartitions.add(new COBPartition(0L, 0L, 1L, 0L));
+        }
+        for (COBPartition cobPartition : cobPartitions) {
+            String partitionName = SavingsCOBConstant.PARTITION_PREFIX + cobPartition.getPageNo();
+            ExecutionContext executionContext = new ExecutionContext();
+            executionContext.put(SavingsCOBConstant.BUSINESS_STEPS, cobBusinessSteps);
+            executionContext.put(SavingsCOBConstant.PARTITION_KEY, new COBParameter(cobPartition.getMinId(), cobPartition.getMaxId()));
+            executionContext.put(SavingsCOBConstant.PARTITION_NAME_KEY, partitionName);
+            partitions.put(partitionName, executionContext);
+        }
+        log.info("Savings COB for business date {} is split into {} partition(s) of at most {} account(s)", businessDate,
+                partitions.size(), partitionSize);
+        return partitions;
+    }
+
+    private void stopJobExecution() {
+        Long jobId = stepExecution.getJobExecution().getId();
+        try {
+            log.warn("No business steps are configured for {}, stopping job execution {}", SavingsCOBConstant.SAVINGS_COB_JOB_NAME,
+                    jobId);
+            jobOperator.stop(jobId);
+        } catch (NoSuchJobExecutionException | JobExecutionNotRunningException e) {
+            log.error("There is no running execution for the given execution ID. Execution ID: {}", jobId);
+            throw new IllegalStateException(e);
+        }
+    }
+}
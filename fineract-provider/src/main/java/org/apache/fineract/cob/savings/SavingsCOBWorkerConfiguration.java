@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.apache.fineract.cob.COBBusinessStepService;
+import org.apache.fineract.cob.common.InitialisationTasklet;
+import org.apache.fineract.cob.common.ResetContextTasklet;
+import org.apache.fineract.cob.conditions.SavingsCOBEnabledCondition;
+import org.apache.fineract.cob.data.BusinessStepNameAndOrder;
+import org.apache.fineract.cob.data.COBParameter;
+import org.apache.fineract.cob.domain.SavingsAccountLockRepository;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountRepositoryWrapper;
+import org.apache.fineract.useradministration.domain.AppUserRepositoryWrapper;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.FlowBuilder;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.integration.partition.RemotePartitioningWorkerStepBuilderFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Worker side of the Savings COB job. Every partition runs the flow initialisation, locking, the chunk oriented business step
+ * execution and context reset on the worker node picking the partition up from the {@code inboundRequests} channel.
+ */
+@Configuration
+@ConditionalOnProperty(value = "fineract.mode.batch-worker-enabled", havingValue = "true")
+@Conditional(SavingsCOBEnabledCondition.class)
+public class SavingsCOBWorkerConfiguration {
+
+    @Autowired
+    private JobRepository jobRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private RemotePartitioningWorkerStepBuilderFactory stepBuilderFactory;
+    @Autowired
+    private PropertyService propertyService;
+    @Autowired
+    private QueueChannel inboundRequests;
+    @Autowired
+    private COBBusinessStepService cobBusinessStepService;
+    @Autowired
+    private AppUserRepositoryWrapper userRepository;
+    @Autowired
+    private SavingsAccountRepositoryWrapper savingsAccountRepository;
+    @Autowired
+    private SavingsAccountLockRepository savingsAccountLockRepository;
+    @Autowired
+    private RetrieveSavingsIdService retrieveSavingsIdService;
+
+    @Bean(name = SavingsCOBConstant.SAVINGS_COB_WORKER_STEP)
+    public Step savingsCOBWorkerStep() {
+        return stepBuilderFactory.get("Savings COB worker - Step").inputChannel(inboundRequests).flow(savingsCOBFlow()).build();
+    }
+
+    @Bean
+    public Flow savingsCOBFlow() {
+        return new FlowBuilder<Flow>("savingsCOBFlow").start(savingsCOBInitialisationStep(null)) //
+                .next(savingsCOBApplyLockStep(null, null, null)) //
+                .next(savingsCOBBusinessStep(null, null, null, null)) //
+                .next(savingsCOBResetContextStep(null)) //
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public Step savingsCOBInitialisationStep(@Value("#{stepExecutionContext['partitionName']}") String partitionName) {
+        return new StepBuilder("Savings COB initialisation - Step:" + partitionName, jobRepository)
+                .tasklet(new InitialisationTasklet(userRepository), transactionManager).build();
+    }
+
+    @Bean
+    @StepScope
+    public Step savingsCOBApplyLockStep(@Value("#{stepExecutionContext['partitionName']}") String partitionName,
+            @Value("#{stepExecutionContext['partition']}") COBParameter partition,
+            @Value("#{jobExecutionContext['IS_CATCH_UP']}") String isCatchUp) {
+        return new StepBuilder("Savings COB apply lock - Step:" + partitionName, jobRepository)
+                .tasklet(new ApplySavingsLockTasklet(savingsAccountLockRepository, retrieveSavingsIdService,
+                        new TransactionTemplate(transactionManager), partition, Boolean.parseBoolean(isCatchUp)), transactionManager)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public Step savingsCOBBusinessStep(@Value("#{stepExecutionContext['partitionName']}") String partitionName,
+            @Value("#{stepExecutionContext['partition']}") COBParameter partition,
+            @Value("#{stepExecutionContext['businessSteps']}") Set<BusinessStepNameAndOrder> businessSteps,
+            @Value("#{jobExecutionContext['IS_CATCH_UP']}") String isCatchUp) {
+        SavingsItemReader reader = new SavingsItemReader(savingsAccountRepository, savingsAccountLockRepository, retrieveSavingsIdService,
+                partition, Boolean.parseBoolean(isCatchUp));
+        ChunkProcessingSavingsItemListener itemListener = new ChunkProcessingSavingsItemListener(savingsAccountLockRepository,
+                new TransactionTemplate(transactionManager));
+        return new StepBuilder("Savings COB business - Step:" + partitionName, jobRepository)
+                .<SavingsAccount, SavingsAccount>chunk(propertyService.getChunkSize(SavingsCOBConstant.JOB_NAME), transactionManager)
+                .reader(reader) //
+                .processor(new SavingsItemProcessor(cobBusinessStepService, toExecutionMap(businessSteps))) //
+                .writer(new SavingsItemWriter(savingsAccountRepository, savingsAccountLockRepository)) //
+                .faultTolerant() //
+                .retry(Exception.class) //
+                .retryLimit(propertyService.getRetryLimit(SavingsCOBConstant.JOB_NAME)) //
+                .skip(Exception.class) //
+                .skipLimit(Integer.MAX_VALUE) //
+                .listener(reader) //
+                .listener(itemListener) //
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public Step savingsCOBResetContextStep(@Value("#{stepExecutionContext['partitionName']}") String partitionName) {
+        return new StepBuilder("Savings COB reset context - Step:" + partitionName, jobRepository)
+                .tasklet(new ResetContextTasklet(), transactionManager).build();
+    }
+
+    private static TreeMap<Long, String> toExecutionMap(Set<BusinessStepNameAndOrder> businessSteps) {
+        return businessSteps.stream().collect(Collectors.toMap(BusinessStepNameAndOrder::getStepOrder,
+                BusinessStepNameAndOrder::getStepName, (first, second) -> first, TreeMap::new));
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.cob.COBBusinessStepService;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.lang.NonNull;
+
+@RequiredArgsConstructor
+public class SavingsItemProcessor implements ItemProcessor<SavingsAccount, SavingsAccount> {
+
+    private final COBBusinessStepService cobBusinessStepService;
+    private final TreeMap<Long, String> businessSteps;
+
+    @Override
+    public SavingsAccount process(@NonNull SavingsAccount item) throws Exception {
+        SavingsAccount processedAccount = cobBusinessStepService.run(businessSteps, item);
+        processedAccount.setLastClosedBusinessDate(ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE));
+        return processedAccount;
+    }
+}
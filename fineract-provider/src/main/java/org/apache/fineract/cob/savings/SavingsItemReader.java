@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.cob.data.COBParameter;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.domain.SavingsAccountLock;
+import org.apache.fineract.cob.domain.SavingsAccountLockRepository;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountRepositoryWrapper;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.lang.NonNull;
+
+/**
+ * Reads the accounts of one partition which carry a clean Savings COB lock for the current COB date, loading each account
+ * exactly once.
+ */
+@RequiredArgsConstructor
+public class SavingsItemReader implements ItemReader<SavingsAccount>, StepExecutionListener {
+
+    private final SavingsAccountRepositoryWrapper savingsAccountRepository;
+    private final SavingsAccountLockRepository savingsAccountLockRepository;
+    private final RetrieveSavingsIdService retrieveSavingsIdService;
+    private final COBParameter cobParameter;
+    private final boolean isCatchUp;
+    private LinkedBlockingQueue<Long> remainingSavingsIds;
+
+    @Override
+    public void beforeStep(@NonNull StepExecution stepExecution) {
+        LocalDate cobBusinessDate = ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE);
+        List<Long> savingsIds = retrieveSavingsIdService.retrieveAllActiveSavingsIdsByLastClosedBusinessDateAndMinAndMaxId(cobParameter,
+                cobBusinessDate, isCatchUp);
+        Set<Long> lockedIds = savingsAccountLockRepository.findAllBySavingsAccountIdIn(savingsIds).stream()
+                .filter(lock -> LockOwner.SAVINGS_COB_CHUNK_PROCESSING.equals(lock.getLockOwner()) && lock.getError() == null
+                        && cobBusinessDate.equals(lock.getLockPlacedOnCobBusinessDate()))
+                .map(SavingsAccountLock::getSavingsAccountId).collect(Collectors.toSet());
+        remainingSavingsIds = savingsIds.stream().filter(lockedIds::contains)
+                .collect(Collectors.toCollection(LinkedBlockingQueue::new));
+    }
+
+    @Override
+    public SavingsAccount read() {
+        Long savingsId = remainingSavingsIds.poll();
+        return savingsId != null ? savingsAccountRepository.findOneWithNotFoundDetection(savingsId) : null;
+    }
+}
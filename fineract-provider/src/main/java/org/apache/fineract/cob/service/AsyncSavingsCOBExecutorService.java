@@ -16,12 +16,11 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-package org.apache.fineract.infrastructure.campaigns.email.service;
+package org.apache.fineract.cob.service;
 
-import org.apache.fineract.infrastructure.campaigns.email.data.EmailMessageWithAttachmentData;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
 
-public interface EmailMessageJobEmailService {
-
-    void sendEmailWithAttachment(EmailMessageWithAttachmentData emailMessageWithAttachmentData);
+public interface AsyncSavingsCOBExecutorService {
 
+    void executeSavingsCOBCatchUpAsync(FineractContext context);
 }
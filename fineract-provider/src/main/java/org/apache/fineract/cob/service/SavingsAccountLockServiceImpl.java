@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.service;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.domain.SavingsAccountLockRepository;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.savings.exception.SavingsAccountLockedException;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class SavingsAccountLockServiceImpl implements SavingsAccountLockService {
+
+    private final SavingsAccountLockRepository savingsAccountLockRepository;
+
+    @Override
+    public boolean isSavingsHardLocked(Long savingsAccountId) {
+        // a lock with an error is left behind by a failed chunk, the account is not processed until the next run
+        return savingsAccountLockRepository.existsBySavingsAccountIdAndLockOwnerAndErrorIsNull(savingsAccountId,
+                LockOwner.SAVINGS_COB_CHUNK_PROCESSING);
+    }
+
+    @Override
+    public void checkSavingsNotLocked(Long savingsAccountId) {
+        if (ActionContext.COB.equals(ThreadLocalContextUtil.getActionContext())) {
+            return;
+        }
+        if (isSavingsHardLocked(savingsAccountId)) {
+            throw new SavingsAccountLockedException(savingsAccountId);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.cob.conditions.SavingsCOBEnabledCondition;
+import org.apache.fineract.cob.data.COBIdAndLastClosedBusinessDate;
+import org.apache.fineract.cob.data.IsCatchUpRunningDTO;
+import org.apache.fineract.cob.data.OldestCOBProcessedSavingsDTO;
+import org.apache.fineract.cob.domain.SavingsAccountLockRepository;
+import org.apache.fineract.cob.savings.RetrieveSavingsIdService;
+import org.apache.fineract.cob.savings.SavingsCOBConstant;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.domain.JobExecutionRepository;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Conditional(SavingsCOBEnabledCondition.class)
+public class SavingsCOBCatchUpServiceImpl implements SavingsCOBCatchUpService {
+
+    private final AsyncSavingsCOBExecutorService asyncSavingsCOBExecutorService;
+    private final JobExecutionRepository jobExecutionRepository;
+    private final RetrieveSavingsIdService retrieveSavingsIdService;
+    private final SavingsAccountLockRepository savingsAccountLockRepository;
+
+    @Override
+    @Transactional
+    public void unlockHardLockedSavingsAccounts() {
+        // failed accounts kept their last closed business date, so the catch-up picks them up again once unlocked
+        savingsAccountLockRepository.removeLockByOwner();
+    }
+
+    @Override
+    public OldestCOBProcessedSavingsDTO getOldestCOBProcessedSavings() {
+        LocalDate cobBusinessDate = ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE);
+        List<COBIdAndLastClosedBusinessDate> savingsIdAndLastClosedBusinessDate = retrieveSavingsIdService
+                .retrieveSavingsIdsOldestCobProcessed(cobBusinessDate);
+        OldestCOBProcessedSavingsDTO oldestCOBProcessedSavingsDTO = new OldestCOBProcessedSavingsDTO();
+        oldestCOBProcessedSavingsDTO
+                .setSavingsIds(savingsIdAndLastClosedBusinessDate.stream().map(COBIdAndLastClosedBusinessDate::getId).toList());
+        oldestCOBProcessedSavingsDTO.setCobProcessedDate(savingsIdAndLastClosedBusinessDate.stream()
+                .map(COBIdAndLastClosedBusinessDate::getLastClosedBusinessDate).findFirst().orElse(cobBusinessDate));
+        oldestCOBProcessedSavingsDTO.setCobBusinessDate(cobBusinessDate);
+        return oldestCOBProcessedSavingsDTO;
+    }
+
+    @Override
+    public void executeSavingsCOBCatchUp() {
+        FineractContext context = ThreadLocalContextUtil.getContext();
+        asyncSavingsCOBExecutorService.executeSavingsCOBCatchUpAsync(context);
+    }
+
+    @Override
+    public IsCatchUpRunningDTO isCatchUpRunning() {
+        LocalDate runningCatchUpBusinessDate = jobExecutionRepository.getBusinessDateOfRunningJobByExecutionParameter(
+                SavingsCOBConstant.JOB_NAME, SavingsCOBConstant.COB_CUSTOM_JOB_PARAMETER_KEY, SavingsCOBConstant.IS_CATCH_UP_PARAMETER_NAME,
+                "true", SavingsCOBConstant.BUSINESS_DATE_PARAMETER_NAME);
+        return new IsCatchUpRunningDTO(runningCatchUpBusinessDate != null, runningCatchUpBusinessDate);
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.domain;
+
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.bulkimport.data.Count;
+import org.apache.fineract.infrastructure.bulkimport.data.ImportRowOutcome;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The per row outcomes of the imports processed by the streaming import engine (<code>m_import_document_row</code>).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ImportRowOutcomeRepository {
+
+    private static final int MESSAGE_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void saveAll(final Long importDocumentId, final List<ImportRowOutcome> outcomes) {
+        this.jdbcTemplate.batchUpdate("INSERT INTO m_import_document_row (import_document_id, row_index, imported, resource_id, message) "
+                + "VALUES (?, ?, ?, ?, ?)", outcomes, outcomes.size(), (ps, outcome) -> {
+                    ps.setLong(1, importDocumentId);
+                    ps.setInt(2, outcome.getRowIndex());
+                    ps.setBoolean(3, outcome.isImported());
+                    ps.setObject(4, outcome.getResourceId());
+                    ps.setString(5, StringUtils.truncate(outcome.getMessage(), MESSAGE_LENGTH));
+                });
+    }
+
+    public boolean hasOutcomes(final Long importDocumentId) {
+        final Integer count = this.jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT 1 FROM m_import_document_row WHERE import_document_id = ? LIMIT 1) r", Integer.class,
+                importDocumentId);
+        return count != null && count > 0;
+    }
+
+    public Count countOutcomes(final Long importDocumentId) {
+        return this.jdbcTemplate.queryForObject("SELECT COALESCE(SUM(CASE WHEN imported = TRUE THEN 1 ELSE 0 END), 0) AS successCount, "
+                + "COALESCE(SUM(CASE WHEN imported = TRUE THEN 0 ELSE 1 END), 0) AS errorCount FROM m_import_document_row "
+                + "WHERE import_document_id = ?", (rs, rowNum) -> Count.instance(rs.getInt("successCount"), rs.getInt("errorCount")),
+                importDocumentId);
+    }
+
+    public void forEachOutcome(final Long importDocumentId, final Consumer<ImportRowOutcome> consumer) {
+        this.jdbcTemplate.query("SELECT row_index, imported, resource_id, message FROM m_import_document_row "
+                + "WHERE import_document_id = ? ORDER BY row_index", rs -> {
+                    consumer.accept(new ImportRowOutcome(rs.getInt("row_index"), rs.getBoolean("imported"),
+                            JdbcSupport.getLong(rs, "resource_id"), rs.getString("message")));
+                }, importDocumentId);
+    }
+}
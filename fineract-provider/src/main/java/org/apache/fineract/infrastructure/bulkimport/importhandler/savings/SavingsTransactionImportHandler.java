@@ -18,23 +18,34 @@
  */
 package org.apache.fineract.infrastructure.bulkimport.importhandler.savings;
 
+import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.apache.fineract.commands.domain.CommandWrapper;
 import org.apache.fineract.commands.service.CommandWrapperBuilder;
 import org.apache.fineract.commands.service.PortfolioCommandSourceWritePlatformService;
 import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateImportConstants;
 import org.apache.fineract.infrastructure.bulkimport.constants.TransactionConstants;
 import org.apache.fineract.infrastructure.bulkimport.data.Count;
+import org.apache.fineract.infrastructure.bulkimport.data.GlobalEntityType;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandler;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.DateSerializer;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.SavingsAccountTransactionEnumValueSerialiser;
+import org.apache.fineract.infrastructure.bulkimport.streaming.ImportRow;
+import org.apache.fineract.infrastructure.bulkimport.streaming.ImportRowCommandFactory;
+import org.apache.fineract.infrastructure.bulkimport.streaming.StreamingImportHandler;
+import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
 import org.apache.fineract.infrastructure.core.serialization.GoogleGsonSerializerHelper;
+import org.apache.fineract.portfolio.paymenttype.domain.PaymentType;
+import org.apache.fineract.portfolio.paymenttype.domain.PaymentTypeRepository;
 import org.apache.fineract.portfolio.savings.data.SavingsAccountTransactionData;
 import org.apache.fineract.portfolio.savings.data.SavingsAccountTransactionEnumData;
 import org.apache.poi.ss.usermodel.Cell;
@@ -48,7 +59,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
-public class SavingsTransactionImportHandler implements ImportHandler {
+public class SavingsTransactionImportHandler implements ImportHandler, StreamingImportHandler {
 
     public static final String TRANSACTION_TYPE = "transactionType";
     public static final String REVERSED = "reversed";
@@ -57,10 +68,13 @@ public class SavingsTransactionImportHandler implements ImportHandler {
     public static final String DEPOSIT = "Deposit";
     private static final Logger LOG = LoggerFactory.getLogger(SavingsTransactionImportHandler.class);
     private final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService;
+    private final PaymentTypeRepository paymentTypeRepository;
 
     @Autowired
-    public SavingsTransactionImportHandler(final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService) {
+    public SavingsTransactionImportHandler(final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService,
+            final PaymentTypeRepository paymentTypeRepository) {
         this.commandsSourceWritePlatformService = commandsSourceWritePlatformService;
+        this.paymentTypeRepository = paymentTypeRepository;
     }
 
     @Override
@@ -121,30 +135,11 @@ public class SavingsTransactionImportHandler implements ImportHandler {
         int successCount = 0;
         int errorCount = 0;
         String errorMessage = "";
-        GsonBuilder gsonBuilder = GoogleGsonSerializerHelper.createGsonBuilder();
-        gsonBuilder.registerTypeAdapter(LocalDate.class, new DateSerializer(dateFormat, locale));
-        gsonBuilder.registerTypeAdapter(SavingsAccountTransactionEnumData.class, new SavingsAccountTransactionEnumValueSerialiser());
+        final Gson gson = createGson(dateFormat, locale);
 
         for (SavingsAccountTransactionData transaction : savingsTransactions) {
             try {
-                JsonObject savingsTransactionJsonob = gsonBuilder.create().toJsonTree(transaction).getAsJsonObject();
-                savingsTransactionJsonob.remove(TRANSACTION_TYPE);
-                savingsTransactionJsonob.remove(REVERSED);
-                savingsTransactionJsonob.remove(INTERESTED_POSTED_AS_ON);
-                String payload = savingsTransactionJsonob.toString();
-                CommandWrapper commandRequest = null;
-                if (transaction.getTransactionType().getValue().equals(WITHDRAWAL)) {
-                    commandRequest = new CommandWrapperBuilder() //
-                            .savingsAccountWithdrawal(transaction.getSavingsAccountId()) //
-                            .withJson(payload) //
-                            .build(); //
-
-                } else if (transaction.getTransactionType().getValue().equals(DEPOSIT)) {
-                    commandRequest = new CommandWrapperBuilder() //
-                            .savingsAccountDeposit(transaction.getSavingsAccountId()) //
-                            .withJson(payload) //
-                            .build();
-                }
+                CommandWrapper commandRequest = toCommand(gson, transaction);
                 commandsSourceWritePlatformService.logCommandSource(commandRequest);
                 successCount++;
                 Cell statusCell = savingsTransactionSheet.getRow(transaction.getRowIndex()).createCell(TransactionConstants.STATUS_COL);
@@ -164,4 +159,105 @@ public class SavingsTransactionImportHandler implements ImportHandler {
         return Count.instance(successCount, errorCount);
     }
 
+    private static Gson createGson(final String dateFormat, final String locale) {
+        GsonBuilder gsonBuilder = GoogleGsonSerializerHelper.createGsonBuilder();
+        gsonBuilder.registerTypeAdapter(LocalDate.class, new DateSerializer(dateFormat, locale));
+        gsonBuilder.registerTypeAdapter(SavingsAccountTransactionEnumData.class, new SavingsAccountTransactionEnumValueSerialiser());
+        return gsonBuilder.create();
+    }
+
+    private static CommandWrapper toCommand(final Gson gson, final SavingsAccountTransactionData transaction) {
+        JsonObject savingsTransactionJsonob = gson.toJsonTree(transaction).getAsJsonObject();
+        savingsTransactionJsonob.remove(TRANSACTION_TYPE);
+        savingsTransactionJsonob.remove(REVERSED);
+        savingsTransactionJsonob.remove(INTERESTED_POSTED_AS_ON);
+        String payload = savingsTransactionJsonob.toString();
+        CommandWrapper commandRequest = null;
+        if (transaction.getTransactionType().getValue().equals(WITHDRAWAL)) {
+            commandRequest = new CommandWrapperBuilder() //
+                    .savingsAccountWithdrawal(transaction.getSavingsAccountId()) //
+                    .withJson(payload) //
+                    .build(); //
+
+        } else if (transaction.getTransactionType().getValue().equals(DEPOSIT)) {
+            commandRequest = new CommandWrapperBuilder() //
+                    .savingsAccountDeposit(transaction.getSavingsAccountId()) //
+                    .withJson(payload) //
+                    .build();
+        }
+        return commandRequest;
+    }
+
+    @Override
+    public GlobalEntityType getEntityType() {
+        return GlobalEntityType.SAVINGS_TRANSACTIONS;
+    }
+
+    @Override
+    public String getSheetName() {
+        return TemplatePopulateImportConstants.SAVINGS_TRANSACTION_SHEET_NAME;
+    }
+
+    @Override
+    public int getPrimaryColumn() {
+        return TransactionConstants.AMOUNT_COL;
+    }
+
+    @Override
+    public int getStatusColumn() {
+        return TransactionConstants.STATUS_COL;
+    }
+
+    @Override
+    public ImportRowCommandFactory newCommandFactory(final String locale, final String dateFormat) {
+        final Map<String, Long> paymentTypeIds = this.paymentTypeRepository.findAll().stream()
+                .collect(Collectors.toMap(PaymentType::getName, PaymentType::getId, (first, second) -> first));
+        return new StreamingCommandFactory(createGson(dateFormat, locale), paymentTypeIds::get, locale, dateFormat);
+    }
+
+    /**
+     * Reads the same columns as {@link #readSavingsTransaction}, with the payment types looked up in the database instead
+     * of the extras sheet of the workbook.
+     */
+    private static final class StreamingCommandFactory implements ImportRowCommandFactory {
+
+        private final Gson gson;
+        private final Function<String, Long> paymentTypeIds;
+        private final String locale;
+        private final String dateFormat;
+
+        StreamingCommandFactory(final Gson gson, final Function<String, Long> paymentTypeIds, final String locale,
+                final String dateFormat) {
+            this.gson = gson;
+            this.paymentTypeIds = paymentTypeIds;
+            this.locale = locale;
+            this.dateFormat = dateFormat;
+        }
+
+        @Override
+        public Object getPartitionKey(final ImportRow row) {
+            return row.readAsLong(TransactionConstants.SAVINGS_ACCOUNT_NO_COL);
+        }
+
+        @Override
+        public CommandWrapper toCommand(final ImportRow row) {
+            String transactionType = row.readAsString(TransactionConstants.TRANSACTION_TYPE_COL);
+            if (!WITHDRAWAL.equals(transactionType) && !DEPOSIT.equals(transactionType)) {
+                throw new GeneralPlatformDomainRuleException("error.msg.import.savings.transaction.type.invalid",
+                        "Transaction type `" + transactionType + "` is not supported", transactionType);
+            }
+            String paymentType = row.readAsString(TransactionConstants.PAYMENT_TYPE_COL);
+            Long paymentTypeId = paymentType == null ? null : this.paymentTypeIds.apply(paymentType);
+            SavingsAccountTransactionEnumData transactionTypeData = new SavingsAccountTransactionEnumData(null, null, transactionType);
+            BigDecimal amount = row.readAsBigDecimal(TransactionConstants.AMOUNT_COL);
+            LocalDate transactionDate = row.readAsDate(TransactionConstants.TRANSACTION_DATE_COL, this.dateFormat, this.locale);
+            Long savingsAccountId = row.readAsLong(TransactionConstants.SAVINGS_ACCOUNT_NO_COL);
+            SavingsAccountTransactionData transaction = SavingsAccountTransactionData.importInstance(amount, transactionDate, paymentTypeId,
+                    row.readAsString(TransactionConstants.ACCOUNT_NO_COL), row.readAsString(TransactionConstants.CHECK_NO_COL),
+                    row.readAsString(TransactionConstants.ROUTING_CODE_COL), row.readAsString(TransactionConstants.RECEIPT_NO_COL),
+                    row.readAsString(TransactionConstants.BANK_NO_COL), row.readAsString(TransactionConstants.NOTE_COL), savingsAccountId,
+                    transactionTypeData, row.getRowIndex(), this.locale, this.dateFormat);
+            return SavingsTransactionImportHandler.toCommand(this.gson, transaction);
+        }
+    }
 }
@@ -21,8 +21,10 @@ package org.apache.fineract.infrastructure.bulkimport.service;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLConnection;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,7 +33,11 @@ import org.apache.fineract.infrastructure.bulkimport.data.Count;
 import org.apache.fineract.infrastructure.bulkimport.data.GlobalEntityType;
 import org.apache.fineract.infrastructure.bulkimport.domain.ImportDocument;
 import org.apache.fineract.infrastructure.bulkimport.domain.ImportDocumentRepository;
+import org.apache.fineract.infrastructure.bulkimport.domain.ImportRowOutcomeRepository;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandler;
+import org.apache.fineract.infrastructure.bulkimport.streaming.StreamingImportEngine;
+import org.apache.fineract.infrastructure.bulkimport.streaming.StreamingImportHandler;
+import org.apache.fineract.infrastructure.bulkimport.streaming.StreamingImportResultWriter;
 import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
@@ -51,6 +57,9 @@ public class BulkImportEventListener implements ApplicationListener<BulkImportEv
     private final ApplicationContext applicationContext;
     private final ImportDocumentRepository importRepository;
     private final DocumentWritePlatformService documentService;
+    private final ImportRowOutcomeRepository importRowOutcomeRepository;
+    private final StreamingImportEngine streamingImportEngine;
+    private final StreamingImportResultWriter streamingImportResultWriter;
 
     @Override
     public void onApplicationEvent(final BulkImportEvent event) {
@@ -59,6 +68,12 @@ public class BulkImportEventListener implements ApplicationListener<BulkImportEv
             final ImportDocument importDocument = this.importRepository.findById(event.getImportId()).orElse(null);
             final GlobalEntityType entityType = GlobalEntityType.fromInt(importDocument.getEntityType());
 
+            final Optional<StreamingImportHandler> streamingImportHandler = this.streamingImportEngine.findHandler(entityType);
+            if (streamingImportHandler.isPresent()) {
+                processStreaming(importDocument, streamingImportHandler.get(), event);
+                return;
+            }
+
             final ImportHandler importHandler = switch (entityType) {
                 case OFFICES -> this.applicationContext.getBean("officeImportHandler", ImportHandler.class);
                 case CENTERS -> this.applicationContext.getBean("centerImportHandler", ImportHandler.class);
@@ -119,4 +134,22 @@ public class BulkImportEventListener implements ApplicationListener<BulkImportEv
         }
     }
 
+    /**
+     * The uploaded document is read again from the content repository and left unchanged, the row statuses are kept in
+     * <code>m_import_document_row</code> and merged into the result file when it is downloaded.
+     */
+    private void processStreaming(final ImportDocument importDocument, final StreamingImportHandler importHandler,
+            final BulkImportEvent event) {
+        Count count;
+        try (InputStream inputStream = this.streamingImportResultWriter.fetchContent(importDocument.getDocument()).openBufferedStream()) {
+            count = this.streamingImportEngine.process(importDocument.getId(), importHandler, inputStream, event.getLocale(),
+                    event.getDateFormat());
+        } catch (IOException | RuntimeException e) {
+            log.error("Problem occurred while importing document {}", importDocument.getId(), e);
+            count = this.importRowOutcomeRepository.countOutcomes(importDocument.getId());
+        }
+        importDocument.update(DateUtils.getLocalDateTimeOfTenant(), count.getSuccessCount(), count.getErrorCount());
+        this.importRepository.saveAndFlush(importDocument);
+    }
+
 }
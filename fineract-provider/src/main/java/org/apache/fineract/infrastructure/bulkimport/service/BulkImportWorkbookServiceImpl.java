@@ -30,13 +30,21 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.Optional;
+import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.fineract.infrastructure.bulkimport.data.BulkImportEvent;
 import org.apache.fineract.infrastructure.bulkimport.data.GlobalEntityType;
 import org.apache.fineract.infrastructure.bulkimport.data.ImportData;
 import org.apache.fineract.infrastructure.bulkimport.domain.ImportDocument;
 import org.apache.fineract.infrastructure.bulkimport.domain.ImportDocumentRepository;
+import org.apache.fineract.infrastructure.bulkimport.exceptions.ImportDocumentNotFoundException;
+import org.apache.fineract.infrastructure.bulkimport.domain.ImportRowOutcomeRepository;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
+import org.apache.fineract.infrastructure.bulkimport.streaming.StreamingImportEngine;
+import org.apache.fineract.infrastructure.bulkimport.streaming.StreamingImportHandler;
+import org.apache.fineract.infrastructure.bulkimport.streaming.StreamingImportResultWriter;
+import org.apache.fineract.infrastructure.bulkimport.streaming.StreamingWorkbookReader;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
@@ -47,8 +55,8 @@ import org.apache.fineract.infrastructure.documentmanagement.domain.DocumentRepo
 import org.apache.fineract.infrastructure.documentmanagement.service.DocumentWritePlatformService;
 import org.apache.fineract.infrastructure.documentmanagement.service.DocumentWritePlatformServiceJpaRepositoryImpl;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.apache.tika.Tika;
 import org.apache.tika.io.TikaInputStream;
 import org.glassfish.jersey.media.multipart.FormDataContentDisposition;
@@ -56,6 +64,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
@@ -70,17 +79,25 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
     private final DocumentRepository documentRepository;
     private final ImportDocumentRepository importDocumentRepository;
     private final JdbcTemplate jdbcTemplate;
+    private final ImportRowOutcomeRepository importRowOutcomeRepository;
+    private final StreamingImportEngine streamingImportEngine;
+    private final StreamingImportResultWriter streamingImportResultWriter;
 
     @Autowired
     public BulkImportWorkbookServiceImpl(final ApplicationContext applicationContext, final PlatformSecurityContext securityContext,
             final DocumentWritePlatformService documentWritePlatformService, final DocumentRepository documentRepository,
-            final ImportDocumentRepository importDocumentRepository, final JdbcTemplate jdbcTemplate) {
+            final ImportDocumentRepository importDocumentRepository, final JdbcTemplate jdbcTemplate,
+            final ImportRowOutcomeRepository importRowOutcomeRepository, final StreamingImportEngine streamingImportEngine,
+            final StreamingImportResultWriter streamingImportResultWriter) {
         this.applicationContext = applicationContext;
         this.securityContext = securityContext;
         this.documentWritePlatformService = documentWritePlatformService;
         this.documentRepository = documentRepository;
         this.importDocumentRepository = importDocumentRepository;
         this.jdbcTemplate = jdbcTemplate;
+        this.importRowOutcomeRepository = importRowOutcomeRepository;
+        this.streamingImportEngine = streamingImportEngine;
+        this.streamingImportResultWriter = streamingImportResultWriter;
     }
 
     @Override
@@ -96,7 +113,8 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
                 final Tika tika = new Tika();
                 final TikaInputStream tikaInputStream = TikaInputStream.get(bis);
                 final String fileType = tika.detect(tikaInputStream);
-                if (!fileType.contains("msoffice") && !fileType.contains("application/vnd.ms-excel")) {
+                if (!fileType.contains("msoffice") && !fileType.contains("application/vnd.ms-excel") && !fileType.contains("ooxml")
+                        && !fileType.contains("spreadsheetml")) {
                     // We had a problem where we tried to upload the downloaded
                     // file from the import options, it was somehow changed the
                     // extension we use this fix.
@@ -104,7 +122,6 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
                             "Uploaded file extension is not recognized.");
 
                 }
-                Workbook workbook = new HSSFWorkbook(clonedInputStream);
                 GlobalEntityType entityType = null;
                 int primaryColumn = 0;
                 if (entity.trim().equalsIgnoreCase(GlobalEntityType.CLIENTS_PERSON.toString())) {
@@ -165,11 +182,19 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
                     entityType = GlobalEntityType.USERS;
                     primaryColumn = 0;
                 } else {
-                    workbook.close();
                     throw new GeneralPlatformDomainRuleException("error.msg.unable.to.find.resource", "Unable to find requested resource");
 
                 }
-                return publishEvent(primaryColumn, fileDetail, bis, entityType, workbook, locale, dateFormat);
+                final Optional<StreamingImportHandler> streamingImportHandler = this.streamingImportEngine.findHandler(entityType);
+                if (streamingImportHandler.isPresent()) {
+                    // the rows are read again while importing, there is no workbook to pass on
+                    final int numberOfRows = StreamingWorkbookReader.countRows(clonedInputStream,
+                            streamingImportHandler.get().getSheetName(), streamingImportHandler.get().getPrimaryColumn());
+                    return publishEvent(numberOfRows, fileDetail, bis, entityType, null, locale, dateFormat);
+                }
+                Workbook workbook = WorkbookFactory.create(clonedInputStream);
+                return publishEvent(ImportHandlerUtils.getNumberOfRows(workbook.getSheetAt(0), primaryColumn), fileDetail, bis, entityType,
+                        workbook, locale, dateFormat);
             }
             throw new GeneralPlatformDomainRuleException("error.msg.null", "One or more of the given parameters not found");
         } catch (IOException e) {
@@ -180,7 +205,7 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
         }
     }
 
-    private Long publishEvent(final Integer primaryColumn, final FormDataContentDisposition fileDetail,
+    private Long publishEvent(final Integer numberOfRows, final FormDataContentDisposition fileDetail,
             final InputStream clonedInputStreamWorkbook, final GlobalEntityType entityType, final Workbook workbook, final String locale,
             final String dateFormat) {
 
@@ -193,7 +218,7 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
         final Document document = this.documentRepository.findById(documentId).orElse(null);
 
         final ImportDocument importDocument = ImportDocument.instance(document, DateUtils.getLocalDateTimeOfTenant(), entityType.getValue(),
-                this.securityContext.authenticatedUser(), ImportHandlerUtils.getNumberOfRows(workbook.getSheetAt(0), primaryColumn));
+                this.securityContext.authenticatedUser(), numberOfRows);
         this.importDocumentRepository.saveAndFlush(importDocument);
         BulkImportEvent event = BulkImportEvent.instance(this, workbook, importDocument.getId(), locale, dateFormat,
                 ThreadLocalContextUtil.getContext());
@@ -206,19 +231,22 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
         this.securityContext.authenticatedUser();
 
         final ImportMapper rm = new ImportMapper();
-        final String sql = "select " + rm.schema() + " order by i.id desc";
+        final String sql = "select " + rm.schema(true) + " order by i.id desc";
 
         return this.jdbcTemplate.query(sql, rm, new Object[] { type.getValue() }); // NOSONAR
     }
 
     private static final class ImportMapper implements RowMapper<ImportData> {
 
-        public String schema() {
+        public String schema(final boolean byEntityType) {
             final StringBuilder sql = new StringBuilder();
             sql.append("i.id as id, i.document_id as documentId, d.name as name, i.import_time as importTime, i.end_time as endTime, ")
                     .append("i.completed as completed, i.total_records as totalRecords, i.success_count as successCount, ")
                     .append("i.failure_count as failureCount, i.createdby_id as createdBy ")
-                    .append("from m_import_document i inner join m_document d on i.document_id=d.id ").append("where i.entity_type= ? ");
+                    .append("from m_import_document i inner join m_document d on i.document_id=d.id ");
+            if (byEntityType) {
+                sql.append("where i.entity_type= ? ");
+            }
             return sql.toString();
         }
 
@@ -241,6 +269,19 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
         }
     }
 
+    @Override
+    public ImportData getImport(final Long importDocumentId) {
+        this.securityContext.authenticatedUser();
+
+        final ImportMapper rm = new ImportMapper();
+        final String sql = "select " + rm.schema(false) + " where i.id = ?";
+        try {
+            return this.jdbcTemplate.queryForObject(sql, rm, importDocumentId); // NOSONAR
+        } catch (EmptyResultDataAccessException e) {
+            throw new ImportDocumentNotFoundException(importDocumentId, e);
+        }
+    }
+
     @Override
     public DocumentData getOutputTemplateLocation(String importDocumentId) {
         this.securityContext.authenticatedUser();
@@ -256,6 +297,10 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
         final ImportTemplateLocationMapper importTemplateLocationMapper = new ImportTemplateLocationMapper();
         final String sql = "select " + importTemplateLocationMapper.schema();
         DocumentData documentData = this.jdbcTemplate.queryForObject(sql, importTemplateLocationMapper, new Object[] { importDocumentId }); // NOSONAR
+        final Long id = Long.valueOf(importDocumentId);
+        if (this.importRowOutcomeRepository.hasOutcomes(id)) {
+            return buildStreamingResponse(id, documentData);
+        }
         return buildResponse(documentData);
     }
 
@@ -269,6 +314,16 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
         return response.build();
     }
 
+    private Response buildStreamingResponse(final Long importDocumentId, final DocumentData documentData) {
+        final ImportDocument importDocument = this.importDocumentRepository.findById(importDocumentId)
+                .orElseThrow(() -> new ImportDocumentNotFoundException(importDocumentId, null));
+        String fileName = "Output" + FilenameUtils.getBaseName(documentData.getFileName()) + StreamingImportResultWriter.FILE_EXTENSION;
+        final Response.ResponseBuilder response = Response.ok(this.streamingImportResultWriter.write(importDocument));
+        response.header("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+        response.header("Content-Type", StreamingImportResultWriter.CONTENT_TYPE);
+        return response.build();
+    }
+
     private static final class ImportTemplateLocationMapper implements RowMapper<DocumentData> {
 
         public String schema() {
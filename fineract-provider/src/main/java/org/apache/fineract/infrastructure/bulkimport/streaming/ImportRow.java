@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.streaming;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
+
+/**
+ * One row of a sheet read by the {@link StreamingWorkbookReader}. Every cell is kept as text: numbers in plain decimal
+ * notation, date formatted numbers as ISO dates and booleans as <code>TRUE</code>/<code>FALSE</code>, so rows read from
+ * <code>.xls</code> and <code>.xlsx</code> files (including result files written by this engine) look the same.
+ */
+@Getter
+public final class ImportRow {
+
+    private final int rowIndex;
+    private final Map<Integer, String> values;
+
+    public ImportRow(final int rowIndex, final Map<Integer, String> values) {
+        this.rowIndex = rowIndex;
+        this.values = new TreeMap<>(values);
+    }
+
+    public boolean isBlank(final int colIndex) {
+        return StringUtils.isBlank(this.values.get(colIndex));
+    }
+
+    /**
+     * Same as {@link ImportHandlerUtils#readAsString}: trimmed, whole numbers without their decimal portion.
+     */
+    public String readAsString(final int colIndex) {
+        final String value = this.values.get(colIndex);
+        if (StringUtils.isBlank(value)) {
+            return null;
+        }
+        return ImportHandlerUtils.trimEmptyDecimalPortion(value.trim());
+    }
+
+    public Long readAsLong(final int colIndex) {
+        final BigDecimal value = readAsBigDecimal(colIndex);
+        return value == null ? null : value.longValue();
+    }
+
+    public BigDecimal readAsBigDecimal(final int colIndex) {
+        final String value = this.values.get(colIndex);
+        return StringUtils.isBlank(value) ? null : new BigDecimal(value.trim());
+    }
+
+    /**
+     * Reads a date cell, or a text cell holding an ISO date or a date in the given format of the import.
+     */
+    public LocalDate readAsDate(final int colIndex, final String dateFormat, final String locale) {
+        final String value = readAsString(colIndex);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            final Locale parseLocale = locale == null ? Locale.ENGLISH : Locale.forLanguageTag(locale.replace('_', '-'));
+            return LocalDate.parse(value, DateTimeFormatter.ofPattern(dateFormat, parseLocale));
+        }
+    }
+}
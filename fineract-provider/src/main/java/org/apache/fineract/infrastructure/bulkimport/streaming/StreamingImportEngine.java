@@ -0,0 +1,354 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.streaming;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.commands.service.PortfolioCommandSourceWritePlatformService;
+import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateImportConstants;
+import org.apache.fineract.infrastructure.bulkimport.data.Count;
+import org.apache.fineract.infrastructure.bulkimport.data.GlobalEntityType;
+import org.apache.fineract.infrastructure.bulkimport.data.ImportRowOutcome;
+import org.apache.fineract.infrastructure.bulkimport.domain.ImportRowOutcomeRepository;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Imports the rows of a {@link StreamingImportHandler} sheet while the workbook is being read, instead of loading the whole
+ * workbook first.
+ *
+ * The rows are spread over a fixed number of workers by their partition key, each worker has a bounded queue so reading
+ * the workbook never gets far ahead of the imports. The workers run on the bulk import task executor and are stopped by
+ * an end marker once the workbook is read. Every row is submitted as a command of its own; the row outcomes are written
+ * to <code>m_import_document_row</code> in chunks, together with the progress counts of the import document. Every data
+ * row read gets an outcome, also when the import fails part way.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StreamingImportEngine {
+
+    private static final ImportRow END_OF_ROWS = new ImportRow(-1, Map.of());
+    private static final String ROW_NOT_IMPORTED_MESSAGE = "The row was not imported because the import stopped before reaching it";
+    private static final String UPDATE_PROGRESS_SQL = "UPDATE m_import_document SET success_count = ?, failure_count = ? WHERE id = ?";
+
+    private final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService;
+    private final ImportRowOutcomeRepository importRowOutcomeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FineractProperties fineractProperties;
+    private final List<StreamingImportHandler> handlers;
+    @Qualifier(TaskExecutorConstant.BULK_IMPORT_TASK_EXECUTOR_BEAN_NAME)
+    private final ThreadPoolTaskExecutor bulkImportTaskExecutor;
+
+    /**
+     * @return the handler to import the entity type with, empty if it has none or streaming imports are disabled
+     */
+    public Optional<StreamingImportHandler> findHandler(final GlobalEntityType entityType) {
+        if (!this.fineractProperties.getBulkImport().isStreamingEnabled()) {
+            return Optional.empty();
+        }
+        return this.handlers.stream().filter(handler -> handler.getEntityType() == entityType).findFirst();
+    }
+
+    public Count process(final Long importDocumentId, final StreamingImportHandler handler, final InputStream workbook,
+            final String locale, final String dateFormat) throws IOException {
+        final FineractProperties.FineractBulkImportProperties properties = this.fineractProperties.getBulkImport();
+        final ImportRowCommandFactory commandFactory = handler.newCommandFactory(locale, dateFormat);
+        final OutcomeWriter outcomeWriter = new OutcomeWriter(importDocumentId, properties.getChunkSize());
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+
+        final List<ImportWorker> workers = new ArrayList<>(properties.getWorkerThreads());
+        for (int i = 0; i < properties.getWorkerThreads(); i++) {
+            workers.add(new ImportWorker(new ArrayBlockingQueue<>(properties.getQueueCapacity()), commandFactory, outcomeWriter, context,
+                    securityContext));
+        }
+        // the workers of one import are queued together, so the pool always runs all workers of the oldest import and an
+        // import never waits for a worker which is queued behind the workers of a younger one
+        synchronized (this.bulkImportTaskExecutor) {
+            try {
+                for (ImportWorker worker : workers) {
+                    worker.future = this.bulkImportTaskExecutor.submit(worker);
+                }
+            } catch (RuntimeException e) {
+                workers.stream().filter(worker -> worker.future != null).forEach(worker -> worker.future.cancel(true));
+                throw e;
+            }
+        }
+
+        Throwable workerFailure = null;
+        try {
+            StreamingWorkbookReader.read(workbook, handler.getSheetName(),
+                    new RowDispatcher(handler, commandFactory, workers, outcomeWriter));
+        } finally {
+            try {
+                workerFailure = stopWorkers(importDocumentId, workers);
+            } finally {
+                outcomeWriter.flush();
+            }
+        }
+        if (workerFailure != null) {
+            throw new IllegalStateException("Failed to import document " + importDocumentId, workerFailure);
+        }
+        return outcomeWriter.count();
+    }
+
+    /**
+     * Lets every worker import the rows left in its queue, then waits for all of them. The rows a failed worker left behind
+     * are recorded as failed.
+     *
+     * @return the first failure of a worker, <code>null</code> if all of them completed
+     */
+    private Throwable stopWorkers(final Long importDocumentId, final List<ImportWorker> workers) {
+        Throwable failure = null;
+        try {
+            for (ImportWorker worker : workers) {
+                worker.enqueue(END_OF_ROWS);
+            }
+            for (ImportWorker worker : workers) {
+                try {
+                    worker.future.get();
+                } catch (ExecutionException e) {
+                    log.warn("A worker of the import of document {} failed", importDocumentId, e.getCause());
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.forEach(worker -> worker.future.cancel(true));
+            failure = e;
+        }
+        for (ImportWorker worker : workers) {
+            worker.failQueuedRows();
+        }
+        return failure;
+    }
+
+    private ImportRowOutcome importRow(final ImportRow row, final ImportRowCommandFactory commandFactory) {
+        try {
+            final CommandProcessingResult result = this.commandsSourceWritePlatformService.logCommandSource(commandFactory.toCommand(row));
+            return ImportRowOutcome.imported(row.getRowIndex(), result.getResourceId());
+        } catch (RuntimeException e) {
+            log.warn("Problem occurred while importing row {}: {}", row.getRowIndex(), e.getMessage());
+            log.debug("Import of row {} failed", row.getRowIndex(), e);
+            return ImportRowOutcome.failed(row.getRowIndex(), ImportHandlerUtils.getErrorMessage(e));
+        }
+    }
+
+    private static ImportRowOutcome notImported(final ImportRow row) {
+        return ImportRowOutcome.failed(row.getRowIndex(), ROW_NOT_IMPORTED_MESSAGE);
+    }
+
+    /**
+     * Imports the rows of its queue, in queue order, until the end marker.
+     */
+    private final class ImportWorker implements Callable<Void> {
+
+        private final BlockingQueue<ImportRow> queue;
+        private final ImportRowCommandFactory commandFactory;
+        private final OutcomeWriter outcomeWriter;
+        private final FineractContext context;
+        private final SecurityContext securityContext;
+        private Future<Void> future;
+
+        ImportWorker(final BlockingQueue<ImportRow> queue, final ImportRowCommandFactory commandFactory, final OutcomeWriter outcomeWriter,
+                final FineractContext context, final SecurityContext securityContext) {
+            this.queue = queue;
+            this.commandFactory = commandFactory;
+            this.outcomeWriter = outcomeWriter;
+            this.context = context;
+            this.securityContext = securityContext;
+        }
+
+        @Override
+        public Void call() throws InterruptedException {
+            ThreadLocalContextUtil.init(this.context);
+            SecurityContextHolder.setContext(this.securityContext);
+            try {
+                while (true) {
+                    final ImportRow row = this.queue.take();
+                    if (row == END_OF_ROWS) {
+                        return null;
+                    }
+                    this.outcomeWriter.add(importRow(row, this.commandFactory));
+                }
+            } finally {
+                SecurityContextHolder.clearContext();
+                ThreadLocalContextUtil.reset();
+            }
+        }
+
+        /**
+         * Waits for room in the queue, unless the worker has stopped.
+         *
+         * @return <code>false</code> if the worker has stopped, so the row will not be imported
+         */
+        boolean enqueue(final ImportRow row) throws InterruptedException {
+            if (this.future.isDone()) {
+                return false;
+            }
+            while (!this.queue.offer(row, 1, TimeUnit.SECONDS)) {
+                if (this.future.isDone()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Records the rows still queued, which a stopped worker will never import, as failed.
+         */
+        void failQueuedRows() {
+            ImportRow row;
+            while ((row = this.queue.poll()) != null) {
+                if (row != END_OF_ROWS) {
+                    this.outcomeWriter.add(notImported(row));
+                }
+            }
+        }
+    }
+
+    /**
+     * Passes the data rows on to the workers, from the first row below the header up to the first row with a blank primary
+     * column. Rows already imported by an earlier upload of the same file are skipped, every other data row gets an outcome
+     * even if it can not be passed on.
+     */
+    private static final class RowDispatcher implements Consumer<ImportRow> {
+
+        private final StreamingImportHandler handler;
+        private final ImportRowCommandFactory commandFactory;
+        private final List<ImportWorker> workers;
+        private final OutcomeWriter outcomeWriter;
+        private int lastRowIndex;
+        private boolean done;
+
+        RowDispatcher(final StreamingImportHandler handler, final ImportRowCommandFactory commandFactory, final List<ImportWorker> workers,
+                final OutcomeWriter outcomeWriter) {
+            this.handler = handler;
+            this.commandFactory = commandFactory;
+            this.workers = workers;
+            this.outcomeWriter = outcomeWriter;
+        }
+
+        @Override
+        public void accept(final ImportRow row) {
+            if (this.done || row.getRowIndex() == 0) {
+                return;
+            }
+            if (row.getRowIndex() != this.lastRowIndex + 1 || row.isBlank(this.handler.getPrimaryColumn())) {
+                this.done = true;
+                return;
+            }
+            this.lastRowIndex = row.getRowIndex();
+            if (TemplatePopulateImportConstants.STATUS_CELL_IMPORTED.equals(row.readAsString(this.handler.getStatusColumn()))) {
+                return;
+            }
+
+            final Object partitionKey;
+            try {
+                partitionKey = this.commandFactory.getPartitionKey(row);
+            } catch (RuntimeException e) {
+                this.outcomeWriter.add(ImportRowOutcome.failed(row.getRowIndex(), ImportHandlerUtils.getErrorMessage(e)));
+                return;
+            }
+            final ImportWorker worker = this.workers.get(Math.floorMod(Objects.hashCode(partitionKey), this.workers.size()));
+            try {
+                if (!worker.enqueue(row)) {
+                    this.outcomeWriter.add(notImported(row));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.outcomeWriter.add(notImported(row));
+                throw new IllegalStateException("Interrupted while reading the import document", e);
+            }
+        }
+    }
+
+    /**
+     * Collects the row outcomes of all workers and writes them one chunk at a time.
+     */
+    private final class OutcomeWriter {
+
+        private final Long importDocumentId;
+        private final int chunkSize;
+        private final List<ImportRowOutcome> chunk = new ArrayList<>();
+        private int successCount;
+        private int errorCount;
+
+        OutcomeWriter(final Long importDocumentId, final int chunkSize) {
+            this.importDocumentId = importDocumentId;
+            this.chunkSize = chunkSize;
+        }
+
+        synchronized void add(final ImportRowOutcome outcome) {
+            if (outcome.isImported()) {
+                this.successCount++;
+            } else {
+                this.errorCount++;
+            }
+            this.chunk.add(outcome);
+            if (this.chunk.size() >= this.chunkSize) {
+                flush();
+            }
+        }
+
+        synchronized void flush() {
+            if (this.chunk.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                importRowOutcomeRepository.saveAll(this.importDocumentId, this.chunk);
+                jdbcTemplate.update(UPDATE_PROGRESS_SQL, this.successCount, this.errorCount, this.importDocumentId);
+            });
+            this.chunk.clear();
+        }
+
+        synchronized Count count() {
+            return Count.instance(this.successCount, this.errorCount);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.streaming;
+
+import org.apache.fineract.infrastructure.bulkimport.data.GlobalEntityType;
+
+/**
+ * An import handler whose rows can be processed by the {@link StreamingImportEngine}: every row of its sheet stands for
+ * one command, built without looking at any other row or sheet of the workbook.
+ */
+public interface StreamingImportHandler {
+
+    GlobalEntityType getEntityType();
+
+    String getSheetName();
+
+    /**
+     * The data rows end at the first row where this column is blank.
+     */
+    int getPrimaryColumn();
+
+    int getStatusColumn();
+
+    /**
+     * Called once per import, so that lookup data needed for every row can be loaded up front.
+     */
+    ImportRowCommandFactory newCommandFactory(String locale, String dateFormat);
+}
@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.streaming;
+
+import com.google.common.io.ByteSource;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateImportConstants;
+import org.apache.fineract.infrastructure.bulkimport.data.GlobalEntityType;
+import org.apache.fineract.infrastructure.bulkimport.data.ImportRowOutcome;
+import org.apache.fineract.infrastructure.bulkimport.domain.ImportDocument;
+import org.apache.fineract.infrastructure.bulkimport.domain.ImportRowOutcomeRepository;
+import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryFactory;
+import org.apache.fineract.infrastructure.documentmanagement.data.DocumentData;
+import org.apache.fineract.infrastructure.documentmanagement.domain.Document;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the result file of a streaming import: the imported sheet of the uploaded workbook with the status column filled
+ * in from the stored row outcomes. The file is written as <code>.xlsx</code> through {@link SXSSFWorkbook}, which only
+ * keeps a window of rows in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class StreamingImportResultWriter {
+
+    public static final String CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    public static final String FILE_EXTENSION = ".xlsx";
+
+    private static final int ROW_ACCESS_WINDOW_SIZE = 100;
+
+    private final ImportRowOutcomeRepository importRowOutcomeRepository;
+    private final ContentRepositoryFactory contentRepositoryFactory;
+    private final List<StreamingImportHandler> handlers;
+
+    public StreamingOutput write(final ImportDocument importDocument) {
+        final GlobalEntityType entityType = GlobalEntityType.fromInt(importDocument.getEntityType());
+        final StreamingImportHandler handler = this.handlers.stream().filter(candidate -> candidate.getEntityType() == entityType)
+                .findFirst().orElseThrow(() -> new GeneralPlatformDomainRuleException("error.msg.unable.to.find.resource",
+                        "Unable to find requested resource"));
+
+        final Map<Integer, ImportRowOutcome> outcomes = new HashMap<>();
+        this.importRowOutcomeRepository.forEachOutcome(importDocument.getId(), outcome -> outcomes.put(outcome.getRowIndex(), outcome));
+        final ByteSource content = fetchContent(importDocument.getDocument());
+
+        return output -> {
+            final SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW_SIZE);
+            try (InputStream inputStream = content.openBufferedStream()) {
+                final Sheet sheet = workbook.createSheet(handler.getSheetName());
+                final CellStyle importedStyle = createStatusStyle(workbook, IndexedColors.LIGHT_GREEN);
+                final CellStyle failedStyle = createStatusStyle(workbook, IndexedColors.RED);
+                StreamingWorkbookReader.read(inputStream, handler.getSheetName(), importRow -> {
+                    final Row row = sheet.createRow(importRow.getRowIndex());
+                    importRow.getValues().forEach((column, value) -> row.createCell(column).setCellValue(value));
+                    if (importRow.getRowIndex() == 0) {
+                        row.createCell(handler.getStatusColumn()).setCellValue(TemplatePopulateImportConstants.STATUS_COL_REPORT_HEADER);
+                        return;
+                    }
+                    final ImportRowOutcome outcome = outcomes.get(importRow.getRowIndex());
+                    if (outcome != null) {
+                        final Cell statusCell = row.createCell(handler.getStatusColumn());
+                        if (outcome.isImported()) {
+                            statusCell.setCellValue(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
+                            statusCell.setCellStyle(importedStyle);
+                        } else {
+                            statusCell.setCellValue(outcome.getMessage());
+                            statusCell.setCellStyle(failedStyle);
+                        }
+                    }
+                });
+                sheet.setColumnWidth(handler.getStatusColumn(), TemplatePopulateImportConstants.SMALL_COL_SIZE);
+                workbook.write(output);
+            } finally {
+                workbook.close();
+            }
+        };
+    }
+
+    /**
+     * @return the content of an uploaded import document
+     */
+    public ByteSource fetchContent(final Document document) {
+        final DocumentData documentData = new DocumentData(document.getId(), document.getParentEntityType(),
+                document.getParentEntityId(), document.getName(), document.getFileName(), document.getSize(), document.getType(),
+                document.getLocation(), document.getDescription(), document.storageType().getValue());
+        return this.contentRepositoryFactory.getRepository(document.storageType()).fetchFile(documentData).getByteSource();
+    }
+
+    private static CellStyle createStatusStyle(final SXSSFWorkbook workbook, final IndexedColors color) {
+        final CellStyle style = workbook.createCellStyle();
+        style.setFillForegroundColor(color.getIndex());
+        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        return style;
+    }
+}
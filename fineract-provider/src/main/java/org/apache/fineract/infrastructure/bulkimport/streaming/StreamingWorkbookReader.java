@@ -0,0 +1,283 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.streaming;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.xml.parsers.ParserConfigurationException;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
+import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.RKRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Reads one sheet of an import workbook row by row with the POI event (<code>.xls</code>) and SAX (<code>.xlsx</code>)
+ * APIs, without building the workbook object model. Rows are passed on in sheet order; rows without any value are skipped.
+ */
+public final class StreamingWorkbookReader {
+
+    private StreamingWorkbookReader() {
+
+    }
+
+    public static void read(final InputStream inputStream, final String sheetName, final Consumer<ImportRow> rowConsumer)
+            throws IOException {
+        final InputStream workbookStream = FileMagic.prepareToCheckMagic(inputStream);
+        final FileMagic fileMagic = FileMagic.valueOf(workbookStream);
+        if (fileMagic == FileMagic.OLE2) {
+            readXls(workbookStream, sheetName, rowConsumer);
+        } else if (fileMagic == FileMagic.OOXML) {
+            readXlsx(workbookStream, sheetName, rowConsumer);
+        } else {
+            throw new GeneralPlatformDomainRuleException("error.msg.invalid.file.extension", "Uploaded file extension is not recognized.");
+        }
+    }
+
+    /**
+     * @return the number of data rows below the header, up to the first row with a blank primary column
+     */
+    public static int countRows(final InputStream inputStream, final String sheetName, final int primaryColumn) throws IOException {
+        final DataRowCounter counter = new DataRowCounter(primaryColumn);
+        read(inputStream, sheetName, counter);
+        return counter.count;
+    }
+
+    private static void readXls(final InputStream inputStream, final String sheetName, final Consumer<ImportRow> rowConsumer)
+            throws IOException {
+        try (POIFSFileSystem fileSystem = new POIFSFileSystem(inputStream)) {
+            final XlsSheetListener listener = new XlsSheetListener(sheetName, rowConsumer);
+            final HSSFRequest request = new HSSFRequest();
+            request.addListenerForAllRecords(listener.formatListener);
+            new HSSFEventFactory().processWorkbookEvents(request, fileSystem);
+        }
+    }
+
+    private static void readXlsx(final InputStream inputStream, final String sheetName, final Consumer<ImportRow> rowConsumer)
+            throws IOException {
+        try (OPCPackage opcPackage = OPCPackage.open(inputStream)) {
+            final ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(opcPackage);
+            final XSSFReader reader = new XSSFReader(opcPackage);
+            final StylesTable styles = reader.getStylesTable();
+            final XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    if (sheetName.equals(sheets.getSheetName())) {
+                        final XMLReader parser = XMLHelper.newXMLReader();
+                        final XlsxSheetHandler sheetHandler = new XlsxSheetHandler(rowConsumer);
+                        parser.setContentHandler(new XSSFSheetXMLHandler(styles, strings, sheetHandler, new RawValueFormatter(), false));
+                        parser.parse(new InputSource(sheet));
+                        return;
+                    }
+                }
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Unable to read the workbook", e);
+        }
+    }
+
+    /**
+     * Collects the cells of the wanted sheet from the record stream of an <code>.xls</code> workbook.
+     */
+    private static final class XlsSheetListener implements HSSFListener {
+
+        private final String sheetName;
+        private final Consumer<ImportRow> rowConsumer;
+        private final FormatTrackingHSSFListener formatListener;
+        private final RawValueFormatter formatter = new RawValueFormatter();
+        private final List<BoundSheetRecord> boundSheets = new ArrayList<>();
+        private final Map<Integer, String> rowValues = new HashMap<>();
+        private BoundSheetRecord[] sheetsInBofOrder;
+        private SSTRecord sharedStrings;
+        private int sheetIndex = -1;
+        private boolean inSheet;
+        private int currentRow = -1;
+        private int pendingStringColumn = -1;
+
+        XlsSheetListener(final String sheetName, final Consumer<ImportRow> rowConsumer) {
+            this.sheetName = sheetName;
+            this.rowConsumer = rowConsumer;
+            this.formatListener = new FormatTrackingHSSFListener(new MissingRecordAwareHSSFListener(this));
+        }
+
+        @Override
+        public void processRecord(final Record record) {
+            if (record instanceof BoundSheetRecord boundSheet) {
+                this.boundSheets.add(boundSheet);
+            } else if (record instanceof BOFRecord bof && bof.getType() == BOFRecord.TYPE_WORKSHEET) {
+                if (this.sheetsInBofOrder == null) {
+                    this.sheetsInBofOrder = BoundSheetRecord.orderByBofPosition(this.boundSheets);
+                }
+                this.sheetIndex++;
+                this.inSheet = this.sheetName.equals(this.sheetsInBofOrder[this.sheetIndex].getSheetname());
+            } else if (record instanceof SSTRecord sst) {
+                this.sharedStrings = sst;
+            } else if (this.inSheet) {
+                processSheetRecord(record);
+            }
+        }
+
+        private void processSheetRecord(final Record record) {
+            if (record instanceof LabelSSTRecord label) {
+                setValue(label.getRow(), label.getColumn(), this.sharedStrings.getString(label.getSSTIndex()).getString());
+            } else if (record instanceof LabelRecord label) {
+                setValue(label.getRow(), label.getColumn(), label.getValue());
+            } else if (record instanceof NumberRecord number) {
+                setValue(number.getRow(), number.getColumn(), this.formatter.formatRawCellContents(number.getValue(),
+                        this.formatListener.getFormatIndex(number), this.formatListener.getFormatString(number)));
+            } else if (record instanceof RKRecord rk) {
+                setValue(rk.getRow(), rk.getColumn(), this.formatter.formatRawCellContents(rk.getRKNumber(),
+                        this.formatListener.getFormatIndex(rk), this.formatListener.getFormatString(rk)));
+            } else if (record instanceof FormulaRecord formula) {
+                // only the cached results are used, the formulas themselves are not evaluated
+                if (formula.hasCachedResultString()) {
+                    this.currentRow = flushIfNewRow(formula.getRow());
+                    this.pendingStringColumn = formula.getColumn();
+                } else if (!Double.isNaN(formula.getValue())) {
+                    setValue(formula.getRow(), formula.getColumn(), this.formatter.formatRawCellContents(formula.getValue(),
+                            this.formatListener.getFormatIndex(formula), this.formatListener.getFormatString(formula)));
+                }
+            } else if (record instanceof StringRecord string && this.pendingStringColumn >= 0) {
+                setValue(this.currentRow, this.pendingStringColumn, string.getString());
+                this.pendingStringColumn = -1;
+            } else if (record instanceof BoolErrRecord boolErr && boolErr.isBoolean()) {
+                setValue(boolErr.getRow(), boolErr.getColumn(), boolErr.getBooleanValue() ? "TRUE" : "FALSE");
+            } else if (record instanceof LastCellOfRowDummyRecord lastCell) {
+                flushIfNewRow(lastCell.getRow());
+                flushRow();
+            } else if (record instanceof EOFRecord) {
+                flushRow();
+                this.inSheet = false;
+            }
+        }
+
+        private void setValue(final int row, final int column, final String value) {
+            this.currentRow = flushIfNewRow(row);
+            if (value != null) {
+                this.rowValues.put(column, value);
+            }
+        }
+
+        private int flushIfNewRow(final int row) {
+            if (row != this.currentRow) {
+                flushRow();
+            }
+            return row;
+        }
+
+        private void flushRow() {
+            if (!this.rowValues.isEmpty()) {
+                this.rowConsumer.accept(new ImportRow(this.currentRow, this.rowValues));
+                this.rowValues.clear();
+            }
+        }
+    }
+
+    /**
+     * Collects the cells of an <code>.xlsx</code> sheet passed on by the {@link XSSFSheetXMLHandler}.
+     */
+    private static final class XlsxSheetHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final Consumer<ImportRow> rowConsumer;
+        private final Map<Integer, String> rowValues = new HashMap<>();
+
+        XlsxSheetHandler(final Consumer<ImportRow> rowConsumer) {
+            this.rowConsumer = rowConsumer;
+        }
+
+        @Override
+        public void startRow(final int rowNum) {
+            this.rowValues.clear();
+        }
+
+        @Override
+        public void endRow(final int rowNum) {
+            if (!this.rowValues.isEmpty()) {
+                this.rowConsumer.accept(new ImportRow(rowNum, this.rowValues));
+            }
+        }
+
+        @Override
+        public void cell(final String cellReference, final String formattedValue, final XSSFComment comment) {
+            if (cellReference != null && formattedValue != null) {
+                this.rowValues.put((int) new CellReference(cellReference).getCol(), formattedValue);
+            }
+        }
+    }
+
+    /**
+     * Counts the data rows the way {@link ImportHandlerUtils#getNumberOfRows} does.
+     */
+    private static final class DataRowCounter implements Consumer<ImportRow> {
+
+        private final int primaryColumn;
+        private int count;
+        private boolean done;
+
+        DataRowCounter(final int primaryColumn) {
+            this.primaryColumn = primaryColumn;
+        }
+
+        @Override
+        public void accept(final ImportRow row) {
+            if (this.done || row.getRowIndex() == 0) {
+                return;
+            }
+            if (row.getRowIndex() != this.count + 1 || row.isBlank(this.primaryColumn)) {
+                this.done = true;
+                return;
+            }
+            this.count++;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.campaigns.helper;
+
+import com.google.gson.Gson;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.campaigns.sms.constants.SmsCampaignConstants;
+import org.apache.fineract.infrastructure.campaigns.sms.exception.ConnectionFailureException;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.sms.data.SmsMessageApiQueueResourceData;
+import org.apache.fineract.infrastructure.sms.data.SmsMessageDeliveryReportData;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Talks to the intermediate message gateway over a single, shared HTTP client so that the connections to the gateway are
+ * kept alive and reused by every page that is queued or every delivery report that is requested.
+ */
+@Slf4j
+@Component
+public class SmsGatewayClient {
+
+    private static final String QUEUE_END_POINT = "sms";
+    private static final String REPORT_END_POINT = "sms/report";
+
+    private final SmsConfigUtils smsConfigUtils;
+    private final RestTemplate restTemplate;
+
+    public SmsGatewayClient(SmsConfigUtils smsConfigUtils, FineractProperties fineractProperties) {
+        FineractProperties.FineractSmsGatewayProperties properties = fineractProperties.getSmsGateway();
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(properties.getConnectTimeout())
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+        this.smsConfigUtils = smsConfigUtils;
+        this.restTemplate = new RestTemplate(requestFactory);
+    }
+
+    /**
+     * Hands the given messages over to the gateway, which is expected to accept them for asynchronous delivery.
+     *
+     * @throws ConnectionFailureException
+     *             if the gateway did not accept the messages
+     */
+    public void queue(Collection<SmsMessageApiQueueResourceData> apiQueueResourceDatas) {
+        ResponseEntity<String> response = exchange(QUEUE_END_POINT, SmsMessageApiQueueResourceData.toJsonString(apiQueueResourceDatas),
+                new ParameterizedTypeReference<>() {});
+        if (!HttpStatus.ACCEPTED.equals(response.getStatusCode())) {
+            log.debug("SMS gateway responded with {} while queueing {} message(s)", response.getStatusCode().value(),
+                    apiQueueResourceDatas.size());
+            throw new ConnectionFailureException(SmsCampaignConstants.SMS);
+        }
+    }
+
+    public Collection<SmsMessageDeliveryReportData> retrieveDeliveryReports(Collection<Long> smsMessageIds) {
+        ResponseEntity<List<SmsMessageDeliveryReportData>> response = exchange(REPORT_END_POINT, new Gson().toJson(smsMessageIds),
+                new ParameterizedTypeReference<>() {});
+        return response.getBody() == null ? List.of() : response.getBody();
+    }
+
+    private <T> ResponseEntity<T> exchange(String apiEndPoint, String body, ParameterizedTypeReference<T> responseType) {
+        Map<String, Object> hostConfig = smsConfigUtils.getMessageGateWayRequestURI(apiEndPoint, body);
+        URI uri = (URI) hostConfig.get("uri");
+        HttpEntity<?> entity = (HttpEntity<?>) hostConfig.get("entity");
+        return restTemplate.exchange(uri, HttpMethod.POST, entity, responseType);
+    }
+}
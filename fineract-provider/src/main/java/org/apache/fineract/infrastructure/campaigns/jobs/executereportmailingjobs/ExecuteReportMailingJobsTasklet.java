@@ -28,7 +28,9 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
@@ -202,12 +204,13 @@ public class ExecuteReportMailingJobsTasklet implements Tasklet {
             final FileOutputStream outputStream = new FileOutputStream(file);
             byteArrayOutputStream.writeTo(outputStream);
 
+            final List<ReportMailingJobEmailData> reportMailingJobEmailData = new ArrayList<>(emailRecipients.size());
             for (String emailRecipient : emailRecipients) {
-                final ReportMailingJobEmailData reportMailingJobEmailData = new ReportMailingJobEmailData().setTo(emailRecipient)
-                        .setText(reportMailingJob.getEmailMessage()).setSubject(reportMailingJob.getEmailSubject()).setAttachment(file);
-
-                reportMailingJobEmailService.sendEmailWithAttachment(reportMailingJobEmailData);
+                reportMailingJobEmailData.add(new ReportMailingJobEmailData().setTo(emailRecipient)
+                        .setText(reportMailingJob.getEmailMessage()).setSubject(reportMailingJob.getEmailSubject()).setAttachment(file));
             }
+            // one batch, so the recipients share the pooled SMTP connections
+            reportMailingJobEmailService.sendEmailsWithAttachment(reportMailingJobEmailData);
 
             outputStream.close();
 
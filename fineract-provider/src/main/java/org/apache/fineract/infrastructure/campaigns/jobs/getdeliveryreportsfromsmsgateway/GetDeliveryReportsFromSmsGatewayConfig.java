@@ -18,7 +18,8 @@
  */
 package org.apache.fineract.infrastructure.campaigns.jobs.getdeliveryreportsfromsmsgateway;
 
-import org.apache.fineract.infrastructure.campaigns.helper.SmsConfigUtils;
+import org.apache.fineract.infrastructure.campaigns.helper.SmsGatewayClient;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.infrastructure.sms.domain.SmsMessageRepository;
 import org.apache.fineract.infrastructure.sms.service.SmsReadPlatformService;
@@ -45,7 +46,9 @@ public class GetDeliveryReportsFromSmsGatewayConfig {
     @Autowired
     private SmsReadPlatformService smsReadPlatformService;
     @Autowired
-    private SmsConfigUtils smsConfigUtils;
+    private SmsGatewayClient smsGatewayClient;
+    @Autowired
+    private FineractProperties fineractProperties;
 
     @Bean
     protected Step getDeliveryReportsFromSmsGatewayStep() {
@@ -61,6 +64,7 @@ public class GetDeliveryReportsFromSmsGatewayConfig {
 
     @Bean
     public GetDeliveryReportsFromSmsGatewayTasklet getDeliveryReportsFromSmsGatewayTasklet() {
-        return new GetDeliveryReportsFromSmsGatewayTasklet(smsReadPlatformService, smsConfigUtils, smsMessageRepository);
+        return new GetDeliveryReportsFromSmsGatewayTasklet(smsReadPlatformService, smsGatewayClient, smsMessageRepository,
+                fineractProperties);
     }
 }
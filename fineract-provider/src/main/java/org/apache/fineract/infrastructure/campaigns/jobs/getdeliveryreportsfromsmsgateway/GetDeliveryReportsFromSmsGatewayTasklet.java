@@ -18,14 +18,15 @@
  */
 package org.apache.fineract.infrastructure.campaigns.jobs.getdeliveryreportsfromsmsgateway;
 
-import com.google.gson.Gson;
-import java.net.URI;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.fineract.infrastructure.campaigns.helper.SmsConfigUtils;
+import org.apache.fineract.infrastructure.campaigns.helper.SmsGatewayClient;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.sms.data.SmsMessageDeliveryReportData;
 import org.apache.fineract.infrastructure.sms.domain.SmsMessage;
@@ -36,23 +37,25 @@ import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.data.domain.PageRequest;
 
 @Slf4j
 @RequiredArgsConstructor
 public class GetDeliveryReportsFromSmsGatewayTasklet implements Tasklet {
 
+    private static final int DELIVERY_STATUS_PENDING = 100;
+
     private final SmsReadPlatformService smsReadPlatformService;
-    private final SmsConfigUtils smsConfigUtils;
+    private final SmsGatewayClient smsGatewayClient;
     private final SmsMessageRepository smsMessageRepository;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final FineractProperties fineractProperties;
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        if (fineractProperties.getSmsGateway().isHighThroughputEnabled()) {
+            reconcileWaitingMessages();
+            return RepeatStatus.FINISHED;
+        }
         int page = 0;
         int totalRecords;
         Integer limit = 200;
@@ -60,44 +63,7 @@ public class GetDeliveryReportsFromSmsGatewayTasklet implements Tasklet {
             Page<Long> smsMessageInternalIds = smsReadPlatformService.retrieveAllWaitingForDeliveryReport(limit);
             try {
                 if (!CollectionUtils.isEmpty(smsMessageInternalIds.getPageItems())) {
-                    Map<String, Object> hostConfig = smsConfigUtils.getMessageGateWayRequestURI("sms/report",
-                            new Gson().toJson(smsMessageInternalIds.getPageItems()));
-                    URI uri = (URI) hostConfig.get("uri");
-                    HttpEntity<?> entity = (HttpEntity<?>) hostConfig.get("entity");
-                    ResponseEntity<Collection<SmsMessageDeliveryReportData>> responseOne = restTemplate.exchange(uri, HttpMethod.POST,
-                            entity, new ParameterizedTypeReference<>() {});
-
-                    Collection<SmsMessageDeliveryReportData> smsMessageDeliveryReportDataCollection = responseOne.getBody();
-                    if (!CollectionUtils.isEmpty(smsMessageDeliveryReportDataCollection)) {
-                        for (SmsMessageDeliveryReportData smsMessageDeliveryReportData : smsMessageDeliveryReportDataCollection) {
-                            Integer deliveryStatus = smsMessageDeliveryReportData.getDeliveryStatus();
-
-                            if (!smsMessageDeliveryReportData.getHasError() && deliveryStatus != 100) {
-                                SmsMessage smsMessage = smsMessageRepository.findById(smsMessageDeliveryReportData.getId()).orElse(null);
-                                Integer statusType = switch (deliveryStatus) {
-                                    case 0 -> SmsMessageStatusType.INVALID.getValue();
-                                    case 150 -> SmsMessageStatusType.WAITING_FOR_DELIVERY_REPORT.getValue();
-                                    case 200 -> SmsMessageStatusType.SENT.getValue();
-                                    case 300 -> SmsMessageStatusType.DELIVERED.getValue();
-                                    case 400 -> SmsMessageStatusType.FAILED.getValue();
-                                    default -> smsMessage.getStatusType();
-                                };
-
-                                boolean statusChanged = !statusType.equals(smsMessage.getStatusType());
-                                smsMessage.setStatusType(statusType);
-                                smsMessage.setExternalId(smsMessageDeliveryReportData.getExternalId());
-                                smsMessageRepository.save(smsMessage);
-
-                                if (statusChanged) {
-                                    log.debug("Status of SMS message id: {} successfully changed to {}", smsMessage.getId(), statusType);
-                                }
-                            }
-                        }
-                    }
-                    if (!CollectionUtils.isEmpty(smsMessageDeliveryReportDataCollection)) {
-                        log.debug("{} delivery report(s) successfully received from the intermediate gateway - sms",
-                                smsMessageDeliveryReportDataCollection.size());
-                    }
+                    reconcile(smsGatewayClient.retrieveDeliveryReports(smsMessageInternalIds.getPageItems()));
                 }
             }
 
@@ -109,4 +75,66 @@ public class GetDeliveryReportsFromSmsGatewayTasklet implements Tasklet {
         } while (page < totalRecords);
         return RepeatStatus.FINISHED;
     }
+
+    /**
+     * Walks the messages waiting for a delivery report by id, so that each of them is asked for exactly once per run,
+     * whatever the gateway answers for it.
+     */
+    private void reconcileWaitingMessages() {
+        final int pageSize = fineractProperties.getSmsGateway().getPageSize();
+        final PageRequest pageRequest = PageRequest.of(0, pageSize);
+        long afterId = 0L;
+        List<Long> smsMessageIds;
+        do {
+            smsMessageIds = smsMessageRepository.findIdsByStatusType(SmsMessageStatusType.WAITING_FOR_DELIVERY_REPORT.getValue(), afterId,
+                    pageRequest);
+            if (!smsMessageIds.isEmpty()) {
+                afterId = smsMessageIds.get(smsMessageIds.size() - 1);
+                try {
+                    reconcile(smsGatewayClient.retrieveDeliveryReports(smsMessageIds));
+                } catch (Exception e) {
+                    log.error("Error occurred.", e);
+                }
+            }
+        } while (smsMessageIds.size() == pageSize);
+    }
+
+    private void reconcile(Collection<SmsMessageDeliveryReportData> smsMessageDeliveryReportDataCollection) {
+        if (CollectionUtils.isEmpty(smsMessageDeliveryReportDataCollection)) {
+            return;
+        }
+        Map<Long, SmsMessageDeliveryReportData> deliveryReportsById = new HashMap<>();
+        for (SmsMessageDeliveryReportData smsMessageDeliveryReportData : smsMessageDeliveryReportDataCollection) {
+            Integer deliveryStatus = smsMessageDeliveryReportData.getDeliveryStatus();
+            if (!Boolean.TRUE.equals(smsMessageDeliveryReportData.getHasError()) && deliveryStatus != null
+                    && deliveryStatus != DELIVERY_STATUS_PENDING) {
+                deliveryReportsById.put(smsMessageDeliveryReportData.getId(), smsMessageDeliveryReportData);
+            }
+        }
+        if (!deliveryReportsById.isEmpty()) {
+            List<SmsMessage> smsMessages = smsMessageRepository.findAllById(deliveryReportsById.keySet());
+            for (SmsMessage smsMessage : smsMessages) {
+                SmsMessageDeliveryReportData smsMessageDeliveryReportData = deliveryReportsById.get(smsMessage.getId());
+                Integer statusType = switch (smsMessageDeliveryReportData.getDeliveryStatus()) {
+                    case 0 -> SmsMessageStatusType.INVALID.getValue();
+                    case 150 -> SmsMessageStatusType.WAITING_FOR_DELIVERY_REPORT.getValue();
+                    case 200 -> SmsMessageStatusType.SENT.getValue();
+                    case 300 -> SmsMessageStatusType.DELIVERED.getValue();
+                    case 400 -> SmsMessageStatusType.FAILED.getValue();
+                    default -> smsMessage.getStatusType();
+                };
+
+                boolean statusChanged = !statusType.equals(smsMessage.getStatusType());
+                smsMessage.setStatusType(statusType);
+                smsMessage.setExternalId(smsMessageDeliveryReportData.getExternalId());
+
+                if (statusChanged) {
+                    log.debug("Status of SMS message id: {} successfully changed to {}", smsMessage.getId(), statusType);
+                }
+            }
+            smsMessageRepository.saveAll(smsMessages);
+        }
+        log.debug("{} delivery report(s) successfully received from the intermediate gateway - sms",
+                smsMessageDeliveryReportDataCollection.size());
+    }
 }
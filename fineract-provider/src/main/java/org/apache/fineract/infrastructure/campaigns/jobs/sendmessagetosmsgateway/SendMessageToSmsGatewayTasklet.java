@@ -18,23 +18,25 @@
  */
 package org.apache.fineract.infrastructure.campaigns.jobs.sendmessagetosmsgateway;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import java.net.URI;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.fineract.infrastructure.campaigns.helper.SmsConfigUtils;
+import org.apache.fineract.infrastructure.campaigns.helper.SmsGatewayClient;
 import org.apache.fineract.infrastructure.campaigns.sms.constants.SmsCampaignConstants;
 import org.apache.fineract.infrastructure.campaigns.sms.exception.ConnectionFailureException;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.gcm.service.NotificationSenderService;
 import org.apache.fineract.infrastructure.sms.data.SmsMessageApiQueueResourceData;
+import org.apache.fineract.infrastructure.sms.data.SmsMessageDispatchData;
 import org.apache.fineract.infrastructure.sms.domain.SmsMessage;
 import org.apache.fineract.infrastructure.sms.domain.SmsMessageRepository;
 import org.apache.fineract.infrastructure.sms.domain.SmsMessageStatusType;
@@ -44,14 +46,8 @@ import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextClosedEvent;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
-import org.springframework.web.client.RestTemplate;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -59,12 +55,17 @@ public class SendMessageToSmsGatewayTasklet implements Tasklet {
 
     private final SmsMessageRepository smsMessageRepository;
     private final NotificationSenderService notificationSenderService;
-    private final SmsConfigUtils smsConfigUtils;
+    private final SmsGatewayClient smsGatewayClient;
     private final ThreadPoolTaskExecutor taskExecutor;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final FineractProperties fineractProperties;
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        if (fineractProperties.getSmsGateway().isHighThroughputEnabled()) {
+            dispatchPendingMessages();
+            dispatchPendingNotifications();
+            return RepeatStatus.FINISHED;
+        }
         int pageLimit = 200;
         int page = 0;
         int totalRecords;
@@ -111,6 +112,78 @@ public class SendMessageToSmsGatewayTasklet implements Tasklet {
         return RepeatStatus.FINISHED;
     }
 
+    /**
+     * Walks the pending messages by id and keeps up to the configured number of pages queued at the gateway at the same
+     * time. Only the messages the gateway accepted are moved to waiting for a delivery report, one update per page; a
+     * page that was rejected stays pending and is picked up again by the next run.
+     */
+    private void dispatchPendingMessages() {
+        final FineractProperties.FineractSmsGatewayProperties properties = fineractProperties.getSmsGateway();
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final PageRequest pageRequest = PageRequest.of(0, properties.getPageSize());
+        final Deque<CompletableFuture<List<Long>>> pagesInFlight = new ArrayDeque<>();
+        int acceptedMessages = 0;
+        long afterId = 0L;
+        List<SmsMessageDispatchData> pendingMessages;
+        do {
+            pendingMessages = smsMessageRepository.findDispatchDataByStatusType(SmsMessageStatusType.PENDING.getValue(), afterId,
+                    pageRequest);
+            if (!pendingMessages.isEmpty()) {
+                afterId = pendingMessages.get(pendingMessages.size() - 1).id();
+                if (pagesInFlight.size() >= properties.getMaxPagesInFlight()) {
+                    acceptedMessages += markWaitingForDeliveryReport(pagesInFlight.poll());
+                }
+                pagesInFlight.add(queue(tenant, pendingMessages));
+            }
+        } while (pendingMessages.size() == properties.getPageSize());
+        while (!pagesInFlight.isEmpty()) {
+            acceptedMessages += markWaitingForDeliveryReport(pagesInFlight.poll());
+        }
+        log.debug("{} SMS message(s) accepted by the intermediate gateway", acceptedMessages);
+    }
+
+    private CompletableFuture<List<Long>> queue(final FineractPlatformTenant tenant, final List<SmsMessageDispatchData> messages) {
+        final List<SmsMessageApiQueueResourceData> apiQueueResourceDatas = messages.stream()
+                .map(message -> message.toApiQueueResourceData(tenant.getTenantIdentifier())).toList();
+        return CompletableFuture.supplyAsync(() -> {
+            ThreadLocalContextUtil.setTenant(tenant);
+            try {
+                smsGatewayClient.queue(apiQueueResourceDatas);
+                return messages.stream().map(SmsMessageDispatchData::id).toList();
+            } catch (RuntimeException e) {
+                log.warn("SMS gateway did not accept {} message(s), they stay pending", messages.size(), e);
+                return List.of();
+            } finally {
+                ThreadLocalContextUtil.reset();
+            }
+        }, taskExecutor);
+    }
+
+    private int markWaitingForDeliveryReport(CompletableFuture<List<Long>> pageInFlight) {
+        List<Long> acceptedIds = pageInFlight.join();
+        if (!acceptedIds.isEmpty()) {
+            smsMessageRepository.updateStatusType(acceptedIds, SmsMessageStatusType.WAITING_FOR_DELIVERY_REPORT.getValue());
+        }
+        return acceptedIds.size();
+    }
+
+    private void dispatchPendingNotifications() {
+        final int pageSize = fineractProperties.getSmsGateway().getPageSize();
+        final PageRequest pageRequest = PageRequest.of(0, pageSize);
+        List<SmsMessage> pendingNotifications;
+        do {
+            pendingNotifications = smsMessageRepository.findNotificationsByStatusType(SmsMessageStatusType.PENDING.getValue(),
+                    pageRequest);
+            if (!pendingNotifications.isEmpty()) {
+                pendingNotifications.forEach(
+                        notification -> notification.setStatusType(SmsMessageStatusType.WAITING_FOR_DELIVERY_REPORT.getValue()));
+                smsMessageRepository.saveAll(pendingNotifications);
+                smsMessageRepository.flush();
+                notificationSenderService.sendNotification(pendingNotifications);
+            }
+        } while (pendingNotifications.size() == pageSize);
+    }
+
     class SmsTask implements Runnable, ApplicationListener<ContextClosedEvent> {
 
         private final FineractPlatformTenant tenant;
@@ -124,7 +197,7 @@ public class SendMessageToSmsGatewayTasklet implements Tasklet {
         @Override
         public void run() {
             ThreadLocalContextUtil.setTenant(tenant);
-            connectAndSendToIntermediateServer(apiQueueResourceDatas);
+            smsGatewayClient.queue(apiQueueResourceDatas);
         }
 
         @Override
@@ -133,17 +206,4 @@ public class SendMessageToSmsGatewayTasklet implements Tasklet {
             log.info("Shutting down the ExecutorService");
         }
     }
-
-    @SuppressFBWarnings("SLF4J_SIGN_ONLY_FORMAT")
-    private void connectAndSendToIntermediateServer(Collection<SmsMessageApiQueueResourceData> apiQueueResourceDatas) {
-        Map<String, Object> hostConfig = smsConfigUtils.getMessageGateWayRequestURI("sms",
-                SmsMessageApiQueueResourceData.toJsonString(apiQueueResourceDatas));
-        URI uri = (URI) hostConfig.get("uri");
-        HttpEntity<?> entity = (HttpEntity<?>) hostConfig.get("entity");
-        ResponseEntity<String> responseOne = restTemplate.exchange(uri, HttpMethod.POST, entity, new ParameterizedTypeReference<>() {});
-        if (!responseOne.getStatusCode().equals(HttpStatus.ACCEPTED)) {
-            log.debug("{}", responseOne.getStatusCode().value());
-            throw new ConnectionFailureException(SmsCampaignConstants.SMS);
-        }
-    }
 }
@@ -25,9 +25,12 @@ import static org.springframework.security.authorization.AuthorityAuthorizationM
 import static org.springframework.security.authorization.AuthorizationManagers.allOf;
 import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import org.apache.fineract.infrastructure.businessdate.service.BusinessDateReadPlatformService;
 import org.apache.fineract.infrastructure.cache.service.CacheWritePlatformService;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
@@ -46,6 +49,8 @@ import org.apache.fineract.infrastructure.security.data.PlatformRequestLog;
 import org.apache.fineract.infrastructure.security.filter.TenantAwareBasicAuthenticationFilter;
 import org.apache.fineract.infrastructure.security.filter.TwoFactorAuthenticationFilter;
 import org.apache.fineract.infrastructure.security.service.AuthTenantDetailsService;
+import org.apache.fineract.infrastructure.security.service.BasicAuthCredentialCache;
+import org.apache.fineract.infrastructure.security.service.CachingAuthenticationProvider;
 import org.apache.fineract.infrastructure.security.service.TenantAwareJpaPlatformUserDetailsService;
 import org.apache.fineract.infrastructure.security.service.TwoFactorService;
 import org.apache.fineract.notification.service.UserNotificationService;
@@ -109,6 +114,10 @@ public class SecurityConfig {
     private MDCWrapper mdcWrapper;
     @Autowired
     private FineractRequestContextHolder fineractRequestContextHolder;
+    @Autowired
+    private BasicAuthCredentialCache basicAuthCredentialCache;
+    @Autowired
+    private Optional<MeterRegistry> meterRegistry;
 
    
     @Autowired
@@ -215,7 +224,8 @@ public class SecurityConfig {
     public TenantAwareBasicAuthenticationFilter tenantAwareBasicAuthenticationFilter() throws Exception {
         TenantAwareBasicAuthenticationFilter filter = new TenantAwareBasicAuthenticationFilter(authenticationManagerBean(),
                 basicAuthenticationEntryPoint(), toApiJsonSerializer, configurationDomainService, cacheWritePlatformService,
-                userNotificationService, basicAuthTenantDetailsService, businessDateReadPlatformService);
+                userNotificationService, basicAuthTenantDetailsService, businessDateReadPlatformService,
+                meterRegistry.orElseGet(SimpleMeterRegistry::new));
         filter.setRequestMatcher(antMatcher("/api/**"));
         return filter;
     }
@@ -242,7 +252,8 @@ public class SecurityConfig {
 
     @Bean
     public AuthenticationManager authenticationManagerBean() throws Exception {
-        ProviderManager providerManager = new ProviderManager(authProvider());
+        ProviderManager providerManager = new ProviderManager(
+                new CachingAuthenticationProvider(authProvider(), userDetailsService, basicAuthCredentialCache));
         providerManager.setEraseCredentialsAfterAuthentication(false);
         return providerManager;
     }
@@ -18,12 +18,14 @@
  */
 package org.apache.fineract.infrastructure.core.config;
 
+import java.util.concurrent.ThreadPoolExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Scope;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 @Configuration
 public class TaskExecutorConfig {
@@ -47,4 +49,60 @@ public class TaskExecutorConfig {
         threadPoolTaskExecutor.setMaxPoolSize(fineractProperties.getTaskExecutor().getDefaultTaskExecutorMaxPoolSize());
         return threadPoolTaskExecutor;
     }
+
+    @Bean(TaskExecutorConstant.HOOK_DELIVERY_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor hookDeliveryThreadPoolTaskExecutor() {
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(fineractProperties.getTaskExecutor().getHookDeliveryTaskExecutorCorePoolSize());
+        threadPoolTaskExecutor.setMaxPoolSize(fineractProperties.getTaskExecutor().getHookDeliveryTaskExecutorMaxPoolSize());
+        threadPoolTaskExecutor.setQueueCapacity(fineractProperties.getTaskExecutor().getHookDeliveryTaskExecutorQueueCapacity());
+        threadPoolTaskExecutor.setThreadNamePrefix("hook-delivery-");
+        // a full queue slows the commands down instead of dropping hook calls
+        threadPoolTaskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return threadPoolTaskExecutor;
+    }
+
+    @Bean(TaskExecutorConstant.HOOK_DELIVERY_TASK_SCHEDULER_BEAN_NAME)
+    public ThreadPoolTaskScheduler hookDeliveryThreadPoolTaskScheduler() {
+        ThreadPoolTaskScheduler threadPoolTaskScheduler = new ThreadPoolTaskScheduler();
+        threadPoolTaskScheduler.setPoolSize(fineractProperties.getTaskExecutor().getHookDeliveryTaskSchedulerPoolSize());
+        threadPoolTaskScheduler.setThreadNamePrefix("hook-delivery-scheduler-");
+        return threadPoolTaskScheduler;
+    }
+
+    @Bean(TaskExecutorConstant.RUNNING_BALANCE_UPDATE_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor runningBalanceUpdateThreadPoolTaskExecutor() {
+        final FineractProperties.FineractRunningBalanceUpdateProperties runningBalanceUpdate = fineractProperties.getJob()
+                .getRunningBalanceUpdate();
+        final int partitions = runningBalanceUpdate == null ? 1 : Math.max(1, runningBalanceUpdate.getPartitions());
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        // one thread per partition of the running balance update job
+        threadPoolTaskExecutor.setCorePoolSize(partitions);
+        threadPoolTaskExecutor.setMaxPoolSize(partitions);
+        threadPoolTaskExecutor.setThreadNamePrefix("running-balance-");
+        return threadPoolTaskExecutor;
+    }
+
+    @Bean(TaskExecutorConstant.BULK_IMPORT_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor bulkImportThreadPoolTaskExecutor() {
+        final FineractProperties.FineractBulkImportProperties bulkImport = fineractProperties.getBulkImport();
+        final int poolSize = Math.max(1, bulkImport.getWorkerThreads() * bulkImport.getMaxConcurrentImports());
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        // the workers of further imports wait in the queue until the workers of a running import are done
+        threadPoolTaskExecutor.setCorePoolSize(poolSize);
+        threadPoolTaskExecutor.setMaxPoolSize(poolSize);
+        threadPoolTaskExecutor.setThreadNamePrefix("bulk-import-");
+        return threadPoolTaskExecutor;
+    }
+
+    @Bean(TaskExecutorConstant.MAIL_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor mailThreadPoolTaskExecutor() {
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(fineractProperties.getMail().getSenderThreads());
+        threadPoolTaskExecutor.setMaxPoolSize(fineractProperties.getMail().getSenderThreads());
+        // the mail senders send the shares the queue has no room for themselves
+        threadPoolTaskExecutor.setQueueCapacity(fineractProperties.getMail().getSenderQueueCapacity());
+        threadPoolTaskExecutor.setThreadNamePrefix("mail-sender-");
+        return threadPoolTaskExecutor;
+    }
 }
@@ -28,4 +28,10 @@ public final class TaskExecutorConstant {
     public static final String CONFIGURABLE_TASK_EXECUTOR_BEAN_NAME = "fineractConfigurableThreadPoolTaskExecutor";
     public static final String EVENT_TASK_EXECUTOR_BEAN_NAME = "externalEventJmsProducerExecutor";
     public static final String LOAN_COB_CATCH_UP_TASK_EXECUTOR_BEAN_NAME = "loanCOBCatchUpThreadPoolTaskExecutor";
+    public static final String SAVINGS_COB_CATCH_UP_TASK_EXECUTOR_BEAN_NAME = "savingsCOBCatchUpThreadPoolTaskExecutor";
+    public static final String HOOK_DELIVERY_TASK_EXECUTOR_BEAN_NAME = "hookDeliveryThreadPoolTaskExecutor";
+    public static final String HOOK_DELIVERY_TASK_SCHEDULER_BEAN_NAME = "hookDeliveryThreadPoolTaskScheduler";
+    public static final String RUNNING_BALANCE_UPDATE_TASK_EXECUTOR_BEAN_NAME = "runningBalanceUpdateThreadPoolTaskExecutor";
+    public static final String BULK_IMPORT_TASK_EXECUTOR_BEAN_NAME = "bulkImportThreadPoolTaskExecutor";
+    public static final String MAIL_TASK_EXECUTOR_BEAN_NAME = "mailThreadPoolTaskExecutor";
 }
@@ -31,6 +31,8 @@ import javax.cache.CacheManager;
 import javax.cache.Caching;
 import javax.cache.spi.CachingProvider;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.cache.service.CacheInvalidationPublisher;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.ehcache.config.builders.CacheConfigurationBuilder;
 import org.ehcache.config.builders.ExpiryPolicyBuilder;
@@ -64,6 +66,12 @@ public class CacheConfig {
         return new TransactionBoundCacheManager(cacheManager);
     }
 
+    @Bean
+    public MultiNodeCacheManager multiNodeCacheManager(JCacheCacheManager ehCacheManager,
+            CacheInvalidationPublisher cacheInvalidationPublisher) {
+        return new MultiNodeCacheManager(ehCacheManager, cacheInvalidationPublisher);
+    }
+
     @Bean
     public JCacheCacheManager ehCacheManager() {
         JCacheCacheManager jCacheCacheManager = new JCacheCacheManager();
@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.config.cache;
+
+import jakarta.jms.JMSException;
+import jakarta.jms.MapMessage;
+import jakarta.jms.MessageListener;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.command.ActiveMQTopic;
+import org.apache.fineract.infrastructure.cache.data.CacheInvalidation;
+import org.apache.fineract.infrastructure.cache.service.CacheInvalidationPublisher;
+import org.apache.fineract.infrastructure.cache.service.MultiNodeCacheManager;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractCacheMultiNodeJmsProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jms.connection.CachingConnectionFactory;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+
+/**
+ * Broadcasts the cache invalidations of the multi node cache through a JMS topic instead of the database log.
+ */
+@Configuration
+@ConditionalOnProperty(value = "fineract.cache.multi-node.jms.enabled", havingValue = "true")
+public class JmsCacheInvalidationConfiguration {
+
+    private static final String CACHE_NAME = "cacheName";
+    private static final String CACHE_KEY = "cacheKey";
+    private static final String ORIGIN_NODE = "originNode";
+
+    @Autowired
+    private FineractProperties fineractProperties;
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher() {
+        final CachingConnectionFactory connectionFactory = new CachingConnectionFactory(cacheInvalidationConnectionFactory());
+        connectionFactory.setReconnectOnException(true);
+        final JmsTemplate jmsTemplate = new JmsTemplate(connectionFactory);
+        jmsTemplate.setPubSubDomain(true);
+        final ActiveMQTopic topic = cacheInvalidationTopic();
+        return invalidation -> jmsTemplate.send(topic, session -> {
+            final MapMessage message = session.createMapMessage();
+            message.setString(CACHE_NAME, invalidation.cacheName());
+            message.setString(CACHE_KEY, invalidation.cacheKey());
+            message.setString(ORIGIN_NODE, invalidation.originNode());
+            return message;
+        });
+    }
+
+    @Bean
+    public DefaultMessageListenerContainer cacheInvalidationListenerContainer(MultiNodeCacheManager multiNodeCacheManager) {
+        final DefaultMessageListenerContainer container = new DefaultMessageListenerContainer();
+        container.setConnectionFactory(cacheInvalidationConnectionFactory());
+        container.setDestination(cacheInvalidationTopic());
+        container.setPubSubDomain(true);
+        container.setMessageListener((MessageListener) message -> {
+            try {
+                final MapMessage mapMessage = (MapMessage) message;
+                multiNodeCacheManager.applyInvalidation(new CacheInvalidation(mapMessage.getString(CACHE_NAME),
+                        mapMessage.getString(CACHE_KEY), mapMessage.getString(ORIGIN_NODE)));
+            } catch (JMSException e) {
+                throw new IllegalStateException("Cannot read cache invalidation message", e);
+            }
+        });
+        return container;
+    }
+
+    private ActiveMQConnectionFactory cacheInvalidationConnectionFactory() {
+        final FineractCacheMultiNodeJmsProperties jmsProps = fineractProperties.getCache().getMultiNode().getJms();
+        final ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory();
+        connectionFactory.setBrokerURL(jmsProps.getBrokerUrl());
+        if (jmsProps.isBrokerPasswordProtected()) {
+            connectionFactory.setUserName(jmsProps.getBrokerUsername());
+            connectionFactory.setPassword(jmsProps.getBrokerPassword());
+        }
+        return connectionFactory;
+    }
+
+    private ActiveMQTopic cacheInvalidationTopic() {
+        return new ActiveMQTopic(fineractProperties.getCache().getMultiNode().getJms().getTopicName());
+    }
+}
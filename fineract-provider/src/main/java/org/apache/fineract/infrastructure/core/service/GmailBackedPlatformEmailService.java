@@ -18,23 +18,26 @@
  */
 package org.apache.fineract.infrastructure.core.service;
 
+import jakarta.mail.internet.MimeMessage;
 import java.util.Properties;
 import org.apache.fineract.infrastructure.configuration.data.SMTPCredentialsData;
 import org.apache.fineract.infrastructure.configuration.service.ExternalServicesPropertiesReadPlatformService;
 import org.apache.fineract.infrastructure.core.domain.EmailDetail;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 @Service
 public class GmailBackedPlatformEmailService implements PlatformEmailService {
 
     private final ExternalServicesPropertiesReadPlatformService externalServicesReadPlatformService;
+    private final SmtpTransportPool smtpTransportPool;
 
     @Autowired
-    public GmailBackedPlatformEmailService(final ExternalServicesPropertiesReadPlatformService externalServicesReadPlatformService) {
+    public GmailBackedPlatformEmailService(final ExternalServicesPropertiesReadPlatformService externalServicesReadPlatformService,
+            final SmtpTransportPool smtpTransportPool) {
         this.externalServicesReadPlatformService = externalServicesReadPlatformService;
+        this.smtpTransportPool = smtpTransportPool;
     }
 
     @Override
@@ -56,19 +59,10 @@ public class GmailBackedPlatformEmailService implements PlatformEmailService {
     public void sendDefinedEmail(EmailDetail emailDetails) {
         final SMTPCredentialsData smtpCredentialsData = this.externalServicesReadPlatformService.getSMTPCredentials();
 
-        final String authuser = smtpCredentialsData.getUsername();
-        final String authpwd = smtpCredentialsData.getPassword();
+        // Important: Enable less secure app access for the gmail account used in the authentication, the connections
+        // are opened with the username and password of the SMTP credentials
 
-        final JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
-        mailSender.setHost(smtpCredentialsData.getHost()); // smtp.gmail.com
-        mailSender.setPort(Integer.parseInt(smtpCredentialsData.getPort())); // 587
-
-        // Important: Enable less secure app access for the gmail account used in the following authentication
-
-        mailSender.setUsername(authuser); // use valid gmail address
-        mailSender.setPassword(authpwd); // use password of the above gmail account
-
-        Properties props = mailSender.getJavaMailProperties();
+        Properties props = new Properties();
         props.put("mail.transport.protocol", "smtp");
         props.put("mail.smtp.auth", "true");
         props.put("mail.debug", "true");
@@ -82,12 +76,13 @@ public class GmailBackedPlatformEmailService implements PlatformEmailService {
         props.put("mail.smtp.socketFactory.fallback", "true");
 
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(smtpCredentialsData.getFromEmail()); // same email address used for the authentication
-            message.setTo(emailDetails.getAddress());
-            message.setSubject(emailDetails.getSubject());
-            message.setText(emailDetails.getBody());
-            mailSender.send(message);
+            final MimeMessage message = this.smtpTransportPool.createMimeMessage(smtpCredentialsData, props);
+            final MimeMessageHelper helper = new MimeMessageHelper(message);
+            helper.setFrom(smtpCredentialsData.getFromEmail()); // same email address used for the authentication
+            helper.setTo(emailDetails.getAddress());
+            helper.setSubject(emailDetails.getSubject());
+            helper.setText(emailDetails.getBody());
+            this.smtpTransportPool.send(smtpCredentialsData, props, message);
 
         } catch (Exception e) {
             throw new PlatformEmailSendException(e);
@@ -0,0 +1,322 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.configuration.data.SMTPCredentialsData;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractMailProperties;
+import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.mail.MailSendException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the SMTP connections of every tenant open between the emails.
+ *
+ * The connections are pooled per tenant and mail server, and the pool is rebuilt only when the SMTP settings it was
+ * built from change. A batch of emails is spread over at most the configured number of connections, each connection
+ * sending its share one email after the other, optionally throttled, and being reopened after the configured number
+ * of emails. The shares are sent on the bounded mail task executor, a share it has no room for is sent by the calling
+ * thread. Connections left idle for longer than the configured idle timeout are closed.
+ */
+@Slf4j
+@Component
+public class SmtpTransportPool implements DisposableBean {
+
+    private final FineractMailProperties properties;
+    private final ThreadPoolTaskExecutor taskExecutor;
+    private final ConcurrentMap<String, TransportPool> pools = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService idleSweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "smtpTransportPoolSweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SmtpTransportPool(final FineractProperties fineractProperties,
+            @Qualifier(TaskExecutorConstant.MAIL_TASK_EXECUTOR_BEAN_NAME) final ThreadPoolTaskExecutor taskExecutor) {
+        this.properties = fineractProperties.getMail();
+        this.taskExecutor = taskExecutor;
+        final Duration idleTimeout = properties.getIdleTimeout();
+        if (idleTimeout != null && !idleTimeout.isZero()) {
+            final long sweepInterval = Math.max(1000L, idleTimeout.toMillis() / 2);
+            idleSweeper.scheduleWithFixedDelay(() -> pools.values().forEach(TransportPool::closeExpired), sweepInterval, sweepInterval,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Creates an empty email bound to the session of the mail server.
+     */
+    public MimeMessage createMimeMessage(final SMTPCredentialsData credentials, final Properties javaMailProperties) {
+        return new MimeMessage(poolOf(credentials, javaMailProperties).session);
+    }
+
+    public void send(final SMTPCredentialsData credentials, final Properties javaMailProperties, final MimeMessage message) {
+        send(credentials, javaMailProperties, List.of(message));
+    }
+
+    /**
+     * Sends the emails over the pooled connections of the mail server.
+     *
+     * @throws MailSendException
+     *             listing the emails which could not be sent, after all the others were sent
+     */
+    public void send(final SMTPCredentialsData credentials, final Properties javaMailProperties, final List<MimeMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        final TransportPool pool = poolOf(credentials, javaMailProperties);
+        final int connections = Math.min(properties.getMaxConnectionsPerServer(), messages.size());
+        final List<List<MimeMessage>> shares = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            shares.add(new ArrayList<>());
+        }
+        for (int i = 0; i < messages.size(); i++) {
+            shares.get(i % connections).add(messages.get(i));
+        }
+
+        final Map<Object, Exception> failedMessages = new ConcurrentHashMap<>();
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(connections - 1);
+        final List<List<MimeMessage>> ownShares = new ArrayList<>();
+        ownShares.add(shares.get(0));
+        for (final List<MimeMessage> share : shares.subList(1, connections)) {
+            try {
+                futures.add(CompletableFuture.runAsync(() -> pool.send(share, failedMessages), taskExecutor));
+            } catch (RejectedExecutionException e) {
+                log.debug("The mail task executor is busy, sending {} emails on the calling thread", share.size());
+                ownShares.add(share);
+            }
+        }
+        ownShares.forEach(share -> pool.send(share, failedMessages));
+        futures.forEach(CompletableFuture::join);
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(new LinkedHashMap<>(failedMessages));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        idleSweeper.shutdownNow();
+        pools.values().forEach(TransportPool::close);
+        pools.clear();
+    }
+
+    private TransportPool poolOf(final SMTPCredentialsData credentials, final Properties javaMailProperties) {
+        final TransportSettings settings = new TransportSettings(credentials.getHost(), Integer.parseInt(credentials.getPort()),
+                credentials.getUsername(), credentials.getPassword(), javaMailProperties);
+        final String key = ThreadLocalContextUtil.getTenant().getTenantIdentifier() + "|" + settings.host() + ":" + settings.port() + "|"
+                + settings.username();
+        return pools.compute(key, (poolKey, existing) -> {
+            if (existing != null && existing.settings.equals(settings)) {
+                return existing;
+            }
+            if (existing != null) {
+                existing.close();
+            }
+            return new TransportPool(settings);
+        });
+    }
+
+    private record TransportSettings(String host, int port, String username, String password, Properties javaMailProperties) {
+
+        private TransportSettings {
+            final Properties copy = new Properties();
+            copy.putAll(javaMailProperties);
+            javaMailProperties = copy;
+        }
+
+        @Override
+        public String toString() {
+            // keeps the password out of the logs
+            return host + ":" + port;
+        }
+    }
+
+    private final class TransportPool {
+
+        private final TransportSettings settings;
+        private final Session session;
+        private final Semaphore connections;
+        private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+        private volatile boolean closed;
+
+        private TransportPool(final TransportSettings settings) {
+            this.settings = settings;
+            this.session = Session.getInstance(settings.javaMailProperties());
+            this.connections = new Semaphore(properties.getMaxConnectionsPerServer());
+        }
+
+        private void send(final List<MimeMessage> messages, final Map<Object, Exception> failedMessages) {
+            try {
+                connections.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                messages.forEach(message -> failedMessages.put(message, e));
+                return;
+            }
+            PooledTransport transport = takeIdle();
+            try {
+                for (int i = 0; i < messages.size(); i++) {
+                    final MimeMessage message = messages.get(i);
+                    try {
+                        transport = connected(transport);
+                        if (i > 0) {
+                            throttle();
+                        }
+                        message.saveChanges();
+                        transport.transport.sendMessage(message, message.getAllRecipients());
+                        transport.sent++;
+                    } catch (MessagingException e) {
+                        failedMessages.put(message, e);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        messages.subList(i, messages.size()).forEach(unsent -> failedMessages.put(unsent, e));
+                        return;
+                    }
+                }
+            } finally {
+                giveBack(transport);
+                connections.release();
+            }
+        }
+
+        /**
+         * @return the given transport if it is still usable, otherwise a freshly connected one
+         */
+        private PooledTransport connected(final PooledTransport transport) throws MessagingException {
+            if (transport != null && transport.sent < properties.getMaxMessagesPerConnection() && transport.transport.isConnected()) {
+                return transport;
+            }
+            closeQuietly(transport);
+            final Transport fresh = session.getTransport("smtp");
+            fresh.connect(settings.host(), settings.port(), settings.username(), settings.password());
+            return new PooledTransport(fresh);
+        }
+
+        private void throttle() throws InterruptedException {
+            final Duration minSendInterval = properties.getMinSendInterval();
+            if (minSendInterval != null && !minSendInterval.isZero()) {
+                Thread.sleep(minSendInterval.toMillis());
+            }
+        }
+
+        /**
+         * @return the most recently used idle transport which has not expired, <code>null</code> if there is none
+         */
+        private PooledTransport takeIdle() {
+            PooledTransport transport;
+            while ((transport = idle.pollFirst()) != null && transport.isExpired()) {
+                closeQuietly(transport);
+            }
+            return transport;
+        }
+
+        private void giveBack(final PooledTransport transport) {
+            if (transport == null) {
+                return;
+            }
+            if (closed) {
+                closeQuietly(transport);
+            } else {
+                transport.idleSince = System.nanoTime();
+                idle.offerFirst(transport);
+            }
+        }
+
+        /**
+         * Closes the idle transports which expired, the least recently used ones are at the end of the queue.
+         */
+        private void closeExpired() {
+            PooledTransport transport;
+            while ((transport = idle.pollLast()) != null) {
+                if (!transport.isExpired()) {
+                    giveBackLast(transport);
+                    return;
+                }
+                closeQuietly(transport);
+            }
+        }
+
+        private void giveBackLast(final PooledTransport transport) {
+            if (closed) {
+                closeQuietly(transport);
+            } else {
+                idle.offerLast(transport);
+            }
+        }
+
+        private void close() {
+            closed = true;
+            PooledTransport transport;
+            while ((transport = idle.pollFirst()) != null) {
+                closeQuietly(transport);
+            }
+        }
+
+        private void closeQuietly(final PooledTransport transport) {
+            if (transport == null) {
+                return;
+            }
+            try {
+                transport.transport.close();
+            } catch (MessagingException e) {
+                log.debug("Closing the connection to mail server {} failed", settings, e);
+            }
+        }
+    }
+
+    private final class PooledTransport {
+
+        private final Transport transport;
+        private int sent;
+        private volatile long idleSince;
+
+        private PooledTransport(final Transport transport) {
+            this.transport = transport;
+        }
+
+        private boolean isExpired() {
+            final Duration idleTimeout = properties.getIdleTimeout();
+            return idleTimeout != null && !idleTimeout.isZero() && System.nanoTime() - idleSince > idleTimeout.toNanos();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.migration;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.SetupException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import org.apache.fineract.portfolio.client.domain.search.ClientSearchTokenizer;
+
+/**
+ * Fills <code>m_client_search_token</code> for the clients that existed before the client search index was introduced.
+ * Runs on the migration connection, in batches of clients ordered by id.
+ */
+public class ClientSearchIndexMigrationTask implements CustomTaskChange {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        JdbcConnection dbConn = (JdbcConnection) database.getConnection(); // autocommit is false
+        try (PreparedStatement selectClients = dbConn.prepareStatement(
+                "SELECT id, account_no, display_name, external_id, mobile_no FROM m_client WHERE id > ? ORDER BY id");
+                PreparedStatement selectIdentifiers = dbConn
+                        .prepareStatement("SELECT client_id, document_key FROM m_client_identifier WHERE client_id BETWEEN ? AND ?");
+                PreparedStatement insertToken = dbConn
+                        .prepareStatement("INSERT INTO m_client_search_token (token, client_id) VALUES (?, ?)")) {
+            selectClients.setMaxRows(BATCH_SIZE);
+            long lastId = 0;
+            while (true) {
+                Map<Long, List<String>> valuesByClient = new LinkedHashMap<>();
+                selectClients.setLong(1, lastId);
+                try (ResultSet rs = selectClients.executeQuery()) {
+                    while (rs.next()) {
+                        List<String> values = valuesByClient.computeIfAbsent(rs.getLong("id"), id -> new ArrayList<>());
+                        values.add(rs.getString("account_no"));
+                        values.add(rs.getString("display_name"));
+                        values.add(rs.getString("external_id"));
+                        values.add(rs.getString("mobile_no"));
+                        lastId = rs.getLong("id");
+                    }
+                }
+                if (valuesByClient.isEmpty()) {
+                    break;
+                }
+
+                selectIdentifiers.setLong(1, valuesByClient.keySet().iterator().next());
+                selectIdentifiers.setLong(2, lastId);
+                try (ResultSet rs = selectIdentifiers.executeQuery()) {
+                    while (rs.next()) {
+                        List<String> values = valuesByClient.get(rs.getLong("client_id"));
+                        if (values != null) {
+                            values.add(rs.getString("document_key"));
+                        }
+                    }
+                }
+
+                for (Map.Entry<Long, List<String>> client : valuesByClient.entrySet()) {
+                    for (String token : ClientSearchTokenizer.tokenize(client.getValue())) {
+                        insertToken.setString(1, token);
+                        insertToken.setLong(2, client.getKey());
+                        insertToken.addBatch();
+                    }
+                }
+                insertToken.executeBatch();
+            }
+        } catch (Exception e) {
+            throw new CustomChangeException(e);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Client search index filled";
+    }
+
+    @Override
+    public void setUp() throws SetupException {
+        // Not required
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+        // Not required
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return null;
+    }
+}
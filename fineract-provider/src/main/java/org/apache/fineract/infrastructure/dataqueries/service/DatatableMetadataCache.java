@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.TransactionBoundSynchronization;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per tenant registry of the column headers of datatables, including the index flags and the allowed values of code
+ * lookup columns.
+ *
+ * The headers of a table are loaded on first use and kept until the datatable is registered, altered, deregistered or
+ * deleted, or until a code or code value changes, at which point the writer {@link #invalidate(String)}s the table or
+ * {@link #invalidateAll()}s the tenant. The invalidations are broadcast through the cache invalidation log in every cache
+ * mode, so the other nodes drop the headers as well.
+ *
+ * Headers are loaded outside of the map, so a slow load does not block the other tables. A load that overlapped with an
+ * invalidation is handed out once but not kept, since it may describe the table from before the change.
+ */
+@Component
+public class DatatableMetadataCache {
+
+    private static final String METRIC_NAME_PREFIX = "fineract.datatable.metadata.cache";
+    private static final String CACHE_NAME = "datatableMetadata";
+    private static final String KEY_SEPARATOR = "/";
+
+    private final RuntimeDelegatingCacheManager cacheManager;
+    private final ConcurrentMap<String, ConcurrentMap<String, List<ResultsetColumnHeaderData>>> columnHeaders = new ConcurrentHashMap<>();
+    // counts the invalidations, to tell whether one happened while headers were loaded
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public DatatableMetadataCache(final RuntimeDelegatingCacheManager cacheManager, final Optional<MeterRegistry> meterRegistry) {
+        this.cacheManager = cacheManager;
+        final MeterRegistry registry = meterRegistry.orElseGet(SimpleMeterRegistry::new);
+        this.hits = Counter.builder(METRIC_NAME_PREFIX + ".hits").description("Datatable column header lookups served from the cache") //
+                .register(registry);
+        this.misses = Counter.builder(METRIC_NAME_PREFIX + ".misses") //
+                .description("Datatable column header lookups that loaded the table").register(registry);
+        cacheManager.registerNodeLocalCache(CACHE_NAME, this::applyInvalidation);
+    }
+
+    /**
+     * @return the cached column headers of the table, loaded with the given loader if the table is not cached yet
+     */
+    public List<ResultsetColumnHeaderData> getColumnHeaders(final String tableName,
+            final Function<String, List<ResultsetColumnHeaderData>> loader) {
+        final ConcurrentMap<String, List<ResultsetColumnHeaderData>> tables = columnHeaders.computeIfAbsent(tenantIdentifier(),
+                key -> new ConcurrentHashMap<>());
+        final List<ResultsetColumnHeaderData> headers = tables.get(tableName);
+        if (headers != null) {
+            hits.increment();
+            return headers;
+        }
+        misses.increment();
+        final long invalidationsBeforeLoad = invalidations.get();
+        final List<ResultsetColumnHeaderData> loaded = List.copyOf(loader.apply(tableName));
+        final List<ResultsetColumnHeaderData> existing = tables.putIfAbsent(tableName, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        if (invalidations.get() != invalidationsBeforeLoad) {
+            tables.remove(tableName, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the column headers of the table for the current tenant. Within a transaction they are dropped once more when it
+     * completes, so headers loaded concurrently while the schema was being changed do not survive.
+     */
+    public void invalidate(final String tableName) {
+        final String tenantIdentifier = tenantIdentifier();
+        final Runnable eviction = () -> evict(tenantIdentifier, tableName);
+        eviction.run();
+        evictAgainOnCompletion(List.of(this, tableName.toLowerCase(Locale.ROOT)), eviction);
+        cacheManager.broadcastInvalidation(CACHE_NAME, tenantIdentifier + KEY_SEPARATOR + tableName);
+    }
+
+    /**
+     * Drops the column headers of every table of the current tenant, e.g. because code values embedded in them changed.
+     */
+    public void invalidateAll() {
+        final String tenantIdentifier = tenantIdentifier();
+        final Runnable eviction = () -> evictAll(tenantIdentifier);
+        eviction.run();
+        evictAgainOnCompletion(this, eviction);
+        cacheManager.broadcastInvalidation(CACHE_NAME, tenantIdentifier);
+    }
+
+    /**
+     * Applies an invalidation of another node: <code>tenant/table</code> for one table, the tenant identifier for all tables of
+     * the tenant, or <code>null</code> for everything.
+     */
+    private void applyInvalidation(final String key) {
+        if (key == null) {
+            invalidations.incrementAndGet();
+            columnHeaders.clear();
+            return;
+        }
+        final int separator = key.indexOf(KEY_SEPARATOR);
+        if (separator < 0) {
+            evictAll(key);
+        } else {
+            evict(key.substring(0, separator), key.substring(separator + 1));
+        }
+    }
+
+    private void evict(final String tenantIdentifier, final String tableName) {
+        invalidations.incrementAndGet();
+        final ConcurrentMap<String, List<ResultsetColumnHeaderData>> tables = columnHeaders.get(tenantIdentifier);
+        if (tables != null) {
+            tables.keySet().removeIf(name -> name.equalsIgnoreCase(tableName));
+        }
+    }
+
+    private void evictAll(final String tenantIdentifier) {
+        invalidations.incrementAndGet();
+        columnHeaders.remove(tenantIdentifier);
+    }
+
+    private static void evictAgainOnCompletion(final Object key, final Runnable eviction) {
+        if (TransactionBoundSynchronization.isTransactionActive()) {
+            TransactionBoundSynchronization.afterCompletion(key, eviction);
+        }
+    }
+
+    private static String tenantIdentifier() {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+    }
+}
@@ -147,6 +147,7 @@ public class DatatableWriteServiceImpl implements DatatableWriteService {
     private final BusinessEventNotifierService businessEventNotifierService;
     private final DatatableReadService datatableReadService;
     private final DatatableUtil datatableUtil;
+    private final DatatableMetadataCache datatableMetadataCache;
 
     @Transactional
     @Override
@@ -189,6 +190,7 @@ public class DatatableWriteServiceImpl implements DatatableWriteService {
     @Override
     public void deregisterDatatable(final String datatable) {
         datatableUtil.validateDatatableRegistered(datatable);
+        datatableMetadataCache.invalidate(datatable);
         final String permissionList = "('CREATE_" + datatable + "', 'CREATE_" + datatable + "_CHECKER', 'READ_" + datatable + "', 'UPDATE_"
                 + datatable + "', 'UPDATE_" + datatable + "_CHECKER', 'DELETE_" + datatable + "', 'DELETE_" + datatable + "_CHECKER')";
 
@@ -338,6 +340,7 @@ public class DatatableWriteServiceImpl implements DatatableWriteService {
             final String entitySubType = this.fromJsonHelper.extractStringNamed(API_PARAM_SUBTYPE, element);
 
             datatableUtil.validateDatatableName(datatableName);
+            datatableMetadataCache.invalidate(datatableName);
             int rowCount = getDatatableRowCount(datatableName);
             final List<ResultsetColumnHeaderData> columnHeaderData = this.genericDataService.fillResultsetColumnHeaders(datatableName);
             final Map<String, ResultsetColumnHeaderData> mapColumnNameDefinition = searchUtil.mapHeadersToName(columnHeaderData);
@@ -610,6 +613,7 @@ public class DatatableWriteServiceImpl implements DatatableWriteService {
         datatableUtil.resolveEntity(entityName);
         datatableUtil.validateDatatableName(dataTableName);
         validateDataTableExists(dataTableName);
+        datatableMetadataCache.invalidate(dataTableName);
 
         Map<String, Object> paramMap = new HashMap<>(3);
         final String registerDatatableSql = "insert into x_registered_table "
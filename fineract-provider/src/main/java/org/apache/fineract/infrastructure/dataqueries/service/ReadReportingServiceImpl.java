@@ -23,7 +23,6 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -44,7 +43,6 @@ import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
-import org.apache.fineract.infrastructure.core.service.database.JdbcJavaType;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.data.ReportData;
 import org.apache.fineract.infrastructure.dataqueries.data.ReportParameterData;
@@ -82,28 +80,46 @@ public class ReadReportingServiceImpl implements ReadReportingService {
     public StreamingOutput retrieveReportCSV(final String name, final String type, final Map<String, String> queryParams,
             final boolean isSelfServiceUserReport) {
         return out -> {
-            try {
-                final GenericResultsetData result = retrieveGenericResultset(name, type, queryParams, isSelfServiceUserReport);
-                generateCsvFileBuffer(result, out);
+            try (CSVPrinter printer = new CSVPrinter(new OutputStreamWriter(out, StandardCharsets.UTF_8), CSVFormat.EXCEL)) {
+                streamGenericResultset(name, type, queryParams, isSelfServiceUserReport, new CsvStreamHandler(printer));
+            } catch (final IOException e) {
+                throw e;
             } catch (final Exception e) {
                 throw ErrorHandler.getMappable(e);
             }
         };
     }
 
-    private void generateCsvFileBuffer(final GenericResultsetData result, OutputStream out) throws IOException {
-        try (CSVPrinter printer = new CSVPrinter(new OutputStreamWriter(out, StandardCharsets.UTF_8), CSVFormat.EXCEL)) {
-            final List<ResultsetColumnHeaderData> columnHeaders = result.getColumnHeaders();
-            final List<ResultsetRowData> data = result.getData();
-            final List<String> header = new ArrayList<>();
-            for (final ResultsetColumnHeaderData columnHeader : columnHeaders) {
-                header.add(columnHeader.getColumnName());
-            }
-            printer.printRecord(header);
-            for (final ResultsetRowData row : data) {
-                printer.printRecord(row.getRow());
+    @Override
+    public long streamGenericResultset(final String name, final String type, final Map<String, String> queryParams,
+            final boolean isSelfServiceUserReport, final GenericResultsetStreamHandler handler) throws IOException {
+
+        final long startTime = System.currentTimeMillis();
+        if (log.isDebugEnabled()) {
+            log.debug("STARTING REPORT: {}   Type: {}", LogParameterEscapeUtil.escapeLogParameter(name),
+                    LogParameterEscapeUtil.escapeLogParameter(type));
+        }
+
+        final String sql = getSQLtoRun(name, type, queryParams, isSelfServiceUserReport);
+
+        final long rows;
+        if (fineractProperties.getReport().getStreaming().isEnabled()) {
+            rows = this.genericDataService.streamGenericResultSet(sql, handler);
+        } else {
+            final GenericResultsetData result = this.genericDataService.fillGenericResultSet(sql);
+            handler.columnHeaders(result.getColumnHeaders());
+            for (final ResultsetRowData row : result.getData()) {
+                handler.row(row.getRow());
             }
+            rows = result.getData().size();
+        }
+
+        final long elapsed = System.currentTimeMillis() - startTime;
+        if (log.isDebugEnabled()) {
+            log.debug("FINISHING Report/Request Name: {} - {}     Rows: {}     Elapsed Time: {}",
+                    LogParameterEscapeUtil.escapeLogParameter(name), type.replaceAll("[\n\r\t]", "_"), rows, elapsed);
         }
+        return rows;
     }
 
     @Override
@@ -239,15 +255,6 @@ public class ReadReportingServiceImpl implements ReadReportingService {
         final String genaratePdf = fileLocation + File.separator + reportName + ".pdf";
 
         try {
-            final GenericResultsetData result = retrieveGenericResultset(reportName, type, queryParams, isSelfServiceUserReport);
-
-            final List<ResultsetColumnHeaderData> columnHeaders = result.getColumnHeaders();
-            final List<ResultsetRowData> data = result.getData();
-            List<Object> row;
-
-            log.debug("NO. of Columns: {}", columnHeaders.size());
-            final Integer chSize = columnHeaders.size();
-
             final Document document = new Document(PageSize.B0.rotate());
 
             // Validate filename characters and use Path.of() for safe handling
@@ -261,32 +268,11 @@ public class ReadReportingServiceImpl implements ReadReportingService {
             PdfWriter.getInstance(document, new FileOutputStream(validatedPath.toString()));
             document.open();
 
-            final PdfPTable table = new PdfPTable(chSize);
-            table.setWidthPercentage(100);
-
-            for (int i = 0; i < chSize; i++) {
-
-                table.addCell(columnHeaders.get(i).getColumnName());
+            final PdfStreamHandler handler = new PdfStreamHandler(document);
+            final long rows = streamGenericResultset(reportName, type, queryParams, isSelfServiceUserReport, handler);
+            log.debug("NO. of Rows: {}", rows);
 
-            }
-            table.completeRow();
-
-            Integer rSize;
-            JdbcJavaType currColType;
-            String currVal;
-            log.debug("NO. of Rows: {}", data.size());
-            for (ResultsetRowData element : data) {
-                row = element.getRow();
-                rSize = row.size();
-                for (int j = 0; j < rSize; j++) {
-                    currVal = (String) row.get(j);
-                    if (currVal != null) {
-                        table.addCell(currVal);
-                    }
-                }
-            }
-            table.completeRow();
-            document.add(table);
+            handler.complete();
             document.close();
             return genaratePdf;
         } catch (final Exception e) {
@@ -395,6 +381,78 @@ public class ReadReportingServiceImpl implements ReadReportingService {
         return parameters;
     }
 
+    @RequiredArgsConstructor
+    private static final class CsvStreamHandler implements GenericResultsetStreamHandler {
+
+        private final CSVPrinter printer;
+
+        @Override
+        public void columnHeaders(final List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+            final List<String> header = new ArrayList<>();
+            for (final ResultsetColumnHeaderData columnHeader : columnHeaders) {
+                header.add(columnHeader.getColumnName());
+            }
+            printer.printRecord(header);
+        }
+
+        @Override
+        public void row(final List<Object> row) throws IOException {
+            printer.printRecord(row);
+        }
+    }
+
+    /**
+     * Adds the rows to an incomplete table that is written out every {@link #ROWS_PER_FLUSH} rows, so only the rows since
+     * the last flush are held in memory.
+     */
+    @RequiredArgsConstructor
+    private static final class PdfStreamHandler implements GenericResultsetStreamHandler {
+
+        private static final int ROWS_PER_FLUSH = 1000;
+
+        private final Document document;
+        private PdfPTable table;
+        private long rows;
+
+        @Override
+        public void columnHeaders(final List<ResultsetColumnHeaderData> columnHeaders) {
+            log.debug("NO. of Columns: {}", columnHeaders.size());
+            table = new PdfPTable(columnHeaders.size());
+            table.setWidthPercentage(100);
+            table.setComplete(false);
+            for (final ResultsetColumnHeaderData columnHeader : columnHeaders) {
+                table.addCell(columnHeader.getColumnName());
+            }
+            table.completeRow();
+        }
+
+        @Override
+        public void row(final List<Object> row) throws IOException {
+            for (final Object currVal : row) {
+                if (currVal != null) {
+                    table.addCell(String.valueOf(currVal));
+                }
+            }
+            if (++rows % ROWS_PER_FLUSH == 0) {
+                flush();
+            }
+        }
+
+        void complete() throws IOException {
+            table.completeRow();
+            table.setComplete(true);
+            flush();
+        }
+
+        private void flush() throws IOException {
+            try {
+                document.add(table);
+            } catch (final Exception e) {
+                throw new IOException("Unable to write report rows to PDF", e);
+            }
+        }
+    }
+
     private static final class ReportParameterJoinMapper implements RowMapper<ReportParameterJoinData> {
 
         public String schema(final Long reportId) {
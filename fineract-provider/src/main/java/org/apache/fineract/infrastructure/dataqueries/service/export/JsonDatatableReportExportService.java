@@ -18,17 +18,30 @@
  */
 package org.apache.fineract.infrastructure.dataqueries.service.export;
 
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.core.api.ApiParameterHelper;
-import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
-import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
-import org.apache.fineract.infrastructure.dataqueries.data.ReportData;
+import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
+import org.apache.fineract.infrastructure.core.serialization.GoogleGsonSerializerHelper;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetRowData;
 import org.apache.fineract.infrastructure.dataqueries.service.DatatableExportTargetParameter;
 import org.apache.fineract.infrastructure.dataqueries.service.GenericDataService;
+import org.apache.fineract.infrastructure.dataqueries.service.GenericResultsetStreamHandler;
 import org.apache.fineract.infrastructure.dataqueries.service.ReadReportingService;
 import org.springframework.stereotype.Service;
 
@@ -36,34 +49,107 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class JsonDatatableReportExportService implements DatatableReportExportService {
 
+    private static final Gson GSON = GoogleGsonSerializerHelper.createSimpleGson();
+    private static final Type COLUMN_HEADERS_TYPE = new TypeToken<List<ResultsetColumnHeaderData>>() {}.getType();
+
     private final ReadReportingService readExtraDataAndReportingService;
-    private final ToApiJsonSerializer<ReportData> toApiJsonSerializer;
     private final GenericDataService genericDataService;
 
     @Override
     public ResponseHolder export(String reportName, MultivaluedMap<String, String> queryParams, Map<String, String> reportParams,
             boolean isSelfServiceUserReport, String parameterTypeValue) {
-
-        final GenericResultsetData result = this.readExtraDataAndReportingService.retrieveGenericResultset(reportName, parameterTypeValue,
-                reportParams, isSelfServiceUserReport);
-        String json;
         final boolean genericResultSetIsPassed = ApiParameterHelper.genericResultSetPassed(queryParams);
-        final boolean genericResultSet = ApiParameterHelper.genericResultSet(queryParams);
-        if (genericResultSetIsPassed) {
-            if (genericResultSet) {
-                json = this.toApiJsonSerializer.serialize(result);
-            } else {
-                json = this.genericDataService.generateJsonFromGenericResultsetData(result);
+        final boolean genericResultSet = !genericResultSetIsPassed || ApiParameterHelper.genericResultSet(queryParams);
+
+        // rows are written out as they are read, in the same shape the buffered serialization produces
+        final StreamingOutput json = out -> {
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                final JsonStreamHandler handler = genericResultSet ? new GenericResultsetJsonHandler(GSON.newJsonWriter(writer))
+                        : new PlainJsonHandler(writer, genericDataService);
+                readExtraDataAndReportingService.streamGenericResultset(reportName, parameterTypeValue, reportParams,
+                        isSelfServiceUserReport, handler);
+                handler.complete();
+            } catch (final IOException e) {
+                throw e;
+            } catch (final Exception e) {
+                throw ErrorHandler.getMappable(e);
             }
-        } else {
-            json = this.toApiJsonSerializer.serialize(result);
-        }
+        };
         return new ResponseHolder(Response.Status.OK).entity(json).contentType(MediaType.APPLICATION_JSON);
-
     }
 
     @Override
     public boolean supports(DatatableExportTargetParameter exportType) {
         return exportType == DatatableExportTargetParameter.JSON || exportType == DatatableExportTargetParameter.PRETTY_JSON;
     }
+
+    private interface JsonStreamHandler extends GenericResultsetStreamHandler {
+
+        void complete() throws IOException;
+    }
+
+    /**
+     * Writes <code>{"columnHeaders": [...], "data": [{"row": [...]}, ...]}</code>, i.e. a serialized
+     * {@link org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData}.
+     */
+    @RequiredArgsConstructor
+    private static final class GenericResultsetJsonHandler implements JsonStreamHandler {
+
+        private final JsonWriter writer;
+
+        @Override
+        public void columnHeaders(final List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+            writer.beginObject();
+            writer.name("columnHeaders");
+            GSON.toJson(columnHeaders, COLUMN_HEADERS_TYPE, writer);
+            writer.name("data");
+            writer.beginArray();
+        }
+
+        @Override
+        public void row(final List<Object> row) {
+            GSON.toJson(ResultsetRowData.create(row), ResultsetRowData.class, writer);
+        }
+
+        @Override
+        public void complete() throws IOException {
+            writer.endArray();
+            writer.endObject();
+            writer.flush();
+        }
+    }
+
+    /**
+     * Writes the plain array of row objects rendered by
+     * {@link GenericDataService#generateJsonFromGenericResultsetRow(List, List)}.
+     */
+    @RequiredArgsConstructor
+    private static final class PlainJsonHandler implements JsonStreamHandler {
+
+        private final Writer writer;
+        private final GenericDataService genericDataService;
+        private List<ResultsetColumnHeaderData> columnHeaders;
+        private boolean first = true;
+
+        @Override
+        public void columnHeaders(final List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+            this.columnHeaders = columnHeaders;
+            writer.write("[");
+        }
+
+        @Override
+        public void row(final List<Object> row) throws IOException {
+            if (!first) {
+                writer.write(",");
+            }
+            first = false;
+            writer.write("\n");
+            writer.write(genericDataService.generateJsonFromGenericResultsetRow(columnHeaders, row));
+        }
+
+        @Override
+        public void complete() throws IOException {
+            writer.write("\n]");
+        }
+    }
 }
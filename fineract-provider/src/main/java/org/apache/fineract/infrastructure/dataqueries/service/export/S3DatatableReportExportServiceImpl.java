@@ -21,10 +21,13 @@ package org.apache.fineract.infrastructure.dataqueries.service.export;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.StreamingOutput;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.dataqueries.service.DatatableExportTargetParameter;
@@ -32,6 +35,7 @@ import org.apache.fineract.infrastructure.dataqueries.service.ReadReportingServi
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 
+@Slf4j
 @RequiredArgsConstructor
 public class S3DatatableReportExportServiceImpl implements DatatableReportExportService {
 
@@ -46,21 +50,35 @@ public class S3DatatableReportExportServiceImpl implements DatatableReportExport
     @Override
     public ResponseHolder export(String reportName, MultivaluedMap<String, String> queryParams, Map<String, String> reportParams,
             boolean isSelfServiceUserReport, String parameterTypeValue) {
+        Path exportFile = null;
         try {
             StreamingOutput output = this.readExtraDataAndReportingService.retrieveReportCSV(reportName, parameterTypeValue, reportParams,
                     isSelfServiceUserReport);
-            try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream()) {
-                output.write(byteArrayOutputStream);
-                String folder = configurationDomainService.retrieveReportExportS3FolderName();
-                String filePath = DatatableExportUtil.generateS3DatatableExportFileName(AWS_S3_MAXIMUM_KEY_LENGTH, folder, "csv",
-                        reportName, reportParams);
-                s3Client.putObject(
-                        builder -> builder.bucket(properties.getReport().getExport().getS3().getBucketName()).key(filePath).build(),
-                        RequestBody.fromBytes(byteArrayOutputStream.toByteArray()));
-                return new ResponseHolder(Response.Status.NO_CONTENT);
+            // spooled to disk rather than memory, the report may be far larger than the heap
+            exportFile = Files.createTempFile("report-export-", ".csv");
+            try (OutputStream outputStream = Files.newOutputStream(exportFile)) {
+                output.write(outputStream);
             }
+            String folder = configurationDomainService.retrieveReportExportS3FolderName();
+            String filePath = DatatableExportUtil.generateS3DatatableExportFileName(AWS_S3_MAXIMUM_KEY_LENGTH, folder, "csv", reportName,
+                    reportParams);
+            s3Client.putObject(builder -> builder.bucket(properties.getReport().getExport().getS3().getBucketName()).key(filePath).build(),
+                    RequestBody.fromFile(exportFile));
+            return new ResponseHolder(Response.Status.NO_CONTENT);
         } catch (IOException e) {
             throw new IllegalStateException("Error while exporting to S3", e);
+        } finally {
+            deleteQuietly(exportFile);
+        }
+    }
+
+    private static void deleteQuietly(Path exportFile) {
+        if (exportFile != null) {
+            try {
+                Files.deleteIfExists(exportFile);
+            } catch (IOException e) {
+                log.warn("Unable to delete temporary report export {}", exportFile, e);
+            }
         }
     }
 
@@ -26,6 +26,7 @@ import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecific
 import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
 import org.apache.fineract.infrastructure.dataqueries.data.DataTableValidator;
 import org.apache.fineract.infrastructure.dataqueries.service.DatatableKeywordGenerator;
+import org.apache.fineract.infrastructure.dataqueries.service.DatatableMetadataCache;
 import org.apache.fineract.infrastructure.dataqueries.service.DatatableReadService;
 import org.apache.fineract.infrastructure.dataqueries.service.DatatableReadServiceImpl;
 import org.apache.fineract.infrastructure.dataqueries.service.DatatableUtil;
@@ -63,11 +64,11 @@ public class DataQueriesAutoConfiguration {
             final DataTableValidator dataTableValidator, final NamedParameterJdbcTemplate namedParameterJdbcTemplate,
             final DatatableKeywordGenerator datatableKeywordGenerator, final SearchUtil searchUtil,
             final BusinessEventNotifierService businessEventNotifierService, final DatatableReadService datatableReadService,
-            final DatatableUtil datatableUtil) {
+            final DatatableUtil datatableUtil, final DatatableMetadataCache datatableMetadataCache) {
         return new DatatableWriteServiceImpl(jdbcTemplate, databaseTypeResolver, sqlGenerator, context, fromJsonHelper, genericDataService,
                 fromApiJsonDeserializer, configurationDomainService, codeReadPlatformService, dataTableValidator,
                 namedParameterJdbcTemplate, datatableKeywordGenerator, searchUtil, businessEventNotifierService, datatableReadService,
-                datatableUtil);
+                datatableUtil, datatableMetadataCache);
     }
 
 }
@@ -61,6 +61,8 @@ public class ImageWritePlatformServiceJpaRepositoryImpl implements ImageWritePla
 
         final ContentRepository contentRepository = this.contentRepositoryFactory.getRepository();
         final String imageLocation = contentRepository.saveImage(inputStream, clientId, imageName, fileSize);
+        // a reader may have rendered the old image under the same location in the meantime
+        contentRepository.deleteImageRenditions(imageLocation);
         return updateImage(owner, imageLocation, contentRepository.getStorageType());
     }
 
@@ -71,6 +73,7 @@ public class ImageWritePlatformServiceJpaRepositoryImpl implements ImageWritePla
 
         final ContentRepository contenRepository = this.contentRepositoryFactory.getRepository();
         final String imageLocation = contenRepository.saveImage(encodedImage, clientId, "image");
+        contenRepository.deleteImageRenditions(imageLocation);
 
         return updateImage(owner, imageLocation, contenRepository.getStorageType());
     }
@@ -99,6 +102,7 @@ public class ImageWritePlatformServiceJpaRepositoryImpl implements ImageWritePla
         if (image != null) {
             final ContentRepository contentRepository = this.contentRepositoryFactory
                     .getRepository(StorageType.fromInt(image.getStorageType()));
+            contentRepository.deleteImageRenditions(image.getLocation());
             contentRepository.deleteImage(image.getLocation());
             this.imageRepository.delete(image);
         }
@@ -126,24 +130,30 @@ public class ImageWritePlatformServiceJpaRepositoryImpl implements ImageWritePla
         if (image != null) {
             final ContentRepository contentRepository = this.contentRepositoryFactory
                     .getRepository(StorageType.fromInt(image.getStorageType()));
+            contentRepository.deleteImageRenditions(image.getLocation());
             contentRepository.deleteImage(image.getLocation());
         }
         return owner;
     }
 
+    /**
+     * A replaced image always gets a new row, so its id tells it apart from the previous image even if both are stored
+     * under the same location (the ETag of the images API relies on this).
+     */
     private CommandProcessingResult updateImage(final Object owner, final String imageLocation, final StorageType storageType) {
         Image image = null;
+        Image previousImage = null;
         Long clientId = null;
         if (owner instanceof Client client) {
-            image = client.getImage();
+            previousImage = client.getImage();
             clientId = client.getId();
-            image = createImage(image, imageLocation, storageType);
+            image = new Image(imageLocation, storageType);
             client.setImage(image);
             this.clientRepositoryWrapper.save(client);
         } else if (owner instanceof Staff staff) {
-            image = staff.getImage();
+            previousImage = staff.getImage();
             clientId = staff.getId();
-            image = createImage(image, imageLocation, storageType);
+            image = new Image(imageLocation, storageType);
             staff.setImage(image);
             this.staffRepositoryWrapper.save(staff);
         }
@@ -151,17 +161,10 @@ public class ImageWritePlatformServiceJpaRepositoryImpl implements ImageWritePla
         if (image != null) {
             this.imageRepository.save(image);
         }
-        return CommandProcessingResult.resourceResult(clientId);
-    }
-
-    private Image createImage(Image image, final String imageLocation, final StorageType storageType) {
-        if (image == null) {
-            image = new Image(imageLocation, storageType);
-        } else {
-            image.setLocation(imageLocation);
-            image.setStorageType(storageType.getValue());
+        if (previousImage != null) {
+            this.imageRepository.delete(previousImage);
         }
-        return image;
+        return CommandProcessingResult.resourceResult(clientId);
     }
 
 }
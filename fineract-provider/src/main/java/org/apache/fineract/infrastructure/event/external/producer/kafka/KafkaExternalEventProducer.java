@@ -22,11 +22,15 @@ import static org.apache.fineract.infrastructure.core.diagnostics.performance.Me
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
@@ -38,6 +42,14 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+/**
+ * Sends the external events to a Kafka topic keyed by the id of their aggregated root.
+ *
+ * With pipelined batching enabled {@link #sendEventsWithAcknowledgements(Map)} splits the events into chunks bounded by
+ * their size in bytes and keeps a limited number of chunks in flight, so a slow partition only holds back the chunks
+ * behind it. Every event is reported individually and the call does not fail when some of them were not acknowledged in
+ * time.
+ */
 @Component
 @Slf4j
 @ConditionalOnProperty(value = "fineract.events.external.producer.kafka.enabled", havingValue = "true")
@@ -78,4 +90,105 @@ public class KafkaExternalEventProducer implements ExternalEventProducer {
             }
         });
     }
+
+    @Override
+    public Map<Long, Integer> sendEventsWithAcknowledgements(Map<Long, List<byte[]>> partitions) throws AcknowledgementTimeoutException {
+        FineractProperties.FineractExternalEventsProducerKafkaProperties kafkaProperties = fineractProperties.getEvents().getExternal()
+                .getProducer().getKafka();
+        FineractProperties.KafkaPipelinedBatchingProperties pipelinedBatching = kafkaProperties.getPipelinedBatching();
+        if (pipelinedBatching == null || !pipelinedBatching.isEnabled()) {
+            return ExternalEventProducer.super.sendEventsWithAcknowledgements(partitions);
+        }
+        return measure(() -> sendPipelined(partitions, kafkaProperties, pipelinedBatching), (acknowledged, timeTaken) -> {
+            if (log.isDebugEnabled()) {
+                int eventCount = acknowledged.values().stream().reduce(0, Integer::sum);
+                log.debug("Sent {} acknowledged messages in {}ms", eventCount, timeTaken.toMillis());
+            }
+        });
+    }
+
+    private Map<Long, Integer> sendPipelined(Map<Long, List<byte[]>> partitions,
+            FineractProperties.FineractExternalEventsProducerKafkaProperties kafkaProperties,
+            FineractProperties.KafkaPipelinedBatchingProperties pipelinedBatching) {
+        String topicName = kafkaProperties.getTopic().getName();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(kafkaProperties.getTimeoutInSeconds());
+        Semaphore chunksInFlight = new Semaphore(Math.max(1, pipelinedBatching.getMaxChunksInFlight()));
+        Map<Long, List<CompletableFuture<SendResult<Long, byte[]>>>> sendResults = new LinkedHashMap<>();
+        List<CompletableFuture<SendResult<Long, byte[]>>> chunk = new ArrayList<>();
+        long chunkSizeInBytes = 0;
+        boolean timedOut = false;
+        for (Map.Entry<Long, List<byte[]>> entry : partitions.entrySet()) {
+            if (timedOut) {
+                // the remaining events are left for the next run
+                break;
+            }
+            List<CompletableFuture<SendResult<Long, byte[]>>> partitionResults = new ArrayList<>(entry.getValue().size());
+            sendResults.put(entry.getKey(), partitionResults);
+            for (byte[] message : entry.getValue()) {
+                if (!chunk.isEmpty() && chunkSizeInBytes + message.length > pipelinedBatching.getMaxChunkSizeInBytes()) {
+                    releaseWhenAcknowledged(chunk, chunksInFlight);
+                    chunk = new ArrayList<>();
+                    chunkSizeInBytes = 0;
+                }
+                if (chunk.isEmpty() && !acquire(chunksInFlight, deadline)) {
+                    timedOut = true;
+                    break;
+                }
+                CompletableFuture<SendResult<Long, byte[]>> sendResult = externalEventsKafkaTemplate.send(topicName, entry.getKey(),
+                        message);
+                chunk.add(sendResult);
+                partitionResults.add(sendResult);
+                chunkSizeInBytes += message.length;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            releaseWhenAcknowledged(chunk, chunksInFlight);
+        }
+
+        Map<Long, Integer> acknowledged = new LinkedHashMap<>();
+        int notAcknowledged = 0;
+        for (Map.Entry<Long, List<byte[]>> entry : partitions.entrySet()) {
+            int acknowledgedInPartition = 0;
+            for (CompletableFuture<SendResult<Long, byte[]>> sendResult : sendResults.getOrDefault(entry.getKey(), List.of())) {
+                if (!isAcknowledged(sendResult, deadline)) {
+                    break;
+                }
+                acknowledgedInPartition++;
+            }
+            acknowledged.put(entry.getKey(), acknowledgedInPartition);
+            notAcknowledged += entry.getValue().size() - acknowledgedInPartition;
+        }
+        if (notAcknowledged > 0) {
+            log.debug("{} messages were not acknowledged in time", notAcknowledged);
+        }
+        return acknowledged;
+    }
+
+    private static void releaseWhenAcknowledged(List<CompletableFuture<SendResult<Long, byte[]>>> chunk, Semaphore chunksInFlight) {
+        CompletableFuture.allOf(chunk.toArray(new CompletableFuture[0])).whenComplete((result, exception) -> chunksInFlight.release());
+    }
+
+    private static boolean acquire(Semaphore chunksInFlight, long deadline) {
+        try {
+            return chunksInFlight.tryAcquire(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean isAcknowledged(CompletableFuture<SendResult<Long, byte[]>> sendResult, long deadline) {
+        try {
+            sendResult.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            log.debug("Message was not acknowledged", e.getCause());
+            return false;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
 }
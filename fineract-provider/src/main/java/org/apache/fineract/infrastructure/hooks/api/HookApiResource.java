@@ -38,19 +38,25 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.UriInfo;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.commands.domain.CommandWrapper;
 import org.apache.fineract.commands.service.CommandWrapperBuilder;
 import org.apache.fineract.commands.service.PortfolioCommandSourceWritePlatformService;
 import org.apache.fineract.infrastructure.core.api.ApiRequestParameterHelper;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.exception.UnrecognizedQueryParamException;
 import org.apache.fineract.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
 import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
 import org.apache.fineract.infrastructure.hooks.data.HookData;
+import org.apache.fineract.infrastructure.hooks.data.HookDeliveryData;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryStatus;
 import org.apache.fineract.infrastructure.hooks.service.HookReadPlatformService;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.springframework.stereotype.Component;
@@ -66,6 +72,7 @@ public class HookApiResource {
     private final PlatformSecurityContext context;
     private final HookReadPlatformService readPlatformService;
     private final DefaultToApiJsonSerializer<HookData> toApiJsonSerializer;
+    private final DefaultToApiJsonSerializer<HookDeliveryData> deliveryToApiJsonSerializer;
     private final ApiRequestParameterHelper apiRequestParameterHelper;
     private final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService;
 
@@ -104,6 +111,41 @@ public class HookApiResource {
         return this.toApiJsonSerializer.serialize(settings, hook, RESPONSE_DATA_PARAMETERS);
     }
 
+    @GET
+    @Path("{hookId}/deliveries")
+    @Operation(summary = "Retrieve the deliveries of a Hook", description = "Returns the latest web deliveries of a hook, newest first, optionally filtered by status.\n"
+            + "\n" + "Example Requests:\n" + "\n" + "hooks/1/deliveries\n" + "\n" + "hooks/1/deliveries?status=DEAD_LETTER")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "OK", content = @Content(array = @ArraySchema(schema = @Schema(implementation = HookApiResourceSwagger.GetHookDeliveryResponse.class)))) })
+    public String retrieveDeliveries(@PathParam("hookId") @Parameter(description = "hookId") final Long hookId,
+            @QueryParam("status") @Parameter(description = "PENDING, DELIVERED or DEAD_LETTER") final String status,
+            @Context final UriInfo uriInfo) {
+
+        this.context.authenticatedUser().validateHasReadPermission(HOOK_RESOURCE_NAME);
+
+        final List<HookDeliveryData> deliveries = this.readPlatformService.retrieveDeliveries(hookId, toDeliveryStatus(status));
+
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.deliveryToApiJsonSerializer.serialize(settings, deliveries);
+    }
+
+    @GET
+    @Path("deliveries/{deliveryId}")
+    @Operation(summary = "Retrieve a Hook delivery", description = "Returns the state of a web delivery of a hook.\n" + "\n"
+            + "Example Requests:\n" + "\n" + "hooks/deliveries/1")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = HookApiResourceSwagger.GetHookDeliveryResponse.class))) })
+    public String retrieveDelivery(@PathParam("deliveryId") @Parameter(description = "deliveryId") final Long deliveryId,
+            @Context final UriInfo uriInfo) {
+
+        this.context.authenticatedUser().validateHasReadPermission(HOOK_RESOURCE_NAME);
+
+        final HookDeliveryData delivery = this.readPlatformService.retrieveDelivery(deliveryId);
+
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.deliveryToApiJsonSerializer.serialize(settings, delivery);
+    }
+
     @GET
     @Path("template")
     @Operation(summary = "Retrieve Hooks Template", description = "This is a convenience resource. It can be useful when building maintenance user interface screens for client applications. The template data returned consists of any or all of:\n"
@@ -169,4 +211,11 @@ public class HookApiResource {
         return this.toApiJsonSerializer.serialize(result);
     }
 
+    private static HookDeliveryStatus toDeliveryStatus(final String status) {
+        if (status == null) {
+            return null;
+        }
+        return Arrays.stream(HookDeliveryStatus.values()).filter(value -> value.name().equalsIgnoreCase(status)).findFirst()
+                .orElseThrow(() -> new UnrecognizedQueryParamException("status", status, (Object[]) HookDeliveryStatus.values()));
+    }
 }
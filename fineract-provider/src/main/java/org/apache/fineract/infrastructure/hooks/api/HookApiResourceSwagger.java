@@ -20,6 +20,7 @@ package org.apache.fineract.infrastructure.hooks.api;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.apache.fineract.infrastructure.hooks.data.Event;
 import org.apache.fineract.infrastructure.hooks.data.Field;
@@ -93,6 +94,42 @@ final class HookApiResourceSwagger {
         public List<Field> config;
     }
 
+    @Schema(description = "GetHookDeliveryResponse")
+    public static final class GetHookDeliveryResponse {
+
+        private GetHookDeliveryResponse() {
+
+        }
+
+        @Schema(example = "1")
+        public Long id;
+        @Schema(example = "1")
+        public Long hookId;
+        @Schema(example = "CLIENT")
+        public String entityName;
+        @Schema(example = "CREATE")
+        public String actionName;
+        @Schema(example = "https://example.com/hooks/")
+        public String payloadUrl;
+        @Schema(example = "json")
+        public String contentType;
+        @Schema(example = "{\"officeId\":1,\"clientId\":1,\"resourceId\":1}")
+        public String payload;
+        @Schema(example = "PENDING")
+        public String status;
+        @Schema(example = "2")
+        public Integer attempts;
+        @Schema(example = "[2014, 9, 16, 10, 30, 0]")
+        public LocalDateTime nextAttemptAt;
+        @Schema(example = "503")
+        public Integer lastResponseCode;
+        @Schema(example = "Service Unavailable")
+        public String lastError;
+        @Schema(example = "[2014, 9, 16, 10, 29, 0]")
+        public LocalDateTime createdAt;
+        public LocalDateTime deliveredAt;
+    }
+
     @Schema(description = "GetHookTemplateResponse")
     public static final class GetHookTemplateResponse {
 
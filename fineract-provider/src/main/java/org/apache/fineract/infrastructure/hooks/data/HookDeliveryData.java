@@ -0,0 +1,48 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryStatus;
+
+@Data
+@NoArgsConstructor
+@Accessors(chain = true)
+public final class HookDeliveryData implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private Long id;
+    private Long hookId;
+    private String entityName;
+    private String actionName;
+    private String payloadUrl;
+    private String contentType;
+    private String payload;
+    private HookDeliveryStatus status;
+    private Integer attempts;
+    private LocalDateTime nextAttemptAt;
+    private Integer lastResponseCode;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime deliveredAt;
+}
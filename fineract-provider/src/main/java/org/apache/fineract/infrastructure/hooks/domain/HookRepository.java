@@ -29,6 +29,9 @@ public interface HookRepository extends JpaRepository<Hook, Long>, JpaSpecificat
     @Query("select hook from Hook hook inner join hook.events event where event.entityName = :entityName and event.actionName = :actionName and hook.isActive = true")
     List<Hook> findAllHooksListeningToEvent(@Param("entityName") String entityName, @Param("actionName") String actionName);
 
+    @Query("select distinct event.entityName, event.actionName from Hook hook inner join hook.events event where hook.isActive = true")
+    List<Object[]> findAllEventsWithActiveHooks();
+
     @Query("select hook from Hook hook where hook.template.id = :templateId ")
     Hook findOneByTemplateId(@Param("templateId") Long templateId);
 
@@ -18,11 +18,16 @@
  */
 package org.apache.fineract.infrastructure.hooks.listener;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
 import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.exception.PlatformInternalServerException;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.TransactionBoundSynchronization;
 import org.apache.fineract.infrastructure.hooks.domain.Hook;
 import org.apache.fineract.infrastructure.hooks.event.HookEvent;
 import org.apache.fineract.infrastructure.hooks.event.HookEventSource;
@@ -30,8 +35,18 @@ import org.apache.fineract.infrastructure.hooks.processor.HookProcessor;
 import org.apache.fineract.infrastructure.hooks.processor.HookProcessorProvider;
 import org.apache.fineract.infrastructure.hooks.service.HookReadPlatformService;
 import org.apache.fineract.useradministration.domain.AppUser;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Calls the hooks of an event once the command which raised it is committed, so a failing hook never rolls back the command.
+ * Hooks which record their deliveries write them right after the commit in a transaction of their own; the other hooks are
+ * called on the hook delivery executor, or on the committing thread if the executor does not take them.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -39,36 +54,95 @@ public class FineractHookListener implements HookListener {
 
     private final HookProcessorProvider hookProcessorProvider;
     private final HookReadPlatformService hookReadPlatformService;
+    private final PlatformTransactionManager transactionManager;
+    @Qualifier(TaskExecutorConstant.HOOK_DELIVERY_TASK_EXECUTOR_BEAN_NAME)
+    private final ThreadPoolTaskExecutor hookDeliveryTaskExecutor;
 
     @Override
     public void onApplicationEvent(final HookEvent event) {
-        try {
-            ThreadLocalContextUtil.init(event.getContext());
-
-            final AppUser appUser = event.getAppUser();
+        TransactionBoundSynchronization.afterCommit(event, () -> dispatch(event));
+    }
 
-            final HookEventSource hookEventSource = (HookEventSource) event.getSource();
-            final FineractContext fineractContext = event.getContext();
-            final String entityName = hookEventSource.getEntityName();
-            final String actionName = hookEventSource.getActionName();
-            final String payload = event.getPayload();
+    private void dispatch(final HookEvent event) {
+        final HookEventSource hookEventSource = (HookEventSource) event.getSource();
+        final List<Hook> hooks;
+        try {
+            hooks = hookReadPlatformService.retrieveHooksByEvent(hookEventSource.getEntityName(), hookEventSource.getActionName());
+        } catch (RuntimeException e) {
+            log.error("Hooks could not be retrieved for entityName: {}, actionName: {}", hookEventSource.getEntityName(),
+                    hookEventSource.getActionName(), e);
+            return;
+        }
 
-            final List<Hook> hooks = hookReadPlatformService.retrieveHooksByEvent(hookEventSource.getEntityName(),
-                    hookEventSource.getActionName());
+        final List<Hook> hooksToCall = new ArrayList<>();
+        for (final Hook hook : hooks) {
+            final HookProcessor processor = hookProcessorProvider.getProcessor(hook);
+            if (processor.recordsDelivery()) {
+                record(processor, hook, event);
+            } else {
+                hooksToCall.add(hook);
+            }
+        }
+        if (hooksToCall.isEmpty()) {
+            return;
+        }
+        try {
+            // the event carries the context the hooks need off the command thread
+            hookDeliveryTaskExecutor.execute(() -> {
+                try {
+                    ThreadLocalContextUtil.init(event.getContext());
+                    deliver(event, hooksToCall);
+                } finally {
+                    ThreadLocalContextUtil.reset();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Hook delivery executor rejected {} hook(s) for entityName: {}, actionName: {}, calling them on this thread",
+                    hooksToCall.size(), hookEventSource.getEntityName(), hookEventSource.getActionName());
+            deliver(event, hooksToCall);
+        }
+    }
 
-            for (final Hook hook : hooks) {
-                final HookProcessor processor = hookProcessorProvider.getProcessor(hook);
+    private void record(final HookProcessor processor, final Hook hook, final HookEvent event) {
+        final HookEventSource hookEventSource = (HookEventSource) event.getSource();
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
                 try {
-                    processor.process(hook, payload, entityName, actionName, fineractContext);
-                } catch (Throwable e) {
-                    log.error(
-                            "Hook {} failed in HookProcessor {} for tenantIdentifier/user {}/{}, entityName: {}, actionName: {}, payload {} ",
-                            hook.getId(), processor.getClass().getSimpleName(), fineractContext.getTenantContext().getTenantIdentifier(),
-                            appUser.getDisplayName(), entityName, actionName, payload, e);
+                    processor.process(hook, event.getPayload(), hookEventSource.getEntityName(), hookEventSource.getActionName(),
+                            event.getContext());
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new PlatformInternalServerException("error.msg.hook.delivery.not.recorded",
+                            "The delivery of hook " + hook.getId() + " could not be recorded", hook.getId(), e);
                 }
+            });
+        } catch (RuntimeException e) {
+            log.error("The delivery of hook {} could not be recorded for entityName: {}, actionName: {}, payload {}", hook.getId(),
+                    hookEventSource.getEntityName(), hookEventSource.getActionName(), event.getPayload(), e);
+        }
+    }
+
+    private void deliver(final HookEvent event, final List<Hook> hooks) {
+        final AppUser appUser = event.getAppUser();
+
+        final HookEventSource hookEventSource = (HookEventSource) event.getSource();
+        final FineractContext fineractContext = event.getContext();
+        final String entityName = hookEventSource.getEntityName();
+        final String actionName = hookEventSource.getActionName();
+        final String payload = event.getPayload();
+
+        for (final Hook hook : hooks) {
+            final HookProcessor processor = hookProcessorProvider.getProcessor(hook);
+            try {
+                processor.process(hook, payload, entityName, actionName, fineractContext);
+            } catch (Throwable e) {
+                log.error("Hook {} failed in HookProcessor {} for tenantIdentifier/user {}/{}, entityName: {}, actionName: {}, payload {} ",
+                        hook.getId(), processor.getClass().getSimpleName(), fineractContext.getTenantContext().getTenantIdentifier(),
+                        appUser.getDisplayName(), entityName, actionName, payload, e);
             }
-        } finally {
-            ThreadLocalContextUtil.reset();
         }
     }
 }
@@ -25,4 +25,12 @@ public interface HookProcessor {
 
     void process(Hook hook, String payload, String entityName, String actionName, FineractContext context) throws Exception;
 
+    /**
+     * @return <code>true</code> if the processor only records the delivery, to be sent later, so it is called on the
+     *         committing thread in a transaction of its own; the other processors are called off the command thread
+     */
+    default boolean recordsDelivery() {
+        return false;
+    }
+
 }
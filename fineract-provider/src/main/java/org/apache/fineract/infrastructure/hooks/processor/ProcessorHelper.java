@@ -18,16 +18,27 @@
  */
 package org.apache.fineract.infrastructure.hooks.processor;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractHookHttpClientProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -67,16 +78,38 @@ public final class ProcessorHelper {
     private final boolean insecureHttpClient = Boolean.getBoolean("fineract.insecureHttpClient");
     private final SSLContext insecureSSLContext;
 
-    public ProcessorHelper() throws KeyManagementException, NoSuchAlgorithmException {
+    /**
+     * Every hook shares this client, so the connections to a host are pooled and kept alive between the deliveries, and
+     * the requests in flight are bounded per host by the dispatcher of the client.
+     */
+    private final OkHttpClient client;
+    private final int maxCachedServices;
+    private final ConcurrentMap<String, WebHookService> services = new ConcurrentHashMap<>();
+
+    public ProcessorHelper(final FineractProperties fineractProperties) throws KeyManagementException, NoSuchAlgorithmException {
         if (insecureHttpClient) {
             insecureSSLContext = createInsecureSSLContext();
         } else {
             insecureSSLContext = null;
         }
+        final FineractHookHttpClientProperties properties = fineractProperties.getHooks().getHttpClient();
+        this.client = createClient(properties);
+        this.maxCachedServices = properties.getMaxCachedServices();
     }
 
-    private OkHttpClient createClient() {
-        var okBuilder = new OkHttpClient.Builder();
+    private OkHttpClient createClient(final FineractHookHttpClientProperties properties) {
+        final Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(properties.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(properties.getMaxRequestsPerHost());
+        var okBuilder = new OkHttpClient.Builder()//
+                .dispatcher(dispatcher)//
+                .connectionPool(new ConnectionPool(properties.getMaxIdleConnections(), properties.getKeepAlive().toMillis(),
+                        TimeUnit.MILLISECONDS))//
+                .connectTimeout(properties.getConnectTimeout())//
+                .readTimeout(properties.getReadTimeout())//
+                .writeTimeout(properties.getWriteTimeout())//
+                // bounds a whole call, so a receiver which trickles its response can not hold a delivery forever
+                .callTimeout(properties.getCallTimeout());
         if (insecureHttpClient) {
             configureInsecureClient(okBuilder);
         }
@@ -112,8 +145,40 @@ public final class ProcessorHelper {
         };
     }
 
+    /**
+     * Returns the service of the given url, built on the shared client. The services are cached by url; the cache is
+     * dropped as a whole when it grows over the configured limit.
+     */
     public WebHookService createWebHookService(final String url) {
-        final OkHttpClient client = createClient();
+        final WebHookService service = services.get(url);
+        if (service != null) {
+            return service;
+        }
+        if (services.size() >= maxCachedServices) {
+            services.clear();
+        }
+        return services.computeIfAbsent(url, this::buildWebHookService);
+    }
+
+    /**
+     * Prepares the request delivering a hook payload to the given url, as JSON or as a form depending on the content type
+     * configured for the hook.
+     */
+    @SuppressWarnings("unchecked")
+    public Call<Void> createWebHookCall(final String url, final String contentType, final String payload, final String entityName,
+            final String actionName, final String tenantIdentifier) {
+        final String fineractEndpointUrl = System.getProperty("baseUrl");
+        final WebHookService service = createWebHookService(url);
+        if (contentType.equalsIgnoreCase("json") || contentType.contains("json")) {
+            return service.sendJsonRequest(entityName, actionName, tenantIdentifier, fineractEndpointUrl,
+                    JsonParser.parseString(payload).getAsJsonObject());
+        }
+        Map<String, String> map = new HashMap<>();
+        map = new Gson().fromJson(payload, map.getClass());
+        return service.sendFormRequest(entityName, actionName, tenantIdentifier, fineractEndpointUrl, map);
+    }
+
+    private WebHookService buildWebHookService(final String url) {
         final Retrofit.Builder retrofitBuilder = new Retrofit.Builder();
         retrofitBuilder.baseUrl(url);
         retrofitBuilder.client(client);
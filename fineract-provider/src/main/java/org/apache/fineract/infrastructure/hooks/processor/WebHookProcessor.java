@@ -21,16 +21,14 @@ package org.apache.fineract.infrastructure.hooks.processor;
 import static org.apache.fineract.infrastructure.hooks.api.HookApiConstants.contentTypeName;
 import static org.apache.fineract.infrastructure.hooks.api.HookApiConstants.payloadURLName;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.TransactionBoundSynchronization;
 import org.apache.fineract.infrastructure.hooks.domain.Hook;
 import org.apache.fineract.infrastructure.hooks.domain.HookConfiguration;
+import org.apache.fineract.infrastructure.hooks.service.HookDeliveryQueue;
+import org.apache.fineract.infrastructure.hooks.service.WebHookDeliveryDispatcher;
 import org.springframework.stereotype.Service;
 import retrofit2.Callback;
 
@@ -39,6 +37,8 @@ import retrofit2.Callback;
 public class WebHookProcessor implements HookProcessor {
 
     private final ProcessorHelper processorHelper;
+    private final HookDeliveryQueue deliveryQueue;
+    private final WebHookDeliveryDispatcher deliveryDispatcher;
 
     @Override
     public void process(final Hook hook, final String payload, final String entityName, final String actionName,
@@ -59,28 +59,29 @@ public class WebHookProcessor implements HookProcessor {
             }
         }
 
-        sendRequest(url, contentType, payload, entityName, actionName, context);
+        if (deliveryDispatcher.isEnabled()) {
+            // the delivery is queued once the command commits and retried until it is acknowledged or runs out of attempts
+            deliveryQueue.enqueue(hook.getId(), entityName, actionName, url, contentType, payload);
+            TransactionBoundSynchronization.afterCommit(deliveryDispatcher,
+                    () -> deliveryDispatcher.wakeUp(context.getTenantContext()));
+        } else {
+            sendRequest(url, contentType, payload, entityName, actionName, context);
+        }
+    }
+
+    @Override
+    public boolean recordsDelivery() {
+        return deliveryDispatcher.isEnabled();
     }
 
     @SuppressWarnings("unchecked")
     private void sendRequest(final String url, final String contentType, final String payload, final String entityName,
             final String actionName, final FineractContext context) {
 
-        final String fineractEndpointUrl = System.getProperty("baseUrl");
-        final WebHookService service = processorHelper.createWebHookService(url);
-
         @SuppressWarnings("rawtypes")
         final Callback callback = processorHelper.createCallback(url);
 
-        if (contentType.equalsIgnoreCase("json") || contentType.contains("json")) {
-            final JsonObject json = JsonParser.parseString(payload).getAsJsonObject();
-            service.sendJsonRequest(entityName, actionName, context.getTenantContext().getTenantIdentifier(), fineractEndpointUrl, json)
-                    .enqueue(callback);
-        } else {
-            Map<String, String> map = new HashMap<>();
-            map = new Gson().fromJson(payload, map.getClass());
-            service.sendFormRequest(entityName, actionName, context.getTenantContext().getTenantIdentifier(), fineractEndpointUrl, map)
-                    .enqueue(callback);
-        }
+        processorHelper.createWebHookCall(url, contentType, payload, entityName, actionName,
+                context.getTenantContext().getTenantIdentifier()).enqueue(callback);
     }
 }
@@ -0,0 +1,178 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.hooks.data.HookDeliveryData;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryStatus;
+import org.apache.fineract.infrastructure.hooks.exception.HookDeliveryNotFoundException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+/**
+ * Persistent queue of the web hook deliveries of the current tenant, kept in <code>m_hook_delivery</code>.
+ *
+ * A pending delivery is claimed by locking it for a limited time on behalf of an owner, so a node which dies while
+ * sending only delays the delivery until the lock expires, and the nodes polling the same tenant never send a delivery
+ * twice at the same time. The outcome of an attempt is only recorded by the owner of the lock; an owner whose lock
+ * expired and was taken over by another claim leaves the delivery to the new owner.
+ */
+@Service
+@RequiredArgsConstructor
+public class HookDeliveryQueue {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final String INSERT_SQL = "INSERT INTO m_hook_delivery (hook_id, entity_name, action_name, payload_url, content_type, "
+            + "payload, status, attempts, next_attempt_at, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+    private static final String CLAIM_SQL = "UPDATE m_hook_delivery SET locked_until = ?, locked_by = ? WHERE id = ? AND status = ? "
+            + "AND (locked_until IS NULL OR locked_until < ?)";
+    private static final String DELIVERED_SQL = "UPDATE m_hook_delivery SET status = ?, attempts = attempts + 1, last_response_code = ?, "
+            + "last_error = NULL, delivered_at = ?, locked_until = NULL, locked_by = NULL WHERE id = ? AND locked_by = ?";
+    private static final String RETRY_SQL = "UPDATE m_hook_delivery SET attempts = attempts + 1, last_response_code = ?, last_error = ?, "
+            + "next_attempt_at = ?, locked_until = NULL, locked_by = NULL WHERE id = ? AND locked_by = ?";
+    private static final String DEAD_LETTER_SQL = "UPDATE m_hook_delivery SET status = ?, attempts = attempts + 1, last_response_code = ?, "
+            + "last_error = ?, locked_until = NULL, locked_by = NULL WHERE id = ? AND locked_by = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+
+    public void enqueue(final Long hookId, final String entityName, final String actionName, final String payloadUrl,
+            final String contentType, final String payload) {
+        final LocalDateTime now = DateUtils.getAuditLocalDateTime();
+        jdbcTemplate.update(INSERT_SQL, hookId, entityName, actionName, payloadUrl, contentType, payload, HookDeliveryStatus.PENDING.name(),
+                now, now);
+    }
+
+    /**
+     * Finds the pending deliveries whose next attempt is due and which are not claimed by anyone, oldest first. At most
+     * <code>perHookLimit</code> deliveries are returned for a hook, so the backlog of one hook can not fill the batch and
+     * starve the other hooks.
+     *
+     * @param excludedHookIds
+     *            the hooks which can not take another delivery right now
+     */
+    public List<HookDeliveryData> findDue(final int limit, final int perHookLimit, final Collection<Long> excludedHookIds) {
+        final LocalDateTime now = DateUtils.getAuditLocalDateTime();
+        final List<Object> params = new ArrayList<>(List.of(HookDeliveryStatus.PENDING.name(), now, now));
+        String excluded = "";
+        if (!excludedHookIds.isEmpty()) {
+            excluded = " and hook_id not in (" + String.join(",", Collections.nCopies(excludedHookIds.size(), "?")) + ")";
+            params.addAll(excludedHookIds);
+        }
+        params.add(perHookLimit);
+        final String sql = "select " + HookDeliveryMapper.SCHEMA + " join (select id, row_number() over (partition by hook_id "
+                + "order by next_attempt_at, id) as hook_rank from m_hook_delivery where status = ? and next_attempt_at <= ? "
+                + "and (locked_until is null or locked_until < ?)" + excluded + ") due on due.id = d.id where due.hook_rank <= ? "
+                + "order by d.next_attempt_at, d.id " + sqlGenerator.limit(limit);
+        return jdbcTemplate.query(sql, HookDeliveryMapper.INSTANCE, params.toArray()); // NOSONAR
+    }
+
+    /**
+     * Locks the pending delivery for the given duration on behalf of the given owner.
+     *
+     * @return <code>true</code> if the owner holds the delivery and may send it
+     */
+    public boolean claim(final Long deliveryId, final String owner, final Duration lockDuration) {
+        final LocalDateTime now = DateUtils.getAuditLocalDateTime();
+        return jdbcTemplate.update(CLAIM_SQL, now.plus(lockDuration), owner, deliveryId, HookDeliveryStatus.PENDING.name(), now) == 1;
+    }
+
+    /**
+     * @return <code>false</code> if the owner lost its claim on the delivery, so nothing was recorded
+     */
+    public boolean markDelivered(final Long deliveryId, final String owner, final int responseCode) {
+        return jdbcTemplate.update(DELIVERED_SQL, HookDeliveryStatus.DELIVERED.name(), responseCode, DateUtils.getAuditLocalDateTime(),
+                deliveryId, owner) == 1;
+    }
+
+    /**
+     * @return <code>false</code> if the owner lost its claim on the delivery, so nothing was recorded
+     */
+    public boolean scheduleRetry(final Long deliveryId, final String owner, final Integer responseCode, final String error,
+            final LocalDateTime nextAttemptAt) {
+        return jdbcTemplate.update(RETRY_SQL, responseCode, StringUtils.truncate(error, MAX_ERROR_LENGTH), nextAttemptAt, deliveryId,
+                owner) == 1;
+    }
+
+    /**
+     * @return <code>false</code> if the owner lost its claim on the delivery, so nothing was recorded
+     */
+    public boolean markDeadLetter(final Long deliveryId, final String owner, final Integer responseCode, final String error) {
+        return jdbcTemplate.update(DEAD_LETTER_SQL, HookDeliveryStatus.DEAD_LETTER.name(), responseCode,
+                StringUtils.truncate(error, MAX_ERROR_LENGTH), deliveryId, owner) == 1;
+    }
+
+    /**
+     * @return the latest deliveries of the hook, optionally only the ones in the given status
+     */
+    public List<HookDeliveryData> retrieveByHook(final Long hookId, final HookDeliveryStatus status, final int limit) {
+        if (status == null) {
+            final String sql = "select " + HookDeliveryMapper.SCHEMA + " where d.hook_id = ? order by d.id desc "
+                    + sqlGenerator.limit(limit);
+            return jdbcTemplate.query(sql, HookDeliveryMapper.INSTANCE, hookId); // NOSONAR
+        }
+        final String sql = "select " + HookDeliveryMapper.SCHEMA + " where d.hook_id = ? and d.status = ? order by d.id desc "
+                + sqlGenerator.limit(limit);
+        return jdbcTemplate.query(sql, HookDeliveryMapper.INSTANCE, hookId, status.name()); // NOSONAR
+    }
+
+    public HookDeliveryData retrieveById(final Long deliveryId) {
+        try {
+            final String sql = "select " + HookDeliveryMapper.SCHEMA + " where d.id = ?";
+            return jdbcTemplate.queryForObject(sql, HookDeliveryMapper.INSTANCE, deliveryId); // NOSONAR
+        } catch (final EmptyResultDataAccessException e) {
+            throw new HookDeliveryNotFoundException(deliveryId, e);
+        }
+    }
+
+    private static final class HookDeliveryMapper implements RowMapper<HookDeliveryData> {
+
+        private static final HookDeliveryMapper INSTANCE = new HookDeliveryMapper();
+        private static final String SCHEMA = "d.id as id, d.hook_id as hookId, d.entity_name as entityName, d.action_name as actionName, "
+                + "d.payload_url as payloadUrl, d.content_type as contentType, d.payload as payload, d.status as status, "
+                + "d.attempts as attempts, d.next_attempt_at as nextAttemptAt, d.last_response_code as lastResponseCode, "
+                + "d.last_error as lastError, d.created_at as createdAt, d.delivered_at as deliveredAt from m_hook_delivery d";
+
+        @Override
+        public HookDeliveryData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            return new HookDeliveryData().setId(rs.getLong("id")).setHookId(rs.getLong("hookId")).setEntityName(rs.getString("entityName"))
+                    .setActionName(rs.getString("actionName")).setPayloadUrl(rs.getString("payloadUrl"))
+                    .setContentType(rs.getString("contentType")).setPayload(rs.getString("payload"))
+                    .setStatus(HookDeliveryStatus.valueOf(rs.getString("status"))).setAttempts(rs.getInt("attempts"))
+                    .setNextAttemptAt(rs.getObject("nextAttemptAt", LocalDateTime.class))
+                    .setLastResponseCode(JdbcSupport.getInteger(rs, "lastResponseCode")).setLastError(rs.getString("lastError"))
+                    .setCreatedAt(rs.getObject("createdAt", LocalDateTime.class))
+                    .setDeliveredAt(rs.getObject("deliveredAt", LocalDateTime.class));
+        }
+    }
+}
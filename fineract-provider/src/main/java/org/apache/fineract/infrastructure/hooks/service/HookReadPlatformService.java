@@ -21,7 +21,9 @@ package org.apache.fineract.infrastructure.hooks.service;
 import java.util.Collection;
 import java.util.List;
 import org.apache.fineract.infrastructure.hooks.data.HookData;
+import org.apache.fineract.infrastructure.hooks.data.HookDeliveryData;
 import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryStatus;
 
 public interface HookReadPlatformService {
 
@@ -32,4 +34,11 @@ public interface HookReadPlatformService {
     List<Hook> retrieveHooksByEvent(String entityName, String actionName);
 
     HookData retrieveNewHookDetails(String templateName);
+
+    /**
+     * @return the latest web deliveries of the hook, optionally only the ones in the given status
+     */
+    List<HookDeliveryData> retrieveDeliveries(Long hookId, HookDeliveryStatus status);
+
+    HookDeliveryData retrieveDelivery(Long deliveryId);
 }
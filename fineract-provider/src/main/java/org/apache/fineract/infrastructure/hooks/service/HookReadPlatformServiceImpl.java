@@ -30,8 +30,10 @@ import org.apache.fineract.infrastructure.hooks.data.EventResultSetExtractor;
 import org.apache.fineract.infrastructure.hooks.data.Field;
 import org.apache.fineract.infrastructure.hooks.data.Grouping;
 import org.apache.fineract.infrastructure.hooks.data.HookData;
+import org.apache.fineract.infrastructure.hooks.data.HookDeliveryData;
 import org.apache.fineract.infrastructure.hooks.data.HookTemplateData;
 import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryStatus;
 import org.apache.fineract.infrastructure.hooks.domain.HookRepository;
 import org.apache.fineract.infrastructure.hooks.exception.HookNotFoundException;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
@@ -45,9 +47,12 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class HookReadPlatformServiceImpl implements HookReadPlatformService {
 
+    private static final int MAX_DELIVERIES = 200;
+
     private final JdbcTemplate jdbcTemplate;
     private final HookRepository hookRepository;
     private final PlatformSecurityContext context;
+    private final HookDeliveryQueue deliveryQueue;
 
     @Override
     public Collection<HookData> retrieveAllHooks() {
@@ -73,7 +78,7 @@ public class HookReadPlatformServiceImpl implements HookReadPlatformService {
     }
 
     @Override
-    @Cacheable(value = "hooks", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat('HK')")
+    @Cacheable(value = "hooks", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#entityName + '|' + #actionName + 'HK')")
     public List<Hook> retrieveHooksByEvent(final String entityName, final String actionName) {
         return hookRepository.findAllHooksListeningToEvent(entityName, actionName);
     }
@@ -99,6 +104,21 @@ public class HookReadPlatformServiceImpl implements HookReadPlatformService {
         return HookData.template(templateData, events);
     }
 
+    @Override
+    public List<HookDeliveryData> retrieveDeliveries(final Long hookId, final HookDeliveryStatus status) {
+        context.authenticatedUser();
+        if (!hookRepository.existsById(hookId)) {
+            throw new HookNotFoundException(hookId);
+        }
+        return deliveryQueue.retrieveByHook(hookId, status, MAX_DELIVERIES);
+    }
+
+    @Override
+    public HookDeliveryData retrieveDelivery(final Long deliveryId) {
+        context.authenticatedUser();
+        return deliveryQueue.retrieveById(deliveryId);
+    }
+
     private List<Grouping> getTemplateForEvents() {
         final String sql = "select p.grouping, p.entity_name, p.action_name from m_permission p "
                 + " where p.action_name NOT LIKE '%CHECKER%' AND p.action_name NOT LIKE '%READ%' " + " order by p.grouping, p.entity_name ";
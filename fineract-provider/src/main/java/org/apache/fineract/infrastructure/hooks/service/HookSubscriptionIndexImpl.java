@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.TransactionBoundSynchronization;
+import org.apache.fineract.infrastructure.hooks.domain.HookRepository;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the events with an active hook in memory per tenant, independent of the configured cache type. The index of a tenant
+ * is loaded with one query on first use and dropped by every write of {@link HookWritePlatformService}; the invalidation is
+ * broadcast in every cache mode, so the other nodes drop it as well.
+ */
+@Service
+public class HookSubscriptionIndexImpl implements HookSubscriptionIndex {
+
+    private static final String CACHE_NAME = "hookSubscriptions";
+
+    private final HookRepository hookRepository;
+    private final RuntimeDelegatingCacheManager cacheManager;
+    private final ConcurrentMap<String, Map<String, Set<String>>> subscribedEvents = new ConcurrentHashMap<>();
+
+    public HookSubscriptionIndexImpl(final HookRepository hookRepository, final RuntimeDelegatingCacheManager cacheManager) {
+        this.hookRepository = hookRepository;
+        this.cacheManager = cacheManager;
+        cacheManager.registerNodeLocalCache(CACHE_NAME, this::applyInvalidation);
+    }
+
+    @Override
+    public boolean hasSubscribers(final String entityName, final String actionName) {
+        return subscribedEvents.computeIfAbsent(tenantIdentifier(), key -> load()).getOrDefault(entityName, Set.of())
+                .contains(actionName);
+    }
+
+    @Override
+    public void refresh() {
+        final String tenantIdentifier = tenantIdentifier();
+        subscribedEvents.remove(tenantIdentifier);
+        if (TransactionBoundSynchronization.isTransactionActive()) {
+            // an index loaded from the uncommitted or rolled back state must not survive the transaction
+            TransactionBoundSynchronization.afterCompletion(this, () -> subscribedEvents.remove(tenantIdentifier));
+        }
+        cacheManager.broadcastInvalidation(CACHE_NAME, tenantIdentifier);
+    }
+
+    private void applyInvalidation(final String tenantIdentifier) {
+        if (tenantIdentifier == null) {
+            subscribedEvents.clear();
+        } else {
+            subscribedEvents.remove(tenantIdentifier);
+        }
+    }
+
+    private Map<String, Set<String>> load() {
+        final Map<String, Set<String>> events = new HashMap<>();
+        for (final Object[] event : hookRepository.findAllEventsWithActiveHooks()) {
+            events.computeIfAbsent((String) event[0], entityName -> new HashSet<>()).add((String) event[1]);
+        }
+        final Map<String, Set<String>> index = new HashMap<>();
+        events.forEach((entityName, actionNames) -> index.put(entityName, Set.copyOf(actionNames)));
+        return Map.copyOf(index);
+    }
+
+    private static String tenantIdentifier() {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+    }
+}
@@ -0,0 +1,344 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractHookHttpClientProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractWebHookDeliveryProperties;
+import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
+import org.apache.fineract.infrastructure.hooks.data.HookDeliveryData;
+import org.apache.fineract.infrastructure.hooks.processor.ProcessorHelper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Sends the deliveries queued in the {@link HookDeliveryQueue}.
+ *
+ * Every tenant gets a task on the hook delivery scheduler which claims the due deliveries as soon as they are queued,
+ * and polls at the configured interval for the retries and for the deliveries queued by the other nodes. A delivery
+ * which is not acknowledged with a successful response is retried with an exponential backoff until it runs out of
+ * attempts, and is then parked as a dead letter. The number of deliveries in flight is limited per hook, so a slow
+ * receiver can not take all the connections of the shared client, and per node to one batch, so a claimed delivery
+ * never waits in the client for longer than its lock.
+ */
+@Slf4j
+@Component
+public class WebHookDeliveryDispatcher implements ApplicationListener<ContextRefreshedEvent>, DisposableBean {
+
+    private final FineractWebHookDeliveryProperties properties;
+    private final TenantDetailsService tenantDetailsService;
+    private final HookDeliveryQueue deliveryQueue;
+    private final ProcessorHelper processorHelper;
+    private final TaskScheduler taskScheduler;
+    private final Duration lockDuration;
+    private final Semaphore inFlight;
+    private final ConcurrentMap<String, TenantDispatcher> dispatchers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<Long, Semaphore>> hookPermits = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    public WebHookDeliveryDispatcher(final FineractProperties fineractProperties, final TenantDetailsService tenantDetailsService,
+            final HookDeliveryQueue deliveryQueue, final ProcessorHelper processorHelper,
+            @Qualifier(TaskExecutorConstant.HOOK_DELIVERY_TASK_SCHEDULER_BEAN_NAME) final TaskScheduler taskScheduler) {
+        this.properties = fineractProperties.getHooks().getWebDelivery();
+        this.tenantDetailsService = tenantDetailsService;
+        this.deliveryQueue = deliveryQueue;
+        this.processorHelper = processorHelper;
+        this.taskScheduler = taskScheduler;
+        if (isEnabled()) {
+            this.lockDuration = lockDurationOf(fineractProperties.getHooks().getHttpClient(), properties.getBatchSize());
+            this.inFlight = new Semaphore(properties.getBatchSize());
+        } else {
+            this.lockDuration = null;
+            this.inFlight = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties != null && properties.isEnabled();
+    }
+
+    @Override
+    public void onApplicationEvent(final ContextRefreshedEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        running = true;
+        tenantDetailsService.findAllTenants().forEach(this::dispatcherOf);
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        dispatchers.values().forEach(TenantDispatcher::stop);
+    }
+
+    /**
+     * Wakes the dispatcher of the given tenant, so a freshly queued delivery is sent without waiting for the next poll.
+     */
+    public void wakeUp(final FineractPlatformTenant tenant) {
+        if (running) {
+            dispatcherOf(tenant).wakeUp();
+        }
+    }
+
+    /**
+     * Claims and sends the due deliveries of the current tenant, skipping the hooks which have no free permit.
+     *
+     * @return <code>true</code> if a full batch was claimed, so there may be more due deliveries
+     */
+    boolean dispatchDue(final FineractPlatformTenant tenant) {
+        final int limit = Math.min(properties.getBatchSize(), inFlight.availablePermits());
+        if (limit == 0) {
+            return false;
+        }
+        final ConcurrentMap<Long, Semaphore> permitsByHook = permitsOf(tenant);
+        final List<Long> saturatedHookIds = permitsByHook.entrySet().stream().filter(entry -> entry.getValue().availablePermits() == 0)
+                .map(Map.Entry::getKey).toList();
+        final List<HookDeliveryData> deliveries = deliveryQueue.findDue(limit, properties.getMaxConcurrentDeliveriesPerHook(),
+                saturatedHookIds);
+        int claimed = 0;
+        for (final HookDeliveryData delivery : deliveries) {
+            final Semaphore permits = permitsByHook.computeIfAbsent(delivery.getHookId(),
+                    hookId -> new Semaphore(properties.getMaxConcurrentDeliveriesPerHook()));
+            if (!permits.tryAcquire()) {
+                continue;
+            }
+            if (!inFlight.tryAcquire()) {
+                permits.release();
+                break;
+            }
+            final String owner = UUID.randomUUID().toString();
+            if (!deliveryQueue.claim(delivery.getId(), owner, lockDuration)) {
+                release(permits);
+                continue;
+            }
+            claimed++;
+            send(tenant, delivery, owner, permits);
+        }
+        return claimed == limit;
+    }
+
+    /**
+     * @return how long to wait after the given failed attempt, doubling from the initial backoff up to the maximum
+     */
+    Duration backoffAfter(final int attempt) {
+        final Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempt - 1, 30));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+
+    /**
+     * A claimed delivery is handed to the client at once, but may be queued there behind the other deliveries in flight
+     * to the same host. A node has at most one batch in flight, so the delivery waits for at most that many calls, run
+     * as many at a time as the client allows per host and each bounded by the call timeout, and one more call timeout
+     * is left for recording the outcome.
+     */
+    static Duration lockDurationOf(final FineractHookHttpClientProperties httpClient, final int batchSize) {
+        final Duration callTimeout = httpClient.getCallTimeout();
+        if (callTimeout == null || callTimeout.isZero() || callTimeout.isNegative()) {
+            throw new IllegalStateException("fineract.hooks.http-client.call-timeout must be set when the web hook deliveries are queued");
+        }
+        final int parallelCalls = Math.max(1, Math.min(httpClient.getMaxRequests(), httpClient.getMaxRequestsPerHost()));
+        final long rounds = (batchSize + parallelCalls - 1) / parallelCalls;
+        return callTimeout.multipliedBy(rounds + 1);
+    }
+
+    private void send(final FineractPlatformTenant tenant, final HookDeliveryData delivery, final String owner, final Semaphore permits) {
+        final Call<Void> webHookCall;
+        try {
+            webHookCall = processorHelper.createWebHookCall(delivery.getPayloadUrl(), delivery.getContentType(), delivery.getPayload(),
+                    delivery.getEntityName(), delivery.getActionName(), tenant.getTenantIdentifier());
+        } catch (RuntimeException e) {
+            release(permits);
+            recordFailure(delivery, owner, null, e.toString());
+            return;
+        }
+        webHookCall.enqueue(new Callback<>() {
+
+            @Override
+            public void onResponse(@SuppressWarnings("unused") final Call<Void> call, final Response<Void> response) {
+                complete(tenant, delivery, owner, permits, response.isSuccessful(), response.code(), response.message());
+            }
+
+            @Override
+            public void onFailure(@SuppressWarnings("unused") final Call<Void> call, final Throwable t) {
+                complete(tenant, delivery, owner, permits, false, null, t.toString());
+            }
+        });
+    }
+
+    private void complete(final FineractPlatformTenant tenant, final HookDeliveryData delivery, final String owner,
+            final Semaphore permits, final boolean delivered, final Integer responseCode, final String error) {
+        release(permits);
+        try {
+            initContext(tenant);
+            if (delivered) {
+                if (!deliveryQueue.markDelivered(delivery.getId(), owner, responseCode)) {
+                    logLostClaim(delivery);
+                }
+            } else {
+                recordFailure(delivery, owner, responseCode, error);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Recording the outcome of hook delivery {} of tenant {} failed", delivery.getId(), tenant.getTenantIdentifier(), e);
+        } finally {
+            ThreadLocalContextUtil.reset();
+        }
+        wakeUp(tenant);
+    }
+
+    private void recordFailure(final HookDeliveryData delivery, final String owner, final Integer responseCode, final String error) {
+        final int attempt = delivery.getAttempts() + 1;
+        final boolean recorded;
+        if (attempt >= properties.getMaxAttempts()) {
+            log.warn("Hook delivery {} to {} failed {} times and is moved to the dead letters: {} {}", delivery.getId(),
+                    delivery.getPayloadUrl(), attempt, responseCode, error);
+            recorded = deliveryQueue.markDeadLetter(delivery.getId(), owner, responseCode, error);
+        } else {
+            log.debug("Hook delivery {} to {} failed, attempt {}: {} {}", delivery.getId(), delivery.getPayloadUrl(), attempt, responseCode,
+                    error);
+            final LocalDateTime nextAttemptAt = DateUtils.getAuditLocalDateTime().plus(backoffAfter(attempt));
+            recorded = deliveryQueue.scheduleRetry(delivery.getId(), owner, responseCode, error, nextAttemptAt);
+        }
+        if (!recorded) {
+            logLostClaim(delivery);
+        }
+    }
+
+    private void release(final Semaphore permits) {
+        permits.release();
+        inFlight.release();
+    }
+
+    private void logLostClaim(final HookDeliveryData delivery) {
+        log.warn("The claim on hook delivery {} to {} expired before its outcome was recorded, the delivery is left to its new owner",
+                delivery.getId(), delivery.getPayloadUrl());
+    }
+
+    private ConcurrentMap<Long, Semaphore> permitsOf(final FineractPlatformTenant tenant) {
+        return hookPermits.computeIfAbsent(tenant.getTenantIdentifier(), tenantIdentifier -> new ConcurrentHashMap<>());
+    }
+
+    private TenantDispatcher dispatcherOf(final FineractPlatformTenant tenant) {
+        return dispatchers.computeIfAbsent(tenant.getTenantIdentifier(), tenantIdentifier -> {
+            final TenantDispatcher dispatcher = new TenantDispatcher(tenant);
+            dispatcher.start();
+            return dispatcher;
+        });
+    }
+
+    private static void initContext(final FineractPlatformTenant tenant) {
+        ThreadLocalContextUtil.setTenant(tenant);
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+    }
+
+    private final class TenantDispatcher implements Runnable {
+
+        private final FineractPlatformTenant tenant;
+        // set by every request to dispatch, cleared by the run which serves it
+        private final AtomicBoolean pending = new AtomicBoolean();
+        // at most one run of a tenant dispatches at a time, a request made meanwhile is served by that run
+        private final AtomicBoolean busy = new AtomicBoolean();
+        private final AtomicBoolean wakeUpScheduled = new AtomicBoolean();
+        private volatile ScheduledFuture<?> poll;
+
+        private TenantDispatcher(final FineractPlatformTenant tenant) {
+            this.tenant = tenant;
+        }
+
+        private void start() {
+            poll = taskScheduler.scheduleWithFixedDelay(this, properties.getPollInterval());
+        }
+
+        private void stop() {
+            final ScheduledFuture<?> scheduledPoll = poll;
+            if (scheduledPoll != null) {
+                scheduledPoll.cancel(false);
+            }
+        }
+
+        private void wakeUp() {
+            if (!wakeUpScheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                taskScheduler.schedule(() -> {
+                    wakeUpScheduled.set(false);
+                    run();
+                }, Instant.now());
+            } catch (TaskRejectedException e) {
+                // the scheduler is shutting down, or the next poll picks the delivery up
+                wakeUpScheduled.set(false);
+                log.debug("Waking up the hook delivery dispatcher of tenant {} was rejected", tenant.getTenantIdentifier(), e);
+            }
+        }
+
+        @Override
+        public void run() {
+            pending.set(true);
+            while (running && pending.get() && busy.compareAndSet(false, true)) {
+                try {
+                    pending.set(false);
+                    while (running && dispatchNextBatch()) {
+                        // a full batch was claimed, so there may be more due deliveries
+                    }
+                } finally {
+                    busy.set(false);
+                }
+            }
+        }
+
+        private boolean dispatchNextBatch() {
+            try {
+                initContext(tenant);
+                return dispatchDue(tenant);
+            } catch (RuntimeException e) {
+                log.warn("Dispatching the hook deliveries of tenant {} failed", tenant.getTenantIdentifier(), e);
+                return false;
+            } finally {
+                ThreadLocalContextUtil.reset();
+            }
+        }
+    }
+}
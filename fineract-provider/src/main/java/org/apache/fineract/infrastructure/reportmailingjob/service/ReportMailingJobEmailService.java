@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.infrastructure.reportmailingjob.service;
 
+import java.util.List;
 import org.apache.fineract.infrastructure.reportmailingjob.data.ReportMailingJobEmailData;
 
 public interface ReportMailingJobEmailService {
@@ -29,4 +30,12 @@ public interface ReportMailingJobEmailService {
      *            {@link ReportMailingJobEmailData} object
      */
     void sendEmailWithAttachment(ReportMailingJobEmailData reportMailingJobEmailData);
+
+    /**
+     * Handles request to send emails with attachment as one batch over the pooled SMTP connections of the tenant
+     *
+     * @param reportMailingJobEmailData
+     *            {@link ReportMailingJobEmailData} objects
+     */
+    void sendEmailsWithAttachment(List<ReportMailingJobEmailData> reportMailingJobEmailData);
 }
@@ -20,16 +20,20 @@ package org.apache.fineract.infrastructure.reportmailingjob.service;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Properties;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.configuration.data.SMTPCredentialsData;
+import org.apache.fineract.infrastructure.core.service.SmtpTransportPool;
 import org.apache.fineract.infrastructure.reportmailingjob.ReportMailingJobConstants;
 import org.apache.fineract.infrastructure.reportmailingjob.data.ReportMailingJobConfigurationData;
 import org.apache.fineract.infrastructure.reportmailingjob.data.ReportMailingJobEmailData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
@@ -38,53 +42,69 @@ public class ReportMailingJobEmailServiceImpl implements ReportMailingJobEmailSe
 
     private static final Logger LOG = LoggerFactory.getLogger(ReportMailingJobEmailServiceImpl.class);
     private final ReportMailingJobConfigurationReadPlatformService reportMailingJobConfigurationReadPlatformService;
+    private final SmtpTransportPool smtpTransportPool;
 
     /**
      * ReportMailingJobEmailServiceImpl constructor
      **/
     @Autowired
     public ReportMailingJobEmailServiceImpl(
-            final ReportMailingJobConfigurationReadPlatformService reportMailingJobConfigurationReadPlatformService) {
+            final ReportMailingJobConfigurationReadPlatformService reportMailingJobConfigurationReadPlatformService,
+            final SmtpTransportPool smtpTransportPool) {
         this.reportMailingJobConfigurationReadPlatformService = reportMailingJobConfigurationReadPlatformService;
+        this.smtpTransportPool = smtpTransportPool;
 
     }
 
     @Override
     public void sendEmailWithAttachment(ReportMailingJobEmailData reportMailingJobEmailData) {
+        sendEmailsWithAttachment(List.of(reportMailingJobEmailData));
+    }
+
+    @Override
+    public void sendEmailsWithAttachment(List<ReportMailingJobEmailData> reportMailingJobEmailData) {
         Collection<ReportMailingJobConfigurationData> reportMailingJobConfigurationDataCollection;
         try {
             // get all ReportMailingJobConfiguration objects from the database
             reportMailingJobConfigurationDataCollection = this.reportMailingJobConfigurationReadPlatformService
                     .retrieveAllReportMailingJobConfigurations();
 
-            JavaMailSenderImpl javaMailSenderImpl = new JavaMailSenderImpl();
-            javaMailSenderImpl.setHost(this.getGmailSmtpServer(reportMailingJobConfigurationDataCollection));
-            javaMailSenderImpl.setPort(this.getGmailSmtpPort(reportMailingJobConfigurationDataCollection));
-            javaMailSenderImpl.setUsername(this.getGmailSmtpUsername(reportMailingJobConfigurationDataCollection));
-            javaMailSenderImpl.setPassword(this.getGmailSmtpPassword(reportMailingJobConfigurationDataCollection));
-            javaMailSenderImpl.setJavaMailProperties(this.getJavaMailProperties(reportMailingJobConfigurationDataCollection));
-
-            MimeMessage mimeMessage = javaMailSenderImpl.createMimeMessage();
-
-            // use the true flag to indicate you need a multipart message
-            MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(mimeMessage, true);
-
-            mimeMessageHelper.setTo(reportMailingJobEmailData.getTo());
-            mimeMessageHelper.setText(reportMailingJobEmailData.getText());
-            mimeMessageHelper.setSubject(reportMailingJobEmailData.getSubject());
+            final SMTPCredentialsData smtpCredentialsData = new SMTPCredentialsData()
+                    .setHost(this.getGmailSmtpServer(reportMailingJobConfigurationDataCollection))
+                    .setPort(String.valueOf(this.getGmailSmtpPort(reportMailingJobConfigurationDataCollection)))
+                    .setUsername(this.getGmailSmtpUsername(reportMailingJobConfigurationDataCollection))
+                    .setPassword(this.getGmailSmtpPassword(reportMailingJobConfigurationDataCollection));
+            final Properties javaMailProperties = this.getJavaMailProperties(reportMailingJobConfigurationDataCollection);
 
-            if (reportMailingJobEmailData.getAttachment() != null) {
-                mimeMessageHelper.addAttachment(reportMailingJobEmailData.getAttachment().getName(),
-                        reportMailingJobEmailData.getAttachment());
+            final List<MimeMessage> mimeMessages = new ArrayList<>(reportMailingJobEmailData.size());
+            for (final ReportMailingJobEmailData data : reportMailingJobEmailData) {
+                mimeMessages.add(this.createMimeMessage(smtpCredentialsData, javaMailProperties, data));
             }
 
-            javaMailSenderImpl.send(mimeMessage);
-        } catch (MessagingException e) {
+            this.smtpTransportPool.send(smtpCredentialsData, javaMailProperties, mimeMessages);
+        } catch (MessagingException | MailException e) {
             // handle the exception
             LOG.error("Problem occurred in sendEmailWithAttachment function", e);
         }
     }
 
+    private MimeMessage createMimeMessage(final SMTPCredentialsData smtpCredentialsData, final Properties javaMailProperties,
+            final ReportMailingJobEmailData reportMailingJobEmailData) throws MessagingException {
+        MimeMessage mimeMessage = this.smtpTransportPool.createMimeMessage(smtpCredentialsData, javaMailProperties);
+
+        // use the true flag to indicate you need a multipart message
+        MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(mimeMessage, true);
+
+        mimeMessageHelper.setTo(reportMailingJobEmailData.getTo());
+        mimeMessageHelper.setText(reportMailingJobEmailData.getText());
+        mimeMessageHelper.setSubject(reportMailingJobEmailData.getSubject());
+
+        if (reportMailingJobEmailData.getAttachment() != null) {
+            mimeMessageHelper.addAttachment(reportMailingJobEmailData.getAttachment().getName(), reportMailingJobEmailData.getAttachment());
+        }
+        return mimeMessage;
+    }
+
     /**
      * @return Properties object containing JavaMail properties
      **/
@@ -19,6 +19,8 @@
 package org.apache.fineract.infrastructure.security.filter;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,6 +28,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.function.Supplier;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.time.StopWatch;
@@ -70,6 +73,7 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
     private static boolean FIRST_REQUEST_PROCESSED = false;
     private static final String TENANT_ID_REQUEST_HEADER = "Fineract-Platform-TenantId";
     private static final boolean EXCEPTION_IF_HEADER_MISSING = true;
+    private static final String AUTHENTICATION_TIMER_NAME = "fineract.security.basicauth.authentication";
 
     private final ToApiJsonSerializer<PlatformRequestLog> toApiJsonSerializer;
     private final ConfigurationDomainService configurationDomainService;
@@ -85,8 +89,8 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
             final AuthenticationEntryPoint authenticationEntryPoint, ToApiJsonSerializer<PlatformRequestLog> toApiJsonSerializer,
             ConfigurationDomainService configurationDomainService, CacheWritePlatformService cacheWritePlatformService,
             UserNotificationService userNotificationService, AuthTenantDetailsService basicAuthTenantDetailsService,
-            BusinessDateReadPlatformService businessDateReadPlatformService) {
-        super(authenticationManager, authenticationEntryPoint);
+            BusinessDateReadPlatformService businessDateReadPlatformService, MeterRegistry meterRegistry) {
+        super(timed(authenticationManager, meterRegistry), authenticationEntryPoint);
         this.toApiJsonSerializer = toApiJsonSerializer;
         this.configurationDomainService = configurationDomainService;
         this.cacheWritePlatformService = cacheWritePlatformService;
@@ -95,6 +99,12 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
         this.businessDateReadPlatformService = businessDateReadPlatformService;
     }
 
+    private static AuthenticationManager timed(final AuthenticationManager authenticationManager, final MeterRegistry meterRegistry) {
+        final Timer timer = Timer.builder(AUTHENTICATION_TIMER_NAME).description("Time spent verifying basic auth credentials") //
+                .register(meterRegistry);
+        return authentication -> timer.record((Supplier<Authentication>) () -> authenticationManager.authenticate(authentication));
+    }
+
     @Override
     @SuppressFBWarnings("SLF4J_SIGN_ONLY_FORMAT")
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -142,7 +152,9 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
                         System.setProperty("baseUrl", baseUrl);
 
                         final boolean ehcacheEnabled = configurationDomainService.isEhcacheEnabled();
-                        if (ehcacheEnabled) {
+                        if (configurationDomainService.isDistributedCacheEnabled()) {
+                            cacheWritePlatformService.switchToCache(CacheType.MULTI_NODE);
+                        } else if (ehcacheEnabled) {
                             cacheWritePlatformService.switchToCache(CacheType.SINGLE_NODE);
                         } else {
                             cacheWritePlatformService.switchToCache(CacheType.NO_CACHE);
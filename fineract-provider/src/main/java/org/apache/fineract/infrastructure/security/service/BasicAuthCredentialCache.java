@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.security.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractSecurityProperties;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.TransactionBoundSynchronization;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived, per tenant cache of basic auth credentials which were already verified by the password encoder, together
+ * with the encoded password of the user they were verified against.
+ *
+ * Only a salted SHA-256 digest of the password is kept; the salt is random per instance. Entries expire after the
+ * configured time to live, and the write services of users, roles and permissions {@link #invalidate()} the entries of
+ * the tenant on every change. The invalidation is broadcast through the cache invalidation log in every cache mode, so
+ * the other nodes drop the entries of the tenant as well. Entries of different tenants are kept apart, so a credential is
+ * never reused across a tenant switch.
+ */
+@Component
+public class BasicAuthCredentialCache {
+
+    static final String CACHE_NAME = "basicAuthCredentials";
+    private static final String METRIC_NAME_PREFIX = "fineract.security.basicauth.credential-cache";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final RuntimeDelegatingCacheManager cacheManager;
+    private final boolean enabled;
+    private final long timeToLiveNanos;
+    private final int maximumSize;
+    private final byte[] salt = new byte[16];
+    private final ConcurrentMap<String, ConcurrentMap<String, CachedCredential>> credentialsByTenant = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public BasicAuthCredentialCache(final FineractProperties fineractProperties, final RuntimeDelegatingCacheManager cacheManager,
+            final Optional<MeterRegistry> meterRegistry) {
+        this.cacheManager = cacheManager;
+        final FineractSecurityProperties.FineractSecurityBasicAuthCredentialCache properties = fineractProperties.getSecurity()
+                .getBasicauth().getCredentialCache();
+        this.enabled = properties != null && properties.isEnabled() && properties.getTimeToLive() != null
+                && properties.getMaximumSize() > 0;
+        this.timeToLiveNanos = this.enabled ? properties.getTimeToLive().toNanos() : 0L;
+        this.maximumSize = this.enabled ? properties.getMaximumSize() : 0;
+        new SecureRandom().nextBytes(this.salt);
+        final MeterRegistry registry = meterRegistry.orElseGet(SimpleMeterRegistry::new);
+        this.hits = Counter.builder(METRIC_NAME_PREFIX + ".hits").description("Basic auth requests served from verified credentials") //
+                .register(registry);
+        this.misses = Counter.builder(METRIC_NAME_PREFIX + ".misses").description("Basic auth requests verified by the password encoder") //
+                .register(registry);
+        cacheManager.registerNodeLocalCache(CACHE_NAME, credentialsByTenant::remove);
+    }
+
+    /**
+     * @return the encoded password the credentials of the current tenant were verified against if the password matches the
+     *         verified one and the entry did not expire yet, otherwise <code>null</code>
+     */
+    public String get(final String username, final String password) {
+        if (!enabled) {
+            return null;
+        }
+        final ConcurrentMap<String, CachedCredential> credentials = credentialsByTenant.get(tenantIdentifier());
+        final CachedCredential credential = credentials == null ? null : credentials.get(username);
+        if (credential == null || credential.isExpired(System.nanoTime())
+                || !MessageDigest.isEqual(credential.digest(), digest(username, password))) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return credential.encodedPassword();
+    }
+
+    /**
+     * Remembers credentials which were just verified against the given encoded password. Nothing is cached once the cache is full
+     * and no entry of the tenant has expired yet.
+     */
+    public void put(final String username, final String password, final String encodedPassword) {
+        if (!enabled) {
+            return;
+        }
+        final long now = System.nanoTime();
+        final ConcurrentMap<String, CachedCredential> credentials = credentialsByTenant.computeIfAbsent(tenantIdentifier(),
+                key -> new ConcurrentHashMap<>());
+        if (!credentials.containsKey(username) && size() >= maximumSize) {
+            credentials.values().removeIf(credential -> credential.isExpired(now));
+            if (size() >= maximumSize) {
+                return;
+            }
+        }
+        credentials.put(username, new CachedCredential(digest(username, password), encodedPassword, now + timeToLiveNanos));
+    }
+
+    /**
+     * Drops the verified credentials of the current tenant. Within a transaction they are dropped once more after commit, so
+     * a credential verified concurrently against the not yet committed state does not survive. The other nodes drop them
+     * after commit.
+     */
+    public void invalidate() {
+        final String tenantIdentifier = tenantIdentifier();
+        credentialsByTenant.remove(tenantIdentifier);
+        if (TransactionBoundSynchronization.isTransactionActive()) {
+            TransactionBoundSynchronization.afterCommit(this, () -> credentialsByTenant.remove(tenantIdentifier));
+        }
+        cacheManager.broadcastInvalidation(CACHE_NAME, tenantIdentifier);
+    }
+
+    private int size() {
+        return credentialsByTenant.values().stream().mapToInt(ConcurrentMap::size).sum();
+    }
+
+    private byte[] digest(final String username, final String password) {
+        try {
+            final MessageDigest messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            messageDigest.update(salt);
+            messageDigest.update(username.getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) 0);
+            return messageDigest.digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String tenantIdentifier() {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+    }
+
+    private record CachedCredential(byte[] digest, String encodedPassword, long expiresAtNanos) {
+
+        private boolean isExpired(final long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -18,12 +18,34 @@
  */
 package org.apache.fineract.infrastructure.sms.domain;
 
+import java.util.Collection;
+import java.util.List;
+import org.apache.fineract.infrastructure.sms.data.SmsMessageDispatchData;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface SmsMessageRepository extends JpaRepository<SmsMessage, Long>, JpaSpecificationExecutor<SmsMessage> {
 
     Page<SmsMessage> findByStatusType(Integer status, Pageable pageable);
+
+    @Query("select new org.apache.fineract.infrastructure.sms.data.SmsMessageDispatchData(m.id, m.mobileNo, m.message, c.providerId)"
+            + " from SmsMessage m left join m.smsCampaign c"
+            + " where m.statusType = :statusType and m.isNotification = false and m.id > :afterId order by m.id")
+    List<SmsMessageDispatchData> findDispatchDataByStatusType(@Param("statusType") Integer statusType, @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query("select m from SmsMessage m where m.statusType = :statusType and m.isNotification = true order by m.id")
+    List<SmsMessage> findNotificationsByStatusType(@Param("statusType") Integer statusType, Pageable pageable);
+
+    @Query("select m.id from SmsMessage m where m.statusType = :statusType and m.id > :afterId order by m.id")
+    List<Long> findIdsByStatusType(@Param("statusType") Integer statusType, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update SmsMessage m set m.statusType = :statusType where m.id in :ids")
+    int updateStatusType(@Param("ids") Collection<Long> ids, @Param("statusType") Integer statusType);
 }
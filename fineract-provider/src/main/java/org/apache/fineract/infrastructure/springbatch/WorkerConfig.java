@@ -18,12 +18,14 @@
  */
 package org.apache.fineract.infrastructure.springbatch;
 
+import org.springframework.batch.integration.config.annotation.EnableBatchIntegration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.integration.channel.QueueChannel;
 
 @Configuration
+@EnableBatchIntegration
 @ConditionalOnProperty(value = "fineract.mode.batch-worker-enabled", havingValue = "true")
 public class WorkerConfig {
 
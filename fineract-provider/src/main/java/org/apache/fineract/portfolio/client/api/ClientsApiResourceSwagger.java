@@ -169,6 +169,8 @@ final class ClientsApiResourceSwagger {
         @Schema(example = "2")
         public Integer totalFilteredRecords;
         public List<GetClientsPageItemsResponse> pageItems;
+        @Schema(example = "Mg")
+        public String nextCursor;
     }
 
     @Schema(description = "GetClientsClientIdResponse")
@@ -52,6 +52,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import org.apache.fineract.cob.service.SavingsAccountLockService;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.exception.UnsupportedParameterException;
@@ -101,6 +102,7 @@ public class SavingsAccountAssembler {
     private final JdbcTemplate jdbcTemplate;
     private final ConfigurationDomainService configurationDomainService;
     private final ExternalIdFactory externalIdFactory;
+    private final SavingsAccountLockService savingsAccountLockService;
 
     @Autowired
     public SavingsAccountAssembler(final SavingsAccountTransactionSummaryWrapper savingsAccountTransactionSummaryWrapper,
@@ -110,7 +112,8 @@ public class SavingsAccountAssembler {
             final SavingsAccountRepositoryWrapper savingsAccountRepository,
             final SavingsAccountChargeAssembler savingsAccountChargeAssembler, final FromJsonHelper fromApiJsonHelper,
             final AccountTransfersReadPlatformService accountTransfersReadPlatformService, final JdbcTemplate jdbcTemplate,
-            final ConfigurationDomainService configurationDomainService, ExternalIdFactory externalIdFactory) {
+            final ConfigurationDomainService configurationDomainService, ExternalIdFactory externalIdFactory,
+            final SavingsAccountLockService savingsAccountLockService) {
         this.savingsAccountTransactionSummaryWrapper = savingsAccountTransactionSummaryWrapper;
         this.savingsAccountTransactionDataSummaryWrapper = savingsAccountTransactionDataSummaryWrapper;
         this.clientRepository = clientRepository;
@@ -124,6 +127,7 @@ public class SavingsAccountAssembler {
         this.jdbcTemplate = jdbcTemplate;
         this.configurationDomainService = configurationDomainService;
         this.externalIdFactory = externalIdFactory;
+        this.savingsAccountLockService = savingsAccountLockService;
     }
 
     /**
@@ -340,6 +344,7 @@ public class SavingsAccountAssembler {
     }
 
     public SavingsAccount assembleFrom(final Long savingsId, final boolean backdatedTxnsAllowedTill) {
+        this.savingsAccountLockService.checkSavingsNotLocked(savingsId);
         SavingsAccount account = this.savingsAccountRepository.findSavingsWithNotFoundDetection(savingsId, backdatedTxnsAllowedTill);
         return loadTransactionsToSavingsAccount(account, backdatedTxnsAllowedTill);
     }
@@ -405,6 +410,26 @@ public class SavingsAccountAssembler {
                 }
             }
             account.getSavingsAccountTransactionData().removeAll(removalList);
+        } else if (account.hasInterestCheckpoint() && account.getSavingsAccountTransactionData() != null) {
+            // only the transactions from the checkpoint date onwards were loaded, drop the ones already covered by it
+            final List<SavingsAccountTransactionData> transactions = account.getSavingsAccountTransactionData();
+            int checkpointIndex = -1;
+            for (int i = 0; i < transactions.size(); i++) {
+                SavingsAccountTransactionData savingsAccountTransaction = transactions.get(i);
+                if (account.getInterestCheckpointDate().equals(savingsAccountTransaction.getTransactionDate())
+                        && (savingsAccountTransaction.isInterestPostingAndNotReversed()
+                                || savingsAccountTransaction.isOverdraftInterestAndNotReversed())
+                        && !savingsAccountTransaction.isReversalTransaction()) {
+                    checkpointIndex = i;
+                }
+            }
+            if (checkpointIndex >= 0) {
+                account.setLastSavingsAccountTransaction(transactions.get(checkpointIndex));
+                transactions.subList(0, checkpointIndex + 1).clear();
+            }
+            account.getSummary().setRunningBalanceOnPivotDate(account.getInterestCheckpointRunningBalance());
+            account.getSummary().captureCheckpointTotals(this.savingsAccountTransactionDataSummaryWrapper,
+                    account.getSavingsAccountTransactionData());
         } else {
             account.getSummary().setRunningBalanceOnPivotDate(BigDecimal.ZERO);
         }
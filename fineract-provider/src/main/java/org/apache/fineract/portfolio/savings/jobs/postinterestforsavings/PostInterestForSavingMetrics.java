@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.jobs.postinterestforsavings;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.stereotype.Component;
+
+/**
+ * Throughput counters of the post interest for savings job: accounts posted (overall and per second for the running job),
+ * depth of the queue between the reader and the posting workers and the commit latency of every posted batch.
+ *
+ * The job runs for every tenant on its own, possibly at the same time, so all meters carry a {@code tenant} tag and the state
+ * of the running job is kept per tenant.
+ */
+@Component
+public class PostInterestForSavingMetrics {
+
+    private static final String METRIC_NAME_PREFIX = "fineract.job.savings.interest-posting";
+    private static final String METRIC_NAME_ACCOUNTS = METRIC_NAME_PREFIX + ".accounts";
+    private static final String METRIC_NAME_FAILED_BATCHES = METRIC_NAME_PREFIX + ".batches.failed";
+    private static final String METRIC_NAME_ACCOUNTS_PER_SECOND = METRIC_NAME_PREFIX + ".accounts.per-second";
+    private static final String METRIC_NAME_QUEUE_DEPTH = METRIC_NAME_PREFIX + ".queue.depth";
+    private static final String METRIC_NAME_BATCH_COMMIT = METRIC_NAME_PREFIX + ".batch.commit";
+    private static final String TAG_TENANT = "tenant";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, TenantMetrics> tenants = new ConcurrentHashMap<>();
+
+    public PostInterestForSavingMetrics(Optional<MeterRegistry> meterRegistry) {
+        this.registry = meterRegistry.orElseGet(SimpleMeterRegistry::new);
+    }
+
+    /**
+     * Starts a run for the tenant of the current thread and returns the meters of that tenant, which the reader and the
+     * workers use without a tenant bound to their threads.
+     */
+    public TenantMetrics runStarted(final Queue<?> queue) {
+        final TenantMetrics tenantMetrics = forCurrentTenant();
+        tenantMetrics.runStarted(queue);
+        return tenantMetrics;
+    }
+
+    public long postedAccountsInRun() {
+        return forCurrentTenant().postedAccountsInRun();
+    }
+
+    public int queueDepth() {
+        return forCurrentTenant().queueDepth();
+    }
+
+    private TenantMetrics forCurrentTenant() {
+        return this.tenants.computeIfAbsent(ThreadLocalContextUtil.getTenant().getTenantIdentifier(),
+                tenantIdentifier -> new TenantMetrics(this.registry, tenantIdentifier));
+    }
+
+    /**
+     * The meters and the state of the running job of one tenant.
+     */
+    public static final class TenantMetrics {
+
+        private final Counter postedAccounts;
+        private final Counter failedBatches;
+        private final Timer batchCommit;
+
+        private final AtomicLong runStartNanos = new AtomicLong();
+        private final AtomicLong runPostedAccounts = new AtomicLong();
+        private volatile Queue<?> queue;
+
+        private TenantMetrics(final MeterRegistry registry, final String tenantIdentifier) {
+            this.postedAccounts = Counter.builder(METRIC_NAME_ACCOUNTS).description("Savings accounts posted") //
+                    .tag(TAG_TENANT, tenantIdentifier).register(registry);
+
+            this.failedBatches = Counter.builder(METRIC_NAME_FAILED_BATCHES).description("Batches failed to post") //
+                    .tag(TAG_TENANT, tenantIdentifier).register(registry);
+
+            this.batchCommit = Timer.builder(METRIC_NAME_BATCH_COMMIT).description("Time to post and commit one batch") //
+                    .tag(TAG_TENANT, tenantIdentifier).register(registry);
+
+            Gauge.builder(METRIC_NAME_ACCOUNTS_PER_SECOND, this, TenantMetrics::accountsPerSecond)
+                    .description("Savings accounts posted per second by the running job") //
+                    .tag(TAG_TENANT, tenantIdentifier).register(registry);
+
+            Gauge.builder(METRIC_NAME_QUEUE_DEPTH, this, TenantMetrics::queueDepth)
+                    .description("Batches read and waiting for a posting worker") //
+                    .tag(TAG_TENANT, tenantIdentifier).register(registry);
+        }
+
+        private void runStarted(final Queue<?> queue) {
+            this.queue = queue;
+            this.runPostedAccounts.set(0);
+            this.runStartNanos.set(System.nanoTime());
+        }
+
+        public void runFinished() {
+            this.queue = null;
+        }
+
+        public void batchCommitted(final int accounts, final long elapsedNanos) {
+            this.batchCommit.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            this.postedAccounts.increment(accounts);
+            this.runPostedAccounts.addAndGet(accounts);
+        }
+
+        public void batchFailed() {
+            this.failedBatches.increment();
+        }
+
+        public long postedAccountsInRun() {
+            return this.runPostedAccounts.get();
+        }
+
+        public double accountsPerSecond() {
+            final long elapsedNanos = System.nanoTime() - this.runStartNanos.get();
+            if (elapsedNanos <= 0) {
+                return 0;
+            }
+            return this.runPostedAccounts.get() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+
+        public int queueDepth() {
+            final Queue<?> current = this.queue;
+            return current == null ? 0 : current.size();
+        }
+    }
+}
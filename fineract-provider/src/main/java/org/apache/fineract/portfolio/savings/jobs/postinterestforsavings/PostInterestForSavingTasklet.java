@@ -20,21 +20,25 @@ package org.apache.fineract.portfolio.savings.jobs.postinterestforsavings;
 
 import static org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType.ACTIVE;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
 import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.portfolio.savings.data.SavingsAccountData;
 import org.apache.fineract.portfolio.savings.service.SavingsAccountReadPlatformService;
 import org.apache.fineract.portfolio.savings.service.SavingsSchedularInterestPosterTask;
@@ -47,162 +51,229 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
+/**
+ * Posts interest for all active savings accounts.
+ *
+ * One reader pages through the accounts by id and hands batches of them to the posting workers through a bounded queue, so
+ * reading the next page overlaps with posting the current one while the queue holds back the reader once the workers fall
+ * behind. Every batch is posted and committed on its own by a {@link SavingsSchedularInterestPosterTask}.
+ *
+ * The reader and the workers only wait on the queue for a short time and then check whether the run was cancelled, so a
+ * failing or interrupted reader never leaves the workers waiting for batches that do not come. A failed batch does not stop
+ * the other batches, but fails the step once all of them are done.
+ */
 @RequiredArgsConstructor
 @Slf4j
 @Component
 public class PostInterestForSavingTasklet implements Tasklet {
 
-    private static final int QUEUE_SIZE = 1;
+    private static final long QUEUE_TIMEOUT_MILLIS = 200;
 
     private final SavingsAccountReadPlatformService savingAccountReadPlatformService;
     private final ConfigurationDomainService configurationDomainService;
     private final ApplicationContext applicationContext;
+    private final FineractProperties fineractProperties;
+    private final PostInterestForSavingMetrics metrics;
     @Qualifier(TaskExecutorConstant.CONFIGURABLE_TASK_EXECUTOR_BEAN_NAME)
     private final ThreadPoolTaskExecutor taskExecutor;
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
-        final Queue<List<SavingsAccountData>> queue = new ArrayDeque<>();
         final int threadPoolSize = Integer.parseInt((String) chunkContext.getStepContext().getJobParameters().get("thread-pool-size"));
-        taskExecutor.setCorePoolSize(threadPoolSize);
-        taskExecutor.setMaxPoolSize(threadPoolSize);
         final int batchSize = Integer.parseInt((String) chunkContext.getStepContext().getJobParameters().get("batch-size"));
+        // one thread for the reader next to the posting workers
+        resizePool(threadPoolSize + 1);
         final int pageSize = batchSize * threadPoolSize;
-        Long maxSavingsIdInList = 0L;
         final boolean backdatedTxnsAllowedTill = this.configurationDomainService.retrievePivotDateConfig();
+        final boolean interestCheckpointEnabled = isInterestCheckpointEnabled() && !backdatedTxnsAllowedTill;
 
-        long start = System.currentTimeMillis();
-
-        log.debug("Reading Savings Account Data!");
-        List<SavingsAccountData> savingsAccounts = savingAccountReadPlatformService
-                .retrieveAllSavingsDataForInterestPosting(backdatedTxnsAllowedTill, pageSize, ACTIVE.getValue(), maxSavingsIdInList);
-
-        if (savingsAccounts != null && savingsAccounts.size() > 0) {
-            savingsAccounts = Collections.synchronizedList(savingsAccounts);
-            long finish = System.currentTimeMillis();
-            log.debug("Done fetching Data within {} milliseconds", finish - start);
-            queue.add(savingsAccounts);
-
-            if (!CollectionUtils.isEmpty(queue)) {
-                do {
-                    int totalFilteredRecords = savingsAccounts.size();
-                    log.debug("Starting Interest posting - total records - {}", totalFilteredRecords);
-                    List<SavingsAccountData> queueElement = queue.element();
-                    maxSavingsIdInList = queueElement.get(queueElement.size() - 1).getId();
-                    postInterest(queue.remove(), threadPoolSize, backdatedTxnsAllowedTill, pageSize, maxSavingsIdInList, queue);
-                } while (!CollectionUtils.isEmpty(queue));
+        // room for one batch per worker waiting next to the ones being posted
+        final BlockingQueue<List<SavingsAccountData>> queue = new ArrayBlockingQueue<>(threadPoolSize);
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        final Run run = new Run(queue, context, metrics.runStarted(queue), backdatedTxnsAllowedTill, interestCheckpointEnabled);
+        final long start = System.currentTimeMillis();
+        try {
+            final List<Future<Void>> responses = new ArrayList<>();
+            responses.add(taskExecutor.submit(reader(run, pageSize, batchSize)));
+            for (int i = 0; i < threadPoolSize; i++) {
+                responses.add(taskExecutor.submit(worker(run)));
             }
+            awaitCompletion(responses, run);
+        } finally {
+            run.metrics.runFinished();
+        }
+
+        log.debug("Posted interest for {} savings accounts within {} milliseconds ({} accounts/s)", run.metrics.postedAccountsInRun(),
+                System.currentTimeMillis() - start, String.format("%.1f", run.metrics.accountsPerSecond()));
+        if (!run.failures.isEmpty()) {
+            // the batches posted successfully stay committed, the job is reported as failed for the others
+            throw new JobExecutionException("Interest posting for savings accounts failed with " + run.failures.size() + " errors",
+                    new ArrayList<>(run.failures));
         }
         return RepeatStatus.FINISHED;
     }
 
-    private void postInterest(List<SavingsAccountData> savingsAccounts, int threadPoolSize, final boolean backdatedTxnsAllowedTill,
-            final int pageSize, Long maxSavingsIdInList, Queue<List<SavingsAccountData>> queue) {
-        List<Callable<Void>> posters = new ArrayList<>();
-        int fromIndex = 0;
-        int size = savingsAccounts.size();
-        int batchSize = (int) Math.ceil((double) size / threadPoolSize);
-
-        if (batchSize == 0) {
-            return;
-        }
+    private Callable<Void> reader(final Run run, final int pageSize, final int batchSize) {
+        return () -> {
+            try {
+                ThreadLocalContextUtil.init(run.context);
+                Long maxSavingsId = 0L;
+                while (!run.cancelled.get()) {
+                    log.debug("Reading Savings Account Data after id {}", maxSavingsId);
+                    final List<SavingsAccountData> page = this.savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(
+                            run.backdatedTxnsAllowedTill, run.interestCheckpointEnabled, pageSize, ACTIVE.getValue(), maxSavingsId);
+                    if (page == null || page.isEmpty()) {
+                        break;
+                    }
+                    maxSavingsId = page.get(page.size() - 1).getId();
+                    for (final List<SavingsAccountData> batch : splitIntoBatches(page, batchSize)) {
+                        // waits while the workers are busy with earlier batches
+                        if (!enqueue(run, batch)) {
+                            return null;
+                        }
+                    }
+                }
+                return null;
+            } finally {
+                run.readerDone.set(true);
+                ThreadLocalContextUtil.reset();
+            }
+        };
+    }
 
-        int toIndex = (batchSize > size - 1) ? size : batchSize;
-        while (toIndex < size && savingsAccounts.get(toIndex - 1).getId().equals(savingsAccounts.get(toIndex).getId())) {
-            toIndex++;
+    private static boolean enqueue(final Run run, final List<SavingsAccountData> batch) throws InterruptedException {
+        while (!run.queue.offer(batch, QUEUE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (run.cancelled.get()) {
+                return false;
+            }
         }
-        boolean lastBatch = false;
-        int loopCount = size / batchSize + 1;
-
-        FineractContext context = ThreadLocalContextUtil.getContext();
+        return true;
+    }
 
-        Callable<Void> fetchData = () -> {
+    private Callable<Void> worker(final Run run) {
+        return () -> {
             try {
-                ThreadLocalContextUtil.init(context);
-                Long maxId = maxSavingsIdInList;
-                if (!queue.isEmpty()) {
-                    maxId = Math.max(maxSavingsIdInList, queue.element().get(queue.element().size() - 1).getId());
-                }
-
-                while (queue.size() <= QUEUE_SIZE) {
-                    log.debug("Fetching while threads are running!");
-                    List<SavingsAccountData> savingsAccountDataList = Collections.synchronizedList(this.savingAccountReadPlatformService
-                            .retrieveAllSavingsDataForInterestPosting(backdatedTxnsAllowedTill, pageSize, ACTIVE.getValue(), maxId));
-                    if (savingsAccountDataList.isEmpty()) {
+                while (!run.cancelled.get()) {
+                    final List<SavingsAccountData> batch = run.queue.poll(QUEUE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (batch != null) {
+                        postInterest(batch, run);
+                    } else if (run.readerDone.get() && run.queue.isEmpty()) {
                         break;
                     }
-                    maxId = savingsAccountDataList.get(savingsAccountDataList.size() - 1).getId();
-                    queue.add(savingsAccountDataList);
                 }
                 return null;
-            } finally {
-                ThreadLocalContextUtil.reset();
+            } catch (Exception | Error e) {
+                // the reader must not wait for room in the queue once no worker is left to make it
+                run.cancelled.set(true);
+                throw e;
             }
         };
-        posters.add(fetchData);
+    }
 
-        for (long i = 0; i < loopCount; i++) {
-            List<SavingsAccountData> subList = safeSubList(savingsAccounts, fromIndex, toIndex);
-            SavingsSchedularInterestPosterTask savingsSchedularInterestPosterTask = applicationContext
-                    .getBean(SavingsSchedularInterestPosterTask.class);
-            savingsSchedularInterestPosterTask.setSavingAccounts(subList);
-            savingsSchedularInterestPosterTask.setBackdatedTxnsAllowedTill(backdatedTxnsAllowedTill);
-            savingsSchedularInterestPosterTask.setContext(ThreadLocalContextUtil.getContext());
+    private void postInterest(final List<SavingsAccountData> batch, final Run run) {
+        final SavingsSchedularInterestPosterTask savingsSchedularInterestPosterTask = applicationContext
+                .getBean(SavingsSchedularInterestPosterTask.class);
+        savingsSchedularInterestPosterTask.setSavingAccounts(batch);
+        savingsSchedularInterestPosterTask.setBackdatedTxnsAllowedTill(run.backdatedTxnsAllowedTill);
+        savingsSchedularInterestPosterTask.setInterestCheckpointEnabled(run.interestCheckpointEnabled);
+        savingsSchedularInterestPosterTask.setContext(run.context);
 
-            posters.add(savingsSchedularInterestPosterTask);
+        final long start = System.nanoTime();
+        try {
+            savingsSchedularInterestPosterTask.call();
+            run.metrics.batchCommitted(batch.size(), System.nanoTime() - start);
+        } catch (JobExecutionException | RuntimeException e) {
+            // the other batches are committed on their own, so keep posting them
+            run.metrics.batchFailed();
+            run.failures.add(e);
+            log.error("Interest posting failed for a batch of {} savings accounts starting with id {}", batch.size(),
+                    batch.get(0).getId(), e);
+        }
+    }
 
-            if (lastBatch) {
-                break;
-            }
-            if (toIndex + batchSize > size - 1) {
-                lastBatch = true;
-            }
-            fromIndex = fromIndex + (toIndex - fromIndex);
-            toIndex = (toIndex + batchSize > size - 1) ? size : toIndex + batchSize;
-            while (toIndex < size && savingsAccounts.get(toIndex - 1).getId().equals(savingsAccounts.get(toIndex).getId())) {
+    /**
+     * Splits a page into batches of about {@code batchSize} accounts without separating consecutive entries of the same account.
+     */
+    private List<List<SavingsAccountData>> splitIntoBatches(final List<SavingsAccountData> page, final int batchSize) {
+        final List<List<SavingsAccountData>> batches = new ArrayList<>();
+        final int size = page.size();
+        int fromIndex = 0;
+        while (fromIndex < size) {
+            int toIndex = Math.min(size, fromIndex + Math.max(1, batchSize));
+            while (toIndex < size && page.get(toIndex - 1).getId().equals(page.get(toIndex).getId())) {
                 toIndex++;
             }
+            batches.add(new ArrayList<>(page.subList(fromIndex, toIndex)));
+            fromIndex = toIndex;
         }
-
-        List<Future<Void>> responses = new ArrayList<>();
-        posters.forEach(poster -> responses.add(taskExecutor.submit(poster)));
-
-        checkCompletion(responses);
-        log.debug("Queue size {}", queue.size());
+        return batches;
     }
 
-    private <T> List<T> safeSubList(List<T> list, int fromIndex, int toIndex) {
-        int size = list.size();
-        if (fromIndex >= size || toIndex <= 0 || fromIndex >= toIndex) {
-            return Collections.emptyList();
+    private void resizePool(final int poolSize) {
+        // the core size may never exceed the maximum size, so grow the maximum first and shrink it last
+        if (poolSize > taskExecutor.getMaxPoolSize()) {
+            taskExecutor.setMaxPoolSize(poolSize);
+            taskExecutor.setCorePoolSize(poolSize);
+        } else {
+            taskExecutor.setCorePoolSize(poolSize);
+            taskExecutor.setMaxPoolSize(poolSize);
         }
+    }
 
-        fromIndex = Math.max(0, fromIndex);
-        toIndex = Math.min(size, toIndex);
-
-        return list.subList(fromIndex, toIndex);
+    private boolean isInterestCheckpointEnabled() {
+        final FineractProperties.FineractSavingsInterestPostingProperties savingsInterestPosting = fineractProperties.getJob()
+                .getSavingsInterestPosting();
+        return savingsInterestPosting != null && savingsInterestPosting.isIncrementalEnabled();
     }
 
-    private void checkCompletion(List<Future<Void>> responses) {
+    /**
+     * Waits for the reader and the workers. A failing reader or worker cancels the run: the others stop after the batch they
+     * are posting. If this thread is interrupted, the reader and the workers are interrupted as well.
+     */
+    private void awaitCompletion(final List<Future<Void>> responses, final Run run) {
         try {
-            for (Future<Void> f : responses) {
-                f.get();
-            }
-            boolean allThreadsExecuted;
-            int noOfThreadsExecuted = 0;
             for (Future<Void> future : responses) {
-                if (future.isDone()) {
-                    noOfThreadsExecuted++;
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    log.error("Execution exception while interest posting entries", e);
+                    run.failures.add(e.getCause());
+                    run.cancelled.set(true);
+                } catch (CancellationException e) {
+                    log.debug("Interest posting task was cancelled", e);
                 }
             }
-            allThreadsExecuted = noOfThreadsExecuted == responses.size();
-            if (!allThreadsExecuted) {
-                log.error("All threads could not execute.");
-            }
-        } catch (InterruptedException e1) {
-            log.error("Interrupted while interest posting entries", e1);
-        } catch (ExecutionException e2) {
-            log.error("Execution exception while interest posting entries", e2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while interest posting entries", e);
+            run.cancelled.set(true);
+            responses.forEach(future -> future.cancel(true));
+            run.failures.add(e);
+        }
+    }
+
+    /**
+     * The state shared by the reader and the workers of one run.
+     */
+    private static final class Run {
+
+        private final BlockingQueue<List<SavingsAccountData>> queue;
+        private final FineractContext context;
+        private final PostInterestForSavingMetrics.TenantMetrics metrics;
+        private final boolean backdatedTxnsAllowedTill;
+        private final boolean interestCheckpointEnabled;
+        private final AtomicBoolean readerDone = new AtomicBoolean();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+
+        private Run(final BlockingQueue<List<SavingsAccountData>> queue, final FineractContext context,
+                final PostInterestForSavingMetrics.TenantMetrics metrics, final boolean backdatedTxnsAllowedTill,
+                final boolean interestCheckpointEnabled) {
+            this.queue = queue;
+            this.context = context;
+            this.metrics = metrics;
+            this.backdatedTxnsAllowedTill = backdatedTxnsAllowedTill;
+            this.interestCheckpointEnabled = interestCheckpointEnabled;
         }
     }
 }
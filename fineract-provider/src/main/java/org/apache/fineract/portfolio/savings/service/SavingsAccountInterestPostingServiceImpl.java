@@ -62,7 +62,10 @@ public class SavingsAccountInterestPostingServiceImpl implements SavingsAccountI
         Money interestPostedToDate = Money.zero(savingsAccountData.getCurrency());
         LocalDate startInterestDate = getStartInterestCalculationDate(savingsAccountData);
 
-        if (backdatedTxnsAllowedTill && savingsAccountData.getSummary().getInterestPostedTillDate() != null) {
+        if (savingsAccountData.hasInterestCheckpoint()) {
+            interestPostedToDate = Money.of(savingsAccountData.getCurrency(), savingsAccountData.getSummary().getTotalInterestPosted());
+            savingsAccountData.setStartInterestCalculationDate(savingsAccountData.getInterestCheckpointDate());
+        } else if (backdatedTxnsAllowedTill && savingsAccountData.getSummary().getInterestPostedTillDate() != null) {
             interestPostedToDate = Money.of(savingsAccountData.getCurrency(), savingsAccountData.getSummary().getTotalInterestPosted());
             savingsAccountData.setStartInterestCalculationDate(savingsAccountData.getSummary().getInterestPostedTillDate());
         } else {
@@ -159,7 +162,10 @@ public class SavingsAccountInterestPostingServiceImpl implements SavingsAccountI
             // for migrations.
             Money openingAccountBalance = Money.zero(savingsAccountData.getCurrency());
 
-            if (backdatedTxnsAllowedTill) {
+            if (savingsAccountData.hasInterestCheckpoint()) {
+                openingAccountBalance = Money.of(savingsAccountData.getCurrency(),
+                        savingsAccountData.getSummary().getRunningBalanceOnPivotDate());
+            } else if (backdatedTxnsAllowedTill) {
                 if (savingsAccountData.getSummary().getLastInterestCalculationDate() == null) {
                     openingAccountBalance = Money.zero(savingsAccountData.getCurrency());
                 } else {
@@ -173,16 +179,23 @@ public class SavingsAccountInterestPostingServiceImpl implements SavingsAccountI
             recalculateDailyBalances(openingAccountBalance, interestPostingUpToDate, backdatedTxnsAllowedTill, savingsAccountData);
         }
 
-        if (!backdatedTxnsAllowedTill) {
-            savingsAccountData.getSummary().updateSummary(savingsAccountData.getCurrency(),
-                    savingsAccountData.getSavingsAccountTransactionSummaryWrapper(), savingsAccountData.getSavingsAccountTransactionData());
-        } else {
+        updateSummary(backdatedTxnsAllowedTill, savingsAccountData);
+
+        return savingsAccountData;
+    }
+
+    private void updateSummary(final boolean backdatedTxnsAllowedTill, final SavingsAccountData savingsAccountData) {
+        if (savingsAccountData.hasInterestCheckpoint()) {
+            savingsAccountData.getSummary().updateSummaryFromCheckpoint(savingsAccountData.getSavingsAccountTransactionSummaryWrapper(),
+                    savingsAccountData.getSavingsAccountTransactionData());
+        } else if (backdatedTxnsAllowedTill) {
             savingsAccountData.getSummary().updateSummaryWithPivotConfig(savingsAccountData.getCurrency(),
                     savingsAccountData.getSavingsAccountTransactionSummaryWrapper(), null,
                     savingsAccountData.getSavingsAccountTransactionData());
+        } else {
+            savingsAccountData.getSummary().updateSummary(savingsAccountData.getCurrency(),
+                    savingsAccountData.getSavingsAccountTransactionSummaryWrapper(), savingsAccountData.getSavingsAccountTransactionData());
         }
-
-        return savingsAccountData;
     }
 
     protected SavingsAccountTransactionData findTransactionFor(final LocalDate postingDate,
@@ -204,17 +217,20 @@ public class SavingsAccountInterestPostingServiceImpl implements SavingsAccountI
             final Collection<Long> interestPostTransactions, final boolean isInterestTransfer, final Money minBalanceForInterestCalculation,
             final boolean isSavingsInterestPostingAtCurrentPeriodEnd, final BigDecimal overdraftInterestRateAsFraction,
             final Money minOverdraftForInterestCalculation, final boolean isUserPosting, final Integer financialYearBeginningMonth,
-            final boolean allowOverdraft, final List<PostingPeriod> allPostingPeriods, Boolean isOverdraftTransacction) {
+            final boolean allowOverdraft, final List<PostingPeriod> allPostingPeriods, Boolean isOverdraftTransacction,
+            final boolean seededFromCheckpoint) {
 
-        if (txs == null || txs.isEmpty()) {
+        // an account seeded from a balance checkpoint may have no transactions after it, but still earns on that balance
+        if ((txs == null || txs.isEmpty()) && (!seededFromCheckpoint || periodStartingBalance.isZero())) {
             return periodStartingBalance;
         }
 
-        final PostingPeriod postingPeriod = PostingPeriod.createFromDTO(periodInterval, periodStartingBalance, txs, monetaryCurrency,
-                compoundingPeriodType, interestCalculationType, interestRateAsFraction, daysInYear, upToInterestCalculationDate,
-                interestPostTransactions, isInterestTransfer, minBalanceForInterestCalculation, isSavingsInterestPostingAtCurrentPeriodEnd,
-                overdraftInterestRateAsFraction, minOverdraftForInterestCalculation, isUserPosting, financialYearBeginningMonth,
-                allowOverdraft);
+        final List<SavingsAccountTransactionData> periodTransactions = txs == null ? Collections.emptyList() : txs;
+        final PostingPeriod postingPeriod = PostingPeriod.createFromDTO(periodInterval, periodStartingBalance, periodTransactions,
+                monetaryCurrency, compoundingPeriodType, interestCalculationType, interestRateAsFraction, daysInYear,
+                upToInterestCalculationDate, interestPostTransactions, isInterestTransfer, minBalanceForInterestCalculation,
+                isSavingsInterestPostingAtCurrentPeriodEnd, overdraftInterestRateAsFraction, minOverdraftForInterestCalculation,
+                isUserPosting, financialYearBeginningMonth, allowOverdraft);
 
         periodStartingBalance = postingPeriod.closingBalance();
         postingPeriod.setOverdraftInterest(isOverdraftTransacction);
@@ -236,7 +252,7 @@ public class SavingsAccountInterestPostingServiceImpl implements SavingsAccountI
         Money openingAccountBalance = null;
 
         // Check global configurations and 'pivot' date is null
-        if (backdatedTxnsAllowedTill) {
+        if (backdatedTxnsAllowedTill || savingsAccountData.hasInterestCheckpoint()) {
             openingAccountBalance = Money.of(savingsAccountData.getCurrency(),
                     savingsAccountData.getSummary().getRunningBalanceOnPivotDate());
         } else {
@@ -298,6 +314,9 @@ public class SavingsAccountInterestPostingServiceImpl implements SavingsAccountI
         final Money minOverdraftForInterestCalculation = Money.of(savingsAccountData.getCurrency(),
                 savingsAccountData.getMinOverdraftForInterestCalculation());
         final MonetaryCurrency monetaryCurrency = MonetaryCurrency.fromCurrencyData(savingsAccountData.getCurrency());
+        // sorted once per account, the posting periods below only read it
+        final List<SavingsAccountTransactionData> orderedNonInterestPostingTransactions = Collections
+                .unmodifiableList(retreiveOrderedNonInterestPostingTransactions(savingsAccountData));
 
         for (final LocalDateInterval periodInterval : postingPeriodIntervals) {
 
@@ -307,11 +326,12 @@ public class SavingsAccountInterestPostingServiceImpl implements SavingsAccountI
             }
             if (savingsAccountData.isAllowOverdraft() && !MathUtil.isZero(savingsAccountData.getGlAccountIdForInterestReceivable())) {
 
-                List<SavingsAccountTransactionData> overdraftTxs = listForOverdraft(savingsAccountData, periodInterval);
-                List<SavingsAccountTransactionData> interestPostingTxs = listForInterestPosting(savingsAccountData, periodInterval,
-                        monetaryCurrency);
+                List<SavingsAccountTransactionData> overdraftTxs = listForOverdraft(orderedNonInterestPostingTransactions, periodInterval);
+                List<SavingsAccountTransactionData> interestPostingTxs = listForInterestPosting(orderedNonInterestPostingTransactions,
+                        periodInterval, monetaryCurrency);
 
-                boolean isOverdraftAccountType = isOverdraftAccount(savingsAccountData, periodInterval, monetaryCurrency);
+                boolean isOverdraftAccountType = isOverdraftAccount(orderedNonInterestPostingTransactions, periodInterval,
+                        monetaryCurrency);
 
                 List<SavingsAccountTransactionData> primaryInterestPublication = isOverdraftAccountType ? overdraftTxs : interestPostingTxs;
                 List<SavingsAccountTransactionData> secondaryInterestPublication = isOverdraftAccountType ? interestPostingTxs
@@ -322,22 +342,23 @@ public class SavingsAccountInterestPostingServiceImpl implements SavingsAccountI
                         upToInterestCalculationDate, interestPostTransactions, isInterestTransfer, minBalanceForInterestCalculation,
                         isSavingsInterestPostingAtCurrentPeriodEnd, overdraftInterestRateAsFraction, minOverdraftForInterestCalculation,
                         isUserPosting, financialYearBeginningMonth, savingsAccountData.isAllowOverdraft(), allPostingPeriods,
-                        isOverdraftAccountType ? true : false);
+                        isOverdraftAccountType ? true : false, false);
 
                 periodStartingBalance = appendPostingPeriodIfAny(periodInterval, periodStartingBalance, secondaryInterestPublication,
                         monetaryCurrency, compoundingPeriodType, interestCalculationType, interestRateAsFraction, daysInYearType.getValue(),
                         upToInterestCalculationDate, interestPostTransactions, isInterestTransfer, minBalanceForInterestCalculation,
                         isSavingsInterestPostingAtCurrentPeriodEnd, overdraftInterestRateAsFraction, minOverdraftForInterestCalculation,
                         isUserPosting, financialYearBeginningMonth, savingsAccountData.isAllowOverdraft(), allPostingPeriods,
-                        isOverdraftAccountType ? false : true);
+                        isOverdraftAccountType ? false : true, false);
 
             } else {
                 periodStartingBalance = appendPostingPeriodIfAny(periodInterval, periodStartingBalance,
-                        retreiveOrderedNonInterestPostingTransactions(savingsAccountData), monetaryCurrency, compoundingPeriodType,
+                        orderedNonInterestPostingTransactions, monetaryCurrency, compoundingPeriodType,
                         interestCalculationType, interestRateAsFraction, daysInYearType.getValue(), upToInterestCalculationDate,
                         interestPostTransactions, isInterestTransfer, minBalanceForInterestCalculation,
                         isSavingsInterestPostingAtCurrentPeriodEnd, overdraftInterestRateAsFraction, minOverdraftForInterestCalculation,
-                        isUserPosting, financialYearBeginningMonth, savingsAccountData.isAllowOverdraft(), allPostingPeriods, false);
+                        isUserPosting, financialYearBeginningMonth, savingsAccountData.isAllowOverdraft(), allPostingPeriods, false,
+                        savingsAccountData.hasInterestCheckpoint());
             }
         }
 
@@ -346,22 +367,15 @@ public class SavingsAccountInterestPostingServiceImpl implements SavingsAccountI
 
         savingsAccountData.getSummary().updateFromInterestPeriodSummaries(monetaryCurrency, allPostingPeriods);
 
-        if (backdatedTxnsAllowedTill) {
-            savingsAccountData.getSummary().updateSummaryWithPivotConfig(savingsAccountData.getCurrency(),
-                    savingsAccountData.getSavingsAccountTransactionSummaryWrapper(), null,
-                    savingsAccountData.getSavingsAccountTransactionData());
-        } else {
-            savingsAccountData.getSummary().updateSummary(savingsAccountData.getCurrency(),
-                    savingsAccountData.getSavingsAccountTransactionSummaryWrapper(), savingsAccountData.getSavingsAccountTransactionData());
-        }
+        updateSummary(backdatedTxnsAllowedTill, savingsAccountData);
 
         return allPostingPeriods;
     }
 
-    private List<SavingsAccountTransactionData> listForOverdraft(final SavingsAccountData savingsAccountData,
+    private List<SavingsAccountTransactionData> listForOverdraft(final List<SavingsAccountTransactionData> orderedTransactions,
             final LocalDateInterval periodInterval) {
         List<SavingsAccountTransactionData> overdraftTransactionsInPeriod = new ArrayList<>();
-        for (SavingsAccountTransactionData lists : retreiveOrderedNonInterestPostingTransactions(savingsAccountData)) {
+        for (SavingsAccountTransactionData lists : orderedTransactions) {
             if (MathUtil.isLessThanZero(lists.getRunningBalance()) && periodInterval.startDate().getMonth() == lists.getDate().getMonth()) {
                 overdraftTransactionsInPeriod.add(lists);
 
@@ -371,12 +385,12 @@ public class SavingsAccountInterestPostingServiceImpl implements SavingsAccountI
 
     }
 
-    private List<SavingsAccountTransactionData> listForInterestPosting(final SavingsAccountData savingsAccountData,
+    private List<SavingsAccountTransactionData> listForInterestPosting(final List<SavingsAccountTransactionData> orderedTransactions,
             final LocalDateInterval periodInterval, final MonetaryCurrency currency) {
 
         final List<SavingsAccountTransactionData> nonOverdraftTransactions = new ArrayList<>();
 
-        for (final SavingsAccountTransactionData tx : retreiveOrderedNonInterestPostingTransactions(savingsAccountData)) {
+        for (final SavingsAccountTransactionData tx : orderedTransactions) {
             if (periodInterval.startDate().getMonth() == tx.getDate().getMonth()) {
                 final Money runningBalance = Money.of(currency, tx.getRunningBalance());
 
@@ -388,10 +402,10 @@ public class SavingsAccountInterestPostingServiceImpl implements SavingsAccountI
         return nonOverdraftTransactions;
     }
 
-    private Boolean isOverdraftAccount(final SavingsAccountData savingsAccountData, final LocalDateInterval periodInterval,
-            final MonetaryCurrency currency) {
+    private Boolean isOverdraftAccount(final List<SavingsAccountTransactionData> orderedTransactions,
+            final LocalDateInterval periodInterval, final MonetaryCurrency currency) {
 
-        for (SavingsAccountTransactionData tx : retreiveOrderedNonInterestPostingTransactions(savingsAccountData)) {
+        for (SavingsAccountTransactionData tx : orderedTransactions) {
             if (MathUtil.isLessThanZero(tx.getRunningBalance()) && periodInterval.startDate().getMonth() == tx.getDate().getMonth()) {
                 return true;
             } else if (periodInterval.startDate().getMonth() == tx.getDate().getMonth()) {
@@ -20,6 +20,7 @@ package org.apache.fineract.portfolio.savings.service;
 
 import static org.apache.fineract.infrastructure.core.domain.AuditableFieldsConstants.CREATED_BY_DB_FIELD;
 import static org.apache.fineract.infrastructure.core.domain.AuditableFieldsConstants.CREATED_DATE_DB_FIELD;
+import static org.apache.fineract.infrastructure.core.domain.AuditableFieldsConstants.LAST_MODIFIED_DATE_DB_FIELD;
 
 import java.math.BigDecimal;
 import java.sql.ResultSet;
@@ -39,6 +40,7 @@ import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.Page;
+import org.apache.fineract.infrastructure.core.service.PageCountMode;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
@@ -95,6 +97,7 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
     private final SavingsAccountTransactionsForBatchMapper savingsAccountTransactionsForBatchMapper;
     private final SavingAccountMapper savingAccountMapper;
     private final SavingAccountMapperForInterestPosting savingAccountMapperForInterestPosting;
+    private final SavingAccountMapperForInterestPosting savingAccountMapperForIncrementalInterestPosting;
     // private final SavingsAccountAnnualFeeMapper annualFeeMapper;
 
     // pagination
@@ -118,7 +121,8 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
         this.savingAccountMapper = new SavingAccountMapper();
         this.columnValidator = columnValidator;
         this.paginationHelper = paginationHelper;
-        this.savingAccountMapperForInterestPosting = new SavingAccountMapperForInterestPosting();
+        this.savingAccountMapperForInterestPosting = new SavingAccountMapperForInterestPosting(false);
+        this.savingAccountMapperForIncrementalInterestPosting = new SavingAccountMapperForInterestPosting(true);
         this.savingAccountAssembler = savingAccountAssembler;
     }
 
@@ -186,6 +190,11 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
                 sqlBuilder.append(" and c.office_id = ?");
                 objectArray[arrayPos++] = searchParameters.getOfficeId();
             }
+            if (searchParameters.isKeysetPaged()) {
+                return this.paginationHelper.fetchKeysetPage(this.jdbcTemplate, sqlBuilder.toString(), Arrays.copyOf(objectArray, arrayPos),
+                        this.savingAccountMapper, "sa.id", SavingsAccountData::getId, searchParameters.getCursor(),
+                        searchParameters.getPageSize(), searchParameters.getCountMode());
+            }
             if (searchParameters.hasOrderBy()) {
                 sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
                 this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
@@ -206,7 +215,9 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
             }
         }
         final Object[] finalObjectArray = Arrays.copyOf(objectArray, arrayPos);
-        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), finalObjectArray, this.savingAccountMapper);
+        final PageCountMode countMode = searchParameters == null ? PageCountMode.EXACT : searchParameters.getCountMode();
+        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), finalObjectArray, this.savingAccountMapper,
+                countMode);
     }
 
     @Override
@@ -235,21 +246,27 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
     }
 
     @Override
-    public List<SavingsAccountData> retrieveAllSavingsDataForInterestPosting(final boolean backdatedTxnsAllowedTill, final int pageSize,
-            final Integer status, final Long maxSavingsId) {
+    public List<SavingsAccountData> retrieveAllSavingsDataForInterestPosting(final boolean backdatedTxnsAllowedTill,
+            final boolean interestCheckpointEnabled, final int pageSize, final Integer status, final Long maxSavingsId) {
         LocalDate yesterday = DateUtils.getBusinessLocalDate().minusDays(1);
-        String sql = "select " + this.savingAccountMapperForInterestPosting.schema()
+        // the checkpoint only replaces history loading when the pivot date is not already doing so
+        final boolean useCheckpoint = interestCheckpointEnabled && !backdatedTxnsAllowedTill;
+        final SavingAccountMapperForInterestPosting mapper = useCheckpoint ? this.savingAccountMapperForIncrementalInterestPosting
+                : this.savingAccountMapperForInterestPosting;
+        String sql = "select " + mapper.schema()
                 + "join (select a.id from m_savings_account a where a.id > ? and a.status_enum = ? limit ?) b on b.id = sa.id ";
         if (backdatedTxnsAllowedTill) {
             sql = sql
                     + "where (CASE WHEN sa.interest_posted_till_date is not null THEN tr.transaction_date >= sa.interest_posted_till_date ELSE tr.transaction_date >= sa.activatedon_date END) ";
+        } else if (useCheckpoint) {
+            sql = sql + "where (cp.savings_account_id is null or tr.transaction_date >= cp.checkpoint_date) ";
         }
 
         sql = sql + " and (sa.interest_posted_till_date is null or sa.interest_posted_till_date <= ? ) ";
         // #audit backward compatibility
         sql = sql + " order by sa.id, tr.transaction_date, tr." + CREATED_DATE_DB_FIELD + ", tr.created_date, tr.id";
 
-        List<SavingsAccountData> savingsAccountDataList = this.jdbcTemplate.query(sql, this.savingAccountMapperForInterestPosting, // NOSONAR
+        List<SavingsAccountData> savingsAccountDataList = this.jdbcTemplate.query(sql, mapper, // NOSONAR
                 new Object[] { maxSavingsId, status, pageSize, yesterday });
         for (SavingsAccountData savingsAccountData : savingsAccountDataList) {
             this.savingAccountAssembler.assembleSavings(savingsAccountData);
@@ -260,8 +277,10 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
     private static final class SavingAccountMapperForInterestPosting implements ResultSetExtractor<List<SavingsAccountData>> {
 
         private final String schemaSql;
+        private final boolean withCheckpoint;
 
-        SavingAccountMapperForInterestPosting() {
+        SavingAccountMapperForInterestPosting(final boolean withCheckpoint) {
+            this.withCheckpoint = withCheckpoint;
             final StringBuilder sqlBuilder = new StringBuilder(400);
             sqlBuilder.append("sa.id as id, sa.account_no as accountNo, sa.external_id as externalId, ");
             sqlBuilder.append("sa.deposit_type_enum as depositType, ");
@@ -328,7 +347,11 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
             sqlBuilder.append("tr.submitted_on_date as transSubmittedOnDate,tr.cumulative_balance_derived as cumulativeBalance,");
             sqlBuilder.append("tr.running_balance_derived as runningBalance, tr.is_reversed as reversed,");
             sqlBuilder.append("tr.balance_end_date_derived as balanceEndDate, tr.overdraft_amount_derived as overdraftAmount,");
+            sqlBuilder.append("tr.balance_number_of_days_derived as balanceNumberOfDays, ");
             sqlBuilder.append("tr.is_manual as manualTransaction,tr.office_id as officeId, ");
+            if (withCheckpoint) {
+                sqlBuilder.append("cp.checkpoint_date as checkpointDate, cp.running_balance as checkpointRunningBalance, ");
+            }
             sqlBuilder.append("pd.payment_type_id as paymentType,pd.account_number as accountNumber,pd.check_number as checkNumber, ");
             sqlBuilder.append("pd.receipt_number as receiptNumber, pd.bank_number as bankNumber,pd.routing_code as routingCode, ");
             sqlBuilder.append("pt.value as paymentTypeName, ");
@@ -362,6 +385,15 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
             sqlBuilder.append("left join acc_product_mapping apm2 on apm2.product_id = sp.id and apm2.financial_account_type=18 ");
             sqlBuilder.append("left join acc_product_mapping apm3 on apm3.product_id = sp.id and apm3.financial_account_type = 11 ");
             sqlBuilder.append("left join acc_product_mapping apm4 on apm4.product_id = sp.id and apm4.financial_account_type = 17 ");
+            if (withCheckpoint) {
+                // a checkpoint is stale once the account moved past it or a transaction on or before it was touched afterwards
+                sqlBuilder.append("left join m_savings_account_interest_checkpoint cp on cp.savings_account_id = sa.id ");
+                sqlBuilder.append("and cp.checkpoint_date = sa.interest_posted_till_date ");
+                sqlBuilder.append("and not exists (select 1 from m_savings_account_transaction ct where ct.savings_account_id = sa.id ");
+                sqlBuilder.append("and ct." + LAST_MODIFIED_DATE_DB_FIELD + " > cp.last_modified_on_utc ");
+                sqlBuilder.append("and (ct.transaction_date < cp.checkpoint_date ");
+                sqlBuilder.append("or (ct.transaction_date = cp.checkpoint_date and ct.id <= cp.transaction_id))) ");
+            }
 
             this.schemaSql = sqlBuilder.toString();
         }
@@ -584,6 +616,11 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
 
                     savingsAccountData.setGlAccountIdForInterestOnSavings(glAccountIdForInterestOnSavings);
                     savingsAccountData.setGlAccountIdForSavingsControl(glAccountIdForSavingsControl);
+
+                    if (this.withCheckpoint) {
+                        savingsAccountData.setInterestCheckpointDate(JdbcSupport.getLocalDate(rs, "checkpointDate"));
+                        savingsAccountData.setInterestCheckpointRunningBalance(rs.getBigDecimal("checkpointRunningBalance"));
+                    }
                 }
 
                 if (!transMap.containsValue(transactionId)) {
@@ -601,6 +638,7 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
                     final boolean reversed = rs.getBoolean("reversed");
                     final Long officeId = rs.getLong("officeId");
                     final BigDecimal cumulativeBalance = JdbcSupport.getBigDecimalDefaultToZeroIfNull(rs, "cumulativeBalance");
+                    final Integer balanceNumberOfDays = JdbcSupport.getInteger(rs, "balanceNumberOfDays");
 
                     final boolean postInterestAsOn = false;
 
@@ -619,6 +657,8 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
                             id, accountNo, date, currency, amount, outstandingChargeAmount, runningBalance, reversed, transSubmittedOnDate,
                             postInterestAsOn, cumulativeBalance, balanceEndDate);
                     savingsAccountTransactionData.setOverdraftAmount(overdraftAmount);
+                    savingsAccountTransactionData.setBalanceNumberOfDays(balanceNumberOfDays);
+                    savingsAccountTransactionData.markDerivedBalancesPersisted();
 
                     transMap.put("id", transactionId);
                     if (savingsAccountData.getOfficeId() == null) {
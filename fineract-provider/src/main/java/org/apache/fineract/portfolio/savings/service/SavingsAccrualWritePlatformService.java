@@ -20,9 +20,12 @@ package org.apache.fineract.portfolio.savings.service;
 
 import java.time.LocalDate;
 import org.apache.fineract.infrastructure.core.exception.MultiException;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
 
 public interface SavingsAccrualWritePlatformService {
 
     void addAccrualEntries(LocalDate tillDate) throws MultiException;
 
+    void addAccrualEntries(SavingsAccount savingsAccount, LocalDate tillDate) throws MultiException;
+
 }
@@ -49,7 +49,7 @@ import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
 import org.apache.fineract.portfolio.savings.domain.SavingsHelper;
 import org.apache.fineract.portfolio.savings.domain.interest.CompoundInterestValues;
 import org.apache.fineract.portfolio.savings.domain.interest.PostingPeriod;
-import org.apache.fineract.portfolio.savings.domain.interest.SavingsAccountTransactionDetailsForPostingPeriod;
+import org.apache.fineract.portfolio.savings.domain.interest.PostingPeriodTransactionCursor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -68,7 +68,21 @@ public class SavingsAccrualWritePlatformServiceImpl implements SavingsAccrualWri
     @Transactional
     @Override
     public void addAccrualEntries(LocalDate tillDate) throws JobExecutionException {
-        final List<SavingsAccrualData> savingsAccrualData = savingsAccountReadPlatformService.retrievePeriodicAccrualData(tillDate, null);
+        addAccrualEntries(savingsAccountReadPlatformService.retrievePeriodicAccrualData(tillDate, null), tillDate,
+                savingsAccrual -> savingsAccountAssembler.assembleFrom(savingsAccrual.getId(), false));
+    }
+
+    @Transactional
+    @Override
+    public void addAccrualEntries(SavingsAccount savingsAccount, LocalDate tillDate) throws JobExecutionException {
+        // the account is already loaded by the caller, only its accrual data is read
+        savingsAccountAssembler.assignSavingAccountHelpers(savingsAccount);
+        addAccrualEntries(savingsAccountReadPlatformService.retrievePeriodicAccrualData(tillDate, savingsAccount), tillDate,
+                savingsAccrual -> savingsAccount);
+    }
+
+    private void addAccrualEntries(List<SavingsAccrualData> savingsAccrualData, LocalDate tillDate,
+            Function<SavingsAccrualData, SavingsAccount> savingsAccountLoader) throws JobExecutionException {
         final Integer financialYearBeginningMonth = configurationDomainService.retrieveFinancialYearBeginningMonth();
         final boolean isSavingsInterestPostingAtCurrentPeriodEnd = this.configurationDomainService
                 .isSavingsInterestPostingAtCurrentPeriodEnd();
@@ -82,7 +96,7 @@ public class SavingsAccrualWritePlatformServiceImpl implements SavingsAccrualWri
                         continue;
                     }
                 }
-                SavingsAccount savingsAccount = savingsAccountAssembler.assembleFrom(savingsAccrual.getId(), false);
+                SavingsAccount savingsAccount = savingsAccountLoader.apply(savingsAccrual);
                 LocalDate fromDate = savingsAccrual.getAccruedTill();
                 if (fromDate == null) {
                     fromDate = savingsAccount.getActivationDate();
@@ -132,8 +146,8 @@ public class SavingsAccrualWritePlatformServiceImpl implements SavingsAccrualWri
         final Collection<Long> interestPostTransactions = this.savingsHelper.fetchPostInterestTransactionIds(savingsAccount.getId());
         boolean isInterestTransfer = false;
         final Money minBalanceForInterestCalculation = Money.of(currency, savingsAccount.getMinBalanceForInterestCalculation());
-        List<SavingsAccountTransactionDetailsForPostingPeriod> savingsAccountTransactionDetailsForPostingPeriodList = savingsAccount
-                .toSavingsAccountTransactionDetailsForPostingPeriodList();
+        final PostingPeriodTransactionCursor transactionCursor = new PostingPeriodTransactionCursor(
+                savingsAccount.toSavingsAccountTransactionDetailsForPostingPeriodList());
         for (final LocalDateInterval periodInterval : postingPeriodIntervals) {
             if (DateUtils.isDateInTheFuture(periodInterval.endDate())) {
                 continue;
@@ -141,7 +155,7 @@ public class SavingsAccrualWritePlatformServiceImpl implements SavingsAccrualWri
             final boolean isUserPosting = postedAsOnTransactionDates.contains(periodInterval.endDate());
 
             final PostingPeriod postingPeriod = PostingPeriod.createFrom(periodInterval, periodStartingBalance,
-                    savingsAccountTransactionDetailsForPostingPeriodList, currency, compoundingPeriodType, interestCalculationType,
+                    transactionCursor.sliceFor(periodInterval), currency, compoundingPeriodType, interestCalculationType,
                     interestRateAsFraction, daysInYearType.getValue(), tillDate, interestPostTransactions, isInterestTransfer,
                     minBalanceForInterestCalculation, isSavingsInterestPostingAtCurrentPeriodEnd, isUserPosting,
                     financialYearBeginningMonth);
@@ -42,6 +42,7 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.UriInfo;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -53,6 +54,7 @@ import org.apache.fineract.commands.service.CommandWrapperBuilder;
 import org.apache.fineract.commands.service.PortfolioCommandSourceWritePlatformService;
 import org.apache.fineract.infrastructure.core.api.ApiRequestParameterHelper;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.apache.fineract.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
 import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
@@ -219,6 +221,45 @@ public class TemplatesApiResource {
         @SuppressWarnings("unchecked")
         final HashMap<String, Object> result = new ObjectMapper().readValue(apiRequestBodyAsJson, HashMap.class);
 
+        final Map<String, Object> parametersMap = getParametersMap(uriInfo);
+        parametersMap.putAll(result);
+        return this.templateMergeService.compile(template, parametersMap);
+    }
+
+    @POST
+    @Path("{templateId}/bulk")
+    @Operation(summary = "Merge a UGD for many entities", description = "Merges the UGD once for each element of entities. The other "
+            + "fields of the body and the query parameters are shared by all entities.\n" + "\n" + "Example Requests:\n" + "\n"
+            + "templates/1/bulk")
+    @RequestBody(required = true, content = @Content(schema = @Schema(implementation = TemplatesApiResourcesSwagger.PostTemplatesTemplateIdBulkRequest.class)))
+    @ApiResponses({ @ApiResponse(responseCode = "200", description = "OK") })
+    public String mergeTemplates(@PathParam("templateId") @Parameter(description = "templateId") final Long templateId,
+            @Context final UriInfo uriInfo, @Parameter(hidden = true) final String apiRequestBodyAsJson) throws IOException {
+
+        this.context.authenticatedUser().validateHasReadPermission(RESOURCE_NAME_FOR_PERMISSION);
+
+        final Template template = this.templateService.findOneById(templateId);
+
+        @SuppressWarnings("unchecked")
+        final HashMap<String, Object> result = new ObjectMapper().readValue(apiRequestBodyAsJson, HashMap.class);
+        final Object entities = result.remove(ENTITIES);
+        if (!(entities instanceof List<?> entityList) || !entityList.stream().allMatch(Map.class::isInstance)) {
+            throw new PlatformApiDataValidationException("validation.msg.template.entities.invalid",
+                    "The parameter entities must be an array of JSON objects", ENTITIES);
+        }
+        final List<Map<String, Object>> entityScopes = new ArrayList<>();
+        for (final Object entity : entityList) {
+            @SuppressWarnings("unchecked")
+            final Map<String, Object> entityScope = (Map<String, Object>) entity;
+            entityScopes.add(entityScope);
+        }
+
+        final Map<String, Object> parametersMap = getParametersMap(uriInfo);
+        parametersMap.putAll(result);
+        return new ObjectMapper().writeValueAsString(this.templateMergeService.compileAll(template, parametersMap, entityScopes));
+    }
+
+    private Map<String, Object> getParametersMap(final UriInfo uriInfo) {
         final MultivaluedMap<String, String> parameters = uriInfo.getQueryParameters();
         final Map<String, Object> parametersMap = new HashMap<>();
         for (final Map.Entry<String, List<String>> entry : parameters.entrySet()) {
@@ -231,7 +272,6 @@ public class TemplatesApiResource {
         }
 
         parametersMap.put("BASE_URI", uriInfo.getBaseUri());
-        parametersMap.putAll(result);
-        return this.templateMergeService.compile(template, parametersMap);
+        return parametersMap;
     }
 }
@@ -20,6 +20,7 @@ package org.apache.fineract.template.api;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.List;
+import java.util.Map;
 import org.apache.fineract.template.domain.TemplateMapper;
 
 /**
@@ -171,4 +172,16 @@ final class TemplatesApiResourcesSwagger {
         public Long resourceId;
 
     }
+
+    @Schema(description = "PostTemplatesTemplateIdBulkRequest")
+    public static final class PostTemplatesTemplateIdBulkRequest {
+
+        private PostTemplatesTemplateIdBulkRequest() {
+
+        }
+
+        @Schema(example = "[{\"clientId\": 1}, {\"clientId\": 2}]")
+        public List<Map<String, Object>> entities;
+
+    }
 }
@@ -64,6 +64,9 @@ public class Template extends AbstractPersistableCustom<Long> {
                     @JoinColumn(name = "mappers_id", referencedColumnName = "id", unique = true) })
     private List<TemplateMapper> mappers;
 
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public Template(final String name, final String text, final TemplateEntity entity, final TemplateType type,
             final List<TemplateMapper> mappers) {
         this.name = StringUtils.defaultIfEmpty(name, null);
@@ -150,4 +153,15 @@ public class Template extends AbstractPersistableCustom<Long> {
     public void setText(final String text) {
         this.text = text;
     }
+
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Marks the text or the mappers as changed, so that a compiled copy of the previous version is not used anymore.
+     */
+    public void incrementVersion() {
+        this.version++;
+    }
 }
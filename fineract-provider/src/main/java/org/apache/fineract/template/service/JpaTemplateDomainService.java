@@ -102,6 +102,7 @@ public class JpaTemplateDomainService implements TemplateDomainService {
                     element.getAsJsonObject().get("mappersvalue").getAsString()));
         }
         template.setMappers(mappersList);
+        template.incrementVersion();
 
         this.templateRepository.saveAndFlush(template);
 
@@ -121,6 +122,7 @@ public class JpaTemplateDomainService implements TemplateDomainService {
     @Transactional
     @Override
     public Template updateTemplate(final Template template) {
+        template.incrementVersion();
         return this.templateRepository.saveAndFlush(template);
     }
 
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.template.service;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
+import org.apache.fineract.organisation.staff.service.StaffReadPlatformService;
+import org.apache.fineract.portfolio.client.api.ClientApiConstants;
+import org.apache.fineract.portfolio.client.service.ClientReadPlatformService;
+import org.apache.fineract.portfolio.group.api.GroupingTypesApiConstants;
+import org.apache.fineract.portfolio.group.service.CenterReadPlatformService;
+
+/**
+ * Resolves the mapper urls of a template which point back to this server against the read services, instead of making a
+ * loopback HTTP request for every merge.
+ *
+ * Only the plain retrieval of a single client, center, office or staff is resolved here, the same read permission as the
+ * REST resource is required and the JSON returned is the one of the REST resource. Any other url is left to the caller.
+ */
+@RequiredArgsConstructor
+public class TemplateMapperResolver {
+
+    private static final Pattern RESOURCE_URL_PATTERN = Pattern.compile("^/*(?:v1/)?([a-z]+)/(\\d+)/?(?:\\?tenantIdentifier=[\\w-]+)?$");
+    private static final String OFFICE_RESOURCE_NAME = "OFFICE";
+    private static final String STAFF_RESOURCE_NAME = "STAFF";
+
+    private final PlatformSecurityContext context;
+    private final DefaultToApiJsonSerializer<Object> toApiJsonSerializer;
+    private final ClientReadPlatformService clientReadPlatformService;
+    private final CenterReadPlatformService centerReadPlatformService;
+    private final OfficeReadPlatformService officeReadPlatformService;
+    private final StaffReadPlatformService staffReadPlatformService;
+
+    /**
+     * @param relativeUrl
+     *            the mapper url relative to the base uri of the API
+     * @return the JSON representation of the resource, or empty if the url is not one that is resolved in process
+     */
+    public Optional<String> resolve(final String relativeUrl) {
+        final Matcher matcher = RESOURCE_URL_PATTERN.matcher(relativeUrl);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        final Long id = Long.valueOf(matcher.group(2));
+        final Object data = switch (matcher.group(1)) {
+            case "clients" -> retrieve(ClientApiConstants.CLIENT_RESOURCE_NAME, () -> clientReadPlatformService.retrieveOne(id));
+            case "centers" -> retrieve(GroupingTypesApiConstants.CENTER_RESOURCE_NAME, () -> centerReadPlatformService.retrieveOne(id));
+            case "offices" -> retrieve(OFFICE_RESOURCE_NAME, () -> officeReadPlatformService.retrieveOffice(id));
+            case "staff" -> retrieve(STAFF_RESOURCE_NAME, () -> staffReadPlatformService.retrieveStaff(id));
+            default -> null;
+        };
+        return Optional.ofNullable(data).map(toApiJsonSerializer::serialize);
+    }
+
+    private Object retrieve(final String resourceNameForPermissions, final Supplier<Object> reader) {
+        context.authenticatedUser().validateHasReadPermission(resourceNameForPermissions);
+        return reader.get();
+    }
+}
@@ -36,24 +36,40 @@ import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.template.domain.Template;
 import org.apache.fineract.template.domain.TemplateFunctions;
 import org.apache.fineract.template.exception.TemplateForbiddenException;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+/**
+ * Merges templates with their scopes.
+ *
+ * The mustache of a stored template and of its mappers is compiled once per tenant and version of the template, so
+ * merging the same template over and over again only executes it. Mapper urls that point back to this server are
+ * resolved in process by the {@link TemplateMapperResolver} where possible.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class TemplateMergeService {
 
     private final FineractProperties fineractProperties;
+    private final TemplateMapperResolver templateMapperResolver;
+    private final ConcurrentMap<TemplateKey, CompiledTemplate> compiledTemplates = new ConcurrentHashMap<>();
 
     // TODO Replace this with appropriate alternative available in Guava
     private static String getStringFromInputStream(final InputStream is) {
@@ -73,46 +89,106 @@ public class TemplateMergeService {
     }
 
     public String compile(final Template template, final Map<String, Object> scopes) {
-        scopes.put("static", new TemplateFunctions());
+        return merge(getCompiledTemplate(template), scopes, new HashMap<>());
+    }
 
-        final MustacheFactory mf = new DefaultMustacheFactory();
-        final Mustache mustache = mf.compile(new StringReader(template.getText()), template.getName());
+    /**
+     * Merges one template with the scopes of many entities. The template is compiled once and a mapper url that renders
+     * the same for several entities is requested only once.
+     *
+     * @param commonScopes
+     *            the scopes shared by all entities
+     * @param entityScopes
+     *            the scopes of each entity, which take precedence over the common ones
+     * @return the merged text of each entity, in the order of the entity scopes
+     */
+    public List<String> compileAll(final Template template, final Map<String, Object> commonScopes,
+            final List<Map<String, Object>> entityScopes) {
+        final CompiledTemplate compiledTemplate = getCompiledTemplate(template);
+        final Map<String, Map<String, Object>> resolvedUrls = new HashMap<>();
+        final List<String> results = new ArrayList<>(entityScopes.size());
+        for (final Map<String, Object> entityScope : entityScopes) {
+            final Map<String, Object> scopes = new HashMap<>(commonScopes);
+            scopes.putAll(entityScope);
+            results.add(merge(compiledTemplate, scopes, resolvedUrls));
+        }
+        return results;
+    }
 
-        getCompiledMapFromMappers(template.getMappersAsMap(), scopes);
+    private String merge(final CompiledTemplate compiledTemplate, final Map<String, Object> scopes,
+            final Map<String, Map<String, Object>> resolvedUrls) {
+        scopes.put("static", new TemplateFunctions());
+
+        getCompiledMapFromMappers(compiledTemplate.mappers(), scopes, resolvedUrls);
 
         expandMapArrays(scopes);
 
         final StringWriter stringWriter = new StringWriter();
-        mustache.execute(stringWriter, scopes);
+        compiledTemplate.mustache().execute(stringWriter, scopes);
 
         return stringWriter.toString();
     }
 
-    private Map<String, Object> getCompiledMapFromMappers(final Map<String, String> data, final Map<String, Object> scopes) {
+    private CompiledTemplate getCompiledTemplate(final Template template) {
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (template.getId() == null || tenant == null) {
+            return compileTemplate(template);
+        }
+        final TemplateKey key = new TemplateKey(tenant.getTenantIdentifier(), template.getId());
+        CompiledTemplate compiledTemplate = compiledTemplates.get(key);
+        if (compiledTemplate == null || compiledTemplate.version() != template.getVersion()) {
+            compiledTemplate = compileTemplate(template);
+            compiledTemplates.put(key, compiledTemplate);
+        }
+        return compiledTemplate;
+    }
+
+    private static CompiledTemplate compileTemplate(final Template template) {
         final MustacheFactory mf = new DefaultMustacheFactory();
+        final Mustache mustache = mf.compile(new StringReader(template.getText()), template.getName());
+
+        final Map<String, Mustache> mappers = new LinkedHashMap<>();
+        if (template.getMappers() != null) {
+            for (final Map.Entry<String, String> entry : template.getMappersAsMap().entrySet()) {
+                mappers.put(entry.getKey(), mf.compile(new StringReader(entry.getValue()), ""));
+            }
+        }
+        return new CompiledTemplate(template.getVersion(), mustache, mappers);
+    }
 
-        if (data != null) {
-            for (final Map.Entry<String, String> entry : data.entrySet()) {
-                final Mustache mappersMustache = mf.compile(new StringReader(entry.getValue()), "");
-                final StringWriter stringWriter = new StringWriter();
+    private Map<String, Object> getCompiledMapFromMappers(final Map<String, Mustache> mappers, final Map<String, Object> scopes,
+            final Map<String, Map<String, Object>> resolvedUrls) {
+        for (final Map.Entry<String, Mustache> entry : mappers.entrySet()) {
+            final StringWriter stringWriter = new StringWriter();
 
-                mappersMustache.execute(stringWriter, scopes);
-                String url = stringWriter.toString();
-                if (!url.startsWith("http")) {
-                    url = scopes.get("BASE_URI") + url;
-                }
-                try {
-                    scopes.put(entry.getKey(), getMapFromUrl(url));
-                } catch (final IOException e) {
-                    log.error("getCompiledMapFromMappers() failed", e);
+            entry.getValue().execute(stringWriter, scopes);
+            String url = stringWriter.toString();
+            if (!url.startsWith("http")) {
+                url = scopes.get("BASE_URI") + url;
+            }
+            try {
+                Map<String, Object> result = resolvedUrls.get(url);
+                if (result == null) {
+                    result = getMapFromUrl(url, scopes.get("BASE_URI"));
+                    resolvedUrls.put(url, result);
                 }
+                scopes.put(entry.getKey(), result);
+            } catch (final IOException e) {
+                log.error("getCompiledMapFromMappers() failed", e);
             }
         }
         return scopes;
     }
 
     @SuppressWarnings("unchecked")
-    private Map<String, Object> getMapFromUrl(final String url) throws IOException {
+    private Map<String, Object> getMapFromUrl(final String url, final Object baseUri) throws IOException {
+        checkWhitelisted(url);
+
+        final Optional<String> resolved = resolveInProcess(url, baseUri);
+        if (resolved.isPresent()) {
+            return new ObjectMapper().readValue(resolved.get(), HashMap.class);
+        }
+
         final HttpURLConnection connection = getConnection(url);
 
         final String response = getStringFromInputStream(connection.getInputStream());
@@ -125,7 +201,18 @@ public class TemplateMergeService {
         return result;
     }
 
-    private HttpURLConnection getConnection(final String url) {
+    private Optional<String> resolveInProcess(final String url, final Object baseUri) throws IOException {
+        if (baseUri == null || !url.startsWith(baseUri.toString())) {
+            return Optional.empty();
+        }
+        try {
+            return templateMapperResolver.resolve(url.substring(baseUri.toString().length()));
+        } catch (final RuntimeException e) {
+            throw new IOException("Resolving " + url + " failed", e);
+        }
+    }
+
+    private void checkWhitelisted(final String url) {
         if (fineractProperties.getTemplate() != null && fineractProperties.getTemplate().isRegexWhitelistEnabled()) {
             boolean whitelisted = false;
 
@@ -145,7 +232,9 @@ public class TemplateMergeService {
                 throw new TemplateForbiddenException(url);
             }
         }
+    }
 
+    private HttpURLConnection getConnection(final String url) {
         String authToken = ThreadLocalContextUtil.getAuthToken();
         if (authToken == null) {
             final String name = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -206,4 +295,9 @@ public class TemplateMergeService {
         }
     }
 
+    private record TemplateKey(String tenantIdentifier, Long templateId) {
+    }
+
+    private record CompiledTemplate(long version, Mustache mustache, Map<String, Mustache> mappers) {
+    }
 }
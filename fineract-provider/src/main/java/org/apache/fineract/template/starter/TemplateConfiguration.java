@@ -19,9 +19,16 @@
 package org.apache.fineract.template.starter;
 
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
+import org.apache.fineract.organisation.staff.service.StaffReadPlatformService;
+import org.apache.fineract.portfolio.client.service.ClientReadPlatformService;
+import org.apache.fineract.portfolio.group.service.CenterReadPlatformService;
 import org.apache.fineract.template.domain.TemplateRepository;
 import org.apache.fineract.template.service.JpaTemplateDomainService;
 import org.apache.fineract.template.service.TemplateDomainService;
+import org.apache.fineract.template.service.TemplateMapperResolver;
 import org.apache.fineract.template.service.TemplateMergeService;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
@@ -36,10 +43,20 @@ public class TemplateConfiguration {
         return new JpaTemplateDomainService(templateRepository);
     }
 
+    @Bean
+    @ConditionalOnMissingBean(TemplateMapperResolver.class)
+    public TemplateMapperResolver templateMapperResolver(PlatformSecurityContext context,
+            DefaultToApiJsonSerializer<Object> toApiJsonSerializer, ClientReadPlatformService clientReadPlatformService,
+            CenterReadPlatformService centerReadPlatformService, OfficeReadPlatformService officeReadPlatformService,
+            StaffReadPlatformService staffReadPlatformService) {
+        return new TemplateMapperResolver(context, toApiJsonSerializer, clientReadPlatformService, centerReadPlatformService,
+                officeReadPlatformService, staffReadPlatformService);
+    }
+
     @Bean
     @ConditionalOnMissingBean(TemplateMergeService.class)
-    public TemplateMergeService templateMergeService(FineractProperties fineractProperties) {
-        return new TemplateMergeService(fineractProperties);
+    public TemplateMergeService templateMergeService(FineractProperties fineractProperties, TemplateMapperResolver templateMapperResolver) {
+        return new TemplateMergeService(fineractProperties, templateMapperResolver);
     }
 
 }
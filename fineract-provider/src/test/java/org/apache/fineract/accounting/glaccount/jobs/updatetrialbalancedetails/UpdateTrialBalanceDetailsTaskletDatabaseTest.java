@@ -0,0 +1,174 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.glaccount.jobs.updatetrialbalancedetails;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.accounting.glaccount.domain.TrialBalanceRepositoryWrapper;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractTrialBalanceProperties;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.RoutingDataSourceService;
+import org.apache.fineract.infrastructure.core.service.database.RoutingDataSourceServiceFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs the set-based trial balance update against a real database, both as one statement with window functions and
+ * partitioned by office, and checks the closing balances carried on from the earlier trial balance rows.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class UpdateTrialBalanceDetailsTaskletDatabaseTest {
+
+    private static final int CREDIT = 1;
+    private static final int DEBIT = 2;
+    private static final LocalDate LAST_CREATED_DATE = LocalDate.of(2024, 3, 1);
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2024, 3, 10);
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+    private static DriverManagerDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    private final DatabaseSpecificSQLGenerator sqlGenerator = mock(DatabaseSpecificSQLGenerator.class);
+    private final StepContribution contribution = mock(StepContribution.class);
+    private UpdateTrialBalanceDetailsTasklet underTest;
+
+    @BeforeAll
+    public static void createSchema() {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE acc_gl_journal_entry (id BIGSERIAL PRIMARY KEY, account_id BIGINT NOT NULL, "
+                + "office_id BIGINT NOT NULL, entry_date DATE NOT NULL, transaction_date DATE NOT NULL, type_enum SMALLINT NOT NULL, "
+                + "amount DECIMAL(19, 6) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE m_trial_balance (office_id BIGINT NOT NULL, account_id BIGINT NOT NULL, "
+                + "amount DECIMAL(19, 6) NOT NULL, entry_date DATE NOT NULL, created_date DATE, closing_balance DECIMAL(19, 6))");
+    }
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, BUSINESS_DATE)));
+        jdbcTemplate.execute("TRUNCATE acc_gl_journal_entry, m_trial_balance");
+
+        final RoutingDataSourceServiceFactory dataSourceServiceFactory = mock(RoutingDataSourceServiceFactory.class);
+        final RoutingDataSourceService dataSourceService = mock(RoutingDataSourceService.class);
+        when(dataSourceServiceFactory.determineDataSourceService()).thenReturn(dataSourceService);
+        when(dataSourceService.retrieveDataSource()).thenReturn(dataSource);
+        when(sqlGenerator.runningSum(anyString(), anyString(), anyString())).thenCallRealMethod();
+        final FineractTrialBalanceProperties trialBalance = new FineractTrialBalanceProperties();
+        trialBalance.setSetBasedEnabled(true);
+        trialBalance.setPartitions(2);
+        final FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setJob(new FineractProperties.FineractJobProperties());
+        fineractProperties.getJob().setTrialBalance(trialBalance);
+        underTest = new UpdateTrialBalanceDetailsTasklet(dataSourceServiceFactory, mock(TrialBalanceRepositoryWrapper.class),
+                sqlGenerator, fineractProperties);
+
+        givenTrialBalance(1L, 1L, LAST_CREATED_DATE, "100");
+        givenTrialBalance(2L, 1L, LAST_CREATED_DATE, "50");
+        // already in the trial balance, and not complete yet on the business date
+        givenEntry(1L, 1L, LAST_CREATED_DATE, DEBIT, "70");
+        givenEntry(1L, 1L, BUSINESS_DATE, DEBIT, "99");
+
+        givenEntry(1L, 1L, LocalDate.of(2024, 3, 2), DEBIT, "10");
+        givenEntry(1L, 1L, LocalDate.of(2024, 3, 2), CREDIT, "4");
+        givenEntry(1L, 1L, LocalDate.of(2024, 3, 3), DEBIT, "20");
+        givenEntry(1L, 2L, LocalDate.of(2024, 3, 3), DEBIT, "5");
+        givenEntry(2L, 1L, LocalDate.of(2024, 3, 2), CREDIT, "30");
+        givenEntry(2L, 1L, LocalDate.of(2024, 3, 4), DEBIT, "15");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void givenWindowFunctionsWhenExecuteThenClosingBalancesContinueFromLastTrialBalance() throws Exception {
+        // given
+        when(sqlGenerator.supportsWindowFunctions()).thenReturn(true);
+        // when
+        underTest.execute(contribution, null);
+        // then
+        assertExpectedTrialBalances();
+    }
+
+    @Test
+    public void givenNoWindowFunctionsWhenExecuteThenOfficesArePartitionedWithSameClosingBalances() throws Exception {
+        // given
+        when(sqlGenerator.supportsWindowFunctions()).thenReturn(false);
+        // when
+        underTest.execute(contribution, null);
+        // then
+        assertExpectedTrialBalances();
+    }
+
+    private void assertExpectedTrialBalances() {
+        assertEquals(List.of(List.of("1", "1", "2024-03-01", "100", "100"), List.of("1", "1", "2024-03-02", "6", "106"),
+                List.of("1", "1", "2024-03-03", "20", "126"), List.of("1", "2", "2024-03-03", "5", "5"),
+                List.of("2", "1", "2024-03-01", "100", "50"), List.of("2", "1", "2024-03-02", "-30", "20"),
+                List.of("2", "1", "2024-03-04", "15", "35")), trialBalances());
+        verify(contribution).incrementWriteCount(5L);
+    }
+
+    private void givenEntry(final Long officeId, final Long accountId, final LocalDate date, final int type, final String amount) {
+        jdbcTemplate.update("INSERT INTO acc_gl_journal_entry (account_id, office_id, entry_date, transaction_date, type_enum, amount) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", accountId, officeId, date, date, type, new BigDecimal(amount));
+    }
+
+    private void givenTrialBalance(final Long officeId, final Long accountId, final LocalDate date, final String closingBalance) {
+        jdbcTemplate.update("INSERT INTO m_trial_balance (office_id, account_id, amount, entry_date, created_date, closing_balance) "
+                + "VALUES (?, ?, 100, ?, ?, ?)", officeId, accountId, date, date, new BigDecimal(closingBalance));
+    }
+
+    private List<List<String>> trialBalances() {
+        return jdbcTemplate.query("SELECT office_id, account_id, created_date, amount, closing_balance FROM m_trial_balance "
+                + "ORDER BY office_id, account_id, created_date",
+                (rs, rowNum) -> List.of(rs.getString("office_id"), rs.getString("account_id"), rs.getString("created_date"),
+                        plain(rs.getBigDecimal("amount")), plain(rs.getBigDecimal("closing_balance"))));
+    }
+
+    private static String plain(final BigDecimal value) {
+        return value.stripTrailingZeros().toPlainString();
+    }
+}
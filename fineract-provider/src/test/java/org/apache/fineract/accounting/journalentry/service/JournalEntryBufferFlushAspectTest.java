@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryRepository;
+import org.apache.fineract.mix.service.XBRLResultService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+@ExtendWith(MockitoExtension.class)
+public class JournalEntryBufferFlushAspectTest {
+
+    @Mock
+    private JournalEntryRepository journalEntryRepository;
+    @Mock
+    private TransactionalJournalEntryBuffer journalEntryBuffer;
+    @Mock
+    private JournalEntry journalEntry;
+    @Mock
+    private XBRLResultService xbrlResultService;
+    @Mock
+    private ObjectProvider<TransactionalJournalEntryBuffer> journalEntryBufferProvider;
+
+    private JournalEntryRepository proxy;
+
+    @BeforeEach
+    public void setUp() {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(journalEntryRepository);
+        proxyFactory.addInterface(JournalEntryRepository.class);
+        proxyFactory.addAspect(new JournalEntryBufferFlushAspect(journalEntryBufferProvider));
+        proxy = proxyFactory.getProxy();
+    }
+
+    @Test
+    public void testBufferIsFlushedBeforeJournalEntriesAreQueried() {
+        // given
+        when(journalEntryBufferProvider.getObject()).thenReturn(journalEntryBuffer);
+
+        // when
+        proxy.findJournalEntries("S1", 2);
+
+        // then
+        verify(journalEntryBuffer).flush();
+        verify(journalEntryRepository).findJournalEntries("S1", 2);
+    }
+
+    @Test
+    public void testBufferIsNotFlushedWhenJournalEntriesAreSaved() {
+        // when
+        proxy.saveAndFlush(journalEntry);
+
+        // then
+        verify(journalEntryBufferProvider, never()).getObject();
+        verify(journalEntryRepository).saveAndFlush(journalEntry);
+    }
+
+    @Test
+    public void testBufferIsFlushedBeforeJournalEntriesAreReadWithSql() {
+        // given
+        when(journalEntryBufferProvider.getObject()).thenReturn(journalEntryBuffer);
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(xbrlResultService);
+        proxyFactory.addInterface(XBRLResultService.class);
+        proxyFactory.addAspect(new JournalEntryBufferFlushAspect(journalEntryBufferProvider));
+        XBRLResultService xbrlProxy = proxyFactory.getProxy();
+        Date startDate = Date.valueOf(LocalDate.of(2024, 1, 1));
+        Date endDate = Date.valueOf(LocalDate.of(2024, 3, 31));
+
+        // when
+        xbrlProxy.getXBRLResult(startDate, endDate, "USD");
+
+        // then
+        verify(journalEntryBuffer).flush();
+        verify(xbrlResultService).getXBRLResult(startDate, endDate, "USD");
+    }
+}
@@ -0,0 +1,253 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.fineract.accounting.journalentry.data.JournalEntryDataValidator;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractRunningBalanceUpdateProperties;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.PlatformInternalServerException;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs the statements of the running balance update against a real database: the job partitions with their snapshots and
+ * the command reading page by page in the transaction of the caller.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class JournalEntryRunningBalanceUpdateDatabaseTest {
+
+    private static final int CREDIT = 1;
+    private static final int DEBIT = 2;
+    private static final int ASSET = 1;
+    private static final int LIABILITY = 2;
+    private static final LocalDate ENTITY_DATE = LocalDate.of(2024, 3, 1);
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static DataSourceTransactionManager transactionManager;
+
+    private final FromJsonHelper fromApiJsonHelper = mock(FromJsonHelper.class);
+    private ThreadPoolTaskExecutor taskExecutor;
+    private JournalEntryRunningBalanceUpdateServiceImpl underTest;
+
+    @BeforeAll
+    public static void createSchema() {
+        final DriverManagerDataSource dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(),
+                POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate.execute("CREATE TABLE acc_gl_account (id BIGINT PRIMARY KEY, classification_enum SMALLINT NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE acc_gl_journal_entry (id BIGINT PRIMARY KEY, account_id BIGINT NOT NULL, "
+                + "office_id BIGINT NOT NULL, entry_date DATE NOT NULL, type_enum SMALLINT NOT NULL, amount DECIMAL(19, 6) NOT NULL, "
+                + "is_running_balance_calculated BOOLEAN DEFAULT FALSE NOT NULL, "
+                + "organization_running_balance DECIMAL(19, 6) DEFAULT 0 NOT NULL, "
+                + "office_running_balance DECIMAL(19, 6) DEFAULT 0 NOT NULL, last_modified_by BIGINT, "
+                + "last_modified_on_utc TIMESTAMP WITH TIME ZONE)");
+        jdbcTemplate.execute("CREATE TABLE acc_gl_running_balance_snapshot (office_id BIGINT NOT NULL, account_id BIGINT NOT NULL, "
+                + "journal_entry_id BIGINT NOT NULL, entry_date DATE NOT NULL, office_running_balance DECIMAL(19, 6) DEFAULT 0 NOT NULL, "
+                + "organization_running_balance DECIMAL(19, 6) DEFAULT 0 NOT NULL, "
+                + "CONSTRAINT pk_acc_gl_running_balance_snapshot PRIMARY KEY (office_id, account_id))");
+    }
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        jdbcTemplate.execute("TRUNCATE acc_gl_running_balance_snapshot, acc_gl_journal_entry, acc_gl_account");
+
+        final FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setJob(new FineractProperties.FineractJobProperties());
+        final FineractRunningBalanceUpdateProperties runningBalanceUpdate = new FineractRunningBalanceUpdateProperties();
+        runningBalanceUpdate.setPartitions(2);
+        runningBalanceUpdate.setBatchSize(2);
+        // one row per fetch and per page, so the cursor and the paging both go over several round trips
+        runningBalanceUpdate.setFetchSize(1);
+        fineractProperties.getJob().setRunningBalanceUpdate(runningBalanceUpdate);
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(2);
+        taskExecutor.initialize();
+
+        final PlatformSecurityContext platformSecurityContext = mock(PlatformSecurityContext.class);
+        final AppUser appUser = mock(AppUser.class);
+        when(platformSecurityContext.authenticatedUser()).thenReturn(appUser);
+        when(appUser.getId()).thenReturn(1L);
+        underTest = new JournalEntryRunningBalanceUpdateServiceImpl(jdbcTemplate, mock(OfficeRepositoryWrapper.class),
+                mock(JournalEntryDataValidator.class), fromApiJsonHelper, platformSecurityContext, transactionManager,
+                fineractProperties, taskExecutor);
+
+        jdbcTemplate.update("INSERT INTO acc_gl_account (id, classification_enum) VALUES (1, ?), (2, ?)", ASSET, LIABILITY);
+        givenCalculatedEntry(1L, 1L, 1L, ENTITY_DATE.minusDays(2), DEBIT, "100", "100", "100");
+        givenEntry(2L, 1L, 2L, ENTITY_DATE, DEBIT, "50");
+        givenEntry(3L, 1L, 1L, ENTITY_DATE, CREDIT, "30");
+        givenEntry(4L, 1L, 2L, ENTITY_DATE.plusDays(1), DEBIT, "20");
+        givenEntry(5L, 2L, 1L, ENTITY_DATE, CREDIT, "25");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskExecutor.shutdown();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void givenUncalculatedEntriesWhenUpdateRunningBalanceThenBalancesAndSnapshotsAreStored() {
+        // when
+        underTest.updateRunningBalance();
+        // then
+        assertEquals(Map.of(1L, List.of("100", "100"), 2L, List.of("150", "50"), 3L, List.of("120", "70"), 4L, List.of("140", "70"),
+                5L, List.of("25", "25")), organizationAndOfficeBalances());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM acc_gl_journal_entry WHERE is_running_balance_calculated = FALSE", Integer.class));
+        assertEquals(List.of(List.of("1", "1", "3", "70", "120"), List.of("1", "2", "4", "70", "140"), List.of("2", "1", "5", "25", "25")),
+                snapshots());
+    }
+
+    @Test
+    public void givenSnapshotWhenUpdateRunningBalanceAgainThenBalancesContinueFromSnapshot() {
+        // given
+        underTest.updateRunningBalance();
+        givenEntry(6L, 1L, 1L, ENTITY_DATE.plusDays(4), DEBIT, "10");
+        // the entries behind the snapshot are not read again, a changed balance there shows whether they were
+        jdbcTemplate.update("UPDATE acc_gl_journal_entry SET office_running_balance = 0 WHERE id = 3");
+        // when
+        underTest.updateRunningBalance();
+        // then
+        assertEquals(List.of("150", "80"), organizationAndOfficeBalances().get(6L));
+        assertEquals(List.of("1", "1", "6", "80", "150"), snapshots().get(0));
+    }
+
+    @Test
+    public void givenFailedBatchWhenUpdateRunningBalanceAgainThenBalancesContinueFromCommittedBatches() {
+        // given
+        underTest.updateRunningBalance();
+        givenEntry(8L, 1L, 1L, ENTITY_DATE.plusDays(4), DEBIT, "10");
+        givenEntry(9L, 1L, 1L, ENTITY_DATE.plusDays(4), DEBIT, "10");
+        givenEntry(10L, 1L, 1L, ENTITY_DATE.plusDays(5), DEBIT, "10");
+        // the batch with entries 8 and 9 commits, the next one with entry 10 fails
+        jdbcTemplate.execute("CREATE OR REPLACE FUNCTION fail_running_balance_update() RETURNS trigger AS $$ "
+                + "BEGIN RAISE EXCEPTION 'running balance update failed'; END $$ LANGUAGE plpgsql");
+        jdbcTemplate.execute("CREATE TRIGGER fail_running_balance_update BEFORE UPDATE ON acc_gl_journal_entry FOR EACH ROW "
+                + "WHEN (NEW.id = 10) EXECUTE FUNCTION fail_running_balance_update()");
+        try {
+            assertThrows(PlatformInternalServerException.class, () -> underTest.updateRunningBalance());
+        } finally {
+            jdbcTemplate.execute("DROP TRIGGER fail_running_balance_update ON acc_gl_journal_entry");
+        }
+        assertEquals(List.of(List.of("2", "1", "5", "25", "25")), snapshots());
+        // when
+        underTest.updateRunningBalance();
+        // then
+        final Map<Long, List<String>> balances = organizationAndOfficeBalances();
+        assertEquals(List.of("150", "80"), balances.get(8L));
+        assertEquals(List.of("160", "90"), balances.get(9L));
+        assertEquals(List.of("170", "100"), balances.get(10L));
+        assertEquals(List.of(List.of("1", "1", "10", "100", "170"), List.of("1", "2", "4", "70", "140"),
+                List.of("2", "1", "5", "25", "25")), snapshots());
+    }
+
+    @Test
+    public void givenOfficeCommandWhenUpdateOfficeRunningBalanceThenOfficeBalancesAreUpdatedInCallerTransaction() {
+        // given
+        givenEntry(7L, 1L, 1L, ENTITY_DATE, DEBIT, "5");
+        when(fromApiJsonHelper.extractLongNamed(anyString(), any())).thenReturn(1L);
+        final JsonCommand command = mock(JsonCommand.class);
+        final TransactionTemplate commandTransaction = new TransactionTemplate(transactionManager);
+        // when
+        commandTransaction.executeWithoutResult(status -> {
+            underTest.updateOfficeRunningBalance(command);
+            status.setRollbackOnly();
+        });
+        // then
+        assertEquals(List.of("0", "0"), organizationAndOfficeBalances().get(3L));
+        // when
+        commandTransaction.executeWithoutResult(status -> underTest.updateOfficeRunningBalance(command));
+        // then
+        final Map<Long, List<String>> balances = organizationAndOfficeBalances();
+        assertEquals("70", balances.get(3L).get(1));
+        assertEquals("75", balances.get(7L).get(1));
+        assertEquals("25", balances.get(5L).get(1));
+        assertEquals(List.of("0", "0"), balances.get(2L));
+    }
+
+    private void givenEntry(final Long id, final Long accountId, final Long officeId, final LocalDate entryDate, final int type,
+            final String amount) {
+        jdbcTemplate.update("INSERT INTO acc_gl_journal_entry (id, account_id, office_id, entry_date, type_enum, amount) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", id, accountId, officeId, entryDate, type, new BigDecimal(amount));
+    }
+
+    private void givenCalculatedEntry(final Long id, final Long accountId, final Long officeId, final LocalDate entryDate,
+            final int type, final String amount, final String organizationRunningBalance, final String officeRunningBalance) {
+        givenEntry(id, accountId, officeId, entryDate, type, amount);
+        jdbcTemplate.update("UPDATE acc_gl_journal_entry SET is_running_balance_calculated = TRUE, organization_running_balance = ?, "
+                + "office_running_balance = ? WHERE id = ?", new BigDecimal(organizationRunningBalance),
+                new BigDecimal(officeRunningBalance), id);
+    }
+
+    private Map<Long, List<String>> organizationAndOfficeBalances() {
+        final Map<Long, List<String>> balances = new TreeMap<>();
+        jdbcTemplate.query("SELECT id, organization_running_balance, office_running_balance FROM acc_gl_journal_entry",
+                (RowCallbackHandler) rs -> balances.put(rs.getLong("id"), List.of(plain(rs.getBigDecimal("organization_running_balance")),
+                        plain(rs.getBigDecimal("office_running_balance")))));
+        return balances;
+    }
+
+    private List<List<String>> snapshots() {
+        return jdbcTemplate.query("SELECT account_id, office_id, journal_entry_id, office_running_balance, "
+                + "organization_running_balance FROM acc_gl_running_balance_snapshot ORDER BY account_id, office_id",
+                (rs, rowNum) -> List.of(rs.getString("account_id"), rs.getString("office_id"), rs.getString("journal_entry_id"),
+                        plain(rs.getBigDecimal("office_running_balance")), plain(rs.getBigDecimal("organization_running_balance"))));
+    }
+
+    private static String plain(final BigDecimal value) {
+        return value.stripTrailingZeros().toPlainString();
+    }
+}
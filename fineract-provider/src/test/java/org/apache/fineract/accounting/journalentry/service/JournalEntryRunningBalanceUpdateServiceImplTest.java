@@ -0,0 +1,239 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.fineract.accounting.journalentry.data.JournalEntryDataValidator;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractRunningBalanceUpdateProperties;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class JournalEntryRunningBalanceUpdateServiceImplTest {
+
+    private static final Long ACCOUNT_ID = 7L;
+    private static final LocalDate ENTITY_DATE = LocalDate.of(2024, 3, 1);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private OfficeRepositoryWrapper officeRepositoryWrapper;
+    @Mock
+    private JournalEntryDataValidator dataValidator;
+    @Mock
+    private FromJsonHelper fromApiJsonHelper;
+    @Mock
+    private PlatformSecurityContext platformSecurityContext;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private AppUser appUser;
+
+    private final Map<String, List<Object[]>> batchUpdates = new ConcurrentHashMap<>();
+    private ThreadPoolTaskExecutor taskExecutor;
+    private JournalEntryRunningBalanceUpdateServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+
+        final FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setJob(new FineractProperties.FineractJobProperties());
+        final FineractRunningBalanceUpdateProperties runningBalanceUpdate = new FineractRunningBalanceUpdateProperties();
+        runningBalanceUpdate.setPartitions(2);
+        runningBalanceUpdate.setBatchSize(1);
+        runningBalanceUpdate.setFetchSize(10);
+        fineractProperties.getJob().setRunningBalanceUpdate(runningBalanceUpdate);
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.initialize();
+        underTest = new JournalEntryRunningBalanceUpdateServiceImpl(jdbcTemplate, officeRepositoryWrapper, dataValidator,
+                fromApiJsonHelper, platformSecurityContext, transactionManager, fineractProperties, taskExecutor);
+
+        when(platformSecurityContext.authenticatedUser()).thenReturn(appUser);
+        when(appUser.getId()).thenReturn(1L);
+        when(jdbcTemplate.queryForObject(anyString(), eq(LocalDate.class))).thenReturn(ENTITY_DATE);
+        when(jdbcTemplate.queryForList(contains("from acc_gl_account gl"), eq(Long.class), eq(ENTITY_DATE)))
+                .thenReturn(List.of(ACCOUNT_ID));
+        // asset account
+        when(jdbcTemplate.queryForObject(contains("classification_enum"), eq(Integer.class), eq(ACCOUNT_ID))).thenReturn(1);
+        doAnswer(invocation -> {
+            final List<Object[]> params = invocation.getArgument(1);
+            batchUpdates.computeIfAbsent(invocation.getArgument(0), sql -> new ArrayList<>()).addAll(new ArrayList<>(params));
+            return new int[params.size()];
+        }).when(jdbcTemplate).batchUpdate(anyString(), any(List.class));
+        // office 1 debit 10, office 2 credit 5
+        givenEntries(entry(11L, 1L, 2, "10"), entry(12L, 2L, 1, "5"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskExecutor.shutdown();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void givenSnapshotBeforeEntityDateWhenUpdateRunningBalanceThenBalancesContinueFromSnapshot() throws SQLException {
+        // given
+        givenRows("acc_gl_running_balance_snapshot", new Object[] { ACCOUNT_ID },
+                lastEntry(1L, 9L, ENTITY_DATE.minusDays(1), "100", "150"));
+        // when
+        underTest.updateRunningBalance();
+        // then
+        assertEquals(List.of(List.of("160", "110"), List.of("155", "-5")), organizationAndOfficeBalances());
+        verify(jdbcTemplate, never()).query(contains("row_number()"), any(RowMapper.class), eq(ACCOUNT_ID), eq(ENTITY_DATE));
+        verify(jdbcTemplate).update(contains("DELETE FROM acc_gl_running_balance_snapshot"), eq(ACCOUNT_ID));
+        assertEquals(2, insertedSnapshots().size());
+    }
+
+    @Test
+    public void givenOutdatedSnapshotWhenUpdateRunningBalanceThenBalancesContinueFromLastEntries() throws SQLException {
+        // given
+        givenRows("acc_gl_running_balance_snapshot", new Object[] { ACCOUNT_ID },
+                lastEntry(1L, 20L, ENTITY_DATE.plusDays(3), "999", "999"));
+        givenRows("row_number()", new Object[] { ACCOUNT_ID, ENTITY_DATE }, lastEntry(1L, 9L, ENTITY_DATE.minusDays(1), "40", "70"),
+                lastEntry(2L, 8L, ENTITY_DATE.minusDays(2), "30", "60"));
+        // when
+        underTest.updateRunningBalance();
+        // then
+        assertEquals(List.of(List.of("80", "50"), List.of("75", "25")), organizationAndOfficeBalances());
+    }
+
+    @Test
+    public void givenCommandWhenUpdateRunningBalanceThenUpdatesJoinCommandTransaction() {
+        // given
+        final JsonCommand command = mock(JsonCommand.class);
+        final List<Integer> propagations = Collections.synchronizedList(new ArrayList<>());
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            propagations.add(invocation.<TransactionDefinition>getArgument(0).getPropagationBehavior());
+            return null;
+        });
+        // when
+        underTest.updateOfficeRunningBalance(command);
+        // then
+        assertEquals(List.of(List.of("10", "10"), List.of("5", "-5")), organizationAndOfficeBalances());
+        assertFalse(propagations.isEmpty());
+        assertFalse(propagations.contains(TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    private List<List<String>> organizationAndOfficeBalances() {
+        final List<List<String>> balances = new ArrayList<>();
+        for (Object[] params : batchUpdatesOf("is_running_balance_calculated")) {
+            balances.add(List.of(((BigDecimal) params[1]).toPlainString(), ((BigDecimal) params[2]).toPlainString()));
+        }
+        return balances;
+    }
+
+    private List<Object[]> insertedSnapshots() {
+        return batchUpdatesOf("INSERT INTO acc_gl_running_balance_snapshot");
+    }
+
+    private List<Object[]> batchUpdatesOf(final String sqlPart) {
+        return batchUpdates.get(batchUpdates.keySet().stream().filter(sql -> sql.contains(sqlPart)).findFirst().orElseThrow());
+    }
+
+    private void givenEntries(final ResultSet... entries) throws SQLException {
+        doAnswer(invocation -> {
+            final RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet entry : entries) {
+                handler.processRow(entry);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private void givenRows(final String sqlPart, final Object[] args, final ResultSet... rows) {
+        when(jdbcTemplate.query(contains(sqlPart), any(RowMapper.class), Arrays.stream(args).map(arg -> eq(arg)).toArray()))
+                .thenAnswer(invocation -> {
+                    final RowMapper<?> mapper = invocation.getArgument(1);
+                    final List<Object> mapped = new ArrayList<>();
+                    for (ResultSet row : rows) {
+                        mapped.add(mapper.mapRow(row, mapped.size()));
+                    }
+                    return mapped;
+                });
+    }
+
+    private ResultSet entry(final Long id, final Long officeId, final int entryType, final String amount) throws SQLException {
+        final ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(id);
+        when(rs.getLong("officeId")).thenReturn(officeId);
+        when(rs.getDate("entryDate")).thenReturn(Date.valueOf(ENTITY_DATE));
+        when(rs.getBigDecimal("amount")).thenReturn(new BigDecimal(amount));
+        when(rs.findColumn("entryType")).thenReturn(4);
+        when(rs.getInt(4)).thenReturn(entryType);
+        return rs;
+    }
+
+    private ResultSet lastEntry(final Long officeId, final Long id, final LocalDate entryDate, final String officeRunningBalance,
+            final String organizationRunningBalance) throws SQLException {
+        final ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("officeId")).thenReturn(officeId);
+        when(rs.getLong("id")).thenReturn(id);
+        when(rs.getDate("entryDate")).thenReturn(Date.valueOf(entryDate));
+        when(rs.getBigDecimal("officeRunningBalance")).thenReturn(new BigDecimal(officeRunningBalance));
+        when(rs.getBigDecimal("organizationRunningBalance")).thenReturn(new BigDecimal(organizationRunningBalance));
+        return rs;
+    }
+}
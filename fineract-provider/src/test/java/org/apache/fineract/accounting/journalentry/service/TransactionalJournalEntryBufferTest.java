@@ -0,0 +1,162 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.fineract.accounting.glaccount.domain.GLAccount;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryRepository;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
+import org.apache.fineract.accounting.journalentry.exception.JournalEntryInvalidException;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.portfolio.PortfolioProductType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class TransactionalJournalEntryBufferTest {
+
+    private static final LocalDate TRANSACTION_DATE = LocalDate.of(2024, 3, 1);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private JournalEntryRepository journalEntryRepository;
+    @Mock
+    private AuditorAware<Long> auditorAware;
+    @Mock
+    private Office office;
+    @Mock
+    private GLAccount glAccount;
+
+    private TransactionalJournalEntryBuffer underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, TRANSACTION_DATE)));
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        when(auditorAware.getCurrentAuditor()).thenReturn(Optional.of(1L));
+        when(office.getId()).thenReturn(1L);
+        when(glAccount.getId()).thenReturn(5L);
+        underTest = new TransactionalJournalEntryBuffer(jdbcTemplate, journalEntryRepository, auditorAware);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(underTest);
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testBalancedEntriesAreWrittenInOneBatchBeforeCommit() {
+        // given
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class), any(KeyHolder.class)))
+                .thenAnswer(invocation -> {
+                    BatchPreparedStatementSetter setter = invocation.getArgument(1);
+                    KeyHolder keyHolder = invocation.getArgument(2);
+                    for (int i = 0; i < setter.getBatchSize(); i++) {
+                        keyHolder.getKeyList().add(Map.of("id", 100L + i));
+                    }
+                    return new int[setter.getBatchSize()];
+                });
+        JournalEntry debit = journalEntry("S1", JournalEntryType.DEBIT, "10.00");
+        JournalEntry credit = journalEntry("S1", JournalEntryType.CREDIT, "10.00");
+        underTest.add(debit);
+        underTest.add(credit);
+
+        // when
+        assertNull(debit.getId());
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.beforeCommit(false));
+
+        // then
+        verify(jdbcTemplate).batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class));
+        verify(journalEntryRepository, never()).saveAndFlush(any());
+        assertEquals(100L, debit.getId());
+        assertEquals(101L, credit.getId());
+        assertEquals(1L, debit.getCreatedBy().orElseThrow());
+    }
+
+    @Test
+    public void testUnbalancedEntriesAreRejected() {
+        // given
+        underTest.add(journalEntry("S1", JournalEntryType.DEBIT, "10.00"));
+        underTest.add(journalEntry("S1", JournalEntryType.CREDIT, "9.99"));
+        TransactionSynchronization synchronization = TransactionSynchronizationManager.getSynchronizations().get(0);
+
+        // when / then
+        assertThrows(JournalEntryInvalidException.class, () -> synchronization.beforeCommit(false));
+        verify(jdbcTemplate, never()).batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class));
+    }
+
+    @Test
+    public void testEntryIsSavedRightAwayWithoutTransaction() {
+        // given
+        TransactionSynchronizationManager.clear();
+        JournalEntry debit = journalEntry("S1", JournalEntryType.DEBIT, "10.00");
+
+        // when
+        underTest.add(debit);
+
+        // then
+        verify(journalEntryRepository).saveAndFlush(debit);
+    }
+
+    private JournalEntry journalEntry(String transactionId, JournalEntryType type, String amount) {
+        return JournalEntry.createNew(office, null, glAccount, "USD", transactionId, false, TRANSACTION_DATE, type, new BigDecimal(amount),
+                null, PortfolioProductType.SAVING.getValue(), 1L, null, null, null, null, null);
+    }
+}
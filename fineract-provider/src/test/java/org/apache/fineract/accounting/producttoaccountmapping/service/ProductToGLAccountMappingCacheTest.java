@@ -0,0 +1,162 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.producttoaccountmapping.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.PortfolioProductType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ProductToGLAccountMappingCacheTest {
+
+    private static final int SAVING = PortfolioProductType.SAVING.getValue();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private RuntimeDelegatingCacheManager cacheManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductToGLAccountMappingCache underTest;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        meterRegistry = new SimpleMeterRegistry();
+        givenProductMappings(new Object[][] { { SAVING, 1L, 2, null, null, 10L }, { SAVING, 1L, 2, 5L, null, 11L },
+                { SAVING, 1L, 4, null, 7L, 12L } });
+        givenFinancialActivityMappings(new Object[][] { { 100, 20L } });
+        underTest = new ProductToGLAccountMappingCache(jdbcTemplate, cacheManager, Optional.of(meterRegistry));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testLookupsAreServedFromOneSnapshot() {
+        // when
+        Long core = underTest.findCoreMapping(SAVING, 1L, 2);
+        Long paymentType = underTest.findPaymentTypeMapping(SAVING, 1L, 2, 5L);
+        Long charge = underTest.findChargeMapping(SAVING, 1L, 4, 7L);
+        Long financialActivity = underTest.findFinancialActivityMapping(100);
+
+        // then
+        assertEquals(10L, core);
+        assertEquals(11L, paymentType);
+        assertEquals(12L, charge);
+        assertEquals(20L, financialActivity);
+        assertNull(underTest.findPaymentTypeMapping(SAVING, 1L, 2, 6L));
+        assertNull(underTest.findCoreMapping(SAVING, 2L, 2));
+        verify(jdbcTemplate, times(1)).query(contains("acc_product_mapping"), any(RowCallbackHandler.class));
+        assertEquals(1.0, meterRegistry.counter("fineract.accounting.gl-account-mapping.cache.misses").count());
+        assertEquals(5.0, meterRegistry.counter("fineract.accounting.gl-account-mapping.cache.hits").count());
+    }
+
+    @Test
+    public void testInvalidateReloadsSnapshot() throws SQLException {
+        // given
+        assertEquals(10L, underTest.findCoreMapping(SAVING, 1L, 2));
+        givenProductMappings(new Object[][] { { SAVING, 1L, 2, null, null, 13L } });
+
+        // when
+        underTest.invalidate();
+
+        // then
+        assertEquals(13L, underTest.findCoreMapping(SAVING, 1L, 2));
+        verify(jdbcTemplate, times(2)).query(contains("acc_product_mapping"), any(RowCallbackHandler.class));
+        verify(cacheManager).broadcastInvalidation("productToGLAccountMappings", "default");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testInvalidationOfOtherNodeReloadsSnapshot() throws SQLException {
+        // given
+        ArgumentCaptor<Consumer<String>> invalidator = ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheManager).registerNodeLocalCache(eq("productToGLAccountMappings"), invalidator.capture());
+        assertEquals(10L, underTest.findCoreMapping(SAVING, 1L, 2));
+        givenProductMappings(new Object[][] { { SAVING, 1L, 2, null, null, 13L } });
+
+        // when
+        invalidator.getValue().accept("default");
+
+        // then
+        assertEquals(13L, underTest.findCoreMapping(SAVING, 1L, 2));
+    }
+
+    private void givenProductMappings(Object[][] rows) throws SQLException {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Object[] row : rows) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getInt("product_type")).thenReturn((Integer) row[0]);
+                when(rs.getLong("product_id")).thenReturn((Long) row[1]);
+                when(rs.getInt("financial_account_type")).thenReturn((Integer) row[2]);
+                when(rs.getObject("payment_type", Long.class)).thenReturn((Long) row[3]);
+                when(rs.getObject("charge_id", Long.class)).thenReturn((Long) row[4]);
+                when(rs.getLong("gl_account_id")).thenReturn((Long) row[5]);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(contains("acc_product_mapping"), any(RowCallbackHandler.class));
+    }
+
+    private void givenFinancialActivityMappings(Object[][] rows) throws SQLException {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Object[] row : rows) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getInt("financial_activity_type")).thenReturn((Integer) row[0]);
+                when(rs.getLong("gl_account_id")).thenReturn((Long) row[1]);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(contains("acc_gl_financial_activity_account"), any(RowCallbackHandler.class));
+    }
+}
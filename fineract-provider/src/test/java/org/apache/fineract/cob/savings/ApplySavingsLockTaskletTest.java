@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.cob.data.COBParameter;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.domain.SavingsAccountLock;
+import org.apache.fineract.cob.domain.SavingsAccountLockRepository;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class ApplySavingsLockTaskletTest {
+
+    private static final LocalDate COB_DATE = LocalDate.of(2024, 3, 15);
+    private static final COBParameter COB_PARAMETER = new COBParameter(1L, 4L);
+
+    @Mock
+    private SavingsAccountLockRepository savingsAccountLockRepository;
+    @Mock
+    private RetrieveSavingsIdService retrieveSavingsIdService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Captor
+    private ArgumentCaptor<List<SavingsAccountLock>> savedLocks;
+
+    private ApplySavingsLockTasklet underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.COB_DATE, COB_DATE)));
+        underTest = new ApplySavingsLockTasklet(savingsAccountLockRepository, retrieveSavingsIdService,
+                new TransactionTemplate(transactionManager), COB_PARAMETER, false);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testCleanLockOfPreviousBusinessDateIsTakenOver() throws Exception {
+        // given
+        SavingsAccountLock leftOver = new SavingsAccountLock(2L, LockOwner.SAVINGS_COB_CHUNK_PROCESSING, COB_DATE.minusDays(1));
+        SavingsAccountLock failed = new SavingsAccountLock(3L, LockOwner.SAVINGS_COB_CHUNK_PROCESSING, COB_DATE.minusDays(1));
+        failed.setError("failed", "stacktrace");
+        List<Long> savingsIds = List.of(1L, 2L, 3L);
+        when(retrieveSavingsIdService.retrieveAllActiveSavingsIdsByLastClosedBusinessDateAndMinAndMaxId(COB_PARAMETER, COB_DATE, false))
+                .thenReturn(savingsIds);
+        when(savingsAccountLockRepository.findAllBySavingsAccountIdIn(savingsIds)).thenReturn(List.of(leftOver, failed));
+
+        // when
+        underTest.execute(null, null);
+
+        // then
+        verify(savingsAccountLockRepository).saveAll(savedLocks.capture());
+        assertEquals(List.of(2L, 1L), savedLocks.getValue().stream().map(SavingsAccountLock::getSavingsAccountId).toList());
+        assertEquals(COB_DATE, leftOver.getLockPlacedOnCobBusinessDate());
+        assertEquals(COB_DATE.minusDays(1), failed.getLockPlacedOnCobBusinessDate());
+    }
+}
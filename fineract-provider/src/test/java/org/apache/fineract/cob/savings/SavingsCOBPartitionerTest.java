@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.savings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.fineract.cob.COBBusinessStepService;
+import org.apache.fineract.cob.data.BusinessStepNameAndOrder;
+import org.apache.fineract.cob.data.COBParameter;
+import org.apache.fineract.cob.data.COBPartition;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.batch.item.ExecutionContext;
+
+@ExtendWith(MockitoExtension.class)
+public class SavingsCOBPartitionerTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2024, 3, 15);
+    private static final Set<BusinessStepNameAndOrder> BUSINESS_STEPS = Set
+            .of(new BusinessStepNameAndOrder("postSavingsInterestBusinessStep", 1L));
+
+    @Mock
+    private PropertyService propertyService;
+    @Mock
+    private COBBusinessStepService cobBusinessStepService;
+    @Mock
+    private RetrieveSavingsIdService retrieveSavingsIdService;
+    @Mock
+    private JobOperator jobOperator;
+
+    private StepExecution stepExecution;
+    private SavingsCOBPartitioner underTest;
+
+    @BeforeEach
+    public void setUp() {
+        JobExecution jobExecution = new JobExecution(1L);
+        jobExecution.getExecutionContext().put(SavingsCOBConstant.BUSINESS_DATE_PARAMETER_NAME, BUSINESS_DATE.toString());
+        jobExecution.getExecutionContext().put(SavingsCOBConstant.IS_CATCH_UP_PARAMETER_NAME, "false");
+        stepExecution = new StepExecution(SavingsCOBConstant.SAVINGS_COB_PARTITIONER_STEP, jobExecution);
+        underTest = new SavingsCOBPartitioner(propertyService, cobBusinessStepService, retrieveSavingsIdService, jobOperator,
+                stepExecution, SavingsCOBConstant.NUMBER_OF_DAYS_BEHIND);
+    }
+
+    @Test
+    public void testPartitionsCarryAccountRangesAndBusinessSteps() {
+        // given
+        when(cobBusinessStepService.getCOBBusinessSteps(SavingsCOBBusinessStep.class, SavingsCOBConstant.SAVINGS_COB_JOB_NAME))
+                .thenReturn(BUSINESS_STEPS);
+        when(propertyService.getPartitionSize(SavingsCOBConstant.JOB_NAME)).thenReturn(2);
+        when(retrieveSavingsIdService.retrieveSavingsCOBPartitions(1L, BUSINESS_DATE, false, 2))
+                .thenReturn(List.of(new COBPartition(1L, 5L, 0L, 2L), new COBPartition(7L, 9L, 1L, 2L)));
+
+        // when
+        Map<String, ExecutionContext> partitions = underTest.partition(1);
+
+        // then
+        assertEquals(2, partitions.size());
+        ExecutionContext secondPartition = partitions.get(SavingsCOBConstant.PARTITION_PREFIX + 1);
+        assertEquals(new COBParameter(7L, 9L), secondPartition.get(SavingsCOBConstant.PARTITION_KEY));
+        assertEquals(BUSINESS_STEPS, secondPartition.get(SavingsCOBConstant.BUSINESS_STEPS));
+        assertEquals(SavingsCOBConstant.PARTITION_PREFIX + 1, secondPartition.get(SavingsCOBConstant.PARTITION_NAME_KEY));
+    }
+
+    @Test
+    public void testEmptyPartitionIsCreatedWhenNoAccountIsDue() {
+        // given
+        when(cobBusinessStepService.getCOBBusinessSteps(SavingsCOBBusinessStep.class, SavingsCOBConstant.SAVINGS_COB_JOB_NAME))
+                .thenReturn(BUSINESS_STEPS);
+        when(propertyService.getPartitionSize(SavingsCOBConstant.JOB_NAME)).thenReturn(2);
+        when(retrieveSavingsIdService.retrieveSavingsCOBPartitions(1L, BUSINESS_DATE, false, 2)).thenReturn(List.of());
+
+        // when
+        Map<String, ExecutionContext> partitions = underTest.partition(1);
+
+        // then
+        assertEquals(1, partitions.size());
+        ExecutionContext emptyPartition = partitions.get(SavingsCOBConstant.PARTITION_PREFIX + 1);
+        assertEquals(new COBParameter(0L, 0L), emptyPartition.get(SavingsCOBConstant.PARTITION_KEY));
+    }
+
+    @Test
+    public void testJobIsStoppedWithoutConfiguredBusinessSteps() throws Exception {
+        // given
+        when(cobBusinessStepService.getCOBBusinessSteps(SavingsCOBBusinessStep.class, SavingsCOBConstant.SAVINGS_COB_JOB_NAME))
+                .thenReturn(Set.of());
+
+        // when
+        Map<String, ExecutionContext> partitions = underTest.partition(1);
+
+        // then
+        assertTrue(partitions.isEmpty());
+        verify(jobOperator).stop(1L);
+        verifyNoInteractions(retrieveSavingsIdService);
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.domain.SavingsAccountLockRepository;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.savings.exception.SavingsAccountLockedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class SavingsAccountLockServiceImplTest {
+
+    @Mock
+    private SavingsAccountLockRepository savingsAccountLockRepository;
+
+    private SavingsAccountLockServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        underTest = new SavingsAccountLockServiceImpl(savingsAccountLockRepository);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void givenLockedAccountWhenCheckingThenWriteIsRejected() {
+        // given
+        when(savingsAccountLockRepository.existsBySavingsAccountIdAndLockOwnerAndErrorIsNull(1L, LockOwner.SAVINGS_COB_CHUNK_PROCESSING))
+                .thenReturn(true);
+        // when / then
+        assertThrows(SavingsAccountLockedException.class, () -> underTest.checkSavingsNotLocked(1L));
+    }
+
+    @Test
+    public void givenUnlockedAccountWhenCheckingThenWriteIsAllowed() {
+        // given
+        when(savingsAccountLockRepository.existsBySavingsAccountIdAndLockOwnerAndErrorIsNull(1L, LockOwner.SAVINGS_COB_CHUNK_PROCESSING))
+                .thenReturn(false);
+        // when / then
+        assertDoesNotThrow(() -> underTest.checkSavingsNotLocked(1L));
+    }
+
+    @Test
+    public void givenCobActionContextWhenCheckingThenLockIsNotRead() {
+        // given
+        ThreadLocalContextUtil.setActionContext(ActionContext.COB);
+        // when
+        underTest.checkSavingsNotLocked(1L);
+        // then
+        verifyNoInteractions(savingsAccountLockRepository);
+    }
+}
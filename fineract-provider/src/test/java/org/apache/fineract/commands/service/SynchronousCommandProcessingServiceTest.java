@@ -23,10 +23,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -55,6 +58,8 @@ import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.domain.FineractRequestContextHolder;
 import org.apache.fineract.infrastructure.core.exception.IdempotentCommandProcessUnderProcessingException;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
+import org.apache.fineract.infrastructure.hooks.event.HookEvent;
+import org.apache.fineract.infrastructure.hooks.service.HookSubscriptionIndex;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.junit.jupiter.api.AfterEach;
@@ -99,6 +104,9 @@ public class SynchronousCommandProcessingServiceTest {
     @Mock
     private RetryConfigurationAssembler retryConfigurationAssembler;
 
+    @Mock
+    private HookSubscriptionIndex hookSubscriptionIndex;
+
     @Spy
     private FineractRequestContextHolder fineractRequestContextHolder;
 
@@ -181,7 +189,7 @@ public class SynchronousCommandProcessingServiceTest {
         when(commandSource.getStatus()).thenReturn(CommandProcessingResultType.PROCESSED.getValue());
         when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
 
-        when(commandSourceService.processCommand(commandHandler, jsonCommand, commandSource, appUser, false))
+        when(processCommandWithAnyHandler(jsonCommand, commandSource, appUser))
                 .thenThrow(new RetryException()).thenThrow(new RetryException()).thenReturn(commandProcessingResult);
 
         CommandProcessingResult actualCommandProcessingResult = underTest.executeCommand(commandWrapper, jsonCommand, false);
@@ -232,7 +240,7 @@ public class SynchronousCommandProcessingServiceTest {
         when(commandSource.getStatus()).thenReturn(CommandProcessingResultType.UNDER_PROCESSING.getValue());
         when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
 
-        when(commandSourceService.processCommand(commandHandler, jsonCommand, commandSource, appUser, false))
+        when(processCommandWithAnyHandler(jsonCommand, commandSource, appUser))
                 .thenThrow(new RetryException()).thenThrow(new RetryException()).thenReturn(commandProcessingResult);
 
         when(retryConfigurationAssembler.getLastException()).thenReturn(null)
@@ -292,7 +300,7 @@ public class SynchronousCommandProcessingServiceTest {
         ;
         when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
 
-        when(commandSourceService.processCommand(commandHandler, jsonCommand, commandSource, appUser, false))
+        when(processCommandWithAnyHandler(jsonCommand, commandSource, appUser))
                 .thenReturn(commandProcessingResult);
 
         when(retryConfigurationAssembler.getLastException()).thenReturn(null)
@@ -357,7 +365,7 @@ public class SynchronousCommandProcessingServiceTest {
         when(retryConfigurationAssembler.getLastException()).thenAnswer((i) -> RetryException.class)
                 .thenAnswer((i) -> RetryException.class);
 
-        when(commandSourceService.processCommand(commandHandler, jsonCommand, commandSource, appUser, false))
+        when(processCommandWithAnyHandler(jsonCommand, commandSource, appUser))
                 // first time
                 .thenThrow(new RetryException())
                 // look like stuck and fails
@@ -402,7 +410,7 @@ public class SynchronousCommandProcessingServiceTest {
         when(commandSource.getStatus()).thenReturn(CommandProcessingResultType.PROCESSED.getValue());
         when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
 
-        when(commandSourceService.processCommand(commandHandler, jsonCommand, commandSource, appUser, false))
+        when(processCommandWithAnyHandler(jsonCommand, commandSource, appUser))
                 .thenReturn(commandProcessingResult);
 
         CommandProcessingResult actualCommandProcessingResult = underTest.executeCommand(commandWrapper, jsonCommand, false);
@@ -444,7 +452,7 @@ public class SynchronousCommandProcessingServiceTest {
 
         when(commandSourceService.findCommandSource(commandWrapper, idk)).thenReturn(initialCommandSource);
 
-        when(commandSourceService.processCommand(commandHandler, jsonCommand, commandSource, appUser, false)).thenThrow(runtimeException);
+        when(processCommandWithAnyHandler(jsonCommand, commandSource, appUser)).thenThrow(runtimeException);
 
         assertThrows(RuntimeException.class, () -> {
             underTest.executeCommand(commandWrapper, jsonCommand, false);
@@ -472,6 +480,7 @@ public class SynchronousCommandProcessingServiceTest {
         String invalidJson = "{ invalidJson }";
 
         when(command.json()).thenReturn(invalidJson);
+        when(hookSubscriptionIndex.hasSubscribers(entityName, actionName)).thenReturn(true);
 
         // Test that no exception is thrown (exceptions are caught and logged)
         assertDoesNotThrow(() -> {
@@ -479,6 +488,118 @@ public class SynchronousCommandProcessingServiceTest {
         });
     }
 
+    @Test
+    public void publishHookEventSkipsPayloadWhenNoHookIsSubscribed() {
+        // given
+        JsonCommand command = Mockito.mock(JsonCommand.class);
+        when(hookSubscriptionIndex.hasSubscribers("CLIENT", "CREATE")).thenReturn(false);
+        // when
+        underTest.publishHookEvent("CLIENT", "CREATE", command, CommandProcessingResult.empty());
+        // then
+        verify(command, never()).json();
+        verify(toApiJsonSerializer, never()).serialize(any());
+        verify(applicationContext, never()).publishEvent(any());
+    }
+
+    @Test
+    public void publishHookEventPublishesPayloadWhenAHookIsSubscribed() {
+        // given
+        JsonCommand command = Mockito.mock(JsonCommand.class);
+        when(command.json()).thenReturn("{\"firstname\":\"John\"}");
+        AppUser appUser = Mockito.mock(AppUser.class);
+        when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
+        when(context.authenticatedUser()).thenReturn(appUser);
+        when(toApiJsonSerializer.serialize(any())).thenReturn("{}");
+        when(hookSubscriptionIndex.hasSubscribers("CLIENT", "CREATE")).thenReturn(true);
+        // when
+        underTest.publishHookEvent("CLIENT", "CREATE", command, CommandProcessingResult.empty());
+        // then
+        verify(applicationContext).publishEvent(any(HookEvent.class));
+    }
+
+    @Test
+    public void executeCommandPublishesHookEventInTheCommandTransaction() {
+        // given
+        CommandWrapper commandWrapper = getCommandWrapper();
+        when(commandWrapper.entityName()).thenReturn("CLIENT");
+        when(commandWrapper.actionName()).thenReturn("CREATE");
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        when(jsonCommand.json()).thenReturn("{\"firstname\":\"John\"}");
+        CommandSource commandSource = mockNewCommandSource(commandWrapper, jsonCommand);
+        AppUser appUser = mockAuthenticatedUser();
+        when(commandSourceService.saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, "idk")).thenReturn(commandSource);
+        when(hookSubscriptionIndex.hasSubscribers("CLIENT", "CREATE")).thenReturn(true);
+        when(toApiJsonSerializer.serialize(any())).thenReturn("{}");
+        when(processCommandWithAnyHandler(jsonCommand, commandSource, appUser))
+                .thenAnswer(invocation -> {
+                    CommandProcessingResult handlerResult = invocation.<NewCommandSourceHandler>getArgument(0).processCommand(jsonCommand);
+                    // the event is published before the command transaction ends
+                    verify(applicationContext).publishEvent(any(HookEvent.class));
+                    return handlerResult;
+                });
+
+        // when
+        underTest.executeCommand(commandWrapper, jsonCommand, false);
+
+        // then
+        verify(applicationContext, times(1)).publishEvent(any(HookEvent.class));
+        verify(commandSourceService).saveResultSameTransaction(commandSource);
+    }
+
+    @Test
+    public void executeCommandFailsWhenTheHookEventCanNotBeRecorded() {
+        // given
+        CommandWrapper commandWrapper = getCommandWrapper();
+        when(commandWrapper.entityName()).thenReturn("CLIENT");
+        when(commandWrapper.actionName()).thenReturn("CREATE");
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        when(jsonCommand.json()).thenReturn("{\"firstname\":\"John\"}");
+        CommandSource commandSource = mockNewCommandSource(commandWrapper, jsonCommand);
+        AppUser appUser = mockAuthenticatedUser();
+        when(commandSourceService.saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, "idk")).thenReturn(commandSource);
+        when(hookSubscriptionIndex.hasSubscribers("CLIENT", "CREATE")).thenReturn(true);
+        when(toApiJsonSerializer.serialize(any())).thenReturn("{}");
+        IllegalStateException failure = new IllegalStateException("delivery not recorded");
+        doThrow(failure).when(applicationContext).publishEvent(any(HookEvent.class));
+        when(processCommandWithAnyHandler(jsonCommand, commandSource, appUser))
+                .thenAnswer(invocation -> invocation.<NewCommandSourceHandler>getArgument(0).processCommand(jsonCommand));
+
+        // when
+        assertThrows(RuntimeException.class, () -> underTest.executeCommand(commandWrapper, jsonCommand, false));
+
+        // then
+        verify(commandSourceService).generateErrorInfo(any());
+        verify(commandSourceService, never()).saveResultSameTransaction(any());
+    }
+
+    private CommandSource mockNewCommandSource(CommandWrapper commandWrapper, JsonCommand jsonCommand) {
+        NewCommandSourceHandler commandHandler = Mockito.mock(NewCommandSourceHandler.class);
+        when(commandHandler.processCommand(jsonCommand)).thenReturn(CommandProcessingResult.empty());
+        when(commandHandlerProvider.getHandler(Mockito.any(), Mockito.any())).thenReturn(commandHandler);
+        when(configurationDomainService.isMakerCheckerEnabledForTask(Mockito.any())).thenReturn(false);
+        when(idempotencyKeyResolver.resolve(commandWrapper)).thenReturn("idk");
+        when(commandSourceService.findCommandSource(commandWrapper, "idk")).thenReturn(null);
+        CommandSource commandSource = Mockito.mock(CommandSource.class);
+        when(commandSource.getId()).thenReturn(1L);
+        when(commandSourceService.saveResultSameTransaction(commandSource)).thenReturn(commandSource);
+        return commandSource;
+    }
+
+    /**
+     * The handler is wrapped so the hook event is published in the transaction of the command.
+     */
+    private CommandProcessingResult processCommandWithAnyHandler(JsonCommand jsonCommand, CommandSource commandSource, AppUser appUser) {
+        return commandSourceService.processCommand(any(NewCommandSourceHandler.class), eq(jsonCommand), eq(commandSource), eq(appUser),
+                eq(false));
+    }
+
+    private AppUser mockAuthenticatedUser() {
+        AppUser appUser = Mockito.mock(AppUser.class);
+        when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
+        when(context.authenticatedUser()).thenReturn(appUser);
+        return appUser;
+    }
+
     private static final class RetryException extends RuntimeException {}
 
     @Test
@@ -510,7 +631,7 @@ public class SynchronousCommandProcessingServiceTest {
 
         when(commandSourceService.saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idempotencyKey))
                 .thenReturn(commandSource);
-        when(commandSourceService.processCommand(commandHandler, jsonCommand, commandSource, appUser, false))
+        when(processCommandWithAnyHandler(jsonCommand, commandSource, appUser))
                 .thenReturn(commandProcessingResult);
 
         final AtomicInteger saveAttempts = new AtomicInteger(0);
@@ -568,7 +689,7 @@ public class SynchronousCommandProcessingServiceTest {
 
         when(commandSourceService.saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idempotencyKey))
                 .thenReturn(commandSource);
-        when(commandSourceService.processCommand(commandHandler, jsonCommand, commandSource, appUser, false))
+        when(processCommandWithAnyHandler(jsonCommand, commandSource, appUser))
                 .thenReturn(commandProcessingResult);
 
         final AtomicInteger saveAttempts = new AtomicInteger(0);
@@ -0,0 +1,266 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.streaming;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.commands.service.PortfolioCommandSourceWritePlatformService;
+import org.apache.fineract.infrastructure.bulkimport.data.Count;
+import org.apache.fineract.infrastructure.bulkimport.data.GlobalEntityType;
+import org.apache.fineract.infrastructure.bulkimport.data.ImportRowOutcome;
+import org.apache.fineract.infrastructure.bulkimport.domain.ImportRowOutcomeRepository;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class StreamingImportEngineTest {
+
+    private static final Long IMPORT_DOCUMENT_ID = 7L;
+    private static final String SHEET_NAME = "Transactions";
+    private static final int ACCOUNT_COLUMN = 0;
+    private static final int AMOUNT_COLUMN = 1;
+    private static final int STATUS_COLUMN = 2;
+
+    private final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService = mock(
+            PortfolioCommandSourceWritePlatformService.class);
+    private final ImportRowOutcomeRepository importRowOutcomeRepository = mock(ImportRowOutcomeRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final List<List<ImportRowOutcome>> savedChunks = Collections.synchronizedList(new ArrayList<>());
+    private final Map<Long, List<Integer>> importedRowsByAccount = new ConcurrentHashMap<>();
+
+    private FineractProperties.FineractBulkImportProperties bulkImportProperties;
+    private ThreadPoolTaskExecutor bulkImportTaskExecutor;
+    private StreamingImportEngine underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2024, 3, 15))));
+        bulkImportProperties = new FineractProperties.FineractBulkImportProperties();
+        bulkImportProperties.setWorkerThreads(4);
+        bulkImportProperties.setQueueCapacity(5);
+        bulkImportProperties.setChunkSize(10);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setBulkImport(bulkImportProperties);
+
+        bulkImportTaskExecutor = new ThreadPoolTaskExecutor();
+        bulkImportTaskExecutor.setCorePoolSize(4);
+        bulkImportTaskExecutor.setMaxPoolSize(4);
+        bulkImportTaskExecutor.initialize();
+
+        doAnswer(invocation -> savedChunks.add(List.copyOf(invocation.getArgument(1)))).when(importRowOutcomeRepository)
+                .saveAll(eq(IMPORT_DOCUMENT_ID), anyList());
+        when(commandsSourceWritePlatformService.logCommandSource(any())).thenReturn(CommandProcessingResult.resourceResult(1L));
+
+        underTest = new StreamingImportEngine(commandsSourceWritePlatformService, importRowOutcomeRepository, jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), fineractProperties, List.of(), bulkImportTaskExecutor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bulkImportTaskExecutor.shutdown();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testRowsOfTheSameAccountAreImportedInSheetOrder() throws IOException {
+        // given
+        byte[] workbook = createWorkbook(200, 5);
+
+        // when
+        Count count = underTest.process(IMPORT_DOCUMENT_ID, new TestHandler(), new ByteArrayInputStream(workbook), "en", "dd MMMM yyyy");
+
+        // then
+        assertEquals(200, count.getSuccessCount());
+        assertEquals(0, count.getErrorCount());
+        assertEquals(5, importedRowsByAccount.size());
+        importedRowsByAccount.forEach((account, rows) -> {
+            assertEquals(40, rows.size());
+            assertEquals(rows.stream().sorted().toList(), rows, "rows of account " + account);
+        });
+    }
+
+    @Test
+    public void testOutcomesAreWrittenInChunksWithTheProgress() throws IOException {
+        // given
+        byte[] workbook = createWorkbook(25, 3);
+        TestHandler handler = new TestHandler();
+        handler.failingRows.add(7);
+
+        // when
+        Count count = underTest.process(IMPORT_DOCUMENT_ID, handler, new ByteArrayInputStream(workbook), "en", "dd MMMM yyyy");
+
+        // then
+        assertEquals(24, count.getSuccessCount());
+        assertEquals(1, count.getErrorCount());
+        assertEquals(List.of(10, 10, 5), savedChunks.stream().map(List::size).toList());
+        assertEquals(IntStream.rangeClosed(1, 25).boxed().collect(Collectors.toSet()), savedRowIndexes());
+        verify(jdbcTemplate, times(3)).update(anyString(), any(Integer.class), any(Integer.class), eq(IMPORT_DOCUMENT_ID));
+        verify(jdbcTemplate).update(anyString(), eq(24), eq(1), eq(IMPORT_DOCUMENT_ID));
+    }
+
+    @Test
+    public void testFailingWorkerLosesNoOutcomes() throws IOException {
+        // given
+        byte[] workbook = createWorkbook(60, 4);
+        bulkImportProperties.setChunkSize(5);
+        AtomicBoolean failed = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (failed.compareAndSet(false, true)) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return savedChunks.add(List.copyOf(invocation.getArgument(1)));
+        }).when(importRowOutcomeRepository).saveAll(eq(IMPORT_DOCUMENT_ID), anyList());
+
+        // when
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> underTest.process(IMPORT_DOCUMENT_ID,
+                new TestHandler(), new ByteArrayInputStream(workbook), "en", "dd MMMM yyyy"));
+
+        // then
+        assertEquals("database unavailable", exception.getCause().getMessage());
+        assertEquals(60, savedChunks.stream().mapToInt(List::size).sum());
+        assertEquals(IntStream.rangeClosed(1, 60).boxed().collect(Collectors.toSet()), savedRowIndexes());
+    }
+
+    @Test
+    public void testReaderFailureKeepsTheOutcomesOfDispatchedRows() throws IOException {
+        // given
+        byte[] workbook = createWorkbook(30, 3);
+        TestHandler handler = new TestHandler();
+        handler.failAfterRows = 12;
+
+        // when
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> underTest.process(IMPORT_DOCUMENT_ID, handler, new ByteArrayInputStream(workbook), "en", "dd MMMM yyyy"));
+
+        // then
+        assertEquals("broken workbook", exception.getMessage());
+        assertEquals(IntStream.rangeClosed(1, 12).boxed().collect(Collectors.toSet()), savedRowIndexes());
+        verify(jdbcTemplate).update(anyString(), eq(12), eq(0), eq(IMPORT_DOCUMENT_ID));
+    }
+
+    private Set<Integer> savedRowIndexes() {
+        return savedChunks.stream().flatMap(List::stream).map(ImportRowOutcome::getRowIndex).collect(Collectors.toSet());
+    }
+
+    private static byte[] createWorkbook(final int rows, final int accounts) throws IOException {
+        try (HSSFWorkbook workbook = new HSSFWorkbook(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet(SHEET_NAME);
+            Row header = sheet.createRow(0);
+            header.createCell(ACCOUNT_COLUMN).setCellValue("Account");
+            header.createCell(AMOUNT_COLUMN).setCellValue("Amount");
+            header.createCell(STATUS_COLUMN).setCellValue("Status");
+            for (int i = 1; i <= rows; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(ACCOUNT_COLUMN).setCellValue(i % accounts + 1);
+                row.createCell(AMOUNT_COLUMN).setCellValue(i);
+            }
+            workbook.write(output);
+            return output.toByteArray();
+        }
+    }
+
+    private final class TestHandler implements StreamingImportHandler {
+
+        private final Set<Integer> failingRows = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger dispatchedRows = new AtomicInteger();
+        private int failAfterRows = Integer.MAX_VALUE;
+
+        @Override
+        public GlobalEntityType getEntityType() {
+            return GlobalEntityType.SAVINGS_TRANSACTIONS;
+        }
+
+        @Override
+        public String getSheetName() {
+            return SHEET_NAME;
+        }
+
+        @Override
+        public int getPrimaryColumn() {
+            return ACCOUNT_COLUMN;
+        }
+
+        @Override
+        public int getStatusColumn() {
+            // read once for every data row, just before the row is dispatched
+            if (dispatchedRows.incrementAndGet() > failAfterRows) {
+                throw new IllegalStateException("broken workbook");
+            }
+            return STATUS_COLUMN;
+        }
+
+        @Override
+        public ImportRowCommandFactory newCommandFactory(final String locale, final String dateFormat) {
+            return new ImportRowCommandFactory() {
+
+                @Override
+                public Object getPartitionKey(final ImportRow row) {
+                    return row.readAsLong(ACCOUNT_COLUMN);
+                }
+
+                @Override
+                public CommandWrapper toCommand(final ImportRow row) {
+                    if (failingRows.contains(row.getRowIndex())) {
+                        throw new IllegalArgumentException("invalid amount");
+                    }
+                    importedRowsByAccount.computeIfAbsent(row.readAsLong(ACCOUNT_COLUMN), account -> new ArrayList<>())
+                            .add(row.getRowIndex());
+                    return mock(CommandWrapper.class);
+                }
+            };
+        }
+    }
+}
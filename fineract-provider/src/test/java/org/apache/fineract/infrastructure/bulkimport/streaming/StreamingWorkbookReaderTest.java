@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.streaming;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+public class StreamingWorkbookReaderTest {
+
+    private static final String SHEET_NAME = "Transactions";
+
+    @Test
+    public void testReadXlsRows() throws IOException {
+        // given
+        byte[] workbook = createWorkbook(new HSSFWorkbook());
+
+        // when
+        List<ImportRow> rows = readRows(workbook);
+
+        // then
+        assertRows(rows);
+    }
+
+    @Test
+    public void testReadXlsxRows() throws IOException {
+        // given
+        byte[] workbook = createWorkbook(new XSSFWorkbook());
+
+        // when
+        List<ImportRow> rows = readRows(workbook);
+
+        // then
+        assertRows(rows);
+    }
+
+    @Test
+    public void testCountRowsStopsAtFirstBlankPrimaryColumn() throws IOException {
+        // given
+        byte[] xls = createWorkbook(new HSSFWorkbook());
+        byte[] xlsx = createWorkbook(new XSSFWorkbook());
+
+        // when
+        int xlsRows = StreamingWorkbookReader.countRows(new ByteArrayInputStream(xls), SHEET_NAME, 0);
+        int xlsxRows = StreamingWorkbookReader.countRows(new ByteArrayInputStream(xlsx), SHEET_NAME, 0);
+
+        // then
+        assertEquals(2, xlsRows);
+        assertEquals(2, xlsxRows);
+    }
+
+    @Test
+    public void testReadRejectsOtherFiles() {
+        // given
+        byte[] text = "account,amount".getBytes(StandardCharsets.UTF_8);
+
+        // when / then
+        assertThrows(GeneralPlatformDomainRuleException.class,
+                () -> StreamingWorkbookReader.read(new ByteArrayInputStream(text), SHEET_NAME, row -> {}));
+    }
+
+    private static List<ImportRow> readRows(final byte[] workbook) throws IOException {
+        List<ImportRow> rows = new ArrayList<>();
+        StreamingWorkbookReader.read(new ByteArrayInputStream(workbook), SHEET_NAME, rows::add);
+        return rows;
+    }
+
+    private static void assertRows(final List<ImportRow> rows) {
+        assertEquals(4, rows.size());
+        assertEquals(0, rows.get(0).getRowIndex());
+        assertEquals("Amount", rows.get(0).readAsString(1));
+
+        ImportRow first = rows.get(1);
+        assertEquals(1, first.getRowIndex());
+        assertEquals("Deposit", first.readAsString(0));
+        assertEquals(new BigDecimal("1250.5"), first.readAsBigDecimal(1));
+        assertEquals(LocalDate.of(2024, 3, 15), first.readAsDate(2, "dd MMMM yyyy", "en"));
+        assertEquals(42L, first.readAsLong(3));
+        assertEquals("42", first.readAsString(3));
+
+        ImportRow second = rows.get(2);
+        assertEquals(2, second.getRowIndex());
+        assertEquals(LocalDate.of(2024, 3, 16), second.readAsDate(2, "dd MMMM yyyy", "en"));
+        assertEquals(true, second.isBlank(3));
+
+        assertEquals(4, rows.get(3).getRowIndex());
+        assertEquals(true, rows.get(3).isBlank(0));
+    }
+
+    private static byte[] createWorkbook(final Workbook workbook) throws IOException {
+        try (workbook; ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            workbook.createSheet("Extras").createRow(0).createCell(0).setCellValue("ignored");
+            Sheet sheet = workbook.createSheet(SHEET_NAME);
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd MMMM yyyy"));
+
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Type");
+            header.createCell(1).setCellValue("Amount");
+            header.createCell(2).setCellValue("Date");
+            header.createCell(3).setCellValue("Account");
+
+            Row first = sheet.createRow(1);
+            first.createCell(0).setCellValue("Deposit");
+            first.createCell(1).setCellValue(1250.5);
+            first.createCell(2).setCellValue(LocalDate.of(2024, 3, 15));
+            first.getCell(2).setCellStyle(dateStyle);
+            first.createCell(3).setCellValue(42);
+
+            Row second = sheet.createRow(2);
+            second.createCell(0).setCellValue("Withdrawal");
+            second.createCell(1).setCellValue(10);
+            second.createCell(2).setCellValue("16 March 2024");
+
+            // row 3 is left out, row 4 only has a value outside the primary column
+            sheet.createRow(4).createCell(1).setCellValue(5);
+
+            workbook.write(output);
+            return output.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.apache.fineract.infrastructure.cache.data.CacheInvalidation;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+public class CacheInvalidationLogPollerDatabaseTest {
+
+    private static final String INSERT_SQL = "INSERT INTO c_cache_invalidation (cache_name, cache_key, origin_node, created_on_utc) "
+            + "VALUES (?, ?, 'other', ?)";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+    private static DriverManagerDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    private final MultiNodeCacheManager multiNodeCacheManager = mock(MultiNodeCacheManager.class);
+    private CacheInvalidationLogPoller underTest;
+
+    @BeforeAll
+    public static void createSchema() {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE c_cache_invalidation (id BIGSERIAL PRIMARY KEY, cache_name VARCHAR(100) NOT NULL, "
+                + "cache_key VARCHAR(1000), origin_node VARCHAR(100) NOT NULL, created_on_utc TIMESTAMP NOT NULL)");
+    }
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.execute("TRUNCATE c_cache_invalidation");
+        final FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setCache(new FineractProperties.FineractCache());
+        final FineractProperties.FineractCacheMultiNodeProperties multiNode = new FineractProperties.FineractCacheMultiNodeProperties();
+        multiNode.setPollInterval(Duration.ofSeconds(1));
+        multiNode.setPollBatchSize(100);
+        multiNode.setRetention(Duration.ofDays(1));
+        multiNode.setReorderWindow(Duration.ofMinutes(1));
+        fineractProperties.getCache().setMultiNode(multiNode);
+        underTest = new CacheInvalidationLogPoller(dataSource, multiNodeCacheManager, fineractProperties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        underTest.destroy();
+    }
+
+    @Test
+    public void testInvalidationsWrittenRightBeforeTheFirstPollAreApplied() {
+        // given
+        givenInvalidation("users", "1", DateUtils.getAuditLocalDateTime());
+        givenInvalidation("users", "2", DateUtils.getAuditLocalDateTime().minusDays(1));
+
+        // when
+        underTest.poll();
+
+        // then
+        verify(multiNodeCacheManager).applyInvalidation(new CacheInvalidation("users", "1", "other"));
+        verify(multiNodeCacheManager, never()).applyInvalidation(new CacheInvalidation("users", "2", "other"));
+    }
+
+    @Test
+    public void testInvalidationCommittedAfterAHigherIdIsApplied() throws SQLException {
+        // given
+        underTest.poll();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                statement.setString(1, "codes");
+                statement.setString(2, "late");
+                statement.setObject(3, DateUtils.getAuditLocalDateTime());
+                statement.executeUpdate();
+            }
+            givenInvalidation("codes", "early", DateUtils.getAuditLocalDateTime());
+            underTest.poll();
+            verify(multiNodeCacheManager).applyInvalidation(new CacheInvalidation("codes", "early", "other"));
+            verify(multiNodeCacheManager, never()).applyInvalidation(new CacheInvalidation("codes", "late", "other"));
+
+            // when
+            connection.commit();
+        }
+        underTest.poll();
+
+        // then
+        verify(multiNodeCacheManager).applyInvalidation(new CacheInvalidation("codes", "late", "other"));
+        verify(multiNodeCacheManager).applyInvalidation(new CacheInvalidation("codes", "early", "other"));
+    }
+
+    private void givenInvalidation(final String cacheName, final String cacheKey, final LocalDateTime createdOn) {
+        jdbcTemplate.update(INSERT_SQL, cacheName, cacheKey, createdOn);
+    }
+}
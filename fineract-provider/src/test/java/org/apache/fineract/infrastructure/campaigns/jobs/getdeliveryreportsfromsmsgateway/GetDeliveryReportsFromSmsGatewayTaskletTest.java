@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.campaigns.jobs.getdeliveryreportsfromsmsgateway;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.fineract.infrastructure.campaigns.helper.SmsConfigUtils;
+import org.apache.fineract.infrastructure.campaigns.helper.SmsGatewayClient;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractSmsGatewayProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.sms.domain.SmsMessage;
+import org.apache.fineract.infrastructure.sms.domain.SmsMessageRepository;
+import org.apache.fineract.infrastructure.sms.domain.SmsMessageStatusType;
+import org.apache.fineract.infrastructure.sms.service.SmsReadPlatformService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class GetDeliveryReportsFromSmsGatewayTaskletTest {
+
+    private static final Integer WAITING_FOR_DELIVERY_REPORT = SmsMessageStatusType.WAITING_FOR_DELIVERY_REPORT.getValue();
+
+    @RegisterExtension
+    static WireMockExtension gateway = WireMockExtension.newInstance().options(wireMockConfig().dynamicPort()).build();
+
+    @Mock
+    private SmsReadPlatformService smsReadPlatformService;
+
+    @Mock
+    private SmsMessageRepository smsMessageRepository;
+
+    @Mock
+    private SmsConfigUtils smsConfigUtils;
+
+    private GetDeliveryReportsFromSmsGatewayTasklet underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        FineractSmsGatewayProperties smsGatewayProperties = new FineractSmsGatewayProperties();
+        smsGatewayProperties.setHighThroughputEnabled(true);
+        smsGatewayProperties.setPageSize(3);
+        smsGatewayProperties.setConnectTimeout(Duration.ofSeconds(5));
+        smsGatewayProperties.setReadTimeout(Duration.ofSeconds(5));
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setSmsGateway(smsGatewayProperties);
+
+        when(smsConfigUtils.getMessageGateWayRequestURI(anyString(), anyString())).thenAnswer(invocation -> {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            return Map.of("uri", URI.create(gateway.baseUrl() + "/" + invocation.getArgument(0)), "entity",
+                    new HttpEntity<>(invocation.getArgument(1, String.class), headers));
+        });
+
+        underTest = new GetDeliveryReportsFromSmsGatewayTasklet(smsReadPlatformService,
+                new SmsGatewayClient(smsConfigUtils, fineractProperties), smsMessageRepository, fineractProperties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testDeliveryReportsAreReconciledWithOneLookupPerPage() throws Exception {
+        // given
+        when(smsMessageRepository.findIdsByStatusType(eq(WAITING_FOR_DELIVERY_REPORT), eq(0L), any()))
+                .thenReturn(List.of(1L, 2L, 3L));
+        when(smsMessageRepository.findIdsByStatusType(eq(WAITING_FOR_DELIVERY_REPORT), eq(3L), any())).thenReturn(List.of());
+        gateway.stubFor(post(urlEqualTo("/sms/report")).willReturn(okJson("""
+                [{"id":1,"externalId":"ext-1","deliveryStatus":300,"hasError":false},
+                 {"id":2,"externalId":"ext-2","deliveryStatus":100,"hasError":false},
+                 {"id":3,"externalId":"ext-3","deliveryStatus":400,"hasError":false}]""")));
+        SmsMessage delivered = waitingMessage(1L);
+        SmsMessage failed = waitingMessage(3L);
+        when(smsMessageRepository.findAllById(Set.of(1L, 3L))).thenReturn(List.of(delivered, failed));
+
+        // when
+        underTest.execute(null, null);
+
+        // then
+        gateway.verify(1, postRequestedFor(urlEqualTo("/sms/report")).withRequestBody(equalToJson("[1,2,3]")));
+        assertEquals(SmsMessageStatusType.DELIVERED.getValue(), delivered.getStatusType());
+        assertEquals("ext-1", delivered.getExternalId());
+        assertEquals(SmsMessageStatusType.FAILED.getValue(), failed.getStatusType());
+        verify(smsMessageRepository).saveAll(List.of(delivered, failed));
+    }
+
+    private SmsMessage waitingMessage(Long id) {
+        SmsMessage smsMessage = new SmsMessage().setStatusType(WAITING_FOR_DELIVERY_REPORT);
+        smsMessage.setId(id);
+        return smsMessage;
+    }
+}
@@ -0,0 +1,180 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.campaigns.jobs.sendmessagetosmsgateway;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.campaigns.helper.SmsConfigUtils;
+import org.apache.fineract.infrastructure.campaigns.helper.SmsGatewayClient;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractSmsGatewayProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.gcm.service.NotificationSenderService;
+import org.apache.fineract.infrastructure.sms.data.SmsMessageDispatchData;
+import org.apache.fineract.infrastructure.sms.domain.SmsMessageRepository;
+import org.apache.fineract.infrastructure.sms.domain.SmsMessageStatusType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class SendMessageToSmsGatewayTaskletTest {
+
+    private static final int PAGE_SIZE = 2;
+    private static final Integer PENDING = SmsMessageStatusType.PENDING.getValue();
+    private static final Integer WAITING_FOR_DELIVERY_REPORT = SmsMessageStatusType.WAITING_FOR_DELIVERY_REPORT.getValue();
+
+    @RegisterExtension
+    static WireMockExtension gateway = WireMockExtension.newInstance().options(wireMockConfig().dynamicPort()).build();
+
+    @Mock
+    private SmsMessageRepository smsMessageRepository;
+
+    @Mock
+    private NotificationSenderService notificationSenderService;
+
+    @Mock
+    private SmsConfigUtils smsConfigUtils;
+
+    private final FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+    private ThreadPoolTaskExecutor taskExecutor;
+    private SendMessageToSmsGatewayTasklet underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(tenant);
+        FineractSmsGatewayProperties smsGatewayProperties = new FineractSmsGatewayProperties();
+        smsGatewayProperties.setHighThroughputEnabled(true);
+        smsGatewayProperties.setPageSize(PAGE_SIZE);
+        smsGatewayProperties.setMaxPagesInFlight(2);
+        smsGatewayProperties.setConnectTimeout(Duration.ofSeconds(5));
+        smsGatewayProperties.setReadTimeout(Duration.ofSeconds(5));
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setSmsGateway(smsGatewayProperties);
+
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(2);
+        taskExecutor.initialize();
+
+        when(smsConfigUtils.getMessageGateWayRequestURI(anyString(), anyString())).thenAnswer(invocation -> {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            return Map.of("uri", URI.create(gateway.baseUrl() + "/" + invocation.getArgument(0)), "entity",
+                    new HttpEntity<>(invocation.getArgument(1, String.class), headers));
+        });
+        when(smsMessageRepository.findNotificationsByStatusType(eq(PENDING), any())).thenReturn(List.of());
+        when(smsMessageRepository.findDispatchDataByStatusType(eq(PENDING), eq(0L), any()))
+                .thenReturn(List.of(message(1L), message(2L)));
+        when(smsMessageRepository.findDispatchDataByStatusType(eq(PENDING), eq(2L), any()))
+                .thenReturn(List.of(message(3L), message(4L)));
+        when(smsMessageRepository.findDispatchDataByStatusType(eq(PENDING), eq(4L), any())).thenReturn(List.of(message(5L)));
+
+        underTest = new SendMessageToSmsGatewayTasklet(smsMessageRepository, notificationSenderService,
+                new SmsGatewayClient(smsConfigUtils, fineractProperties), taskExecutor, fineractProperties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskExecutor.shutdown();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testAcceptedPagesAreMarkedWaitingForDeliveryReport() throws Exception {
+        // given
+        gateway.stubFor(post(urlEqualTo("/sms")).willReturn(aResponse().withStatus(202)));
+
+        // when
+        RepeatStatus result = underTest.execute(null, null);
+
+        // then
+        assertEquals(RepeatStatus.FINISHED, result);
+        gateway.verify(3, postRequestedFor(urlEqualTo("/sms")));
+        gateway.verify(postRequestedFor(urlEqualTo("/sms")).withRequestBody(containing("\"internalId\":5"))
+                .withRequestBody(containing("\"tenantId\":\"default\"")));
+        verify(smsMessageRepository).updateStatusType(List.of(1L, 2L), WAITING_FOR_DELIVERY_REPORT);
+        verify(smsMessageRepository).updateStatusType(List.of(3L, 4L), WAITING_FOR_DELIVERY_REPORT);
+        verify(smsMessageRepository).updateStatusType(List.of(5L), WAITING_FOR_DELIVERY_REPORT);
+    }
+
+    @Test
+    public void testRejectedPageStaysPending() throws Exception {
+        // given
+        gateway.stubFor(post(urlEqualTo("/sms")).willReturn(aResponse().withStatus(202)));
+        gateway.stubFor(post(urlEqualTo("/sms")).withRequestBody(containing("\"internalId\":3")).willReturn(aResponse().withStatus(503)));
+
+        // when
+        underTest.execute(null, null);
+
+        // then
+        gateway.verify(3, postRequestedFor(urlEqualTo("/sms")));
+        verify(smsMessageRepository).updateStatusType(List.of(1L, 2L), WAITING_FOR_DELIVERY_REPORT);
+        verify(smsMessageRepository, never()).updateStatusType(List.of(3L, 4L), WAITING_FOR_DELIVERY_REPORT);
+        verify(smsMessageRepository).updateStatusType(List.of(5L), WAITING_FOR_DELIVERY_REPORT);
+    }
+
+    @Test
+    public void testNothingIsSentWithoutPendingMessages() throws Exception {
+        // given
+        when(smsMessageRepository.findDispatchDataByStatusType(eq(PENDING), eq(0L), any())).thenReturn(List.of());
+
+        // when
+        underTest.execute(null, null);
+
+        // then
+        gateway.verify(0, postRequestedFor(urlEqualTo("/sms")));
+        verify(smsMessageRepository, never()).updateStatusType(anyCollection(), anyInt());
+    }
+
+    private SmsMessageDispatchData message(Long id) {
+        return new SmsMessageDispatchData(id, "+10000000" + id, "message " + id, 1L);
+    }
+}
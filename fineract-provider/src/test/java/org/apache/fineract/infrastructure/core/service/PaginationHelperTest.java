@@ -0,0 +1,153 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.apache.fineract.infrastructure.core.service.database.RoutingDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class PaginationHelperTest {
+
+    private static final String SQL_FILTER_ROWS = "select SQL_CALC_FOUND_ROWS c.id from m_client c where c.office_id = ?";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+    @Mock
+    private RoutingDataSource dataSource;
+    @Mock
+    private RowMapper<Long> rowMapper;
+
+    private final List<String> executedSql = new ArrayList<>();
+    private final List<Object[]> executedArgs = new ArrayList<>();
+    private PaginationHelper underTest;
+
+    @BeforeEach
+    public void setUp() {
+        when(databaseTypeResolver.isMySQL()).thenReturn(true);
+        underTest = new PaginationHelper(new DatabaseSpecificSQLGenerator(databaseTypeResolver, dataSource), databaseTypeResolver);
+    }
+
+    @Test
+    public void testFirstKeysetPageReturnsCursorOfLastItem() {
+        // given
+        givenRows(List.of(1L, 2L, 3L));
+
+        // when
+        Page<Long> page = underTest.fetchKeysetPage(jdbcTemplate, SQL_FILTER_ROWS, new Object[] { 5L }, rowMapper, "c.id",
+                Function.identity(), "", 2, PageCountMode.NONE);
+
+        // then
+        assertEquals(List.of(1L, 2L), page.getPageItems());
+        assertNull(page.getTotalFilteredRecords());
+        assertEquals("select  c.id from m_client c where c.office_id = ? order by c.id LIMIT 0,3", executedSql.get(0));
+        assertEquals(List.of(5L), List.of(executedArgs.get(0)));
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Integer.class), any(Object[].class));
+
+        // when
+        givenRows(List.of(3L));
+        Page<Long> nextPage = underTest.fetchKeysetPage(jdbcTemplate, SQL_FILTER_ROWS, new Object[] { 5L }, rowMapper, "c.id",
+                Function.identity(), page.getNextCursor(), 2, PageCountMode.NONE);
+
+        // then
+        assertEquals(List.of(3L), nextPage.getPageItems());
+        assertNull(nextPage.getNextCursor());
+        assertEquals("select  c.id from m_client c where c.office_id = ? and c.id > ? order by c.id LIMIT 0,3", executedSql.get(1));
+        assertEquals(List.of(5L, 2L), List.of(executedArgs.get(1)));
+    }
+
+    @Test
+    public void testKeysetPageCountsRowsWithoutCursorCondition() {
+        // given
+        givenRows(List.of(1L));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class))).thenReturn(7);
+
+        // when
+        Page<Long> page = underTest.fetchKeysetPage(jdbcTemplate, SQL_FILTER_ROWS, new Object[] { 5L }, rowMapper, "c.id",
+                Function.identity(), "Mg", 2, PageCountMode.EXACT);
+
+        // then
+        assertEquals(7, page.getTotalFilteredRecords());
+        verify(jdbcTemplate).queryForObject(eq("SELECT COUNT(*) FROM (select  c.id from m_client c where c.office_id = ?) AS temp"),
+                eq(Integer.class), any(Object[].class));
+    }
+
+    @Test
+    public void testOffsetPageWithoutCountSkipsFoundRows() {
+        // given
+        givenRows(List.of(1L, 2L));
+
+        // when
+        Page<Long> page = underTest.fetchPage(jdbcTemplate, SQL_FILTER_ROWS + " LIMIT 10,2", new Object[] { 5L }, rowMapper,
+                PageCountMode.NONE);
+
+        // then
+        assertEquals(List.of(1L, 2L), page.getPageItems());
+        assertNull(page.getTotalFilteredRecords());
+        assertFalse(executedSql.get(0).contains("SQL_CALC_FOUND_ROWS"));
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Integer.class));
+    }
+
+    @Test
+    public void testInvalidCursorIsRejected() {
+        // when
+        PlatformApiDataValidationException exception = assertThrows(PlatformApiDataValidationException.class,
+                () -> underTest.fetchKeysetPage(jdbcTemplate, SQL_FILTER_ROWS, new Object[] { 5L }, rowMapper, "c.id", Function.identity(),
+                        "not-a-cursor", 2, PageCountMode.NONE));
+
+        // then
+        assertTrue(exception.getErrors().stream().anyMatch(error -> "cursor".equals(error.getParameterName())));
+    }
+
+    private void givenRows(List<Long> rows) {
+        when(jdbcTemplate.query(anyString(), eq(rowMapper), any(Object[].class))).thenAnswer(invocation -> {
+            executedSql.add(invocation.getArgument(0));
+            executedArgs.add((Object[]) invocation.getRawArguments()[2]);
+            return rows;
+        });
+    }
+}
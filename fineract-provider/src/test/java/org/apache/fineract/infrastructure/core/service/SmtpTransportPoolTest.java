@@ -0,0 +1,227 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.sun.mail.smtp.SMTPTransport;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.URLName;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.fineract.infrastructure.configuration.data.SMTPCredentialsData;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractMailProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+public class SmtpTransportPoolTest {
+
+    private static final AtomicInteger CONNECTIONS = new AtomicInteger();
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort())
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("fineract@localhost", "fineract", "password"));
+
+    private ThreadPoolTaskExecutor taskExecutor;
+    private SMTPCredentialsData credentials;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        CONNECTIONS.set(0);
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(4);
+        taskExecutor.initialize();
+        credentials = new SMTPCredentialsData().setHost("localhost").setPort(String.valueOf(greenMail.getSmtp().getPort()))
+                .setUsername("fineract").setPassword("password").setFromEmail("fineract@localhost");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskExecutor.shutdown();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testBatchIsSentOverTheBoundedNumberOfConnections() throws Exception {
+        // given
+        final SmtpTransportPool underTest = createPool(2, 100);
+        final Properties javaMailProperties = createJavaMailProperties();
+
+        // when
+        underTest.send(credentials, javaMailProperties, createMessages(underTest, javaMailProperties, 10));
+
+        // then
+        assertEquals(10, greenMail.getReceivedMessages().length);
+        assertEquals(2, CONNECTIONS.get());
+        underTest.destroy();
+    }
+
+    @Test
+    public void testConnectionsAreReusedByTheNextBatch() throws Exception {
+        // given
+        final SmtpTransportPool underTest = createPool(2, 100);
+        final Properties javaMailProperties = createJavaMailProperties();
+        underTest.send(credentials, javaMailProperties, createMessages(underTest, javaMailProperties, 4));
+
+        // when
+        underTest.send(credentials, javaMailProperties, createMessages(underTest, javaMailProperties, 4));
+        underTest.send(credentials, javaMailProperties, createMessages(underTest, javaMailProperties, 1).get(0));
+
+        // then
+        assertEquals(9, greenMail.getReceivedMessages().length);
+        assertEquals(2, CONNECTIONS.get());
+        underTest.destroy();
+    }
+
+    @Test
+    public void testConnectionIsReopenedAfterTheMessageLimit() throws Exception {
+        // given
+        final SmtpTransportPool underTest = createPool(1, 3);
+        final Properties javaMailProperties = createJavaMailProperties();
+
+        // when
+        underTest.send(credentials, javaMailProperties, createMessages(underTest, javaMailProperties, 7));
+
+        // then
+        assertEquals(7, greenMail.getReceivedMessages().length);
+        assertEquals(3, CONNECTIONS.get());
+        underTest.destroy();
+    }
+
+    @Test
+    public void testPoolIsRebuiltWhenTheSettingsChange() throws Exception {
+        // given
+        final SmtpTransportPool underTest = createPool(1, 100);
+        final Properties javaMailProperties = createJavaMailProperties();
+        underTest.send(credentials, javaMailProperties, createMessages(underTest, javaMailProperties, 2));
+        final Properties changedJavaMailProperties = createJavaMailProperties();
+        changedJavaMailProperties.setProperty("mail.smtp.timeout", "10000");
+
+        // when
+        underTest.send(credentials, changedJavaMailProperties, createMessages(underTest, changedJavaMailProperties, 2));
+        underTest.send(credentials, changedJavaMailProperties, createMessages(underTest, changedJavaMailProperties, 2));
+
+        // then
+        assertEquals(6, greenMail.getReceivedMessages().length);
+        assertEquals(2, CONNECTIONS.get());
+        underTest.destroy();
+    }
+
+    @Test
+    public void testIdleConnectionsExpire() throws Exception {
+        // given
+        final SmtpTransportPool underTest = createPool(1, 100, Duration.ofMillis(100));
+        final Properties javaMailProperties = createJavaMailProperties();
+        underTest.send(credentials, javaMailProperties, createMessages(underTest, javaMailProperties, 1).get(0));
+
+        // when
+        Thread.sleep(300);
+        underTest.send(credentials, javaMailProperties, createMessages(underTest, javaMailProperties, 1).get(0));
+
+        // then
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        assertEquals(2, CONNECTIONS.get());
+        underTest.destroy();
+    }
+
+    @Test
+    public void testSharesRejectedByTheExecutorAreSentByTheCaller() throws Exception {
+        // given
+        final SmtpTransportPool underTest = createPool(4, 100);
+        final Properties javaMailProperties = createJavaMailProperties();
+        taskExecutor.shutdown();
+
+        // when
+        underTest.send(credentials, javaMailProperties, createMessages(underTest, javaMailProperties, 8));
+
+        // then
+        assertEquals(8, greenMail.getReceivedMessages().length);
+        underTest.destroy();
+    }
+
+    private SmtpTransportPool createPool(final int maxConnectionsPerServer, final int maxMessagesPerConnection) {
+        return createPool(maxConnectionsPerServer, maxMessagesPerConnection, Duration.ofMinutes(1));
+    }
+
+    private SmtpTransportPool createPool(final int maxConnectionsPerServer, final int maxMessagesPerConnection,
+            final Duration idleTimeout) {
+        final FineractMailProperties mail = new FineractMailProperties();
+        mail.setMaxConnectionsPerServer(maxConnectionsPerServer);
+        mail.setMaxMessagesPerConnection(maxMessagesPerConnection);
+        mail.setMinSendInterval(Duration.ZERO);
+        mail.setIdleTimeout(idleTimeout);
+        final FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setMail(mail);
+        return new SmtpTransportPool(fineractProperties, taskExecutor);
+    }
+
+    private static Properties createJavaMailProperties() {
+        final Properties properties = new Properties();
+        properties.setProperty("mail.smtp.auth", "true");
+        properties.setProperty("mail.smtp.class", CountingSmtpTransport.class.getName());
+        return properties;
+    }
+
+    private List<MimeMessage> createMessages(final SmtpTransportPool pool, final Properties javaMailProperties, final int count)
+            throws MessagingException {
+        final List<MimeMessage> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final MimeMessage message = pool.createMimeMessage(credentials, javaMailProperties);
+            final MimeMessageHelper helper = new MimeMessageHelper(message);
+            helper.setFrom(credentials.getFromEmail());
+            helper.setTo("client" + i + "@localhost");
+            helper.setSubject("Report " + i);
+            helper.setText("Body " + i);
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    /**
+     * Counts the connections opened to the mail server.
+     */
+    public static class CountingSmtpTransport extends SMTPTransport {
+
+        public CountingSmtpTransport(final Session session, final URLName urlName) {
+            super(session, urlName);
+        }
+
+        @Override
+        protected synchronized boolean protocolConnect(final String host, final int port, final String user, final String password)
+                throws MessagingException {
+            CONNECTIONS.incrementAndGet();
+            return super.protocolConnect(host, port, user, password);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseType;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class DatatableMetadataCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, List<ResultsetColumnHeaderData>> loader = tableName -> {
+        loads.incrementAndGet();
+        return List.of(ResultsetColumnHeaderData.basic(tableName + "_id", "BIGINT", DatabaseType.MYSQL));
+    };
+
+    private final RuntimeDelegatingCacheManager cacheManager = mock(RuntimeDelegatingCacheManager.class);
+    private SimpleMeterRegistry meterRegistry;
+    private DatatableMetadataCache underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new DatatableMetadataCache(cacheManager, Optional.of(meterRegistry));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testColumnHeadersAreLoadedOncePerTable() {
+        // when
+        List<ResultsetColumnHeaderData> first = underTest.getColumnHeaders("dt_client_extra", loader);
+        List<ResultsetColumnHeaderData> second = underTest.getColumnHeaders("dt_client_extra", loader);
+        underTest.getColumnHeaders("dt_savings_extra", loader);
+
+        // then
+        assertSame(first, second);
+        assertEquals(2, loads.get());
+        assertEquals(2.0, meterRegistry.counter("fineract.datatable.metadata.cache.misses").count());
+        assertEquals(1.0, meterRegistry.counter("fineract.datatable.metadata.cache.hits").count());
+    }
+
+    @Test
+    public void testInvalidateReloadsOnlyThatTable() {
+        // given
+        underTest.getColumnHeaders("dt_client_extra", loader);
+        underTest.getColumnHeaders("dt_savings_extra", loader);
+
+        // when
+        underTest.invalidate("DT_CLIENT_EXTRA");
+        underTest.getColumnHeaders("dt_client_extra", loader);
+        underTest.getColumnHeaders("dt_savings_extra", loader);
+
+        // then
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testInvalidateAllReloadsEveryTableOfTheTenant() {
+        // given
+        underTest.getColumnHeaders("dt_client_extra", loader);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null));
+        underTest.getColumnHeaders("dt_client_extra", loader);
+
+        // when
+        underTest.invalidateAll();
+        underTest.getColumnHeaders("dt_client_extra", loader);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        underTest.getColumnHeaders("dt_client_extra", loader);
+
+        // then
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testHeadersLoadedDuringInvalidationAreNotKept() {
+        // given
+        Function<String, List<ResultsetColumnHeaderData>> invalidatingLoader = tableName -> {
+            List<ResultsetColumnHeaderData> headers = loader.apply(tableName);
+            underTest.invalidate(tableName);
+            return headers;
+        };
+
+        // when
+        underTest.getColumnHeaders("dt_client_extra", invalidatingLoader);
+        underTest.getColumnHeaders("dt_client_extra", loader);
+
+        // then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testInvalidationsAreBroadcastAndAppliedFromOtherNodes() {
+        // given
+        ArgumentCaptor<Consumer<String>> invalidator = ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheManager).registerNodeLocalCache(eq("datatableMetadata"), invalidator.capture());
+        underTest.getColumnHeaders("dt_client_extra", loader);
+        underTest.getColumnHeaders("dt_savings_extra", loader);
+
+        // when
+        underTest.invalidate("dt_loan_extra");
+        invalidator.getValue().accept("default/DT_CLIENT_EXTRA");
+        underTest.getColumnHeaders("dt_client_extra", loader);
+        underTest.getColumnHeaders("dt_savings_extra", loader);
+
+        // then
+        verify(cacheManager).broadcastInvalidation("datatableMetadata", "default/dt_loan_extra");
+        assertEquals(3, loads.get());
+
+        // when
+        invalidator.getValue().accept("default");
+        underTest.getColumnHeaders("dt_savings_extra", loader);
+
+        // then
+        assertEquals(4, loads.get());
+    }
+}
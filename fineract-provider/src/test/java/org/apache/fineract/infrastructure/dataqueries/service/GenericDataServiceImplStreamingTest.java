@@ -0,0 +1,189 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseIndependentQueryService;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseType;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.apache.fineract.infrastructure.core.service.database.RoutingDataSource;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class GenericDataServiceImplStreamingTest {
+
+    private static final String SQL = "select x.* from (select id, submitted_on from m_client) x";
+
+    @Mock
+    private RuntimeDelegatingCacheManager cacheManager;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private RoutingDataSource dataSource;
+    @Mock
+    private DatabaseIndependentQueryService databaseIndependentQueryService;
+    @Mock
+    private DatatableKeywordGenerator datatableKeywordGenerator;
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement statement;
+    @Mock
+    private ResultSet resultSet;
+    @Mock
+    private ResultSetMetaData metaData;
+
+    private FineractProperties.FineractReportStreamingProperties streaming;
+    private GenericDataServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        streaming = new FineractProperties.FineractReportStreamingProperties();
+        streaming.setEnabled(true);
+        streaming.setFetchSize(500);
+        streaming.setMaxRows(10);
+        streaming.setMaxDuration(Duration.ofMinutes(5));
+        FineractProperties.FineractReportProperties report = new FineractProperties.FineractReportProperties();
+        report.setStreaming(streaming);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setReport(report);
+
+        underTest = new GenericDataServiceImpl(jdbcTemplate, dataSource, databaseIndependentQueryService, datatableKeywordGenerator,
+                databaseTypeResolver, fineractProperties, new DatatableMetadataCache(cacheManager, Optional.empty()));
+
+        when(databaseTypeResolver.databaseType()).thenReturn(DatabaseType.MYSQL);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0, ConnectionCallback.class).doInConnection(connection));
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getObject(1)).thenReturn(1L, 2L);
+        when(resultSet.getObject(2)).thenReturn(Date.valueOf("2024-01-31"), (Object) null);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnName(1)).thenReturn("id");
+        when(metaData.getColumnTypeName(1)).thenReturn("BIGINT");
+        when(metaData.getColumnName(2)).thenReturn("submitted_on");
+        when(metaData.getColumnTypeName(2)).thenReturn("DATE");
+    }
+
+    @Test
+    public void testRowsAreHandedOverAsTheyAreRead() throws Exception {
+        // given
+        RecordingHandler handler = new RecordingHandler();
+
+        // when
+        long rows = underTest.streamGenericResultSet(SQL, handler);
+
+        // then
+        assertEquals(2L, rows);
+        assertEquals(List.of("id", "submitted_on"), handler.columnNames);
+        assertEquals(List.of(1L, LocalDate.of(2024, 1, 31)), handler.rows.get(0));
+        assertEquals(2L, handler.rows.get(1).get(0));
+        verify(statement).setFetchSize(500);
+        verify(statement).setMaxRows(11);
+        verify(statement).setQueryTimeout(300);
+        verify(connection).setAutoCommit(false);
+        verify(connection).setAutoCommit(true);
+        verify(statement, never()).cancel();
+    }
+
+    @Test
+    public void testRowCapCancelsTheQuery() throws Exception {
+        // given
+        streaming.setMaxRows(1);
+        RecordingHandler handler = new RecordingHandler();
+
+        // when
+        assertThrows(GeneralPlatformDomainRuleException.class, () -> underTest.streamGenericResultSet(SQL, handler));
+
+        // then
+        assertEquals(1, handler.rows.size());
+        verify(statement).cancel();
+        verify(connection).setAutoCommit(true);
+    }
+
+    @Test
+    public void testClientDisconnectCancelsTheQuery() throws Exception {
+        // given
+        RecordingHandler handler = new RecordingHandler() {
+
+            @Override
+            public void row(List<Object> row) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // when
+        IOException thrown = assertThrows(IOException.class, () -> underTest.streamGenericResultSet(SQL, handler));
+
+        // then
+        assertEquals("Broken pipe", thrown.getMessage());
+        verify(statement).cancel();
+    }
+
+    private static class RecordingHandler implements GenericResultsetStreamHandler {
+
+        private final List<String> columnNames = new ArrayList<>();
+        private final List<List<Object>> rows = new ArrayList<>();
+
+        @Override
+        public void columnHeaders(List<ResultsetColumnHeaderData> columnHeaders) {
+            columnHeaders.forEach(columnHeader -> columnNames.add(columnHeader.getColumnName()));
+        }
+
+        @Override
+        public void row(List<Object> row) throws IOException {
+            rows.add(row);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.google.common.io.ByteSource;
+import java.util.Optional;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepository;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils.ImageFileExtension;
+import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageData;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageResizer;
+import org.apache.fineract.infrastructure.documentmanagement.domain.StorageType;
+import org.apache.fineract.infrastructure.documentmanagement.exception.ContentManagementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ImageRenditionCacheTest {
+
+    private static final String LOCATION = "/root/default/images/clients/1/photo.jpg";
+
+    @Mock
+    private ImageResizer imageResizer;
+    @Mock
+    private ContentRepository contentRepository;
+
+    private ImageRenditionCache underTest;
+    private ImageData imageData;
+    private FileData original;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new ImageRenditionCache(imageResizer);
+        imageData = new ImageData(7L, LOCATION, StorageType.FILE_SYSTEM, "John Doe");
+        original = new FileData(ByteSource.wrap(new byte[] { 1, 2, 3, 4 }), "John Doe", "image/jpeg");
+    }
+
+    @Test
+    public void testStoredRenditionIsServedWithoutResizing() throws Exception {
+        // given
+        when(contentRepository.fetchImageRendition(LOCATION, "7_100x50.jpeg")).thenReturn(Optional.of(new byte[] { 9 }));
+
+        // when
+        FileData result = underTest.resize(contentRepository, imageData, original, 100, 50);
+
+        // then
+        assertArrayEquals(new byte[] { 9 }, result.getByteSource().read());
+        verifyNoInteractions(imageResizer);
+        verify(contentRepository, never()).saveImageRendition(anyString(), anyString(), any());
+    }
+
+    @Test
+    public void testMissingRenditionIsResizedAndStored() throws Exception {
+        // given
+        when(contentRepository.fetchImageRendition(LOCATION, "7_100x.jpeg")).thenReturn(Optional.empty());
+        when(imageResizer.resize(original, ImageFileExtension.JPEG, 100, null))
+                .thenReturn(new FileData(ByteSource.wrap(new byte[] { 5, 6 }), original.name(), original.contentType()));
+
+        // when
+        FileData result = underTest.resize(contentRepository, imageData, original, 100, null);
+
+        // then
+        assertArrayEquals(new byte[] { 5, 6 }, result.getByteSource().read());
+        verify(contentRepository).saveImageRendition(LOCATION, "7_100x.jpeg", new byte[] { 5, 6 });
+    }
+
+    @Test
+    public void testRenditionKeepsTheFormatOfTheStoredImage() throws Exception {
+        // given
+        ImageData pngImage = new ImageData(8L, "/root/default/images/clients/1/photo.png", StorageType.FILE_SYSTEM, "John Doe");
+        FileData pngOriginal = new FileData(ByteSource.wrap(new byte[] { 1, 2 }), "John Doe", "image/png");
+        when(contentRepository.fetchImageRendition(pngImage.location(), "8_100x50.png")).thenReturn(Optional.empty());
+        when(imageResizer.resize(pngOriginal, ImageFileExtension.PNG, 100, 50))
+                .thenReturn(new FileData(ByteSource.wrap(new byte[] { 3 }), pngOriginal.name(), pngOriginal.contentType()));
+
+        // when
+        FileData result = underTest.resize(contentRepository, pngImage, pngOriginal, 100, 50);
+
+        // then
+        assertArrayEquals(new byte[] { 3 }, result.getByteSource().read());
+        verify(contentRepository).saveImageRendition(pngImage.location(), "8_100x50.png", new byte[] { 3 });
+    }
+
+    @Test
+    public void testUnreadableRenditionStoreFallsBackToResizing() throws Exception {
+        // given
+        ContentManagementException denied = new ContentManagementException("7_100x50.jpeg", "File name not allowed");
+        when(contentRepository.fetchImageRendition(anyString(), anyString())).thenThrow(denied);
+        when(contentRepository.saveImageRendition(anyString(), anyString(), any())).thenThrow(denied);
+        when(imageResizer.resize(original, ImageFileExtension.JPEG, 100, 50))
+                .thenReturn(new FileData(ByteSource.wrap(new byte[] { 5 }), original.name(), original.contentType()));
+
+        // when
+        FileData result = underTest.resize(contentRepository, imageData, original, 100, 50);
+
+        // then
+        assertArrayEquals(new byte[] { 5 }, result.getByteSource().read());
+    }
+
+    @Test
+    public void testNoWidthBoundReturnsOriginal() {
+        // when
+        FileData result = underTest.resize(contentRepository, imageData, original, null, 50);
+
+        // then
+        assertSame(original, result);
+        verifyNoInteractions(imageResizer, contentRepository);
+    }
+}
@@ -21,8 +21,10 @@ package org.apache.fineract.infrastructure.event.business.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -39,6 +41,7 @@ import org.apache.fineract.infrastructure.event.external.service.ExternalEventSe
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -324,6 +327,40 @@ class BusinessEventNotifierServiceImplTest {
         verifyNoInteractions(externalEventService);
     }
 
+    @Test
+    public void testNotifyPostBusinessEventShouldNotifyListenersOfSuperTypesInRegistrationOrder() {
+        // given
+        configureExternalEventsProperties(false);
+        MockBusinessEvent event = new MockBusinessEvent();
+        BusinessEventListener superTypeListener = mock(BusinessEventListener.class);
+        BusinessEventListener<MockBusinessEvent> postListener = mockListener();
+        underTest.addPostBusinessEventListener(BusinessEvent.class, superTypeListener);
+        underTest.addPostBusinessEventListener(MockBusinessEvent.class, postListener);
+        // when
+        underTest.notifyPostBusinessEvent(event);
+        // then
+        InOrder inOrder = inOrder(superTypeListener, postListener);
+        inOrder.verify(superTypeListener).onBusinessEvent(event);
+        inOrder.verify(postListener).onBusinessEvent(event);
+    }
+
+    @Test
+    public void testNotifyPostBusinessEventShouldNotifyListenersAddedAfterAnEarlierNotification() {
+        // given
+        configureExternalEventsProperties(false);
+        MockBusinessEvent event = new MockBusinessEvent();
+        BusinessEventListener<MockBusinessEvent> firstListener = mockListener();
+        BusinessEventListener<MockBusinessEvent> secondListener = mockListener();
+        underTest.addPostBusinessEventListener(MockBusinessEvent.class, firstListener);
+        underTest.notifyPostBusinessEvent(event);
+        // when
+        underTest.addPostBusinessEventListener(MockBusinessEvent.class, secondListener);
+        underTest.notifyPostBusinessEvent(event);
+        // then
+        verify(firstListener, times(2)).onBusinessEvent(event);
+        verify(secondListener).onBusinessEvent(event);
+    }
+
     private void configureExternalEventsProperties(boolean isExternalEventsEnabled) {
         FineractProperties.FineractEventsProperties eventsProperties = new FineractProperties.FineractEventsProperties();
         FineractProperties.FineractExternalEventsProperties externalProperties = new FineractProperties.FineractExternalEventsProperties();
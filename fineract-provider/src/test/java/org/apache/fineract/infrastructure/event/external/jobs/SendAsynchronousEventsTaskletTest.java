@@ -20,6 +20,7 @@ package org.apache.fineract.infrastructure.event.external.jobs;
 
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -54,6 +55,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
@@ -78,7 +80,8 @@ class SendAsynchronousEventsTaskletTest {
     private FineractProperties fineractProperties;
     @Mock
     private ExternalEventRepository repository;
-    @Mock
+    // the default sendEventsWithAcknowledgements delegates to the mocked sendEvents
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private ExternalEventProducer eventProducer;
     @Mock
     private MessageFactory messageFactory;
@@ -224,6 +227,29 @@ class SendAsynchronousEventsTaskletTest {
         assertEquals(RepeatStatus.FINISHED, resultStatus);
     }
 
+    @Test
+    public void givenPartiallyAcknowledgedEventsWhenTaskExecutionThenOnlyAcknowledgedEventsAreMarkedAsSent() throws Exception {
+        // given
+        ExternalEventView first = createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 1L);
+        ExternalEventView second = createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 2L);
+        ExternalEventView third = createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 1L);
+        List<ExternalEventView> events = Arrays.asList(first, second, third);
+        List<Long> acknowledgedEventIds = List.of(first.getId(), second.getId());
+        MessageV1 dummyMessage = new MessageV1(1L, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
+                "anidempotencyKey", "aSchema", ByteBuffer.wrap("dummy".getBytes(StandardCharsets.UTF_8)));
+        when(repository.findByStatusOrderByBusinessDateAscIdAsc(Mockito.any(), Mockito.any())).thenReturn(events);
+        when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
+        when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(new byte[0]);
+        doReturn(Map.of(1L, 1, 2L, 1)).when(eventProducer).sendEventsWithAcknowledgements(Mockito.any());
+        // when
+        resultStatus = underTest.execute(stepContribution, chunkContext);
+        // then
+        Awaitility.await().atMost(10L, TimeUnit.SECONDS).untilAsserted(() -> {
+            verify(repository).markEventsSent(Mockito.eq(acknowledgedEventIds), Mockito.any());
+        });
+        assertEquals(RepeatStatus.FINISHED, resultStatus);
+    }
+
     @Test
     public void givenEventBatchSizeIsConfiguredAs10WhenTaskExecutionThenEventReadPageSizeIsCorrect() {
         ArgumentCaptor<Pageable> externalEventPageSizeArgumentCaptor = ArgumentCaptor.forClass(Pageable.class);
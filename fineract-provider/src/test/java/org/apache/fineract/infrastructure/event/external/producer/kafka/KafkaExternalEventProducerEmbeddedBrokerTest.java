@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.producer.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.LongDeserializer;
+import org.apache.kafka.common.serialization.LongSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+/**
+ * Sends events with pipelined batching to an in-process Kafka broker and reads them back.
+ */
+class KafkaExternalEventProducerEmbeddedBrokerTest {
+
+    private static EmbeddedKafkaKraftBroker broker;
+    private static DefaultKafkaProducerFactory<Long, byte[]> producerFactory;
+
+    @BeforeAll
+    public static void startBroker() {
+        broker = new EmbeddedKafkaKraftBroker(1, 3, KafkaExternalEventProducerTest.TOPIC_NAME);
+        broker.afterPropertiesSet();
+        producerFactory = new DefaultKafkaProducerFactory<>(Map.of(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, LongSerializer.class, ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+                ByteArraySerializer.class, ProducerConfig.LINGER_MS_CONFIG, 5));
+    }
+
+    @AfterAll
+    public static void stopBroker() {
+        producerFactory.destroy();
+        broker.destroy();
+    }
+
+    @Test
+    public void testPipelinedSendDeliversEveryChunkInPartitionOrder() {
+        // given
+        FineractProperties properties = KafkaExternalEventProducerTest.createPipelinedProperties(64, 2);
+        // the first send waits for the topic metadata of the new broker
+        properties.getEvents().getExternal().getProducer().getKafka().setTimeoutInSeconds(30);
+        KafkaExternalEventProducer underTest = new KafkaExternalEventProducer(new KafkaTemplate<>(producerFactory), properties);
+        Map<Long, List<byte[]>> partitions = new LinkedHashMap<>();
+        for (long aggregateRootId = 1; aggregateRootId <= 10; aggregateRootId++) {
+            List<byte[]> messages = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                messages.add(message(aggregateRootId, i));
+            }
+            partitions.put(aggregateRootId, messages);
+        }
+
+        // when
+        Map<Long, Integer> acknowledged = underTest.sendEventsWithAcknowledgements(partitions);
+
+        // then
+        partitions.forEach((aggregateRootId, messages) -> Assertions.assertEquals(messages.size(), acknowledged.get(aggregateRootId)));
+        Map<Long, List<String>> received = receive(200);
+        partitions.forEach((aggregateRootId, messages) -> Assertions.assertEquals(
+                messages.stream().map(message -> new String(message, StandardCharsets.UTF_8)).toList(), received.get(aggregateRootId)));
+    }
+
+    private static byte[] message(long aggregateRootId, int index) {
+        return ("event-" + aggregateRootId + "-" + index).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Map<Long, List<String>> receive(int expectedCount) {
+        Map<String, Object> consumerProperties = Map.of(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ConsumerConfig.GROUP_ID_CONFIG, "embedded-broker-test", ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, LongDeserializer.class, ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
+                ByteArrayDeserializer.class);
+        Map<Long, List<String>> received = new LinkedHashMap<>();
+        try (KafkaConsumer<Long, byte[]> consumer = new KafkaConsumer<>(consumerProperties)) {
+            consumer.subscribe(List.of(KafkaExternalEventProducerTest.TOPIC_NAME));
+            long deadline = System.currentTimeMillis() + 30_000L;
+            int count = 0;
+            while (count < expectedCount && System.currentTimeMillis() < deadline) {
+                for (ConsumerRecord<Long, byte[]> consumerRecord : consumer.poll(Duration.ofMillis(500))) {
+                    received.computeIfAbsent(consumerRecord.key(), key -> new ArrayList<>())
+                            .add(new String(consumerRecord.value(), StandardCharsets.UTF_8));
+                    count++;
+                }
+            }
+        }
+        return received;
+    }
+}
@@ -22,6 +22,7 @@ import static org.mockito.Mockito.times;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -112,6 +113,61 @@ class KafkaExternalEventProducerTest {
         Mockito.verifyNoMoreInteractions(kafkaTemplate);
     }
 
+    @Test
+    public void testPipelinedSendReportsAcknowledgedEventsPerPartition() {
+        // given
+        KafkaExternalEventProducer underTest = new KafkaExternalEventProducer(kafkaTemplate, createPipelinedProperties(1024, 2));
+        Mockito.when(kafkaTemplate.send(TOPIC_NAME, 1L, FIRST)).thenReturn(CompletableFuture.completedFuture(sendResult1));
+        Mockito.when(kafkaTemplate.send(TOPIC_NAME, 1L, SECOND))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Kafka error")));
+        Mockito.when(kafkaTemplate.send(TOPIC_NAME, 1L, THIRD)).thenReturn(CompletableFuture.completedFuture(sendResult3));
+        Mockito.when(kafkaTemplate.send(TOPIC_NAME, 2L, THIRD)).thenReturn(CompletableFuture.completedFuture(sendResult3));
+        Map<Long, List<byte[]>> partitions = new LinkedHashMap<>();
+        partitions.put(1L, List.of(FIRST, SECOND, THIRD));
+        partitions.put(2L, List.of(THIRD));
+
+        // when
+        Map<Long, Integer> acknowledged = underTest.sendEventsWithAcknowledgements(partitions);
+
+        // then
+        Assertions.assertEquals(Map.of(1L, 1, 2L, 1), acknowledged);
+        Mockito.verify(kafkaTemplate, times(1)).send(TOPIC_NAME, 1L, FIRST);
+        Mockito.verify(kafkaTemplate, times(1)).send(TOPIC_NAME, 1L, SECOND);
+        Mockito.verify(kafkaTemplate, times(1)).send(TOPIC_NAME, 1L, THIRD);
+        Mockito.verify(kafkaTemplate, times(1)).send(TOPIC_NAME, 2L, THIRD);
+        Mockito.verifyNoMoreInteractions(kafkaTemplate);
+    }
+
+    @Test
+    public void testPipelinedSendKeepsChunksInFlightBounded() {
+        // given
+        KafkaExternalEventProducer underTest = new KafkaExternalEventProducer(kafkaTemplate,
+                createPipelinedProperties(FIRST.length, 1));
+        Mockito.when(kafkaTemplate.send(TOPIC_NAME, 1L, FIRST)).thenReturn(new CompletableFuture<>());
+        Map<Long, List<byte[]>> partitions = new LinkedHashMap<>();
+        partitions.put(1L, List.of(FIRST, SECOND));
+        partitions.put(2L, List.of(THIRD));
+
+        // when
+        Map<Long, Integer> acknowledged = underTest.sendEventsWithAcknowledgements(partitions);
+
+        // then
+        Assertions.assertEquals(Map.of(1L, 0, 2L, 0), acknowledged);
+        Mockito.verify(kafkaTemplate, times(1)).send(TOPIC_NAME, 1L, FIRST);
+        Mockito.verifyNoMoreInteractions(kafkaTemplate);
+    }
+
+    @NonNull
+    static FineractProperties createPipelinedProperties(int maxChunkSizeInBytes, int maxChunksInFlight) {
+        FineractProperties props = createProperties();
+        FineractProperties.KafkaPipelinedBatchingProperties pipelinedBatching = new FineractProperties.KafkaPipelinedBatchingProperties();
+        pipelinedBatching.setEnabled(true);
+        pipelinedBatching.setMaxChunkSizeInBytes(maxChunkSizeInBytes);
+        pipelinedBatching.setMaxChunksInFlight(maxChunksInFlight);
+        props.getEvents().getExternal().getProducer().getKafka().setPipelinedBatching(pipelinedBatching);
+        return props;
+    }
+
     @NonNull
     private static FineractProperties createProperties() {
         FineractProperties props = new FineractProperties();
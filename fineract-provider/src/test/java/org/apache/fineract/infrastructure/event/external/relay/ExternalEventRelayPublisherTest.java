@@ -0,0 +1,190 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.relay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.fineract.avro.MessageV1;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
+import org.apache.fineract.infrastructure.event.external.service.message.MessageFactory;
+import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ExternalEventRelayPublisherTest {
+
+    private static final String NODE_ID = "node-1";
+    private static final Duration LEASE_DURATION = Duration.ofSeconds(30);
+
+    @Mock
+    private ExternalEventRepository repository;
+    // the default sendEventsWithAcknowledgements delegates to the mocked sendEvents
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
+    private ExternalEventProducer eventProducer;
+    @Mock
+    private MessageFactory messageFactory;
+    @Mock
+    private ByteBufferConverter byteBufferConverter;
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private TransactionStatus transactionStatus;
+    @Mock
+    private ExternalEventRelayLease lease;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExternalEventRelayPublisher underTest;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        FineractProperties.FineractExternalEventsProperties externalProperties = new FineractProperties.FineractExternalEventsProperties();
+        externalProperties.setPartitionSize(5000);
+        FineractProperties.FineractEventsProperties eventsProperties = new FineractProperties.FineractEventsProperties();
+        eventsProperties.setExternal(externalProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setEvents(eventsProperties);
+        doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(transactionStatus))
+                .when(transactionTemplate).execute(any());
+        when(lease.renew(NODE_ID, LEASE_DURATION)).thenReturn(true);
+        when(configurationDomainService.retrieveExternalEventBatchSize()).thenReturn(3L);
+        when(messageFactory.createMessage(any())).thenAnswer(invocation -> {
+            ExternalEventView event = invocation.getArgument(0);
+            return new MessageV1(event.getId(), "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
+                    "anIdempotencyKey", "aSchema", ByteBuffer.wrap(String.valueOf(event.getId()).getBytes(StandardCharsets.UTF_8)));
+        });
+        when(byteBufferConverter.convert(any(ByteBuffer.class))).thenAnswer(invocation -> {
+            ByteBuffer buffer = invocation.getArgument(0);
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return bytes;
+        });
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new ExternalEventRelayPublisher(fineractProperties, repository, eventProducer, messageFactory, byteBufferConverter,
+                configurationDomainService, transactionTemplate, lease, Optional.of(meterRegistry));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testPartialBatchIsPublishedInAggregateRootOrder() {
+        // given
+        List<ExternalEventView> events = List.of(createEvent(1L, 10L), createEvent(2L, 20L));
+        when(repository.findByStatusOrderByBusinessDateAscIdAsc(eq(ExternalEventStatus.TO_BE_SENT), any())).thenReturn(events);
+        List<Map<Long, List<byte[]>>> sent = new ArrayList<>();
+        doAnswer(invocation -> sent.add(invocation.getArgument(0))).when(eventProducer).sendEvents(any());
+
+        // when
+        boolean batchFull = underTest.publishNextBatch(NODE_ID, LEASE_DURATION);
+
+        // then
+        assertFalse(batchFull);
+        assertEquals(1, sent.size());
+        assertEquals(List.of(10L, 20L), new ArrayList<>(sent.get(0).keySet()));
+        verify(repository).markEventsSent(eq(List.of(1L, 2L)), any());
+        verify(repository, never()).countByStatus(any());
+        assertEquals(2L, meterRegistry.timer("fineract.events.external.relay.commit-to-publish").count());
+        assertEquals(0.0, meterRegistry.get("fineract.events.external.relay.backlog").tag("tenant", "default").gauge().value());
+    }
+
+    @Test
+    public void testFullBatchReportsBacklog() {
+        // given
+        List<ExternalEventView> events = List.of(createEvent(1L, 10L), createEvent(2L, 10L), createEvent(3L, null));
+        when(repository.findByStatusOrderByBusinessDateAscIdAsc(eq(ExternalEventStatus.TO_BE_SENT), any())).thenReturn(events);
+        when(repository.countByStatus(ExternalEventStatus.TO_BE_SENT)).thenReturn(42L);
+
+        // when
+        boolean batchFull = underTest.publishNextBatch(NODE_ID, LEASE_DURATION);
+
+        // then
+        assertTrue(batchFull);
+        verify(repository).markEventsSent(eq(List.of(1L, 2L, 3L)), any());
+        assertEquals(42.0, meterRegistry.get("fineract.events.external.relay.backlog").tag("tenant", "default").gauge().value());
+    }
+
+    @Test
+    public void testEventsAreNotMarkedAsSentOnceTheLeaseIsLost() {
+        // given
+        List<ExternalEventView> events = List.of(createEvent(1L, 10L), createEvent(2L, 10L), createEvent(3L, null));
+        when(repository.findByStatusOrderByBusinessDateAscIdAsc(eq(ExternalEventStatus.TO_BE_SENT), any())).thenReturn(events);
+        when(lease.renew(NODE_ID, LEASE_DURATION)).thenReturn(false);
+
+        // when
+        boolean batchFull = underTest.publishNextBatch(NODE_ID, LEASE_DURATION);
+
+        // then
+        assertFalse(batchFull);
+        verify(repository, never()).markEventsSent(any(), any());
+        verify(repository, never()).countByStatus(any());
+        assertEquals(0L, meterRegistry.timer("fineract.events.external.relay.commit-to-publish").count());
+    }
+
+    private ExternalEventView createEvent(Long id, Long aggregateRootId) {
+        ExternalEventView event = Mockito.mock(ExternalEventView.class);
+        when(event.getId()).thenReturn(id);
+        when(event.getAggregateRootId()).thenReturn(aggregateRootId);
+        when(event.getCreatedAt()).thenReturn(DateUtils.getAuditOffsetDateTime());
+        return event;
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.listener;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.event.HookEvent;
+import org.apache.fineract.infrastructure.hooks.event.HookEventSource;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessor;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessorProvider;
+import org.apache.fineract.infrastructure.hooks.service.HookReadPlatformService;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class FineractHookListenerTest {
+
+    @Mock
+    private HookProcessorProvider hookProcessorProvider;
+    @Mock
+    private HookReadPlatformService hookReadPlatformService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ThreadPoolTaskExecutor hookDeliveryTaskExecutor;
+    @Mock
+    private HookProcessor processor;
+
+    private final Hook hook = mock(Hook.class);
+    private HookEvent event;
+    private FineractHookListener underTest;
+
+    @BeforeEach
+    public void setUp() {
+        event = new HookEvent(new HookEventSource("CLIENT", "CREATE"), "{}", mock(AppUser.class), mock(FineractContext.class));
+        when(hookReadPlatformService.retrieveHooksByEvent("CLIENT", "CREATE")).thenReturn(List.of(hook));
+        when(hookProcessorProvider.getProcessor(hook)).thenReturn(processor);
+        underTest = new FineractHookListener(hookProcessorProvider, hookReadPlatformService, transactionManager,
+                hookDeliveryTaskExecutor);
+    }
+
+    @Test
+    public void testFailingRecordingDoesNotFailTheCommand() throws Exception {
+        // given
+        when(processor.recordsDelivery()).thenReturn(true);
+        doThrow(new IllegalStateException("queue unavailable")).when(processor).process(hook, "{}", "CLIENT", "CREATE",
+                event.getContext());
+
+        // when / then
+        assertDoesNotThrow(() -> underTest.onApplicationEvent(event));
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    public void testRejectedHooksAreCalledOnTheCommittingThread() throws Exception {
+        // given
+        doThrow(new TaskRejectedException("shutting down")).when(hookDeliveryTaskExecutor).execute(any(Runnable.class));
+
+        // when
+        underTest.onApplicationEvent(event);
+
+        // then
+        verify(processor).process(hook, "{}", "CLIENT", "CREATE", event.getContext());
+    }
+}
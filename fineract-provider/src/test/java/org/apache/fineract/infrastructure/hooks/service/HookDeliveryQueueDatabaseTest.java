@@ -0,0 +1,181 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.hooks.data.HookDeliveryData;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryStatus;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+public class HookDeliveryQueueDatabaseTest {
+
+    private static final Duration LOCK_DURATION = Duration.ofMinutes(1);
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private HookDeliveryQueue underTest;
+
+    @BeforeAll
+    public static void createSchema() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()));
+        jdbcTemplate.execute("CREATE TABLE m_hook_delivery (id BIGSERIAL PRIMARY KEY, hook_id BIGINT NOT NULL, "
+                + "entity_name VARCHAR(45) NOT NULL, action_name VARCHAR(45) NOT NULL, payload_url VARCHAR(1000) NOT NULL, "
+                + "content_type VARCHAR(100), payload TEXT NOT NULL, status VARCHAR(20) NOT NULL, attempts INT DEFAULT 0 NOT NULL, "
+                + "next_attempt_at TIMESTAMP NOT NULL, locked_until TIMESTAMP, last_response_code INT, last_error VARCHAR(1000), "
+                + "created_at TIMESTAMP NOT NULL, delivered_at TIMESTAMP, locked_by VARCHAR(36))");
+    }
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.execute("TRUNCATE m_hook_delivery RESTART IDENTITY");
+        final DatabaseSpecificSQLGenerator sqlGenerator = mock(DatabaseSpecificSQLGenerator.class);
+        when(sqlGenerator.limit(anyInt())).thenAnswer(invocation -> "LIMIT " + invocation.getArgument(0));
+        underTest = new HookDeliveryQueue(jdbcTemplate, sqlGenerator);
+    }
+
+    @Test
+    public void testClaimedDeliveryIsNotDueAndCanNotBeClaimedAgain() {
+        // given
+        enqueue(10L);
+
+        // when
+        final boolean claimed = underTest.claim(1L, "owner-1", LOCK_DURATION);
+
+        // then
+        assertTrue(claimed);
+        assertFalse(underTest.claim(1L, "owner-2", LOCK_DURATION));
+        assertTrue(underTest.findDue(10, 10, List.of()).isEmpty());
+        assertEquals("owner-1", jdbcTemplate.queryForObject("SELECT locked_by FROM m_hook_delivery WHERE id = 1", String.class));
+    }
+
+    @Test
+    public void testExpiredClaimCanBeTakenOver() {
+        // given
+        enqueue(10L);
+        underTest.claim(1L, "owner-1", LOCK_DURATION);
+        jdbcTemplate.update("UPDATE m_hook_delivery SET locked_until = ? WHERE id = 1", DateUtils.getAuditLocalDateTime().minusSeconds(1));
+
+        // when
+        final List<HookDeliveryData> due = underTest.findDue(10, 10, List.of());
+
+        // then
+        assertEquals(1, due.size());
+        assertTrue(underTest.claim(1L, "owner-2", LOCK_DURATION));
+        assertFalse(underTest.markDelivered(1L, "owner-1", 200));
+        assertEquals(HookDeliveryStatus.PENDING, underTest.retrieveById(1L).getStatus());
+        assertTrue(underTest.markDelivered(1L, "owner-2", 200));
+        final HookDeliveryData delivered = underTest.retrieveById(1L);
+        assertEquals(HookDeliveryStatus.DELIVERED, delivered.getStatus());
+        assertEquals(1, delivered.getAttempts());
+        assertEquals(200, delivered.getLastResponseCode());
+    }
+
+    @Test
+    public void testRetryReleasesTheClaimUntilTheNextAttempt() {
+        // given
+        enqueue(10L);
+        underTest.claim(1L, "owner-1", LOCK_DURATION);
+        final LocalDateTime nextAttemptAt = DateUtils.getAuditLocalDateTime().plusMinutes(5);
+
+        // when
+        final boolean recorded = underTest.scheduleRetry(1L, "owner-1", 503, "Service Unavailable", nextAttemptAt);
+
+        // then
+        assertTrue(recorded);
+        assertFalse(underTest.scheduleRetry(1L, "owner-1", 503, "Service Unavailable", nextAttemptAt));
+        final Map<String, Object> row = jdbcTemplate.queryForMap("SELECT attempts, last_response_code, last_error, locked_until, locked_by "
+                + "FROM m_hook_delivery WHERE id = 1");
+        assertEquals(1, row.get("attempts"));
+        assertEquals(503, row.get("last_response_code"));
+        assertEquals("Service Unavailable", row.get("last_error"));
+        assertNull(row.get("locked_until"));
+        assertNull(row.get("locked_by"));
+        assertTrue(underTest.findDue(10, 10, List.of()).isEmpty());
+        jdbcTemplate.update("UPDATE m_hook_delivery SET next_attempt_at = ? WHERE id = 1",
+                DateUtils.getAuditLocalDateTime().minusSeconds(1));
+        assertEquals(1, underTest.findDue(10, 10, List.of()).size());
+    }
+
+    @Test
+    public void testDeadLetterIsNeverDueAgain() {
+        // given
+        enqueue(10L);
+        underTest.claim(1L, "owner-1", LOCK_DURATION);
+
+        // when
+        final boolean recorded = underTest.markDeadLetter(1L, "owner-1", 500, "Internal Server Error");
+
+        // then
+        assertTrue(recorded);
+        final HookDeliveryData deadLetter = underTest.retrieveById(1L);
+        assertEquals(HookDeliveryStatus.DEAD_LETTER, deadLetter.getStatus());
+        assertEquals(1, deadLetter.getAttempts());
+        assertEquals("Internal Server Error", deadLetter.getLastError());
+        assertFalse(underTest.claim(1L, "owner-2", LOCK_DURATION));
+        assertTrue(underTest.findDue(10, 10, List.of()).isEmpty());
+        assertEquals(1, underTest.retrieveByHook(10L, HookDeliveryStatus.DEAD_LETTER, 10).size());
+    }
+
+    @Test
+    public void testDueDeliveriesAreLimitedPerHook() {
+        // given
+        enqueue(10L);
+        enqueue(10L);
+        enqueue(10L);
+        enqueue(20L);
+        enqueue(30L);
+
+        // when
+        final List<HookDeliveryData> due = underTest.findDue(10, 2, List.of());
+        final List<HookDeliveryData> dueOfFreeHooks = underTest.findDue(10, 2, List.of(10L, 30L));
+
+        // then
+        assertEquals(List.of(1L, 2L, 4L, 5L), due.stream().map(HookDeliveryData::getId).toList());
+        assertEquals(List.of(4L), dueOfFreeHooks.stream().map(HookDeliveryData::getId).toList());
+        assertEquals(List.of(1L, 2L), underTest.findDue(2, 2, List.of()).stream().map(HookDeliveryData::getId).toList());
+    }
+
+    private void enqueue(final Long hookId) {
+        underTest.enqueue(hookId, "CLIENT", "CREATE", "http://localhost/hooks/", "json", "{}");
+    }
+}
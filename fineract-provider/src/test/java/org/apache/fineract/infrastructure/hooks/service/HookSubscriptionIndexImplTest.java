@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.hooks.domain.HookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+public class HookSubscriptionIndexImplTest {
+
+    @Mock
+    private HookRepository hookRepository;
+    @Mock
+    private RuntimeDelegatingCacheManager cacheManager;
+
+    private HookSubscriptionIndexImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        underTest = new HookSubscriptionIndexImpl(hookRepository, cacheManager);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testEventsAreLoadedOncePerTenant() {
+        // given
+        when(hookRepository.findAllEventsWithActiveHooks()).thenReturn(List.<Object[]>of(new Object[] { "CLIENT", "CREATE" }));
+
+        // when
+        boolean create = underTest.hasSubscribers("CLIENT", "CREATE");
+        boolean activate = underTest.hasSubscribers("CLIENT", "ACTIVATE");
+        boolean savings = underTest.hasSubscribers("SAVINGSACCOUNT", "CREATE");
+
+        // then
+        assertTrue(create);
+        assertFalse(activate);
+        assertFalse(savings);
+        verify(hookRepository, times(1)).findAllEventsWithActiveHooks();
+    }
+
+    @Test
+    public void testRefreshReloadsAfterTheTransactionCompletes() {
+        // given
+        when(hookRepository.findAllEventsWithActiveHooks()).thenReturn(List.of(), List.<Object[]>of(new Object[] { "CLIENT", "CREATE" }));
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        underTest.refresh();
+        assertFalse(underTest.hasSubscribers("CLIENT", "CREATE"));
+
+        // when
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // then
+        assertTrue(underTest.hasSubscribers("CLIENT", "CREATE"));
+        verify(cacheManager).broadcastInvalidation("hookSubscriptions", "default");
+    }
+}
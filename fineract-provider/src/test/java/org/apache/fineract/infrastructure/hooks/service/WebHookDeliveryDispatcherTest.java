@@ -0,0 +1,284 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractHookHttpClientProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractHooksProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractWebHookDeliveryProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
+import org.apache.fineract.infrastructure.hooks.data.HookDeliveryData;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryStatus;
+import org.apache.fineract.infrastructure.hooks.processor.ProcessorHelper;
+import org.apache.fineract.infrastructure.hooks.processor.WebHookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.scheduling.TaskScheduler;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WebHookDeliveryDispatcherTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int MAX_CONCURRENT_DELIVERIES_PER_HOOK = 2;
+    private static final long VERIFY_TIMEOUT_MILLIS = 5000L;
+    private static final String PAYLOAD = "{\"officeId\":1,\"clientId\":2,\"resourceId\":2}";
+
+    @RegisterExtension
+    static WireMockExtension receiver = WireMockExtension.newInstance().options(wireMockConfig().dynamicPort()).build();
+
+    @Mock
+    private TenantDetailsService tenantDetailsService;
+
+    @Mock
+    private HookDeliveryQueue deliveryQueue;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private final FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+    private WebHookDeliveryDispatcher underTest;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        ThreadLocalContextUtil.setTenant(tenant);
+        final FineractProperties fineractProperties = createProperties();
+        underTest = new WebHookDeliveryDispatcher(fineractProperties, tenantDetailsService, deliveryQueue,
+                new ProcessorHelper(fineractProperties), taskScheduler);
+        when(deliveryQueue.claim(any(), any(), any())).thenReturn(true);
+        when(deliveryQueue.markDelivered(any(), any(), anyInt())).thenReturn(true);
+        when(deliveryQueue.scheduleRetry(any(), any(), any(), any(), any())).thenReturn(true);
+        when(deliveryQueue.markDeadLetter(any(), any(), any(), any())).thenReturn(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testAcknowledgedDeliveryIsMarkedDelivered() {
+        // given
+        receiver.stubFor(post(urlEqualTo("/hooks/")).willReturn(ok()));
+        when(deliveryQueue.findDue(anyInt(), anyInt(), any())).thenReturn(List.of(createDelivery(1L, 10L, 0)));
+
+        // when
+        underTest.dispatchDue(tenant);
+
+        // then
+        verify(deliveryQueue, timeout(VERIFY_TIMEOUT_MILLIS)).markDelivered(eq(1L), anyString(), eq(200));
+        receiver.verify(postRequestedFor(urlEqualTo("/hooks/")).withHeader(WebHookService.ENTITY_HEADER, equalTo("CLIENT"))
+                .withHeader(WebHookService.ACTION_HEADER, equalTo("CREATE")).withHeader(WebHookService.TENANT_HEADER, equalTo("default"))
+                .withRequestBody(equalToJson(PAYLOAD)));
+    }
+
+    @Test
+    public void testFailedDeliveryIsRetriedLater() {
+        // given
+        receiver.stubFor(post(urlEqualTo("/hooks/")).willReturn(aResponse().withStatus(503)));
+        when(deliveryQueue.findDue(anyInt(), anyInt(), any())).thenReturn(List.of(createDelivery(1L, 10L, 0)));
+        final LocalDateTime notBefore = DateUtils.getAuditLocalDateTime().plusSeconds(9);
+
+        // when
+        underTest.dispatchDue(tenant);
+
+        // then
+        verify(deliveryQueue, timeout(VERIFY_TIMEOUT_MILLIS)).scheduleRetry(eq(1L), anyString(), eq(503), any(),
+                argThat(nextAttemptAt -> nextAttemptAt.isAfter(notBefore)));
+        verify(deliveryQueue, never()).markDeadLetter(any(), any(), any(), any());
+        verify(deliveryQueue, never()).markDelivered(any(), any(), anyInt());
+    }
+
+    @Test
+    public void testDeliveryOutOfAttemptsIsMovedToDeadLetters() {
+        // given
+        receiver.stubFor(post(urlEqualTo("/hooks/")).willReturn(aResponse().withStatus(500)));
+        when(deliveryQueue.findDue(anyInt(), anyInt(), any())).thenReturn(List.of(createDelivery(1L, 10L, MAX_ATTEMPTS - 1)));
+
+        // when
+        underTest.dispatchDue(tenant);
+
+        // then
+        verify(deliveryQueue, timeout(VERIFY_TIMEOUT_MILLIS)).markDeadLetter(eq(1L), anyString(), eq(500), any());
+        verify(deliveryQueue, never()).scheduleRetry(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testUnreachableReceiverIsRetriedLater() {
+        // given
+        final HookDeliveryData delivery = createDelivery(1L, 10L, 0).setPayloadUrl("http://localhost:1/hooks/");
+        when(deliveryQueue.findDue(anyInt(), anyInt(), any())).thenReturn(List.of(delivery));
+
+        // when
+        underTest.dispatchDue(tenant);
+
+        // then
+        verify(deliveryQueue, timeout(VERIFY_TIMEOUT_MILLIS)).scheduleRetry(eq(1L), anyString(), isNull(), any(), any());
+    }
+
+    @Test
+    public void testDeliveriesInFlightAreLimitedPerHook() {
+        // given
+        receiver.stubFor(post(urlEqualTo("/hooks/")).willReturn(ok().withFixedDelay(500)));
+        when(deliveryQueue.findDue(anyInt(), anyInt(), any())).thenReturn(
+                List.of(createDelivery(1L, 10L, 0), createDelivery(2L, 10L, 0), createDelivery(3L, 10L, 0), createDelivery(4L, 20L, 0)));
+
+        // when
+        underTest.dispatchDue(tenant);
+
+        // then
+        verify(deliveryQueue).findDue(10, MAX_CONCURRENT_DELIVERIES_PER_HOOK, List.of());
+        verify(deliveryQueue).claim(eq(1L), anyString(), any());
+        verify(deliveryQueue).claim(eq(2L), anyString(), any());
+        verify(deliveryQueue, never()).claim(eq(3L), anyString(), any());
+        verify(deliveryQueue).claim(eq(4L), anyString(), any());
+        verify(deliveryQueue, timeout(VERIFY_TIMEOUT_MILLIS)).markDelivered(eq(1L), anyString(), eq(200));
+        verify(deliveryQueue, timeout(VERIFY_TIMEOUT_MILLIS)).markDelivered(eq(2L), anyString(), eq(200));
+        verify(deliveryQueue, timeout(VERIFY_TIMEOUT_MILLIS)).markDelivered(eq(4L), anyString(), eq(200));
+    }
+
+    @Test
+    public void testSaturatedHooksAreNotQueried() {
+        // given
+        receiver.stubFor(post(urlEqualTo("/hooks/")).willReturn(ok().withFixedDelay(500)));
+        when(deliveryQueue.findDue(anyInt(), anyInt(), any())).thenReturn(List.of(createDelivery(1L, 10L, 0), createDelivery(2L, 10L, 0)))
+                .thenReturn(List.of());
+        underTest.dispatchDue(tenant);
+
+        // when
+        underTest.dispatchDue(tenant);
+
+        // then
+        verify(deliveryQueue).findDue(8, MAX_CONCURRENT_DELIVERIES_PER_HOOK, List.of(10L));
+        verify(deliveryQueue, timeout(VERIFY_TIMEOUT_MILLIS)).markDelivered(eq(2L), anyString(), eq(200));
+    }
+
+    @Test
+    public void testEveryClaimHasItsOwnOwner() {
+        // given
+        receiver.stubFor(post(urlEqualTo("/hooks/")).willReturn(ok()));
+        when(deliveryQueue.findDue(anyInt(), anyInt(), any())).thenReturn(List.of(createDelivery(1L, 10L, 0), createDelivery(2L, 20L, 0)));
+        final ArgumentCaptor<String> owners = ArgumentCaptor.forClass(String.class);
+
+        // when
+        underTest.dispatchDue(tenant);
+
+        // then
+        verify(deliveryQueue, times(2)).claim(any(), owners.capture(), eq(Duration.ofSeconds(90)));
+        assertNotEquals(owners.getAllValues().get(0), owners.getAllValues().get(1));
+        verify(deliveryQueue, timeout(VERIFY_TIMEOUT_MILLIS)).markDelivered(1L, owners.getAllValues().get(0), 200);
+        verify(deliveryQueue, timeout(VERIFY_TIMEOUT_MILLIS)).markDelivered(2L, owners.getAllValues().get(1), 200);
+    }
+
+    @Test
+    public void testLockDurationCoversTheCallsQueuedAheadOfADelivery() {
+        // given
+        final FineractHookHttpClientProperties httpClient = createProperties().getHooks().getHttpClient();
+        httpClient.setMaxRequestsPerHost(5);
+        httpClient.setCallTimeout(Duration.ofSeconds(30));
+
+        // when / then
+        assertEquals(Duration.ofSeconds(60), WebHookDeliveryDispatcher.lockDurationOf(httpClient, 5));
+        assertEquals(Duration.ofSeconds(90), WebHookDeliveryDispatcher.lockDurationOf(httpClient, 6));
+        assertEquals(Duration.ofMinutes(10).plusSeconds(30), WebHookDeliveryDispatcher.lockDurationOf(httpClient, 100));
+        httpClient.setCallTimeout(Duration.ZERO);
+        assertThrows(IllegalStateException.class, () -> WebHookDeliveryDispatcher.lockDurationOf(httpClient, 100));
+    }
+
+    @Test
+    public void testBackoffDoublesUpToTheMaximum() {
+        // when / then
+        assertEquals(Duration.ofSeconds(10), underTest.backoffAfter(1));
+        assertEquals(Duration.ofSeconds(20), underTest.backoffAfter(2));
+        assertEquals(Duration.ofSeconds(80), underTest.backoffAfter(4));
+        assertEquals(Duration.ofHours(1), underTest.backoffAfter(20));
+        assertEquals(Duration.ofHours(1), underTest.backoffAfter(100));
+    }
+
+    private HookDeliveryData createDelivery(final Long id, final Long hookId, final int attempts) {
+        return new HookDeliveryData().setId(id).setHookId(hookId).setEntityName("CLIENT").setActionName("CREATE")
+                .setPayloadUrl(receiver.baseUrl() + "/hooks/").setContentType("json").setPayload(PAYLOAD)
+                .setStatus(HookDeliveryStatus.PENDING).setAttempts(attempts);
+    }
+
+    private static FineractProperties createProperties() {
+        final FineractHookHttpClientProperties httpClient = new FineractHookHttpClientProperties();
+        httpClient.setMaxIdleConnections(5);
+        httpClient.setKeepAlive(Duration.ofMinutes(1));
+        httpClient.setMaxRequests(16);
+        httpClient.setMaxRequestsPerHost(8);
+        httpClient.setMaxCachedServices(16);
+        httpClient.setConnectTimeout(Duration.ofSeconds(2));
+        httpClient.setReadTimeout(Duration.ofSeconds(5));
+        httpClient.setWriteTimeout(Duration.ofSeconds(5));
+        httpClient.setCallTimeout(Duration.ofSeconds(30));
+        final FineractWebHookDeliveryProperties webDelivery = new FineractWebHookDeliveryProperties();
+        webDelivery.setEnabled(true);
+        webDelivery.setPollInterval(Duration.ofSeconds(5));
+        webDelivery.setBatchSize(10);
+        webDelivery.setMaxAttempts(MAX_ATTEMPTS);
+        webDelivery.setInitialBackoff(Duration.ofSeconds(10));
+        webDelivery.setMaxBackoff(Duration.ofHours(1));
+        webDelivery.setMaxConcurrentDeliveriesPerHook(MAX_CONCURRENT_DELIVERIES_PER_HOOK);
+        final FineractHooksProperties hooks = new FineractHooksProperties();
+        hooks.setHttpClient(httpClient);
+        hooks.setWebDelivery(webDelivery);
+        final FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setHooks(hooks);
+        return fineractProperties;
+    }
+}
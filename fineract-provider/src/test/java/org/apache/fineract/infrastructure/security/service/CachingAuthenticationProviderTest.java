@@ -0,0 +1,189 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractSecurityProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class CachingAuthenticationProviderTest {
+
+    @Mock
+    private AuthenticationProvider delegate;
+    @Mock
+    private UserDetailsService userDetailsService;
+    @Mock
+    private RuntimeDelegatingCacheManager cacheManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BasicAuthCredentialCache credentialCache;
+    private CachingAuthenticationProvider underTest;
+    private Authentication authenticated;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        FineractSecurityProperties.FineractSecurityBasicAuthCredentialCache cacheProperties = //
+                new FineractSecurityProperties.FineractSecurityBasicAuthCredentialCache();
+        cacheProperties.setEnabled(true);
+        cacheProperties.setTimeToLive(Duration.ofMinutes(1));
+        cacheProperties.setMaximumSize(10);
+        FineractSecurityProperties.FineractSecurityBasicAuth basicAuth = new FineractSecurityProperties.FineractSecurityBasicAuth();
+        basicAuth.setCredentialCache(cacheProperties);
+        FineractSecurityProperties security = new FineractSecurityProperties();
+        security.setBasicauth(basicAuth);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setSecurity(security);
+        meterRegistry = new SimpleMeterRegistry();
+        credentialCache = new BasicAuthCredentialCache(fineractProperties, cacheManager, Optional.of(meterRegistry));
+        underTest = new CachingAuthenticationProvider(delegate, userDetailsService, credentialCache);
+
+        UserDetails user = user("{bcrypt}encoded");
+        when(userDetailsService.loadUserByUsername("mifos")).thenAnswer(invocation -> user("{bcrypt}encoded"));
+        authenticated = UsernamePasswordAuthenticationToken.authenticated(user, "password", List.of());
+        when(delegate.authenticate(any())).thenAnswer(invocation -> {
+            Authentication token = invocation.getArgument(0);
+            if (!"password".equals(token.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return authenticated;
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testVerifiedCredentialsAreServedFromCache() {
+        // given
+        underTest.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("mifos", "password"));
+
+        // when
+        Authentication result = underTest.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("mifos", "password"));
+
+        // then
+        assertNotSame(authenticated, result);
+        assertNotSame(authenticated.getPrincipal(), result.getPrincipal());
+        assertEquals("mifos", result.getName());
+        verify(delegate, times(1)).authenticate(any());
+        verify(userDetailsService, times(1)).loadUserByUsername("mifos");
+        assertEquals(1.0, meterRegistry.counter("fineract.security.basicauth.credential-cache.hits").count());
+        assertEquals(1.0, meterRegistry.counter("fineract.security.basicauth.credential-cache.misses").count());
+    }
+
+    @Test
+    public void testDifferentPasswordIsVerifiedByDelegate() {
+        // given
+        underTest.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("mifos", "password"));
+
+        // when / then
+        assertThrows(BadCredentialsException.class,
+                () -> underTest.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("mifos", "wrong")));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    public void testInvalidateAndTenantSwitchVerifyAgain() {
+        // given
+        underTest.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("mifos", "password"));
+
+        // when
+        credentialCache.invalidate();
+        underTest.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("mifos", "password"));
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null));
+        underTest.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("mifos", "password"));
+
+        // then
+        verify(delegate, times(3)).authenticate(any());
+        assertEquals(0.0, meterRegistry.counter("fineract.security.basicauth.credential-cache.hits").count());
+    }
+
+    @Test
+    public void testChangedPasswordOfUserIsVerifiedByDelegate() {
+        // given
+        underTest.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("mifos", "password"));
+        when(userDetailsService.loadUserByUsername("mifos")).thenReturn(user("{bcrypt}changed"));
+
+        // when
+        Authentication result = underTest.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("mifos", "password"));
+
+        // then
+        assertSame(authenticated, result);
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    public void testInvalidationIsBroadcastAndAppliedFromOtherNodes() {
+        // given
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<String>> invalidator = ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheManager).registerNodeLocalCache(eq(BasicAuthCredentialCache.CACHE_NAME), invalidator.capture());
+        underTest.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("mifos", "password"));
+
+        // when
+        invalidator.getValue().accept("default");
+        underTest.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("mifos", "password"));
+        credentialCache.invalidate();
+
+        // then
+        verify(cacheManager).broadcastInvalidation(BasicAuthCredentialCache.CACHE_NAME, "default");
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    private static UserDetails user(final String encodedPassword) {
+        return User.withUsername("mifos").password(encodedPassword).authorities(List.of()).build();
+    }
+}
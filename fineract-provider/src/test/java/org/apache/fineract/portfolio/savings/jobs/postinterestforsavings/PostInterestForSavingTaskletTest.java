@@ -0,0 +1,173 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.jobs.postinterestforsavings;
+
+import static org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType.ACTIVE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountData;
+import org.apache.fineract.portfolio.savings.service.SavingsAccountReadPlatformService;
+import org.apache.fineract.portfolio.savings.service.SavingsSchedularInterestPosterTask;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@ExtendWith(MockitoExtension.class)
+public class PostInterestForSavingTaskletTest {
+
+    @Mock
+    private SavingsAccountReadPlatformService savingAccountReadPlatformService;
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+    @Mock
+    private ApplicationContext applicationContext;
+    @Mock
+    private SavingsSchedularInterestPosterTask posterTask;
+    @Mock
+    private StepContribution stepContribution;
+    @Mock
+    private ChunkContext chunkContext;
+    @Mock
+    private StepContext stepContext;
+
+    private final List<Long> postedAccountIds = Collections.synchronizedList(new ArrayList<>());
+    private ThreadPoolTaskExecutor taskExecutor;
+    private PostInterestForSavingMetrics metrics;
+    private PostInterestForSavingTasklet underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
+
+        final FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setJob(new FineractProperties.FineractJobProperties());
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.initialize();
+        metrics = new PostInterestForSavingMetrics(Optional.empty());
+        underTest = new PostInterestForSavingTasklet(savingAccountReadPlatformService, configurationDomainService, applicationContext,
+                fineractProperties, metrics, taskExecutor);
+
+        when(chunkContext.getStepContext()).thenReturn(stepContext);
+        when(stepContext.getJobParameters()).thenReturn(Map.of("thread-pool-size", "2", "batch-size", "2"));
+        when(applicationContext.getBean(SavingsSchedularInterestPosterTask.class)).thenReturn(posterTask);
+        doAnswer(invocation -> {
+            final Collection<SavingsAccountData> accounts = invocation.getArgument(0);
+            accounts.forEach(account -> postedAccountIds.add(account.getId()));
+            return null;
+        }).when(posterTask).setSavingAccounts(any());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskExecutor.shutdown();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void givenSeveralPagesWhenTaskExecutionThenEveryAccountIsPostedOnce() throws Exception {
+        // given
+        givenPages(accounts(1, 4), accounts(5, 6));
+        // when
+        final RepeatStatus resultStatus = underTest.execute(stepContribution, chunkContext);
+        // then
+        assertEquals(RepeatStatus.FINISHED, resultStatus);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), postedAccountIds.stream().sorted().toList());
+        assertEquals(6L, metrics.postedAccountsInRun());
+        assertEquals(0, metrics.queueDepth());
+    }
+
+    @Test
+    public void givenFailingBatchWhenTaskExecutionThenRemainingBatchesArePosted() throws Exception {
+        // given
+        givenPages(accounts(1, 4), accounts(5, 6));
+        when(posterTask.call()).thenThrow(new RuntimeException("Test Exception")).thenReturn(null);
+        // when
+        final JobExecutionException exception = assertThrows(JobExecutionException.class,
+                () -> underTest.execute(stepContribution, chunkContext));
+        // then
+        assertEquals(1, exception.getCauses().size());
+        assertEquals(6, postedAccountIds.size());
+        assertEquals(4L, metrics.postedAccountsInRun());
+    }
+
+    @Test
+    public void givenFailingReaderWhenTaskExecutionThenWorkersStopAndStepFails() {
+        // given
+        final int pageSize = 4;
+        when(savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(false, false, pageSize, ACTIVE.getValue(), 0L))
+                .thenReturn(accounts(1, 4));
+        when(savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(false, false, pageSize, ACTIVE.getValue(), 4L))
+                .thenThrow(new RuntimeException("Test Exception"));
+        // when
+        final JobExecutionException exception = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> assertThrows(JobExecutionException.class, () -> underTest.execute(stepContribution, chunkContext)));
+        // then
+        assertEquals(1, exception.getCauses().size());
+        assertEquals(0, metrics.queueDepth());
+    }
+
+    private void givenPages(final List<SavingsAccountData> firstPage, final List<SavingsAccountData> secondPage) {
+        final int pageSize = 4;
+        when(savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(false, false, pageSize, ACTIVE.getValue(), 0L))
+                .thenReturn(firstPage);
+        when(savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(false, false, pageSize, ACTIVE.getValue(), 4L))
+                .thenReturn(secondPage);
+        when(savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(false, false, pageSize, ACTIVE.getValue(), 6L))
+                .thenReturn(List.of());
+    }
+
+    private List<SavingsAccountData> accounts(final long fromId, final long toId) {
+        return LongStream.rangeClosed(fromId, toId).mapToObj(id -> SavingsAccountData.lookup(id, "00000" + id, null)).toList();
+    }
+}
@@ -0,0 +1,242 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.data.CurrencyData;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.account.service.AccountTransfersReadPlatformService;
+import org.apache.fineract.portfolio.savings.DepositAccountType;
+import org.apache.fineract.portfolio.savings.SavingsCompoundingInterestPeriodType;
+import org.apache.fineract.portfolio.savings.SavingsInterestCalculationDaysInYearType;
+import org.apache.fineract.portfolio.savings.SavingsInterestCalculationType;
+import org.apache.fineract.portfolio.savings.SavingsPostingInterestPeriodType;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountApplicationTimelineData;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountData;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountSummaryData;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountTransactionData;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransactionDataSummaryWrapper;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransactionType;
+import org.apache.fineract.portfolio.savings.domain.SavingsHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class SavingsAccountInterestPostingServiceImplTest {
+
+    private static final CurrencyData CURRENCY = new CurrencyData("USD", 2, 0);
+    private static final LocalDate ACTIVATION_DATE = LocalDate.of(2023, 1, 1);
+    private static final LocalDate FIRST_RUN_DATE = LocalDate.of(2023, 6, 30);
+    private static final LocalDate SECOND_RUN_DATE = LocalDate.of(2023, 9, 30);
+    private static final LocalDate CHECKPOINT_DATE = LocalDate.of(2023, 6, 1);
+    // the checkpoint carries the rounded posted interest, a full recompute compounds the unrounded amount
+    private static final BigDecimal TOLERANCE = new BigDecimal("0.01");
+
+    @Mock
+    private AccountTransfersReadPlatformService accountTransfersReadPlatformService;
+
+    private final SavingsAccountTransactionDataSummaryWrapper summaryWrapper = new SavingsAccountTransactionDataSummaryWrapper();
+    private SavingsHelper savingsHelper;
+    private SavingsAccountInterestPostingServiceImpl underTest;
+    private long nextTransactionId;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        MoneyHelper.initializeTenantRoundingMode("default", RoundingMode.HALF_EVEN.ordinal());
+        savingsHelper = new SavingsHelper(accountTransfersReadPlatformService);
+        underTest = new SavingsAccountInterestPostingServiceImpl(savingsHelper);
+        nextTransactionId = 1L;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void givenNewDepositsAfterCheckpointWhenPostingIncrementallyThenResultMatchesFullRecompute() {
+        assertIncrementalPostingMatchesFullRecompute(List.of(deposit(LocalDate.of(2023, 7, 10), "300"),
+                withdrawal(LocalDate.of(2023, 8, 20), "150"), deposit(LocalDate.of(2023, 9, 5), "75")));
+    }
+
+    @Test
+    public void givenNoActivityAfterCheckpointWhenPostingIncrementallyThenInterestIsStillEarned() {
+        List<SavingsAccountTransactionData> incrementalPostings = assertIncrementalPostingMatchesFullRecompute(List.of());
+
+        assertEquals(3, incrementalPostings.size());
+    }
+
+    @Test
+    public void givenPersistedTransactionWhenDerivedBalanceChangesThenChangeIsDetected() {
+        SavingsAccountTransactionData transaction = deposit(ACTIVATION_DATE, "1000");
+        transaction.updateRunningBalance(Money.of(CURRENCY, new BigDecimal("1000")));
+        transaction.markDerivedBalancesPersisted();
+
+        transaction.updateRunningBalance(Money.of(CURRENCY, new BigDecimal("1000.000")));
+        assertFalse(transaction.isDerivedBalanceChanged());
+
+        transaction.updateRunningBalance(Money.of(CURRENCY, new BigDecimal("1200")));
+        assertTrue(transaction.isDerivedBalanceChanged());
+    }
+
+    private List<SavingsAccountTransactionData> assertIncrementalPostingMatchesFullRecompute(
+            final List<SavingsAccountTransactionData> laterTransactions) {
+        // first run posts Jan - May with a full recompute, the last posting becomes the checkpoint
+        setBusinessDate(FIRST_RUN_DATE);
+        SavingsAccountData firstRun = account(emptySummary());
+        firstRun.updateTransactions(deposit(ACTIVATION_DATE, "1000"));
+        firstRun.updateTransactions(deposit(LocalDate.of(2023, 2, 15), "500"));
+        firstRun.updateTransactions(withdrawal(LocalDate.of(2023, 4, 10), "200"));
+        postInterest(firstRun, FIRST_RUN_DATE);
+        List<SavingsAccountTransactionData> persisted = persist(firstRun.getSavingsAccountTransactionData());
+        SavingsAccountTransactionData checkpoint = persisted.stream()
+                .filter(tx -> tx.isInterestPostingAndNotReversed() && CHECKPOINT_DATE.equals(tx.getTransactionDate())).findFirst()
+                .orElseThrow();
+
+        setBusinessDate(SECOND_RUN_DATE);
+        SavingsAccountData fullRun = account(emptySummary());
+        persist(persisted).forEach(fullRun::updateTransactions);
+        persist(laterTransactions).forEach(fullRun::updateTransactions);
+        postInterest(fullRun, SECOND_RUN_DATE);
+
+        SavingsAccountSummaryData firstRunSummary = firstRun.getSummary();
+        BigDecimal laterBalanceChange = laterTransactions.stream()
+                .map(tx -> tx.isDeposit() ? tx.getAmount() : tx.getAmount().negate()).reduce(BigDecimal.ZERO, BigDecimal::add);
+        SavingsAccountSummaryData checkpointSummary = new SavingsAccountSummaryData(CURRENCY, null, null, null, null, null,
+                firstRunSummary.getTotalInterestPosted(), firstRunSummary.getAccountBalance().add(laterBalanceChange), null, null, null,
+                null, BigDecimal.ZERO, null, null, CHECKPOINT_DATE);
+        SavingsAccountData incrementalRun = account(checkpointSummary);
+        incrementalRun.setInterestCheckpointDate(CHECKPOINT_DATE);
+        incrementalRun.setInterestCheckpointRunningBalance(checkpoint.getRunningBalance());
+        persist(laterTransactions).forEach(incrementalRun::updateTransactions);
+        // what the assembler does for an account loaded from its checkpoint
+        incrementalRun.setLastSavingsAccountTransaction(checkpoint);
+        checkpointSummary.setRunningBalanceOnPivotDate(checkpoint.getRunningBalance());
+        checkpointSummary.captureCheckpointTotals(summaryWrapper, incrementalRun.getSavingsAccountTransactionData());
+        postInterest(incrementalRun, SECOND_RUN_DATE);
+
+        List<SavingsAccountTransactionData> fullPostings = newInterestPostings(fullRun);
+        List<SavingsAccountTransactionData> incrementalPostings = newInterestPostings(incrementalRun);
+        assertTrue(fullRun.getSavingsAccountTransactionData().stream().noneMatch(tx -> tx.getId() != null && tx.isReversed()));
+        assertEquals(fullPostings.stream().map(SavingsAccountTransactionData::getTransactionDate).collect(Collectors.toList()),
+                incrementalPostings.stream().map(SavingsAccountTransactionData::getTransactionDate).collect(Collectors.toList()));
+        for (int i = 0; i < fullPostings.size(); i++) {
+            assertAmountEquals(fullPostings.get(i).getAmount(), incrementalPostings.get(i).getAmount());
+        }
+        assertAmountEquals(fullRun.getSummary().getTotalInterestPosted(), incrementalRun.getSummary().getTotalInterestPosted());
+        assertAmountEquals(fullRun.getSummary().getAccountBalance(), incrementalRun.getSummary().getAccountBalance());
+        assertEquals(fullRun.getSummary().getInterestPostedTillDate(), incrementalRun.getSummary().getInterestPostedTillDate());
+        return incrementalPostings;
+    }
+
+    private void postInterest(final SavingsAccountData account, final LocalDate upToDate) {
+        underTest.postInterest(new MathContext(10, RoundingMode.HALF_EVEN), upToDate, false, false, 1, null, false, account);
+    }
+
+    private List<SavingsAccountTransactionData> newInterestPostings(final SavingsAccountData account) {
+        return account.getSavingsAccountTransactionData().stream()
+                .filter(tx -> tx.getId() == null && tx.isInterestPostingAndNotReversed()).collect(Collectors.toList());
+    }
+
+    private List<SavingsAccountTransactionData> persist(final List<SavingsAccountTransactionData> transactions) {
+        List<SavingsAccountTransactionData> persisted = new ArrayList<>();
+        for (SavingsAccountTransactionData transaction : transactions) {
+            if (transaction.isReversed()) {
+                continue;
+            }
+            Long id = transaction.getId() == null ? nextTransactionId++ : transaction.getId();
+            SavingsAccountTransactionData copy = SavingsAccountTransactionData.create(id, transaction.getTransactionType(), null, 1L,
+                    "000000001", transaction.getTransactionDate(), CURRENCY, transaction.getAmount(), null,
+                    transaction.getRunningBalance(), false, transaction.getTransactionDate(), false, transaction.getCumulativeBalance(),
+                    transaction.getBalanceEndDate());
+            copy.setBalanceNumberOfDays(transaction.getBalanceNumberOfDays());
+            copy.markDerivedBalancesPersisted();
+            persisted.add(copy);
+        }
+        return persisted;
+    }
+
+    private SavingsAccountData account(final SavingsAccountSummaryData summary) {
+        SavingsAccountApplicationTimelineData timeline = new SavingsAccountApplicationTimelineData(ACTIVATION_DATE, null, null, null,
+                null, null, null, null, null, null, null, null, ACTIVATION_DATE, null, null, null, ACTIVATION_DATE, null, null, null,
+                null, null, null, null);
+        SavingsAccountData account = SavingsAccountData.instance(1L, "000000001",
+                SavingsEnumerations.depositType(DepositAccountType.SAVINGS_DEPOSIT), null, null, null, null, null, 1L, null, null, null,
+                SavingsEnumerations.status(SavingsAccountStatusType.ACTIVE), null, null, timeline, CURRENCY, new BigDecimal("10"),
+                SavingsEnumerations.compoundingInterestPeriodType(SavingsCompoundingInterestPeriodType.MONTHLY),
+                SavingsEnumerations.interestPostingPeriodType(SavingsPostingInterestPeriodType.MONTHLY),
+                SavingsEnumerations.interestCalculationType(SavingsInterestCalculationType.DAILY_BALANCE),
+                SavingsEnumerations.interestCalculationDaysInYearType(SavingsInterestCalculationDaysInYearType.DAYS_365), null, null, null,
+                false, summary, false, null, null, false, null, false, null, null, null, null, false, null, null, false, null, null, null,
+                null);
+        account.setHelpers(summaryWrapper, savingsHelper);
+        return account;
+    }
+
+    private SavingsAccountSummaryData emptySummary() {
+        return new SavingsAccountSummaryData(CURRENCY, null, null, null, null, null, BigDecimal.ZERO, BigDecimal.ZERO, null, null,
+                BigDecimal.ZERO, null, BigDecimal.ZERO, null, null, null);
+    }
+
+    private SavingsAccountTransactionData deposit(final LocalDate date, final String amount) {
+        return transaction(SavingsAccountTransactionType.DEPOSIT, date, amount);
+    }
+
+    private SavingsAccountTransactionData withdrawal(final LocalDate date, final String amount) {
+        return transaction(SavingsAccountTransactionType.WITHDRAWAL, date, amount);
+    }
+
+    private SavingsAccountTransactionData transaction(final SavingsAccountTransactionType type, final LocalDate date, final String amount) {
+        return SavingsAccountTransactionData.create(null, SavingsEnumerations.transactionType(type), null, 1L, "000000001", date, CURRENCY,
+                new BigDecimal(amount), null, BigDecimal.ZERO, false, date, false, BigDecimal.ZERO, null);
+    }
+
+    private void setBusinessDate(final LocalDate date) {
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, date)));
+    }
+
+    private void assertAmountEquals(final BigDecimal expected, final BigDecimal actual) {
+        BigDecimal difference = Money.of(CURRENCY, expected).minus(Money.of(CURRENCY, actual)).getAmount().abs();
+        assertTrue(difference.compareTo(TOLERANCE) <= 0, "expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.template.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.template.domain.Template;
+import org.apache.fineract.template.domain.TemplateMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TemplateMergeServiceTest {
+
+    private static final URI BASE_URI = URI.create("https://localhost:8443/fineract-provider/api/");
+
+    @Mock
+    private TemplateMapperResolver templateMapperResolver;
+
+    private TemplateMergeService underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        underTest = new TemplateMergeService(new FineractProperties(), templateMapperResolver);
+        when(templateMapperResolver.resolve(anyString())).thenReturn(Optional.empty());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testStoredTemplateIsRecompiledOnlyForANewVersion() {
+        // given
+        Template template = createTemplate("Hello {{name}}", new ArrayList<>());
+        underTest.compile(template, scopes(Map.of("name", "Ann")));
+        template.setText("Goodbye {{name}}");
+
+        // when
+        String unchangedVersion = underTest.compile(template, scopes(Map.of("name", "Ann")));
+        template.incrementVersion();
+        String newVersion = underTest.compile(template, scopes(Map.of("name", "Ann")));
+
+        // then
+        assertEquals("Hello Ann", unchangedVersion);
+        assertEquals("Goodbye Ann", newVersion);
+    }
+
+    @Test
+    public void testMapperOfThisServerIsResolvedInProcess() {
+        // given
+        Template template = createTemplate("{{client.displayName}} of {{client.officeName}}",
+                List.of(new TemplateMapper(0, "client", "clients/{{clientId}}")));
+        when(templateMapperResolver.resolve("clients/7"))
+                .thenReturn(Optional.of("{\"displayName\":\"Ann Smith\",\"officeName\":\"Head Office\"}"));
+
+        // when
+        String result = underTest.compile(template, scopes(Map.of("clientId", "7")));
+
+        // then
+        assertEquals("Ann Smith of Head Office", result);
+    }
+
+    @Test
+    public void testBulkMergeRequestsASharedMapperUrlOnce() {
+        // given
+        Template template = createTemplate("{{name}}, {{office.name}}", List.of(new TemplateMapper(0, "office", "offices/{{officeId}}")));
+        when(templateMapperResolver.resolve("offices/1")).thenReturn(Optional.of("{\"name\":\"Head Office\"}"));
+        Map<String, Object> commonScopes = scopes(Map.of("officeId", "1"));
+
+        // when
+        List<String> results = underTest.compileAll(template, commonScopes,
+                List.of(Map.of("name", "Ann"), Map.of("name", "Bob"), Map.of("name", "Eve")));
+
+        // then
+        assertEquals(List.of("Ann, Head Office", "Bob, Head Office", "Eve, Head Office"), results);
+        verify(templateMapperResolver, times(1)).resolve("offices/1");
+    }
+
+    private Template createTemplate(String text, List<TemplateMapper> mappers) {
+        Template template = new Template("Letter", text, null, null, mappers);
+        template.setId(1L);
+        return template;
+    }
+
+    private Map<String, Object> scopes(Map<String, Object> values) {
+        Map<String, Object> scopes = new HashMap<>(values);
+        scopes.put("BASE_URI", BASE_URI);
+        return scopes;
+    }
+}
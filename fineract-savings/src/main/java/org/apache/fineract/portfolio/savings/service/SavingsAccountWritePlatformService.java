@@ -27,6 +27,7 @@ import org.apache.fineract.organisation.office.domain.Office;
 import org.apache.fineract.organisation.staff.domain.Staff;
 import org.apache.fineract.portfolio.savings.data.SavingsAccountData;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountCharge;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
 
 public interface SavingsAccountWritePlatformService {
@@ -39,6 +40,8 @@ public interface SavingsAccountWritePlatformService {
 
     CommandProcessingResult applyAnnualFee(Long savingsAccountChargeId, Long accountId);
 
+    void applyAnnualFee(SavingsAccountCharge savingsAccountCharge);
+
     CommandProcessingResult calculateInterest(Long savingsId);
 
     CommandProcessingResult reverseTransaction(Long savingsId, Long transactionId, boolean allowAccountTransferModification,
@@ -76,6 +79,8 @@ public interface SavingsAccountWritePlatformService {
 
     void applyChargeDue(Long savingsAccountChargeId, Long accountId);
 
+    void applyChargeDue(SavingsAccountCharge savingsAccountCharge);
+
     void processPostActiveActions(SavingsAccount account, DateTimeFormatter fmt, Set<Long> existingTransactionIds,
             Set<Long> existingReversedTransactionIds);
 
@@ -62,6 +62,7 @@ public class SavingsSchedularInterestPoster {
     private final List<SavingsAccountData> savingsAccountDataList = new ArrayList<>();
     private Collection<SavingsAccountData> savingAccounts;
     private boolean backdatedTxnsAllowedTill;
+    private boolean interestCheckpointEnabled;
 
     @Transactional(isolation = Isolation.READ_UNCOMMITTED, rollbackFor = Exception.class)
     public void postInterest() throws JobExecutionException {
@@ -196,7 +197,7 @@ public class SavingsSchedularInterestPoster {
                             auditTime, userId, auditTime, userId, savingsAccountTransactionData.isManualTransaction(),
                             savingsAccountTransactionData.getRefNo(), savingsAccountTransactionData.isReversalTransaction(),
                             savingsAccountTransactionData.getOverdraftAmount(), currentDate });
-                } else {
+                } else if (savingsAccountTransactionData.isDerivedBalanceChanged()) {
                     paramsForTransactionUpdate.add(new Object[] { savingsAccountTransactionData.isReversed(),
                             savingsAccountTransactionData.getAmount(), savingsAccountTransactionData.getOverdraftAmount(),
                             savingsAccountTransactionData.getBalanceEndDate(), savingsAccountTransactionData.getBalanceNumberOfDays(),
@@ -224,10 +225,61 @@ public class SavingsSchedularInterestPoster {
                 savingsAccountTransactionMap.put(key, savingsAccountTransactionData);
             }
             batchUpdateJournalEntries(savingsAccountDataList, savingsAccountTransactionMap);
+
+            if (interestCheckpointEnabled) {
+                batchUpdateInterestCheckpoints(savingsAccountDataList);
+            }
         }
 
     }
 
+    private void batchUpdateInterestCheckpoints(final List<SavingsAccountData> savingsAccountDataList) throws DataAccessException {
+        // taken after the transaction updates, so only later changes to the history invalidate the checkpoint
+        OffsetDateTime auditTime = DateUtils.getAuditOffsetDateTime();
+        List<Object[]> paramsForCheckpointUpdate = new ArrayList<>();
+        List<Object[]> paramsForCheckpointInsertion = new ArrayList<>();
+        for (SavingsAccountData savingsAccountData : savingsAccountDataList) {
+            final LocalDate checkpointDate = savingsAccountData.getSummary().getInterestPostedTillDate();
+            final SavingsAccountTransactionData checkpointTransaction = findCheckpointTransaction(savingsAccountData, checkpointDate);
+            if (checkpointTransaction != null) {
+                paramsForCheckpointUpdate.add(new Object[] { checkpointDate, checkpointTransaction.getId(),
+                        checkpointTransaction.getRunningBalance(), auditTime, savingsAccountData.getId() });
+                paramsForCheckpointInsertion.add(new Object[] { savingsAccountData.getId(), checkpointDate, checkpointTransaction.getId(),
+                        checkpointTransaction.getRunningBalance(), auditTime });
+            }
+        }
+
+        if (!paramsForCheckpointUpdate.isEmpty()) {
+            int[] updatedRows = this.jdbcTemplate.batchUpdate(batchQueryForInterestCheckpointUpdate(), paramsForCheckpointUpdate);
+            List<Object[]> paramsForMissingCheckpoints = new ArrayList<>();
+            for (int i = 0; i < updatedRows.length; i++) {
+                if (updatedRows[i] == 0) {
+                    paramsForMissingCheckpoints.add(paramsForCheckpointInsertion.get(i));
+                }
+            }
+            if (!paramsForMissingCheckpoints.isEmpty()) {
+                this.jdbcTemplate.batchUpdate(batchQueryForInterestCheckpointInsertion(), paramsForMissingCheckpoints);
+            }
+        }
+    }
+
+    private SavingsAccountTransactionData findCheckpointTransaction(final SavingsAccountData savingsAccountData,
+            final LocalDate checkpointDate) {
+        SavingsAccountTransactionData checkpointTransaction = null;
+        if (checkpointDate == null) {
+            return null;
+        }
+        for (SavingsAccountTransactionData savingsAccountTransactionData : savingsAccountData.getSavingsAccountTransactionData()) {
+            if (savingsAccountTransactionData.getId() != null && checkpointDate.equals(savingsAccountTransactionData.getTransactionDate())
+                    && (savingsAccountTransactionData.isInterestPostingAndNotReversed()
+                            || savingsAccountTransactionData.isOverdraftInterestAndNotReversed())
+                    && !savingsAccountTransactionData.isReversalTransaction()) {
+                checkpointTransaction = savingsAccountTransactionData;
+            }
+        }
+        return checkpointTransaction;
+    }
+
     private String batchQueryForTransactionInsertion() {
         return "INSERT INTO m_savings_account_transaction (savings_account_id, office_id, is_reversed, transaction_type_enum, transaction_date, amount, balance_end_date_derived, "
                 + "balance_number_of_days_derived, running_balance_derived, cumulative_balance_derived, " + CREATED_DATE_DB_FIELD + ", "
@@ -243,6 +295,16 @@ public class SavingsSchedularInterestPoster {
                 + LAST_MODIFIED_BY_DB_FIELD + " = ? WHERE id=? ";
     }
 
+    private String batchQueryForInterestCheckpointUpdate() {
+        return "UPDATE m_savings_account_interest_checkpoint SET checkpoint_date=?, transaction_id=?, running_balance=?, "
+                + LAST_MODIFIED_DATE_DB_FIELD + " = ? WHERE savings_account_id=?";
+    }
+
+    private String batchQueryForInterestCheckpointInsertion() {
+        return "INSERT INTO m_savings_account_interest_checkpoint (savings_account_id, checkpoint_date, transaction_id, running_balance, "
+                + LAST_MODIFIED_DATE_DB_FIELD + ") VALUES (?, ?, ?, ?, ?)";
+    }
+
     private String batchQueryForTransactionsUpdate() {
         return "UPDATE m_savings_account_transaction "
                 + "SET is_reversed=?, amount=?, overdraft_amount_derived=?, balance_end_date_derived=?, balance_number_of_days_derived=?, running_balance_derived=?, cumulative_balance_derived=?, is_reversal=?, "
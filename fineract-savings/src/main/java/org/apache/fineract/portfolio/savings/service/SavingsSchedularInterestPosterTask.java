@@ -58,4 +58,8 @@ public class SavingsSchedularInterestPosterTask implements Callable<Void> {
     public void setBackdatedTxnsAllowedTill(boolean backdatedTxnsAllowedTill) {
         this.interestPoster.setBackdatedTxnsAllowedTill(backdatedTxnsAllowedTill);
     }
+
+    public void setInterestCheckpointEnabled(boolean interestCheckpointEnabled) {
+        this.interestPoster.setInterestCheckpointEnabled(interestCheckpointEnabled);
+    }
 }